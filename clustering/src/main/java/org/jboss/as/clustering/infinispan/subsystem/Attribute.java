@@ -76,6 +76,7 @@ public enum Attribute {
     SITE(ModelKeys.SITE),
     STACK(ModelKeys.STACK),
     START(ModelKeys.START),
+    STATISTICS(ModelKeys.STATISTICS),
     STOP_TIMEOUT(ModelKeys.STOP_TIMEOUT),
     STRATEGY(ModelKeys.STRATEGY),
     STRIPING(ModelKeys.STRIPING),
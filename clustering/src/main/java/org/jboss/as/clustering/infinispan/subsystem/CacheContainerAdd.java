@@ -174,6 +174,9 @@ public class CacheContainerAdd implements ModelAddOperationHandler, DescriptionP
                         Configuration.CacheMode mode = CacheMode.valueOf(cache.require(ModelKeys.MODE).asString());
                         requiresTransport |= mode.isClustered();
                         configuration.setCacheMode(mode);
+                        if (cache.hasDefined(ModelKeys.STATISTICS)) {
+                            configuration.setExposeJmxStatistics(cache.get(ModelKeys.STATISTICS).asBoolean());
+                        }
                         if (cache.hasDefined(ModelKeys.QUEUE_SIZE)) {
                             int queueSize = cache.get(ModelKeys.QUEUE_SIZE).asInt();
                             configuration.setUseReplQueue(queueSize > 0);
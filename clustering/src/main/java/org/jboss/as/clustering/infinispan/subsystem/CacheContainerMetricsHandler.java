@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import java.util.List;
+
+import org.infinispan.manager.CacheContainer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.Address;
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeOperationContext;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Reads the runtime metrics of a cache container.
+ * The statistics of individual caches are reported as a single object metric, keyed by cache name.
+ * Caches that are not running, or that were configured without statistics, are omitted.
+ */
+public class CacheContainerMetricsHandler implements ModelQueryOperationHandler {
+    static final String CACHE_STATISTICS = "cache-statistics";
+    static final String RUNNING_CACHE_COUNT = "running-cache-count";
+    static final String CLUSTER_SIZE = "cluster-size";
+
+    static final String[] METRICS = { CACHE_STATISTICS, RUNNING_CACHE_COUNT, CLUSTER_SIZE };
+
+    static final String[] NO_LOCATION = new String[0];
+
+    /**
+     * {@inheritDoc}
+     * @see org.jboss.as.controller.OperationHandler#execute(org.jboss.as.controller.OperationContext, org.jboss.dmr.ModelNode, org.jboss.as.controller.ResultHandler)
+     */
+    @Override
+    public OperationResult execute(OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        RuntimeOperationContext runtime = context.getRuntimeContext();
+        if (runtime != null) {
+            RuntimeTask task = new RuntimeTask() {
+                @Override
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    String name = PathAddress.pathAddress(operation.require(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
+                    String metric = operation.require(ModelDescriptionConstants.NAME).asString();
+                    EmbeddedCacheManager container = getCacheManager(context.getServiceRegistry(), name);
+                    ModelNode result = new ModelNode();
+                    if (CACHE_STATISTICS.equals(metric)) {
+                        result.setEmptyObject();
+                        if (container != null) {
+                            for (String cacheName: container.getCacheNames()) {
+                                if (container.isRunning(cacheName)) {
+                                    ModelNode statistics = CacheStatistics.read(container.getCache(cacheName).getAdvancedCache());
+                                    if (statistics.isDefined()) {
+                                        result.get(cacheName).set(statistics);
+                                    }
+                                }
+                            }
+                        }
+                    } else if (RUNNING_CACHE_COUNT.equals(metric)) {
+                        int count = 0;
+                        if (container != null) {
+                            for (String cacheName: container.getCacheNames()) {
+                                if (container.isRunning(cacheName)) {
+                                    count += 1;
+                                }
+                            }
+                        }
+                        result.set(count);
+                    } else if (CLUSTER_SIZE.equals(metric)) {
+                        List<Address> members = (container != null) ? container.getMembers() : null;
+                        result.set((members != null) ? members.size() : 0);
+                    } else {
+                        throw new OperationFailedException(new ModelNode().set(String.format("Unknown metric %s", metric)));
+                    }
+                    resultHandler.handleResultFragment(NO_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            };
+            runtime.setRuntimeTask(task);
+        } else {
+            resultHandler.handleResultFragment(NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    /**
+     * Returns the named cache container, if it is running.
+     * @param registry the service registry
+     * @param name a cache container name
+     * @return the running cache container, or null if it is not running
+     */
+    static EmbeddedCacheManager getCacheManager(ServiceRegistry registry, String name) {
+        ServiceController<?> service = registry.getService(EmbeddedCacheManagerService.getServiceName(name));
+        if ((service == null) || (service.getState() != ServiceController.State.UP)) {
+            return null;
+        }
+        return (EmbeddedCacheManager) CacheContainer.class.cast(service.getValue());
+    }
+}
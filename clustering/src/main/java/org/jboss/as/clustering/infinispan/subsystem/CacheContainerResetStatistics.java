@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import java.util.Locale;
+
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeOperationContext;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Resets the statistics of a single cache, or of every running cache of a cache container.
+ */
+public class CacheContainerResetStatistics implements ModelQueryOperationHandler, DescriptionProvider {
+    static final String OPERATION_NAME = "reset-statistics";
+
+    /**
+     * {@inheritDoc}
+     * @see org.jboss.as.controller.descriptions.DescriptionProvider#getModelDescription(java.util.Locale)
+     */
+    @Override
+    public ModelNode getModelDescription(Locale locale) {
+        return LocalDescriptions.getCacheContainerResetStatisticsDescription(locale);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see org.jboss.as.controller.OperationHandler#execute(org.jboss.as.controller.OperationContext, org.jboss.dmr.ModelNode, org.jboss.as.controller.ResultHandler)
+     */
+    @Override
+    public OperationResult execute(OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        RuntimeOperationContext runtime = context.getRuntimeContext();
+        if (runtime != null) {
+            RuntimeTask task = new RuntimeTask() {
+                @Override
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    String name = PathAddress.pathAddress(operation.require(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
+                    EmbeddedCacheManager container = CacheContainerMetricsHandler.getCacheManager(context.getServiceRegistry(), name);
+                    if (operation.hasDefined(ModelKeys.CACHE)) {
+                        String cacheName = operation.get(ModelKeys.CACHE).asString();
+                        if ((container == null) || !container.isRunning(cacheName)) {
+                            throw new OperationFailedException(new ModelNode().set(String.format("%s cache of %s container is not running", cacheName, name)));
+                        }
+                        if (!CacheStatistics.reset(container.getCache(cacheName).getAdvancedCache())) {
+                            throw new OperationFailedException(new ModelNode().set(String.format("Statistics are not enabled for %s cache of %s container", cacheName, name)));
+                        }
+                    } else if (container != null) {
+                        for (String cacheName: container.getCacheNames()) {
+                            if (container.isRunning(cacheName)) {
+                                CacheStatistics.reset(container.getCache(cacheName).getAdvancedCache());
+                            }
+                        }
+                    }
+                    resultHandler.handleResultComplete();
+                }
+            };
+            runtime.setRuntimeTask(task);
+        } else {
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+}
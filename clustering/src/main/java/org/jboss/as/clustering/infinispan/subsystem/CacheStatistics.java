@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.interceptors.ActivationInterceptor;
+import org.infinispan.interceptors.CacheMgmtInterceptor;
+import org.infinispan.interceptors.PassivationInterceptor;
+import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcManagerImpl;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads and resets the runtime statistics of a cache.
+ * Infinispan only installs its statistics interceptors if statistics were enabled in the cache configuration,
+ * so a cache configured without statistics has nothing to report.
+ */
+public class CacheStatistics {
+    static final String HITS = "hits";
+    static final String MISSES = "misses";
+    static final String HIT_RATIO = "hit-ratio";
+    static final String STORES = "stores";
+    static final String REMOVE_HITS = "remove-hits";
+    static final String REMOVE_MISSES = "remove-misses";
+    static final String EVICTIONS = "evictions";
+    static final String AVERAGE_READ_TIME = "average-read-time";
+    static final String AVERAGE_WRITE_TIME = "average-write-time";
+    static final String NUMBER_OF_ENTRIES = "number-of-entries";
+    static final String TIME_SINCE_RESET = "time-since-reset";
+    static final String PASSIVATIONS = "passivations";
+    static final String ACTIVATIONS = "activations";
+    static final String REPLICATION_COUNT = "replication-count";
+    static final String REPLICATION_FAILURES = "replication-failures";
+    static final String AVERAGE_REPLICATION_TIME = "average-replication-time";
+
+    private CacheStatistics() {
+        // Hide
+    }
+
+    /**
+     * Reads the statistics of the specified cache.
+     * @param cache a running cache
+     * @return the statistics, or an undefined node if statistics are not enabled for this cache
+     */
+    public static ModelNode read(AdvancedCache<?, ?> cache) {
+        ModelNode result = new ModelNode();
+        for (CommandInterceptor interceptor: cache.getInterceptorChain()) {
+            if (interceptor instanceof CacheMgmtInterceptor) {
+                CacheMgmtInterceptor mgmt = (CacheMgmtInterceptor) interceptor;
+                result.get(HITS).set(mgmt.getHits());
+                result.get(MISSES).set(mgmt.getMisses());
+                result.get(HIT_RATIO).set(mgmt.getHitRatio());
+                result.get(STORES).set(mgmt.getStores());
+                result.get(REMOVE_HITS).set(mgmt.getRemoveHits());
+                result.get(REMOVE_MISSES).set(mgmt.getRemoveMisses());
+                result.get(EVICTIONS).set(mgmt.getEvictions());
+                result.get(AVERAGE_READ_TIME).set(mgmt.getAverageReadTime());
+                result.get(AVERAGE_WRITE_TIME).set(mgmt.getAverageWriteTime());
+                result.get(NUMBER_OF_ENTRIES).set(mgmt.getNumberOfEntries());
+                result.get(TIME_SINCE_RESET).set(mgmt.getTimeSinceReset());
+            } else if (interceptor instanceof PassivationInterceptor) {
+                setCount(result, PASSIVATIONS, ((PassivationInterceptor) interceptor).getPassivations());
+            } else if (interceptor instanceof ActivationInterceptor) {
+                setCount(result, ACTIVATIONS, ((ActivationInterceptor) interceptor).getActivations());
+            }
+        }
+        if (!result.isDefined()) {
+            return result;
+        }
+        RpcManager rpcManager = cache.getRpcManager();
+        if (rpcManager instanceof RpcManagerImpl) {
+            RpcManagerImpl rpc = (RpcManagerImpl) rpcManager;
+            setCount(result, REPLICATION_COUNT, rpc.getReplicationCount());
+            setCount(result, REPLICATION_FAILURES, rpc.getReplicationFailures());
+            result.get(AVERAGE_REPLICATION_TIME).set(rpc.getAverageReplicationTime());
+        }
+        return result;
+    }
+
+    /**
+     * Resets the statistics of the specified cache.
+     * @param cache a running cache
+     * @return true, if statistics are enabled for this cache, false otherwise
+     */
+    public static boolean reset(AdvancedCache<?, ?> cache) {
+        boolean enabled = false;
+        for (CommandInterceptor interceptor: cache.getInterceptorChain()) {
+            if (interceptor instanceof CacheMgmtInterceptor) {
+                ((CacheMgmtInterceptor) interceptor).resetStatistics();
+                enabled = true;
+            } else if (interceptor instanceof PassivationInterceptor) {
+                ((PassivationInterceptor) interceptor).resetStatistics();
+            } else if (interceptor instanceof ActivationInterceptor) {
+                ((ActivationInterceptor) interceptor).resetStatistics();
+            }
+        }
+        if (enabled) {
+            RpcManager rpcManager = cache.getRpcManager();
+            if (rpcManager instanceof RpcManagerImpl) {
+                ((RpcManagerImpl) rpcManager).resetStatistics();
+            }
+        }
+        return enabled;
+    }
+
+    // Depending on the interceptor, counts are reported either as numbers or as strings
+    private static void setCount(ModelNode result, String key, Object value) {
+        if (value instanceof Number) {
+            result.get(key).set(((Number) value).longValue());
+        } else if (value != null) {
+            try {
+                result.get(key).set(Long.parseLong(value.toString()));
+            } catch (NumberFormatException e) {
+                // Statistics not available, e.g. "N/A"
+            }
+        }
+    }
+}
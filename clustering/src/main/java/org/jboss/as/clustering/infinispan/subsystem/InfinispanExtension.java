@@ -63,6 +63,8 @@ public class InfinispanExtension implements Extension, XMLElementReader<List<Mod
     private static final InfinispanSubsystemDescribe describe = new InfinispanSubsystemDescribe();
     private static final CacheContainerAdd containerAdd = new CacheContainerAdd();
     private static final CacheContainerRemove containerRemove = new CacheContainerRemove();
+    private static final CacheContainerResetStatistics containerResetStatistics = new CacheContainerResetStatistics();
+    private static final CacheContainerMetricsHandler containerMetrics = new CacheContainerMetricsHandler();
     private static final DescriptionProvider containerDescription = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(Locale locale) {
@@ -86,6 +88,10 @@ public class InfinispanExtension implements Extension, XMLElementReader<List<Mod
         ModelNodeRegistration containers = registration.registerSubModel(containerPath, containerDescription);
         containers.registerOperationHandler(ModelDescriptionConstants.ADD, containerAdd, containerAdd, false);
         containers.registerOperationHandler(ModelDescriptionConstants.REMOVE, containerRemove, containerRemove, false);
+        containers.registerOperationHandler(CacheContainerResetStatistics.OPERATION_NAME, containerResetStatistics, containerResetStatistics, false);
+        for (String metric: CacheContainerMetricsHandler.METRICS) {
+            containers.registerMetric(metric, containerMetrics);
+        }
     }
 
     /**
@@ -299,6 +305,10 @@ public class InfinispanExtension implements Extension, XMLElementReader<List<Mod
                 cache.get(ModelKeys.BATCHING).set(Boolean.parseBoolean(value));
                 break;
             }
+            case STATISTICS: {
+                cache.get(ModelKeys.STATISTICS).set(Boolean.parseBoolean(value));
+                break;
+            }
             case INDEXING: {
                 try {
                     Indexing indexing = Indexing.valueOf(value);
@@ -809,6 +819,7 @@ public class InfinispanExtension implements Extension, XMLElementReader<List<Mod
                     this.writeOptional(writer, Attribute.START, cache, ModelKeys.START);
                     this.writeOptional(writer, Attribute.BATCHING, cache, ModelKeys.BATCHING);
                     this.writeOptional(writer, Attribute.INDEXING, cache, ModelKeys.INDEXING);
+                    this.writeOptional(writer, Attribute.STATISTICS, cache, ModelKeys.STATISTICS);
                     if (cache.hasDefined(ModelKeys.LOCKING)) {
                         writer.writeStartElement(Element.LOCKING.getLocalName());
                         ModelNode locking = cache.get(ModelKeys.LOCKING);
@@ -98,6 +98,15 @@ public class LocalDescriptions {
         return description;
     }
 
+    static ModelNode getCacheContainerResetStatisticsDescription(Locale locale) {
+        ResourceBundle resources = getResources(locale);
+        ModelNode description = createCacheContainerOperationDescription(CacheContainerResetStatistics.OPERATION_NAME, resources);
+        description.get(ModelDescriptionConstants.REQUEST_PROPERTIES, ModelKeys.CACHE, ModelDescriptionConstants.TYPE).set(ModelType.STRING);
+        description.get(ModelDescriptionConstants.REQUEST_PROPERTIES, ModelKeys.CACHE, ModelDescriptionConstants.DESCRIPTION).set(resources.getString("infinispan.container.reset-statistics.cache"));
+        description.get(ModelDescriptionConstants.REQUEST_PROPERTIES, ModelKeys.CACHE, ModelDescriptionConstants.REQUIRED).set(false);
+        return description;
+    }
+
     private static ResourceBundle getResources(Locale locale) {
         return ResourceBundle.getBundle(LocalDescriptions.class.getName(), (locale == null) ? Locale.getDefault() : locale);
     }
@@ -81,6 +81,7 @@ public class ModelKeys {
     static final String STACK = "stack";
     static final String START = "start";
     static final String STATE_TRANSFER = "state-transfer";
+    static final String STATISTICS = "statistics";
     static final String STOP_TIMEOUT = "stop-timeout";
     static final String STORE = "store";
     static final String STRATEGY = "strategy";
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import static org.junit.Assert.*;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.config.Configuration;
+import org.infinispan.config.GlobalConfiguration;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CacheStatisticsTest {
+    private EmbeddedCacheManager manager;
+
+    @Before
+    public void before() {
+        GlobalConfiguration global = GlobalConfiguration.getNonClusteredDefault();
+        global.setExposeGlobalJmxStatistics(false);
+        global.setAllowDuplicateDomains(true);
+        this.manager = new DefaultCacheManager(global, false);
+        Configuration enabled = new Configuration();
+        enabled.setExposeJmxStatistics(true);
+        this.manager.defineConfiguration("enabled", enabled);
+        Configuration disabled = new Configuration();
+        disabled.setExposeJmxStatistics(false);
+        this.manager.defineConfiguration("disabled", disabled);
+        this.manager.start();
+    }
+
+    @After
+    public void after() {
+        this.manager.stop();
+    }
+
+    @Test
+    public void read() {
+        AdvancedCache<Object, Object> cache = this.manager.getCache("enabled").getAdvancedCache();
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("b");
+
+        ModelNode result = CacheStatistics.read(cache);
+
+        assertEquals(1, result.get(CacheStatistics.HITS).asLong());
+        assertEquals(1, result.get(CacheStatistics.MISSES).asLong());
+        assertEquals(1, result.get(CacheStatistics.STORES).asLong());
+        assertEquals(1, result.get(CacheStatistics.NUMBER_OF_ENTRIES).asInt());
+        assertEquals(0.5, result.get(CacheStatistics.HIT_RATIO).asDouble(), 0.001);
+        assertFalse(result.hasDefined(CacheStatistics.REPLICATION_COUNT));
+    }
+
+    @Test
+    public void reset() {
+        AdvancedCache<Object, Object> cache = this.manager.getCache("enabled").getAdvancedCache();
+        cache.put("a", "1");
+        cache.get("a");
+
+        assertTrue(CacheStatistics.reset(cache));
+
+        ModelNode result = CacheStatistics.read(cache);
+        assertEquals(0, result.get(CacheStatistics.HITS).asLong());
+        assertEquals(0, result.get(CacheStatistics.STORES).asLong());
+    }
+
+    @Test
+    public void disabled() {
+        AdvancedCache<Object, Object> cache = this.manager.getCache("disabled").getAdvancedCache();
+        cache.put("a", "1");
+
+        assertFalse(CacheStatistics.read(cache).isDefined());
+        assertFalse(CacheStatistics.reset(cache));
+    }
+}
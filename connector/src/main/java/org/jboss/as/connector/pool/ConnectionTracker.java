@@ -0,0 +1,217 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.pool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the connections currently checked out of a pool, to find leaks and long running work.
+ * <p>
+ * Tracking is off until {@link #enable(int)} is called. While it is on every checkout records the time and the
+ * name of the calling thread, and every {@code n}th checkout also captures the stack of the caller, which is the
+ * expensive part. Connections which are never closed stay in the tracker until tracking is disabled. Failed
+ * checkouts are counted whether or not tracking is on.
+ * </p>
+ */
+public final class ConnectionTracker {
+
+    private final Set<Checkout> checkouts = Collections.newSetFromMap(new ConcurrentHashMap<Checkout, Boolean>());
+    private final AtomicLong checkoutCount = new AtomicLong();
+    private final AtomicLong failedCheckoutCount = new AtomicLong();
+    private final AtomicLong blockingTimeoutCount = new AtomicLong();
+    private volatile boolean enabled;
+    private volatile int stackTraceSampling;
+
+    /**
+     * Start tracking checkouts.
+     *
+     * @param stackTraceSampling capture the caller's stack on one in this many checkouts; {@code 0} never
+     *        captures it
+     */
+    public void enable(final int stackTraceSampling) {
+        if (stackTraceSampling < 0) {
+            throw new IllegalArgumentException("stackTraceSampling is negative");
+        }
+        this.stackTraceSampling = stackTraceSampling;
+        enabled = true;
+    }
+
+    /**
+     * Stop tracking checkouts and forget the connections currently tracked.
+     */
+    public void disable() {
+        enabled = false;
+        checkouts.clear();
+    }
+
+    /**
+     * Determine whether checkouts are tracked.
+     *
+     * @return {@code true} if tracking is on
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the stack trace sampling interval.
+     *
+     * @return the interval, {@code 0} if stacks are not captured
+     */
+    public int getStackTraceSampling() {
+        return stackTraceSampling;
+    }
+
+    /**
+     * Record a successful checkout.
+     *
+     * @return the checkout to pass to {@link #checkedIn(Checkout)}, or {@code null} if tracking is off
+     */
+    public Checkout checkedOut() {
+        if (!enabled) {
+            return null;
+        }
+        final long count = checkoutCount.incrementAndGet();
+        final int sampling = stackTraceSampling;
+        final Thread thread = Thread.currentThread();
+        final StackTraceElement[] stackTrace = sampling > 0 && count % sampling == 0 ? new Throwable().getStackTrace() : null;
+        final Checkout checkout = new Checkout(System.currentTimeMillis(), thread.getName(), stackTrace);
+        checkouts.add(checkout);
+        return checkout;
+    }
+
+    /**
+     * Record that a connection was closed.
+     *
+     * @param checkout the checkout returned when the connection was obtained, may be {@code null}
+     */
+    public void checkedIn(final Checkout checkout) {
+        if (checkout != null) {
+            checkouts.remove(checkout);
+        }
+    }
+
+    /**
+     * Record a failed checkout.
+     *
+     * @param blockingTimeout {@code true} if the caller gave up waiting for a free connection
+     */
+    public void checkoutFailed(final boolean blockingTimeout) {
+        failedCheckoutCount.incrementAndGet();
+        if (blockingTimeout) {
+            blockingTimeoutCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of failed checkouts.
+     *
+     * @return the count
+     */
+    public long getFailedCheckoutCount() {
+        return failedCheckoutCount.get();
+    }
+
+    /**
+     * Get the number of checkouts which failed because no connection became free within the blocking timeout.
+     *
+     * @return the count
+     */
+    public long getBlockingTimeoutCount() {
+        return blockingTimeoutCount.get();
+    }
+
+    /**
+     * Get the connections which have been checked out for at least the given time, longest held first.
+     *
+     * @param threshold the minimum time held, in milliseconds
+     * @return the checkouts
+     */
+    public List<Checkout> getCheckouts(final long threshold) {
+        final long limit = System.currentTimeMillis() - threshold;
+        final List<Checkout> result = new ArrayList<Checkout>();
+        for (Checkout checkout : checkouts) {
+            if (checkout.getTimestamp() <= limit) {
+                result.add(checkout);
+            }
+        }
+        Collections.sort(result, OLDEST_FIRST);
+        return result;
+    }
+
+    private static final Comparator<Checkout> OLDEST_FIRST = new Comparator<Checkout>() {
+        public int compare(final Checkout o1, final Checkout o2) {
+            final long t1 = o1.getTimestamp();
+            final long t2 = o2.getTimestamp();
+            return t1 < t2 ? -1 : t1 == t2 ? 0 : 1;
+        }
+    };
+
+    /**
+     * A single tracked checkout. Instances use identity equality.
+     */
+    public static final class Checkout {
+        private final long timestamp;
+        private final String threadName;
+        private final StackTraceElement[] stackTrace;
+
+        Checkout(final long timestamp, final String threadName, final StackTraceElement[] stackTrace) {
+            this.timestamp = timestamp;
+            this.threadName = threadName;
+            this.stackTrace = stackTrace;
+        }
+
+        /**
+         * Get the time the connection was checked out.
+         *
+         * @return the time, in milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Get the name of the thread which checked the connection out.
+         *
+         * @return the thread name
+         */
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * Get the stack of the caller which checked the connection out.
+         *
+         * @return the stack trace, or {@code null} if it was not sampled
+         */
+        public StackTraceElement[] getStackTrace() {
+            return stackTrace;
+        }
+    }
+}
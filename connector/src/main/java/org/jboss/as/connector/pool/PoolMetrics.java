@@ -26,6 +26,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -102,17 +103,11 @@ public abstract class PoolMetrics implements ModelQueryOperationHandler {
         public static LocalAndXaDataSourcePoolMetricsHandler INSTANCE = new LocalAndXaDataSourcePoolMetricsHandler();
 
         protected List<StatisticsPlugin> getMatchingStats(String jndiName, ManagementRepository repository) {
-            ArrayList<StatisticsPlugin> result = new ArrayList<StatisticsPlugin>(repository.getDataSources().size());
-            if (repository.getDataSources() != null) {
-                for (DataSource ds : repository.getDataSources()) {
-                    if (jndiName.equalsIgnoreCase(ds.getJndiName()) && ds.getPool() != null) {
-                        result.add(ds.getPool().getStatistics());
-                    }
-
-                }
+            final DataSource ds = PoolStatisticsIndex.DATA_SOURCES.findDataSource(jndiName, repository);
+            if (ds == null || ds.getPool() == null) {
+                return Collections.emptyList();
             }
-            result.trimToSize();
-            return result;
+            return Collections.singletonList(ds.getPool().getStatistics());
         }
 
     }
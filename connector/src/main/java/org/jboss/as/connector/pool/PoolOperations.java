@@ -3,6 +3,7 @@ package org.jboss.as.connector.pool;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.jboss.as.connector.ConnectorServices;
@@ -41,6 +42,7 @@ public abstract class PoolOperations implements ModelQueryOperationHandler {
 
         final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
         final String jndiName = address.getLastElement().getValue();
+        validate(operation);
 
         if (context.getRuntimeContext() != null) {
             context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
@@ -55,9 +57,11 @@ public abstract class PoolOperations implements ModelQueryOperationHandler {
                             List<Pool> pools = matcher.match(jndiName, repository);
 
                             for (Pool pool : pools) {
-                                operationResult = invokeCommandOn(pool);
+                                operationResult = invokeCommandOn(pool, jndiName, operation);
                             }
 
+                        } catch (OperationFailedException e) {
+                            throw e;
                         } catch (Exception e) {
                             throw new OperationFailedException(new ModelNode().set("failed to set attribute" + e.getMessage()));
                         }
@@ -79,6 +83,29 @@ public abstract class PoolOperations implements ModelQueryOperationHandler {
 
     protected abstract ModelNode invokeCommandOn(Pool pool);
 
+    /**
+     * Invoke the command on a pool matched by the resource the operation was addressed to. The default
+     * implementation calls {@link #invokeCommandOn(Pool)}.
+     *
+     * @param pool the pool
+     * @param name the resource name
+     * @param operation the operation
+     * @return the result, or {@code null} for none
+     * @throws OperationFailedException if the command cannot be applied
+     */
+    protected ModelNode invokeCommandOn(Pool pool, String name, ModelNode operation) throws OperationFailedException {
+        return invokeCommandOn(pool);
+    }
+
+    /**
+     * Check the parameters of the operation before any runtime work is scheduled.
+     *
+     * @param operation the operation
+     * @throws OperationFailedException if a parameter is invalid
+     */
+    protected void validate(ModelNode operation) throws OperationFailedException {
+    }
+
     public static class FlushIdleConnectionInPool extends PoolOperations {
         public static FlushIdleConnectionInPool DS_INSTANCE = new FlushIdleConnectionInPool(new DsPoolMatcher());
         public static FlushIdleConnectionInPool RA_INSTANCE = new FlushIdleConnectionInPool(new RaPoolMatcher());
@@ -129,24 +156,116 @@ public abstract class PoolOperations implements ModelQueryOperationHandler {
 
     }
 
+    /**
+     * Base class of the operations on the {@link ConnectionTracker} of a data-source pool.
+     */
+    abstract static class ConnectionTrackingOperation extends PoolOperations {
+
+        protected ConnectionTrackingOperation() {
+            super(new DsPoolMatcher());
+        }
+
+        @Override
+        protected ModelNode invokeCommandOn(Pool pool) {
+            // Not used, the commands act on the tracker rather than the pool
+            return null;
+        }
+
+        @Override
+        protected ModelNode invokeCommandOn(Pool pool, String name, ModelNode operation) throws OperationFailedException {
+            final PoolStatisticsIndex.Entry entry = PoolStatisticsIndex.DATA_SOURCES.get(name);
+            if (entry == null) {
+                throw new OperationFailedException(new ModelNode().set("connection tracking is not available for " + name));
+            }
+            return invokeCommandOn(entry.getConnectionTracker(), operation);
+        }
+
+        protected abstract ModelNode invokeCommandOn(ConnectionTracker tracker, ModelNode operation)
+                throws OperationFailedException;
+    }
+
+    public static class EnableConnectionTracking extends ConnectionTrackingOperation {
+        public static final String STACK_TRACE_SAMPLING = "stack-trace-sampling";
+        public static final int DEFAULT_STACK_TRACE_SAMPLING = 10;
+
+        public static EnableConnectionTracking DS_INSTANCE = new EnableConnectionTracking();
+
+        @Override
+        protected void validate(ModelNode operation) throws OperationFailedException {
+            if (operation.hasDefined(STACK_TRACE_SAMPLING) && operation.get(STACK_TRACE_SAMPLING).asInt() < 0) {
+                throw new OperationFailedException(new ModelNode().set(STACK_TRACE_SAMPLING + " must not be negative"));
+            }
+        }
+
+        @Override
+        protected ModelNode invokeCommandOn(ConnectionTracker tracker, ModelNode operation) {
+            final int sampling = operation.hasDefined(STACK_TRACE_SAMPLING) ? operation.get(STACK_TRACE_SAMPLING).asInt()
+                    : DEFAULT_STACK_TRACE_SAMPLING;
+            tracker.enable(sampling);
+            log.infof("Enabled connection tracking for %s", operation.get(OP_ADDR));
+            return null;
+        }
+    }
+
+    public static class DisableConnectionTracking extends ConnectionTrackingOperation {
+        public static DisableConnectionTracking DS_INSTANCE = new DisableConnectionTracking();
+
+        @Override
+        protected ModelNode invokeCommandOn(ConnectionTracker tracker, ModelNode operation) {
+            tracker.disable();
+            return null;
+        }
+    }
+
+    public static class ListHeldConnections extends ConnectionTrackingOperation {
+        public static final String THRESHOLD = "threshold";
+
+        public static ListHeldConnections DS_INSTANCE = new ListHeldConnections();
+
+        @Override
+        protected void validate(ModelNode operation) throws OperationFailedException {
+            if (operation.hasDefined(THRESHOLD) && operation.get(THRESHOLD).asLong() < 0) {
+                throw new OperationFailedException(new ModelNode().set(THRESHOLD + " must not be negative"));
+            }
+        }
+
+        @Override
+        protected ModelNode invokeCommandOn(ConnectionTracker tracker, ModelNode operation) throws OperationFailedException {
+            if (!tracker.isEnabled()) {
+                throw new OperationFailedException(new ModelNode().set("connection tracking is not enabled"));
+            }
+            final long threshold = operation.hasDefined(THRESHOLD) ? operation.get(THRESHOLD).asLong() : 0L;
+            final long now = System.currentTimeMillis();
+            final ModelNode result = new ModelNode();
+            result.setEmptyList();
+            for (ConnectionTracker.Checkout checkout : tracker.getCheckouts(threshold)) {
+                final ModelNode node = new ModelNode();
+                node.get("checkout-time").set(checkout.getTimestamp());
+                node.get("held-time").set(now - checkout.getTimestamp());
+                node.get("thread").set(checkout.getThreadName());
+                if (checkout.getStackTrace() != null) {
+                    final ModelNode stackTrace = node.get("stack-trace").setEmptyList();
+                    for (StackTraceElement element : checkout.getStackTrace()) {
+                        stackTrace.add(element.toString());
+                    }
+                }
+                result.add(node);
+            }
+            return result;
+        }
+    }
+
     private static interface PoolMatcher {
         List<Pool> match(String jndiName, ManagementRepository repository);
     }
 
     private static class DsPoolMatcher implements PoolMatcher {
         public List<Pool> match(String jndiName, ManagementRepository repository) {
-            ArrayList<org.jboss.jca.core.api.connectionmanager.pool.Pool> result = new ArrayList<Pool>(repository
-                    .getDataSources().size());
-            if (repository.getDataSources() != null) {
-                for (DataSource ds : repository.getDataSources()) {
-                    if (jndiName.equalsIgnoreCase(ds.getJndiName()) && ds.getPool() != null) {
-                        result.add(ds.getPool());
-                    }
-
-                }
+            final DataSource ds = PoolStatisticsIndex.DATA_SOURCES.findDataSource(jndiName, repository);
+            if (ds == null || ds.getPool() == null) {
+                return Collections.emptyList();
             }
-            result.trimToSize();
-            return result;
+            return Collections.<Pool>singletonList(ds.getPool());
         }
     }
 
@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.pool;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.jca.core.api.management.DataSource;
+import org.jboss.jca.core.api.management.ManagementRepository;
+
+/**
+ * An index of the data-source pools known to the management layer, keyed by the name of the data-source resource.
+ * <p>
+ * Entries are created by the data-source add operation and dropped by the remove operation, so they survive the
+ * data-source being disabled and enabled again. While the data-source service is up the entry refers to the
+ * management view of the deployed data-source, which saves the metric and pool operation handlers a scan of the
+ * {@link org.jboss.jca.core.api.management.ManagementRepository} on every request. Names are matched case
+ * insensitively, as they always have been by those handlers.
+ * </p>
+ */
+public final class PoolStatisticsIndex {
+
+    /** The index of the local and XA data-sources. */
+    public static final PoolStatisticsIndex DATA_SOURCES = new PoolStatisticsIndex();
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    PoolStatisticsIndex() {
+    }
+
+    /**
+     * Get the entry for a name, creating it if there is none.
+     *
+     * @param name the resource name
+     * @return the entry
+     */
+    public Entry register(final String name) {
+        final String key = key(name);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            final Entry newEntry = new Entry(name);
+            entry = entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Remove the entry for a name.
+     *
+     * @param name the resource name
+     */
+    public void unregister(final String name) {
+        entries.remove(key(name));
+    }
+
+    /**
+     * Get the entry for a name.
+     *
+     * @param name the resource name
+     * @return the entry, or {@code null} if there is none
+     */
+    public Entry get(final String name) {
+        return entries.get(key(name));
+    }
+
+    /**
+     * Find the management view of a data-source, falling back to a scan of the repository for data-sources which
+     * are not in the index.
+     *
+     * @param name the resource name
+     * @param repository the management repository
+     * @return the data-source, or {@code null} if it is not deployed
+     */
+    public DataSource findDataSource(final String name, final ManagementRepository repository) {
+        final Entry entry = get(name);
+        if (entry != null) {
+            return entry.getDataSource();
+        }
+        DataSource result = null;
+        if (repository.getDataSources() != null) {
+            for (DataSource ds : repository.getDataSources()) {
+                if (name.equalsIgnoreCase(ds.getJndiName())) {
+                    result = ds;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all entries.
+     *
+     * @return an unmodifiable view of the entries
+     */
+    public Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    private static String key(final String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * The index entry of a single pool.
+     */
+    public static final class Entry {
+        private final String name;
+        private final PoolTimeHistogram waitTime = new PoolTimeHistogram();
+        private final PoolTimeHistogram checkoutTime = new PoolTimeHistogram();
+        private final ConnectionTracker connectionTracker = new ConnectionTracker();
+        private volatile DataSource dataSource;
+
+        Entry(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Get the resource name this entry was registered under.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the management view of the data-source.
+         *
+         * @return the data-source, or {@code null} if the data-source service is not up
+         */
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Set the management view of the data-source.
+         *
+         * @param dataSource the data-source, or {@code null} when the service stops
+         */
+        public void setDataSource(final DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Get the histogram of the time callers waited for a connection.
+         *
+         * @return the histogram
+         */
+        public PoolTimeHistogram getWaitTime() {
+            return waitTime;
+        }
+
+        /**
+         * Get the histogram of the time connections were held before being closed, recorded only for checkouts made
+         * while connection tracking is enabled.
+         *
+         * @return the histogram
+         */
+        public PoolTimeHistogram getCheckoutTime() {
+            return checkoutTime;
+        }
+
+        /**
+         * Get the tracker of the connections checked out of the pool.
+         *
+         * @return the tracker
+         */
+        public ConnectionTracker getConnectionTracker() {
+            return connectionTracker;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.pool;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.jboss.as.connector.ConnectorServices;
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.jca.core.api.connectionmanager.pool.Pool;
+import org.jboss.jca.core.api.management.Connector;
+import org.jboss.jca.core.api.management.DataSource;
+import org.jboss.jca.core.api.management.ManagementRepository;
+import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Handler for the {@code read-pool-statistics} operation, which returns every statistic of a pool in one go.
+ * <p>
+ * Invoked on a pool resource the result is an object holding the statistics of that pool, under the same names as
+ * the individual metrics but as numbers and booleans rather than strings. Invoked on the subsystem the result maps
+ * the name of every deployed pool to such an object. Data-source pools also report the {@code wait-time} and
+ * {@code checkout-time} histograms and the failed checkout counters kept by the {@link PoolStatisticsIndex}.
+ * </p>
+ */
+public abstract class PoolStatisticsRead implements ModelQueryOperationHandler {
+
+    public static final String OPERATION_NAME = "read-pool-statistics";
+
+    public static final PoolStatisticsRead DS_INSTANCE = new DataSourcePoolStatisticsRead();
+    public static final PoolStatisticsRead RA_INSTANCE = new RaPoolStatisticsRead();
+
+    static final String[] NO_LOCATION = new String[0];
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
+            throws OperationFailedException {
+
+        final PathElement element = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement();
+        final String name = SUBSYSTEM.equals(element.getKey()) ? null : element.getValue();
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final ServiceController<?> managementRepoService = context.getServiceRegistry().getService(
+                            ConnectorServices.MANAGEMENT_REPOSISTORY_SERVICE);
+                    final ModelNode result = new ModelNode();
+                    if (managementRepoService != null) {
+                        try {
+                            final ManagementRepository repository = (ManagementRepository) managementRepoService.getValue();
+                            if (name == null) {
+                                result.setEmptyObject();
+                                readAll(repository, result);
+                            } else {
+                                read(name, repository, result);
+                            }
+                        } catch (Exception e) {
+                            throw new OperationFailedException(new ModelNode().set("failed to get pool statistics "
+                                    + e.getMessage()));
+                        }
+                    }
+                    resultHandler.handleResultFragment(NO_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    /**
+     * Read the statistics of a single pool into {@code result}, leaving it undefined if the pool is not deployed.
+     */
+    protected abstract void read(String name, ManagementRepository repository, ModelNode result);
+
+    /**
+     * Read the statistics of every deployed pool into {@code result}, keyed by pool name.
+     */
+    protected abstract void readAll(ManagementRepository repository, ModelNode result);
+
+    static void readStatistics(final StatisticsPlugin statistics, final ModelNode result) {
+        if (statistics == null) {
+            return;
+        }
+        for (String attributeName : statistics.getNames()) {
+            final Object value = statistics.getValue(attributeName);
+            final ModelNode node = result.get(attributeName);
+            if (value instanceof Integer) {
+                node.set(((Integer) value).intValue());
+            } else if (value instanceof Long) {
+                node.set(((Long) value).longValue());
+            } else if (value instanceof Number) {
+                node.set(((Number) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                node.set(((Boolean) value).booleanValue());
+            } else if (value != null) {
+                node.set(value.toString());
+            }
+        }
+    }
+
+    static class DataSourcePoolStatisticsRead extends PoolStatisticsRead {
+
+        @Override
+        protected void read(final String name, final ManagementRepository repository, final ModelNode result) {
+            final PoolStatisticsIndex.Entry entry = PoolStatisticsIndex.DATA_SOURCES.get(name);
+            final DataSource ds = entry != null ? entry.getDataSource() : PoolStatisticsIndex.DATA_SOURCES.findDataSource(
+                    name, repository);
+            if (ds != null) {
+                read(ds, entry, result);
+            }
+        }
+
+        @Override
+        protected void readAll(final ManagementRepository repository, final ModelNode result) {
+            final Set<String> seen = new HashSet<String>();
+            for (PoolStatisticsIndex.Entry entry : PoolStatisticsIndex.DATA_SOURCES.getEntries()) {
+                final DataSource ds = entry.getDataSource();
+                if (ds != null) {
+                    read(ds, entry, result.get(entry.getName()));
+                    seen.add(entry.getName().toLowerCase(Locale.ENGLISH));
+                    seen.add(ds.getJndiName().toLowerCase(Locale.ENGLISH));
+                }
+            }
+            // Data-sources which were not added through the management model, e.g. deployed -ds.xml files
+            if (repository.getDataSources() != null) {
+                for (DataSource ds : repository.getDataSources()) {
+                    if (ds.getPool() != null && !seen.contains(ds.getJndiName().toLowerCase(Locale.ENGLISH))) {
+                        read(ds, null, result.get(ds.getJndiName()));
+                    }
+                }
+            }
+        }
+
+        private void read(final DataSource ds, final PoolStatisticsIndex.Entry entry, final ModelNode result) {
+            result.setEmptyObject();
+            if (ds.getPool() != null) {
+                readStatistics(ds.getPool().getStatistics(), result);
+            }
+            readStatistics(ds.getStatistics(), result);
+            if (entry != null) {
+                result.get("wait-time").set(entry.getWaitTime().toModelNode());
+                result.get("checkout-time").set(entry.getCheckoutTime().toModelNode());
+                final ConnectionTracker tracker = entry.getConnectionTracker();
+                result.get("failed-checkout-count").set(tracker.getFailedCheckoutCount());
+                result.get("blocking-timeout-count").set(tracker.getBlockingTimeoutCount());
+                result.get("connection-tracking").set(tracker.isEnabled());
+            }
+        }
+    }
+
+    static class RaPoolStatisticsRead extends PoolStatisticsRead {
+
+        @Override
+        protected void read(final String name, final ManagementRepository repository, final ModelNode result) {
+            if (repository.getConnectors() != null) {
+                for (Connector c : repository.getConnectors()) {
+                    if (name.equalsIgnoreCase(c.getUniqueId())) {
+                        read(c, result);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void readAll(final ManagementRepository repository, final ModelNode result) {
+            if (repository.getConnectors() != null) {
+                for (Connector c : repository.getConnectors()) {
+                    read(c, result.get(c.getUniqueId()));
+                }
+            }
+        }
+
+        private void read(final Connector connector, final ModelNode result) {
+            if (connector.getConnectionFactories() == null || connector.getConnectionFactories().isEmpty()
+                    || connector.getConnectionFactories().get(0) == null) {
+                return;
+            }
+            final Pool pool = connector.getConnectionFactories().get(0).getPool();
+            if (pool != null) {
+                result.setEmptyObject();
+                readStatistics(pool.getStatistics(), result);
+            }
+        }
+    }
+}
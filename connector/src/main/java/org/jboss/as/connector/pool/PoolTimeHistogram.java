@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.pool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A lock free histogram of connection pool timings.
+ * <p>
+ * Values are counted in milliseconds against a fixed set of upper bounds, from {@code 1} millisecond up to one
+ * minute, plus an overflow bucket. The bounds are the same for every pool so the figures of several pools can be
+ * compared or summed directly.
+ * </p>
+ */
+public final class PoolTimeHistogram {
+
+    static final long[] BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000 };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a duration.
+     *
+     * @param duration the duration
+     * @param unit the unit of {@code duration}
+     */
+    public void record(final long duration, final TimeUnit unit) {
+        final long millis = Math.max(0L, unit.toMillis(duration));
+        buckets.incrementAndGet(bucketIndex(millis));
+        count.incrementAndGet();
+        total.addAndGet(millis);
+        long current;
+        do {
+            current = max.get();
+        } while (millis > current && !max.compareAndSet(current, millis));
+    }
+
+    /**
+     * Get the number of values recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the largest value recorded.
+     *
+     * @return the maximum, in milliseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the number of values recorded in a bucket.
+     *
+     * @param index the bucket index; {@code BOUNDS.length} is the overflow bucket
+     * @return the count
+     */
+    long getBucketCount(final int index) {
+        return buckets.get(index);
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0L);
+        }
+        count.set(0L);
+        total.set(0L);
+        max.set(0L);
+    }
+
+    /**
+     * Describe the histogram as a model node. The {@code buckets} child maps each upper bound to the number of
+     * values at or below it and above the previous bound; values above the last bound are reported under
+     * {@code overflow}.
+     *
+     * @return the model node
+     */
+    public ModelNode toModelNode() {
+        final ModelNode node = new ModelNode();
+        final long c = count.get();
+        node.get("count").set(c);
+        node.get("average").set(c == 0 ? 0L : total.get() / c);
+        node.get("max").set(max.get());
+        final ModelNode bucketNode = node.get("buckets").setEmptyObject();
+        for (int i = 0; i < BOUNDS.length; i++) {
+            bucketNode.get(Long.toString(BOUNDS[i])).set(buckets.get(i));
+        }
+        bucketNode.get("overflow").set(buckets.get(BOUNDS.length));
+        return node;
+    }
+
+    static int bucketIndex(final long millis) {
+        int low = 0;
+        int high = BOUNDS.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (BOUNDS[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -33,11 +33,13 @@ import java.sql.Driver;
 import javax.sql.DataSource;
 
 import org.jboss.as.connector.ConnectorServices;
+import org.jboss.as.connector.pool.PoolStatisticsIndex;
 import org.jboss.as.controller.BasicOperationResult;
 import org.jboss.as.controller.ModelAddOperationHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
@@ -98,6 +100,9 @@ public abstract class AbstractDataSourceAdd implements ModelAddOperationHandler
 
                     boolean enabled = !operation.hasDefined(ENABLED) || operation.get(ENABLED).asBoolean();
 
+                    dataSourceService.setPoolStatistics(PoolStatisticsIndex.DATA_SOURCES.register(PathAddress
+                            .pathAddress(address).getLastElement().getValue()));
+
                     final ServiceName dataSourceServiceName = AbstractDataSourceService.SERVICE_NAME_BASE.append(jndiName);
                     final ServiceBuilder<?> dataSourceServiceBuilder = serviceTarget
                             .addService(dataSourceServiceName, dataSourceService)
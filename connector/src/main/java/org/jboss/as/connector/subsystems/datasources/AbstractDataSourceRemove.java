@@ -23,6 +23,7 @@
 package org.jboss.as.connector.subsystems.datasources;
 
 import static org.jboss.as.connector.subsystems.datasources.Constants.CONNECTION_PROPERTIES;
+import org.jboss.as.connector.pool.PoolStatisticsIndex;
 import org.jboss.as.controller.BasicOperationResult;
 import org.jboss.as.controller.ModelRemoveOperationHandler;
 import org.jboss.as.controller.OperationContext;
@@ -94,6 +95,7 @@ public abstract class AbstractDataSourceRemove implements ModelRemoveOperationHa
                     if (dataSourceController != null) {
                         dataSourceController.setMode(ServiceController.Mode.REMOVE);
                     }
+                    PoolStatisticsIndex.DATA_SOURCES.unregister(jndiName);
                     resultHandler.handleResultComplete();
                 }
             });
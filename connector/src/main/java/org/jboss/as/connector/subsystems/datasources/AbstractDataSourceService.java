@@ -35,6 +35,7 @@ import javax.resource.ResourceException;
 import javax.resource.spi.ManagedConnectionFactory;
 import javax.sql.DataSource;
 
+import org.jboss.as.connector.pool.PoolStatisticsIndex;
 import org.jboss.as.connector.util.Injection;
 import org.jboss.jca.adapters.jdbc.BaseWrapperManagedConnectionFactory;
 import org.jboss.jca.adapters.jdbc.local.LocalManagedConnectionFactory;
@@ -87,6 +88,8 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
     private javax.sql.DataSource sqlDataSource;
 
+    private PoolStatisticsIndex.Entry poolStatistics;
+
     protected AS7DataSourceDeployer deployer;
 
     protected AbstractDataSourceService(final String jndiName) {
@@ -101,7 +104,13 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
             if (deploymentMD.getCfs().length != 1) {
                 throw new StartException("unable to start the ds because it generate more than one cf");
             }
-            sqlDataSource = (javax.sql.DataSource) deploymentMD.getCfs()[0];
+            final javax.sql.DataSource dataSource = (javax.sql.DataSource) deploymentMD.getCfs()[0];
+            if (poolStatistics != null) {
+                poolStatistics.setDataSource(findManagementDataSource());
+                sqlDataSource = new TimedDataSource(dataSource, poolStatistics);
+            } else {
+                sqlDataSource = dataSource;
+            }
             log.debugf("Adding datasource: %s", deploymentMD.getCfJndiNames()[0]);
         } catch (Throwable t) {
             throw new StartException("Error during the deployment of " + jndiName, t);
@@ -109,10 +118,37 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
     }
 
     public synchronized void stop(StopContext stopContext) {
-
+        if (poolStatistics != null) {
+            poolStatistics.setDataSource(null);
+        }
         sqlDataSource = null;
     }
 
+    /**
+     * Set the index entry which should track the pool of this data-source. Must be called before the service is
+     * installed.
+     *
+     * @param poolStatistics the index entry
+     */
+    void setPoolStatistics(final PoolStatisticsIndex.Entry poolStatistics) {
+        this.poolStatistics = poolStatistics;
+    }
+
+    private org.jboss.jca.core.api.management.DataSource findManagementDataSource() {
+        // The repository keeps the entries of earlier deployments of the same data-source, so take the newest
+        org.jboss.jca.core.api.management.DataSource result = null;
+        final List<org.jboss.jca.core.api.management.DataSource> dataSources = managementRepositoryValue.getValue()
+                .getDataSources();
+        if (dataSources != null) {
+            for (org.jboss.jca.core.api.management.DataSource ds : dataSources) {
+                if (jndiName.equalsIgnoreCase(ds.getJndiName())) {
+                    result = ds;
+                }
+            }
+        }
+        return result;
+    }
+
     public synchronized DataSource getValue() throws IllegalStateException, IllegalArgumentException {
         return sqlDataSource;
     }
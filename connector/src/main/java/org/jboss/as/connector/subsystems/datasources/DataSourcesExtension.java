@@ -93,6 +93,11 @@ import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystem
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.SUBSYSTEM_ADD_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.XA_DATASOURCE_ATTRIBUTE;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.XA_DATA_SOURCE_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.DISABLE_CONNECTION_TRACKING_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.ENABLE_CONNECTION_TRACKING_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.LIST_HELD_CONNECTIONS_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.READ_POOL_STATISTICS_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.SUBSYSTEM_READ_POOL_STATISTICS_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.TEST_CONNECTION_DESC;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIBE;
@@ -118,6 +123,7 @@ import org.jboss.as.connector.pool.PoolConfigurationRWHandler.PoolConfigurationR
 import org.jboss.as.connector.pool.PoolConfigurationRWHandler.LocalAndXaDataSourcePoolConfigurationWriteHandler;
 import org.jboss.as.connector.pool.PoolMetrics;
 import org.jboss.as.connector.pool.PoolOperations;
+import org.jboss.as.connector.pool.PoolStatisticsRead;
 import org.jboss.as.controller.BasicOperationResult;
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.ExtensionContext;
@@ -180,6 +186,8 @@ public class DataSourcesExtension implements Extension {
                 DataSourcesSubsystemDescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
         subsystem
                 .registerReadOnlyAttribute("installed-drivers", InstalledDriversReadAttributeHandler.INSTANCE, Storage.RUNTIME);
+        subsystem.registerOperationHandler(PoolStatisticsRead.OPERATION_NAME, PoolStatisticsRead.DS_INSTANCE,
+                SUBSYSTEM_READ_POOL_STATISTICS_DESC, false);
 
         final ModelNodeRegistration jdbcDrivers = subsystem.registerSubModel(PathElement.pathElement(JDBC_DRIVER),
                 JDBC_DRIVER_DESC);
@@ -198,6 +206,14 @@ public class DataSourcesExtension implements Extension {
                 PoolOperations.FlushAllConnectionInPool.DS_INSTANCE, FLUSH_ALL_CONNECTION_DESC, false);
         dataSources.registerOperationHandler("test-connection-in-pool", PoolOperations.TestConnectionInPool.DS_INSTANCE,
                 TEST_CONNECTION_DESC, false);
+        dataSources.registerOperationHandler(PoolStatisticsRead.OPERATION_NAME, PoolStatisticsRead.DS_INSTANCE,
+                READ_POOL_STATISTICS_DESC, false);
+        dataSources.registerOperationHandler("enable-connection-tracking",
+                PoolOperations.EnableConnectionTracking.DS_INSTANCE, ENABLE_CONNECTION_TRACKING_DESC, false);
+        dataSources.registerOperationHandler("disable-connection-tracking",
+                PoolOperations.DisableConnectionTracking.DS_INSTANCE, DISABLE_CONNECTION_TRACKING_DESC, false);
+        dataSources.registerOperationHandler("list-held-connections", PoolOperations.ListHeldConnections.DS_INSTANCE,
+                LIST_HELD_CONNECTIONS_DESC, false);
 
         for (final String attributeName : PoolMetrics.ATTRIBUTES) {
             dataSources.registerMetric(attributeName, PoolMetrics.LocalAndXaDataSourcePoolMetricsHandler.INSTANCE);
@@ -220,6 +236,14 @@ public class DataSourcesExtension implements Extension {
         xaDataSources.registerOperationHandler(REMOVE, XaDataSourceRemove.INSTANCE, REMOVE_XA_DATA_SOURCE_DESC, false);
         xaDataSources.registerOperationHandler(ENABLE, DataSourceEnable.INSTANCE, ENABLE_XA_DATA_SOURCE_DESC, false);
         xaDataSources.registerOperationHandler(DISABLE, DataSourceDisable.INSTANCE, DISABLE_XA_DATA_SOURCE_DESC, false);
+        xaDataSources.registerOperationHandler(PoolStatisticsRead.OPERATION_NAME, PoolStatisticsRead.DS_INSTANCE,
+                READ_POOL_STATISTICS_DESC, false);
+        xaDataSources.registerOperationHandler("enable-connection-tracking",
+                PoolOperations.EnableConnectionTracking.DS_INSTANCE, ENABLE_CONNECTION_TRACKING_DESC, false);
+        xaDataSources.registerOperationHandler("disable-connection-tracking",
+                PoolOperations.DisableConnectionTracking.DS_INSTANCE, DISABLE_CONNECTION_TRACKING_DESC, false);
+        xaDataSources.registerOperationHandler("list-held-connections", PoolOperations.ListHeldConnections.DS_INSTANCE,
+                LIST_HELD_CONNECTIONS_DESC, false);
 
         for (final String attributeName : PoolMetrics.ATTRIBUTES) {
             xaDataSources.registerMetric(attributeName, PoolMetrics.LocalAndXaDataSourcePoolMetricsHandler.INSTANCE);
@@ -37,6 +37,9 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.MINOR_VERS
 import static org.jboss.as.connector.subsystems.datasources.Constants.MODULE_NAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.MODULE_SLOT;
 import static org.jboss.as.connector.subsystems.datasources.Constants.XA_DATA_SOURCE;
+import static org.jboss.as.connector.pool.PoolOperations.EnableConnectionTracking.STACK_TRACE_SAMPLING;
+import static org.jboss.as.connector.pool.PoolOperations.ListHeldConnections.THRESHOLD;
+import org.jboss.as.connector.pool.PoolStatisticsRead;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
@@ -334,6 +337,73 @@ class DataSourcesSubsystemProviders {
         }
     };
 
+    static DescriptionProvider READ_POOL_STATISTICS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(PoolStatisticsRead.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("data-source.read-pool-statistics"));
+            operation.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+            return operation;
+        }
+    };
+
+    static DescriptionProvider ENABLE_CONNECTION_TRACKING_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set("enable-connection-tracking");
+            operation.get(DESCRIPTION).set(bundle.getString("data-source.enable-connection-tracking"));
+            operation.get(REQUEST_PROPERTIES, STACK_TRACE_SAMPLING, DESCRIPTION).set(
+                    bundle.getString("data-source.enable-connection-tracking.stack-trace-sampling"));
+            operation.get(REQUEST_PROPERTIES, STACK_TRACE_SAMPLING, TYPE).set(ModelType.INT);
+            operation.get(REQUEST_PROPERTIES, STACK_TRACE_SAMPLING, REQUIRED).set(false);
+            return operation;
+        }
+    };
+
+    static DescriptionProvider DISABLE_CONNECTION_TRACKING_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set("disable-connection-tracking");
+            operation.get(DESCRIPTION).set(bundle.getString("data-source.disable-connection-tracking"));
+            return operation;
+        }
+    };
+
+    static DescriptionProvider LIST_HELD_CONNECTIONS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set("list-held-connections");
+            operation.get(DESCRIPTION).set(bundle.getString("data-source.list-held-connections"));
+            operation.get(REQUEST_PROPERTIES, THRESHOLD, DESCRIPTION).set(
+                    bundle.getString("data-source.list-held-connections.threshold"));
+            operation.get(REQUEST_PROPERTIES, THRESHOLD, TYPE).set(ModelType.LONG);
+            operation.get(REQUEST_PROPERTIES, THRESHOLD, REQUIRED).set(false);
+            operation.get(REPLY_PROPERTIES, TYPE).set(ModelType.LIST);
+            operation.get(REPLY_PROPERTIES, VALUE_TYPE).set(ModelType.OBJECT);
+            return operation;
+        }
+    };
+
+    static DescriptionProvider SUBSYSTEM_READ_POOL_STATISTICS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(PoolStatisticsRead.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("datasources.read-pool-statistics"));
+            operation.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+            return operation;
+        }
+    };
+
     static DescriptionProvider XA_DATA_SOURCE_DESC = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(final Locale locale) {
@@ -28,6 +28,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_
 import java.util.Set;
 
 import org.jboss.as.connector.ConnectorServices;
+import org.jboss.as.connector.pool.PoolStatisticsIndex;
 import org.jboss.as.controller.BasicOperationResult;
 import org.jboss.as.controller.ModelQueryOperationHandler;
 import org.jboss.as.controller.OperationContext;
@@ -72,15 +73,9 @@ public class LocalAndXaDataSourcesJdbcMetrics implements ModelQueryOperationHand
                         try {
                             final ManagementRepository repository = (ManagementRepository) managementRepoService.getValue();
                             final ModelNode result = new ModelNode();
-                            if (repository.getDataSources() != null) {
-                                for (DataSource ds : repository.getDataSources()) {
-                                    if (jndiName.equalsIgnoreCase(ds.getJndiName())) {
-                                        if (ds.getStatistics() != null) {
-                                            result.set("" + ds.getStatistics().getValue(attributeName));
-                                        }
-
-                                    }
-                                }
+                            final DataSource ds = PoolStatisticsIndex.DATA_SOURCES.findDataSource(jndiName, repository);
+                            if (ds != null && ds.getStatistics() != null) {
+                                result.set("" + ds.getStatistics().getValue(attributeName));
                             }
                             resultHandler.handleResultFragment(new String[0], result);
                             resultHandler.handleResultComplete();
@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.resource.ResourceException;
+import javax.sql.DataSource;
+
+import org.jboss.as.connector.pool.ConnectionTracker;
+import org.jboss.as.connector.pool.PoolStatisticsIndex;
+
+/**
+ * A data-source which records how long callers wait for a connection into the histograms of a
+ * {@link PoolStatisticsIndex.Entry}, and reports checkouts to its {@link ConnectionTracker}.
+ * <p>
+ * Connections are handed out as the pool returns them. Only while connection tracking is enabled are they handed
+ * out behind a proxy implementing every interface of the pooled connection, so that {@code close()} can end the
+ * tracked checkout and record the checkout time; the checkout-time histogram is therefore only filled while
+ * tracking is on. Such a proxy is not a subclass of the adapter's own connection class, so code which casts to that
+ * class has to {@code unwrap} it instead. {@code unwrap} on either the data-source or a connection returns the
+ * underlying pool object when it is of the requested type.
+ * </p>
+ */
+final class TimedDataSource implements DataSource {
+
+    private final DataSource delegate;
+    private final PoolStatisticsIndex.Entry statistics;
+
+    TimedDataSource(final DataSource delegate, final PoolStatisticsIndex.Entry statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    public Connection getConnection() throws SQLException {
+        final long start = System.nanoTime();
+        final Connection connection;
+        try {
+            connection = delegate.getConnection();
+        } catch (SQLException e) {
+            throw checkoutFailed(e);
+        }
+        return checkedOut(connection, start);
+    }
+
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final long start = System.nanoTime();
+        final Connection connection;
+        try {
+            connection = delegate.getConnection(username, password);
+        } catch (SQLException e) {
+            throw checkoutFailed(e);
+        }
+        return checkedOut(connection, start);
+    }
+
+    private SQLException checkoutFailed(final SQLException e) {
+        statistics.getConnectionTracker().checkoutFailed(isBlockingTimeout(e));
+        return e;
+    }
+
+    static boolean isBlockingTimeout(final Throwable t) {
+        // The pool reports an exhausted pool as a ResourceException, wrapped by the JDBC adapter
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ResourceException && cause.getMessage() != null
+                    && cause.getMessage().toLowerCase(Locale.ENGLISH).contains("blocking timeout")) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private Connection checkedOut(final Connection connection, final long start) {
+        final long now = System.nanoTime();
+        statistics.getWaitTime().record(now - start, TimeUnit.NANOSECONDS);
+        if (connection == null) {
+            return null;
+        }
+        final ConnectionTracker.Checkout checkout = statistics.getConnectionTracker().checkedOut();
+        if (checkout == null) {
+            // Tracking is off
+            return connection;
+        }
+        final Class<?> connectionClass = connection.getClass();
+        try {
+            return (Connection) Proxy.newProxyInstance(connectionClass.getClassLoader(), interfacesOf(connectionClass),
+                    new ConnectionHandler(connection, now, checkout));
+        } catch (IllegalArgumentException e) {
+            // Some interface is not visible from the connection's class loader; hand out the connection untimed
+            statistics.getConnectionTracker().checkedIn(checkout);
+            return connection;
+        }
+    }
+
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    private static Class<?>[] interfacesOf(Class<?> clazz) {
+        final Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        while (clazz != null) {
+            for (Class<?> iface : clazz.getInterfaces()) {
+                interfaces.add(iface);
+            }
+            clazz = clazz.getSuperclass();
+        }
+        return interfaces.toArray(new Class<?>[interfaces.size()]);
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final long checkedOut;
+        private final ConnectionTracker.Checkout checkout;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        ConnectionHandler(final Connection connection, final long checkedOut, final ConnectionTracker.Checkout checkout) {
+            this.connection = connection;
+            this.checkedOut = checkedOut;
+            this.checkout = checkout;
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            final int argCount = args == null ? 0 : args.length;
+            if (argCount == 0 && "close".equals(name)) {
+                if (closed.compareAndSet(false, true)) {
+                    statistics.getCheckoutTime().record(System.nanoTime() - checkedOut, TimeUnit.NANOSECONDS);
+                    statistics.getConnectionTracker().checkedIn(checkout);
+                }
+            } else if (argCount == 1 && "equals".equals(name)) {
+                return Boolean.valueOf(proxy == args[0]);
+            } else if (argCount == 0 && "hashCode".equals(name)) {
+                return Integer.valueOf(System.identityHashCode(proxy));
+            } else if (argCount == 1 && "unwrap".equals(name) && ((Class<?>) args[0]).isInstance(connection)) {
+                return connection;
+            } else if (argCount == 1 && "isWrapperFor".equals(name) && ((Class<?>) args[0]).isInstance(connection)) {
+                return Boolean.TRUE;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -70,6 +70,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYP
 import java.util.Locale;
 import java.util.ResourceBundle;
 
+import org.jboss.as.connector.pool.PoolStatisticsRead;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -264,6 +265,30 @@ class ResourceAdaptersSubsystemProviders {
         }
     };
 
+    static DescriptionProvider READ_POOL_STATISTICS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(PoolStatisticsRead.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("resourceadapter.read-pool-statistics"));
+            operation.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+            return operation;
+        }
+    };
+
+    static DescriptionProvider SUBSYSTEM_READ_POOL_STATISTICS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(PoolStatisticsRead.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("resource-adapters.read-pool-statistics"));
+            operation.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+            return operation;
+        }
+    };
+
     static DescriptionProvider FLUSH_IDLE_CONNECTION_DESC = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(final Locale locale) {
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link ConnectionTracker}.
+ */
+public class ConnectionTrackerUnitTestCase {
+
+    @Test
+    public void testDisabledByDefault() {
+        final ConnectionTracker tracker = new ConnectionTracker();
+        assertNull(tracker.checkedOut());
+        assertTrue(tracker.getCheckouts(0).isEmpty());
+    }
+
+    @Test
+    public void testCheckoutAndCheckin() {
+        final ConnectionTracker tracker = new ConnectionTracker();
+        tracker.enable(0);
+        final ConnectionTracker.Checkout first = tracker.checkedOut();
+        final ConnectionTracker.Checkout second = tracker.checkedOut();
+        assertNotNull(first);
+        assertEquals(Thread.currentThread().getName(), first.getThreadName());
+        assertNull(first.getStackTrace());
+
+        List<ConnectionTracker.Checkout> held = tracker.getCheckouts(0);
+        assertEquals(2, held.size());
+        assertTrue(held.get(0).getTimestamp() <= held.get(1).getTimestamp());
+
+        tracker.checkedIn(first);
+        held = tracker.getCheckouts(0);
+        assertEquals(1, held.size());
+        assertSame(second, held.get(0));
+
+        assertTrue(tracker.getCheckouts(60000).isEmpty());
+
+        tracker.disable();
+        assertTrue(tracker.getCheckouts(0).isEmpty());
+    }
+
+    @Test
+    public void testStackTraceSampling() {
+        final ConnectionTracker tracker = new ConnectionTracker();
+        tracker.enable(3);
+        int sampled = 0;
+        for (int i = 0; i < 9; i++) {
+            if (tracker.checkedOut().getStackTrace() != null) {
+                sampled++;
+            }
+        }
+        assertEquals(3, sampled);
+    }
+
+    @Test
+    public void testFailedCheckouts() {
+        final ConnectionTracker tracker = new ConnectionTracker();
+        tracker.checkoutFailed(false);
+        tracker.checkoutFailed(true);
+        assertEquals(2, tracker.getFailedCheckoutCount());
+        assertEquals(1, tracker.getBlockingTimeoutCount());
+    }
+}
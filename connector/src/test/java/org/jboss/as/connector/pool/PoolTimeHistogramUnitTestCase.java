@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.pool;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link PoolTimeHistogram}.
+ */
+public class PoolTimeHistogramUnitTestCase {
+
+    @Test
+    public void testBucketIndex() {
+        assertEquals(0, PoolTimeHistogram.bucketIndex(0));
+        assertEquals(0, PoolTimeHistogram.bucketIndex(1));
+        assertEquals(1, PoolTimeHistogram.bucketIndex(2));
+        assertEquals(2, PoolTimeHistogram.bucketIndex(3));
+        assertEquals(2, PoolTimeHistogram.bucketIndex(5));
+        assertEquals(PoolTimeHistogram.BOUNDS.length - 1, PoolTimeHistogram.bucketIndex(60000));
+        assertEquals(PoolTimeHistogram.BOUNDS.length, PoolTimeHistogram.bucketIndex(60001));
+        assertEquals(PoolTimeHistogram.BOUNDS.length, PoolTimeHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testRecord() {
+        final PoolTimeHistogram histogram = new PoolTimeHistogram();
+        histogram.record(500, TimeUnit.MICROSECONDS);
+        histogram.record(7, TimeUnit.MILLISECONDS);
+        histogram.record(8, TimeUnit.MILLISECONDS);
+        histogram.record(2, TimeUnit.MINUTES);
+        histogram.record(-1, TimeUnit.MILLISECONDS);
+
+        assertEquals(5, histogram.getCount());
+        assertEquals(TimeUnit.MINUTES.toMillis(2), histogram.getMax());
+        assertEquals(2, histogram.getBucketCount(0));
+        assertEquals(2, histogram.getBucketCount(PoolTimeHistogram.bucketIndex(10)));
+        assertEquals(1, histogram.getBucketCount(PoolTimeHistogram.BOUNDS.length));
+    }
+
+    @Test
+    public void testReset() {
+        final PoolTimeHistogram histogram = new PoolTimeHistogram();
+        histogram.record(3, TimeUnit.SECONDS);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        for (int i = 0; i <= PoolTimeHistogram.BOUNDS.length; i++) {
+            assertEquals(0, histogram.getBucketCount(i));
+        }
+    }
+}
@@ -22,6 +22,7 @@
 package org.jboss.as.controller.client;
 
 import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.mgmt.ManagementChannel;
 import org.jboss.as.protocol.mgmt.ManagementRequestConnectionStrategy;
 
 /**
@@ -30,14 +31,18 @@ import org.jboss.as.protocol.mgmt.ManagementRequestConnectionStrategy;
  * @version $Revision: 1.1 $
  */
 class ExistingConnectionModelControllerClient extends AbstractModelControllerClient {
-    private final Connection connection;
+    private final ManagementRequestConnectionStrategy connectionStrategy;
 
     public ExistingConnectionModelControllerClient(Connection connection) {
-        this.connection = connection;
+        this.connectionStrategy = new ManagementRequestConnectionStrategy.ExistingConnectionStrategy(connection);
+    }
+
+    public ExistingConnectionModelControllerClient(ManagementChannel channel) {
+        this.connectionStrategy = channel;
     }
 
     @Override
     ManagementRequestConnectionStrategy getConnectionStrategy() {
-        return new ManagementRequestConnectionStrategy.ExistingConnectionStrategy(connection);
+        return connectionStrategy;
     }
 }
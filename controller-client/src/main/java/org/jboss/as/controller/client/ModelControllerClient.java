@@ -29,6 +29,7 @@ import java.net.UnknownHostException;
 import java.util.concurrent.CancellationException;
 
 import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.mgmt.ManagementChannel;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -109,5 +110,15 @@ public interface ModelControllerClient extends Closeable {
         public static ModelControllerClient create(final Connection connection) {
             return new ExistingConnectionModelControllerClient(connection);
         }
+
+        /**
+         * Create client instance sending its requests over a multiplexed management channel
+         *
+         * @param channel the channel
+         * @return A model controller client
+         */
+        public static ModelControllerClient create(final ManagementChannel channel) {
+            return new ExistingConnectionModelControllerClient(channel);
+        }
     }
 }
@@ -44,10 +44,12 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -86,18 +88,33 @@ public class BasicModelController extends AbstractModelController<OperationContr
     private final ModelNodeRegistration registry;
     private final ModelNode model;
     private final ConfigurationPersister configurationPersister;
+    /** Read-only copy of {@link #model} shared by snapshot queries; {@code null} if the model changed since it was taken */
+    private volatile ModelNode modelSnapshot;
+    /** The last snapshot taken, kept after a change so it can be patched rather than copied again; guarded by {@link #model} */
+    private ModelNode staleSnapshot;
+    /** The addresses changed since {@link #staleSnapshot} was taken; guarded by {@link #model} */
+    private Set<PathAddress> changedAddresses;
     private final ModelProvider modelSource = new ModelProvider() {
         @Override
         public ModelNode getModel() {
             return BasicModelController.this.model;
         }
     };
+    private final ModelProvider snapshotSource = new ModelProvider() {
+        @Override
+        public ModelNode getModel() {
+            return getModelSnapshot();
+        }
+    };
     private final OperationContextFactory contextFactory = new OperationContextFactory() {
         @Override
         public OperationContext getOperationContext(final ModelProvider modelSource, final PathAddress address,
                 final OperationHandler operationHandler, final Operation operation) {
-            final ModelNode subModel = getOperationSubModel(modelSource, operationHandler, address);
-            return BasicModelController.this.getOperationContext(subModel, operationHandler, operation, modelSource);
+            // Snapshot queries against the live model work on the shared snapshot so they never wait for writers
+            final ModelProvider source = modelSource == BasicModelController.this.modelSource
+                    && operationHandler instanceof SnapshotQueryOperationHandler ? snapshotSource : modelSource;
+            final ModelNode subModel = getOperationSubModel(source, operationHandler, address);
+            return BasicModelController.this.getOperationContext(subModel, operationHandler, operation, source);
         }
     };
     private final ConfigurationPersisterProvider configPersisterProvider = new ConfigurationPersisterProvider() {
@@ -320,8 +337,13 @@ public class BasicModelController extends AbstractModelController<OperationContr
         } else if (operationHandler instanceof ModelQueryOperationHandler) {
             // or model update operation handler...
             final ModelNode model = modelSource.getModel();
-            synchronized (model) {
-                subModel = address.navigate(model, false).clone();
+            if (modelSource == snapshotSource) {
+                // The snapshot is never modified, so neither locking nor copying is needed for handlers that promise not to write
+                subModel = address.navigate(model, false);
+            } else {
+                synchronized (model) {
+                    subModel = address.navigate(model, false).clone();
+                }
             }
         } else {
             subModel = null;
@@ -329,6 +351,102 @@ public class BasicModelController extends AbstractModelController<OperationContr
         return subModel;
     }
 
+    /**
+     * Get a read-only copy of the model. The copy is taken lazily on the first call after the model
+     * changed and is then shared by all readers until the next change, so concurrent reads neither block
+     * each other nor wait for an update in progress. If only known addresses changed since the previous
+     * copy, just the nodes along those paths are copied again and everything else is shared with the
+     * previous copy. Callers must not modify the returned node.
+     *
+     * @return the model snapshot
+     */
+    protected ModelNode getModelSnapshot() {
+        ModelNode snapshot = modelSnapshot;
+        if (snapshot == null) {
+            synchronized (model) {
+                snapshot = modelSnapshot;
+                if (snapshot == null) {
+                    if (staleSnapshot != null) {
+                        snapshot = staleSnapshot;
+                        for (PathAddress changed : changedAddresses) {
+                            snapshot = copyPath(snapshot, model, changed, 0);
+                        }
+                    } else {
+                        snapshot = model.clone();
+                    }
+                    staleSnapshot = null;
+                    changedAddresses = null;
+                    modelSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Copy the given snapshot node so it matches the live node along the given address. The node at the
+     * address is copied from the live model, its ancestors are copied one level deep, and all other nodes
+     * are shared with the snapshot.
+     *
+     * @param snapshot the snapshot node, which is not modified
+     * @param live the corresponding live node
+     * @param address the changed address
+     * @param depth the number of address keys already consumed
+     * @return the new snapshot node
+     */
+    private static ModelNode copyPath(final ModelNode snapshot, final ModelNode live, final PathAddress address, final int depth) {
+        if (depth == address.size() * 2 || snapshot.getType() != ModelType.OBJECT || live.getType() != ModelType.OBJECT) {
+            return live.clone();
+        }
+        final PathElement element = address.getElement(depth / 2);
+        final String key = depth % 2 == 0 ? element.getKey() : element.getValue();
+        final ModelNode result = new ModelNode().setEmptyObject();
+        for (String name : live.keys()) {
+            if (name.equals(key) && snapshot.has(name)) {
+                result.get(name).set(copyPath(snapshot.get(name), live.get(name), address, depth + 1));
+            } else if (!name.equals(key) && snapshot.has(name)) {
+                // Only the value is copied, the children stay shared with the old snapshot
+                result.get(name).set(snapshot.get(name));
+            } else {
+                result.get(name).set(live.get(name).clone());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discard the current model snapshot. Must be called while holding the model's monitor, after
+     * changing the model.
+     */
+    protected void invalidateModelSnapshot() {
+        modelSnapshot = null;
+        staleSnapshot = null;
+        changedAddresses = null;
+    }
+
+    /**
+     * Discard the current model snapshot after a change limited to the given address. The next snapshot
+     * only copies the nodes along the changed addresses. Must be called while holding the model's monitor,
+     * after changing the model.
+     *
+     * @param address the address of the changed resource
+     */
+    protected void invalidateModelSnapshot(final PathAddress address) {
+        if (address.size() == 0) {
+            invalidateModelSnapshot();
+            return;
+        }
+        final ModelNode snapshot = modelSnapshot;
+        if (snapshot != null) {
+            staleSnapshot = snapshot;
+            changedAddresses = new LinkedHashSet<PathAddress>();
+            modelSnapshot = null;
+        }
+        if (staleSnapshot != null) {
+            changedAddresses.add(address);
+        }
+    }
+
     protected boolean isMultiStepOperation(ModelNode operation, PathAddress address) {
         return address.size() == 0 && COMPOSITE.equals(operation.require(OP).asString());
     }
@@ -409,6 +527,7 @@ public class BasicModelController extends AbstractModelController<OperationContr
                 } else {
                     address.navigate(model, true).set(operationHandlerContext.getSubModel());
                 }
+                invalidateModelSnapshot(address);
                 persistConfiguration(model, operationControllerContext.getConfigurationPersisterProvider());
             }
         }
@@ -759,6 +878,7 @@ public class BasicModelController extends AbstractModelController<OperationContr
             final ModelNode model = modelSource.getModel();
             synchronized (model) {
                 model.set(localModel);
+                invalidateModelSnapshot();
                 BasicModelController.this.persistConfiguration(model, injectedConfigPersisterProvider);
             }
 
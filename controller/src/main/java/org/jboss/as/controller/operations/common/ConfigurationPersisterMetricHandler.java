@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operations.common;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.persistence.AsyncConfigurationPersister;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Metric handler exposing the write statistics of an {@link AsyncConfigurationPersister}.
+ */
+public class ConfigurationPersisterMetricHandler implements ModelQueryOperationHandler {
+
+    public static final String QUEUE_DEPTH = "config-persister-queue-depth";
+    public static final String WRITE_COUNT = "config-persister-write-count";
+    public static final String COALESCED_COUNT = "config-persister-coalesced-count";
+    public static final String FAILED_WRITE_COUNT = "config-persister-failed-write-count";
+    public static final String LAST_WRITE_TIME = "config-persister-last-write-time";
+    public static final String AVERAGE_WRITE_TIME = "config-persister-average-write-time";
+    public static final String MAX_WRITE_TIME = "config-persister-max-write-time";
+    public static final String[] ATTRIBUTES = new String[] {QUEUE_DEPTH, WRITE_COUNT, COALESCED_COUNT, FAILED_WRITE_COUNT,
+            LAST_WRITE_TIME, AVERAGE_WRITE_TIME, MAX_WRITE_TIME};
+
+    private final AsyncConfigurationPersister persister;
+
+    public ConfigurationPersisterMetricHandler(final AsyncConfigurationPersister persister) {
+        this.persister = persister;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        final String attributeName = operation.require(NAME).asString();
+        final ModelNode result = new ModelNode();
+        if (QUEUE_DEPTH.equals(attributeName)) {
+            result.set(persister.getQueueDepth());
+        } else if (WRITE_COUNT.equals(attributeName)) {
+            result.set(persister.getWriteCount());
+        } else if (COALESCED_COUNT.equals(attributeName)) {
+            result.set(persister.getCoalescedCount());
+        } else if (FAILED_WRITE_COUNT.equals(attributeName)) {
+            result.set(persister.getFailedWriteCount());
+        } else if (LAST_WRITE_TIME.equals(attributeName)) {
+            result.set(persister.getLastWriteTime());
+        } else if (AVERAGE_WRITE_TIME.equals(attributeName)) {
+            result.set(persister.getAverageWriteTime());
+        } else if (MAX_WRITE_TIME.equals(attributeName)) {
+            result.set(persister.getMaxWriteTime());
+        }
+        resultHandler.handleResultFragment(Util.NO_LOCATION, result);
+        resultHandler.handleResultComplete();
+        return new BasicOperationResult();
+    }
+}
@@ -39,8 +39,10 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REC
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STORAGE;
 
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -50,6 +52,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.controller.BasicOperationResult;
 import org.jboss.as.controller.ModelAddOperationHandler;
+import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.ModelQueryOperationHandler;
 import org.jboss.as.controller.ModelUpdateOperationHandler;
 import org.jboss.as.controller.OperationContext;
@@ -60,6 +63,8 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeOperationContext;
+import org.jboss.as.controller.SnapshotQueryOperationHandler;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
@@ -95,7 +100,7 @@ public class GlobalOperationHandlers {
      * all children and configuration attributes. Non-recursive queries can include runtime attributes by setting the request parameter
      * "include-runtime" to "true".
      */
-    public static class ReadResourceHandler implements ModelQueryOperationHandler {
+    public static class ReadResourceHandler implements SnapshotQueryOperationHandler {
 
         static final String PROXIES = "proxies";
 
@@ -103,47 +108,40 @@ public class GlobalOperationHandlers {
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
             final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
-            final ModelNode result = readModel(context, operation, resultHandler, address);
+            final ModelNode result = readModel(context, operation, resultHandler, address, context.getSubModel());
             resultHandler.handleResultFragment(Util.NO_LOCATION, result);
             resultHandler.handleResultComplete();
             return new BasicOperationResult();
         }
 
+        /**
+         * Read the resource at the given address.
+         *
+         * @param context the operation context
+         * @param readOperation the read operation
+         * @param resultHandler the result handler to report failures to
+         * @param address the address of the resource
+         * @param model the resource's model, which may be the shared model snapshot and so is never modified
+         * @return the result
+         */
         protected ModelNode readModel(final OperationContext context, final ModelNode readOperation,
-                final ResultHandler resultHandler, final PathAddress address) throws OperationFailedException {
+                final ResultHandler resultHandler, final PathAddress address, final ModelNode model) throws OperationFailedException {
             final ModelNodeRegistration registry = context.getRegistry();
-            final ModelNode model = context.getSubModel(address);
             final ModelNode result;
                 if (readOperation.get(RECURSIVE).asBoolean(false)) {
                     // FIXME security checks JBAS-8842
+                    // The result is the whole sub-tree, so this is the one copy it needs
                     result = model.clone();
                     if(readOperation.get(PROXIES).asBoolean(true)) {
                         addProxyNodes(context, address, readOperation, result, registry);
                     }
                 } else {
-                    result = new ModelNode();
-
                     final Set<String> childNames = registry.getChildNames(address);
-
-                    final ModelNode subModel = model.clone();
-                    for (final String key : subModel.keys()) {
-                        final ModelNode child = subModel.get(key);
-                        if (childNames.contains(key)) {
-                            //Prune the value for this child
-                            if (subModel.get(key).isDefined()) {
-                                for (final String childKey : child.keys()) {
-                                    subModel.get(key, childKey).set(new ModelNode());
-                                }
-                            }
-
-                            result.get(key).set(child);
-                        } else {
-                            result.get(key).set(child);
-                        }
-                    }
+                    result = readResourceLevel(model, childNames);
                     // Handle attributes
                     final boolean queryRuntime = readOperation.get(INCLUDE_RUNTIME).asBoolean(false);
                     final Set<String> attributeNames = registry.getAttributeNames(address);
+                    OperationContext attributeContext = null;
                     for(final String attributeName : attributeNames) {
                         final AttributeAccess access = registry.getAttributeAccess(address, attributeName);
                         if(access == null) {
@@ -156,11 +154,15 @@ public class GlobalOperationHandlers {
                             final AccessType type = access.getAccessType();
                             final OperationHandler handler = access.getReadHandler();
                             if(handler != null) {
+                                if (attributeContext == null) {
+                                    // Read handlers may write to the model they are given, so give them their own copy
+                                    attributeContext = getAttributeReadContext(context, readResourceLevel(model, childNames));
+                                }
                                 // Create the attribute operation
                                 final ModelNode attributeOperation = readOperation.clone();
                                 attributeOperation.get(NAME).set(attributeName);
                                 // TODO this assumes the ResultHandler is invoked synchronously
-                                handler.execute(context, attributeOperation, new ResultHandler() {
+                                handler.execute(attributeContext, attributeOperation, new ResultHandler() {
                                     @Override
                                     public void handleResultFragment(final String[] location, final ModelNode attributeResult) {
                                         result.get(attributeName).set(attributeResult);
@@ -188,6 +190,43 @@ public class GlobalOperationHandlers {
             return result;
         }
 
+        /**
+         * Copy the attributes of a resource, listing only the names of its children.
+         *
+         * @param model the resource's model, which is not modified
+         * @param childNames the registered child types of the resource
+         * @return the copy
+         */
+        private static ModelNode readResourceLevel(final ModelNode model, final Set<String> childNames) {
+            final ModelNode result = new ModelNode();
+            for (final String key : model.keys()) {
+                final ModelNode value = model.get(key);
+                if (childNames.contains(key)) {
+                    //Prune the value for this child
+                    final ModelNode child = result.get(key);
+                    if (value.isDefined()) {
+                        for (final String childKey : value.keys()) {
+                            child.get(childKey);
+                        }
+                    }
+                } else {
+                    result.get(key).set(value.clone());
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Get the context passed to the read handlers of the resource's attributes.
+         *
+         * @param context the read operation's context
+         * @param subModel a private copy of the resource's attributes
+         * @return the context
+         */
+        protected OperationContext getAttributeReadContext(final OperationContext context, final ModelNode subModel) {
+            return new AttributeReadContext(context, subModel);
+        }
+
         protected void handleNonRecursiveProxyEntries(final OperationContext context, final PathAddress address, final ModelNode originalOperation, final ModelNode result, final ModelNodeRegistration registry) {
         }
 
@@ -225,6 +264,50 @@ public class GlobalOperationHandlers {
             resultNode.set(proxyResult.get(RESULT).clone());
         }
 
+        /**
+         * Context for reading a single attribute, whose sub-model is a private copy of the resource.
+         */
+        protected static class AttributeReadContext implements OperationContext {
+
+            private final OperationContext delegate;
+            private final ModelNode subModel;
+
+            protected AttributeReadContext(final OperationContext delegate, final ModelNode subModel) {
+                this.delegate = delegate;
+                this.subModel = subModel;
+            }
+
+            @Override
+            public ModelController getController() {
+                return delegate.getController();
+            }
+
+            @Override
+            public ModelNodeRegistration getRegistry() {
+                return delegate.getRegistry();
+            }
+
+            @Override
+            public ModelNode getSubModel() throws IllegalArgumentException {
+                return subModel;
+            }
+
+            @Override
+            public ModelNode getSubModel(final PathAddress address) throws IllegalArgumentException {
+                return delegate.getSubModel(address);
+            }
+
+            @Override
+            public RuntimeOperationContext getRuntimeContext() {
+                return delegate.getRuntimeContext();
+            }
+
+            @Override
+            public List<InputStream> getInputStreams() {
+                return delegate.getInputStreams();
+            }
+        }
+
     };
 
     /**
@@ -286,13 +369,13 @@ public class GlobalOperationHandlers {
     /**
      * {@link OperationHandler} querying the children names of a given "child-type".
      */
-    public static class ReadChildrenNamesOperationHandler implements ModelQueryOperationHandler {
+    public static class ReadChildrenNamesOperationHandler implements SnapshotQueryOperationHandler {
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
             String childName = operation.require(CHILD_TYPE).asString();
 
-            ModelNode subModel = context.getSubModel().clone();
+            ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
@@ -304,10 +387,10 @@ public class GlobalOperationHandlers {
                     throw new OperationFailedException(new ModelNode().set("No known child called " + childName)); //TODO i18n
                 } else {
                     final ModelNode result = new ModelNode();
-                    subModel = subModel.get(childName);
-                    if (!subModel.isDefined()) {
+                    if (!subModel.hasDefined(childName)) {
                         result.setEmptyList();
                     } else {
+                        subModel = subModel.get(childName);
                         for (final String key : subModel.keys()) {
                             final ModelNode node = new ModelNode();
                             node.set(key);
@@ -332,7 +415,7 @@ public class GlobalOperationHandlers {
 
             String childName = operation.require(CHILD_TYPE).asString();
 
-            ModelNode subModel = context.getSubModel().clone();
+            ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
@@ -346,11 +429,10 @@ public class GlobalOperationHandlers {
                 } else {
                     final AtomicBoolean ok = new AtomicBoolean(true);
                     final ModelNode result = new ModelNode();
-                    subModel = subModel.get(childName);
-                    if (!subModel.isDefined()) {
+                    if (!subModel.hasDefined(childName)) {
                         result.setEmptyList();
                     } else {
-
+                        subModel = subModel.get(childName);
                         for (final String key : subModel.keys()) {
                             if (!ok.get()) {
                                 break;
@@ -378,7 +460,7 @@ public class GlobalOperationHandlers {
                                     ok.set(false);
                                     resultHandler.handleCancellation();
                                 }
-                            }, childAddress);
+                            }, childAddress, subModel.get(key));
                             result.add(key, readResult);
                         }
                     }
@@ -397,11 +479,11 @@ public class GlobalOperationHandlers {
     /**
      * {@link OperationHandler} querying the child types of a given node.
      */
-    public static final ModelQueryOperationHandler READ_CHILDREN_TYPES = new ModelQueryOperationHandler() {
+    public static final ModelQueryOperationHandler READ_CHILDREN_TYPES = new SnapshotQueryOperationHandler() {
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
-            ModelNode subModel = context.getSubModel().clone();
+            final ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
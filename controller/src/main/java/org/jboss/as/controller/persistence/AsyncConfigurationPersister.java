@@ -0,0 +1,391 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.logging.Logger;
+import org.jboss.staxmapper.XMLElementWriter;
+
+/**
+ * A configuration persister which hands model snapshots off to a background writer.
+ * <p>
+ * {@link #store(ModelNode)} only copies the model and returns; the actual write is performed by the
+ * wrapped persister on a single writer thread. Snapshots that arrive while a write is in progress replace
+ * each other, so a burst of changes results in a single write of the latest model. Callers which need to
+ * know that a change has reached the disk can use {@link #flush()} or {@link #awaitDurable(long, TimeUnit)}.
+ * </p>
+ * <p>
+ * After {@link #shutdown()}, {@link #store(ModelNode)} writes synchronously once every queued snapshot has been
+ * written. All writes to the wrapped persister are serialized, so an older snapshot can never overwrite a newer one.
+ * </p>
+ */
+public class AsyncConfigurationPersister implements ExtensibleConfigurationPersister {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.controller");
+
+    private static final ThreadFactory DEFAULT_THREAD_FACTORY = new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "Configuration Persister");
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private final ExtensibleConfigurationPersister delegate;
+    private final ThreadFactory threadFactory;
+
+    private final Object lock = new Object();
+    // held for every write to the delegate
+    private final Object writeLock = new Object();
+    // guarded by lock
+    private ModelNode pending;
+    private long requested;
+    private long written;
+    private ConfigurationPersistenceException lastFailure;
+    private Thread writer;
+    private boolean shutdown;
+
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong failedWriteCount = new AtomicLong();
+    private final AtomicLong totalWriteTime = new AtomicLong();
+    private final AtomicLong maxWriteTime = new AtomicLong();
+    private volatile long lastWriteTime;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param delegate the persister which performs the actual writes
+     */
+    public AsyncConfigurationPersister(final ExtensibleConfigurationPersister delegate) {
+        this(delegate, DEFAULT_THREAD_FACTORY);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param delegate the persister which performs the actual writes
+     * @param threadFactory the factory for the writer thread
+     */
+    public AsyncConfigurationPersister(final ExtensibleConfigurationPersister delegate, final ThreadFactory threadFactory) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate is null");
+        }
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("threadFactory is null");
+        }
+        this.delegate = delegate;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Queue a snapshot of the given model for writing. The model is copied before this method
+     * returns, so the caller is free to keep modifying it.
+     *
+     * @param model the model to persist
+     */
+    @Override
+    public void store(final ModelNode model) throws ConfigurationPersistenceException {
+        final ModelNode snapshot = model.clone();
+        synchronized (lock) {
+            if (shutdown) {
+                // No writer any more; once the queued snapshots are written, fall back to a synchronous write
+                try {
+                    while (written < requested) {
+                        lock.wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ConfigurationPersistenceException("Interrupted waiting for configuration to be persisted", e);
+                }
+                final long start = System.nanoTime();
+                try {
+                    synchronized (writeLock) {
+                        delegate.store(snapshot);
+                    }
+                } catch (ConfigurationPersistenceException e) {
+                    failedWriteCount.incrementAndGet();
+                    throw e;
+                } finally {
+                    recordWrite(start);
+                }
+                return;
+            }
+            if (pending != null) {
+                coalescedCount.incrementAndGet();
+            }
+            pending = snapshot;
+            requested++;
+            if (writer == null) {
+                writer = threadFactory.newThread(new Writer());
+                writer.start();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Block until every model passed to {@link #store(ModelNode)} before this call has been written.
+     *
+     * @throws ConfigurationPersistenceException if the write covering those changes failed, or if the
+     *          calling thread was interrupted while waiting
+     */
+    public void flush() throws ConfigurationPersistenceException {
+        synchronized (lock) {
+            final long target = requested;
+            try {
+                while (written < target) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConfigurationPersistenceException("Interrupted waiting for configuration to be persisted", e);
+            }
+            if (lastFailure != null) {
+                throw lastFailure;
+            }
+        }
+    }
+
+    /**
+     * Wait for every model passed to {@link #store(ModelNode)} before this call to be written.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if the changes were written successfully, {@code false} if the timeout
+     *          elapsed first or the write failed
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public boolean awaitDurable(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + remaining;
+        synchronized (lock) {
+            final long target = requested;
+            while (written < target) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+            return lastFailure == null;
+        }
+    }
+
+    /**
+     * Write any outstanding changes and stop the writer thread. Subsequent calls to
+     * {@link #store(ModelNode)} write synchronously.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            lock.notifyAll();
+        }
+        try {
+            flush();
+        } catch (ConfigurationPersistenceException e) {
+            log.warnf(e, "Failed to persist configuration change: %s", e);
+        }
+    }
+
+    /**
+     * Get the number of changes which have been accepted but not yet written.
+     *
+     * @return the queue depth
+     */
+    public long getQueueDepth() {
+        synchronized (lock) {
+            return requested - written;
+        }
+    }
+
+    /**
+     * Get the number of writes performed.
+     *
+     * @return the write count
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Get the number of changes which were folded into a later write instead of being written on their own.
+     *
+     * @return the coalesced change count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Get the number of writes which failed.
+     *
+     * @return the failed write count
+     */
+    public long getFailedWriteCount() {
+        return failedWriteCount.get();
+    }
+
+    /**
+     * Get the duration of the most recent write.
+     *
+     * @return the time in milliseconds
+     */
+    public long getLastWriteTime() {
+        return lastWriteTime;
+    }
+
+    /**
+     * Get the longest write duration seen.
+     *
+     * @return the time in milliseconds
+     */
+    public long getMaxWriteTime() {
+        return maxWriteTime.get();
+    }
+
+    /**
+     * Get the average write duration.
+     *
+     * @return the time in milliseconds, or {@code 0} if nothing has been written yet
+     */
+    public long getAverageWriteTime() {
+        final long count = writeCount.get();
+        return count == 0 ? 0 : totalWriteTime.get() / count;
+    }
+
+    @Override
+    public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
+        delegate.marshallAsXml(model, output);
+    }
+
+    @Override
+    public List<ModelNode> load() throws ConfigurationPersistenceException {
+        return delegate.load();
+    }
+
+    @Override
+    public void successfulBoot() throws ConfigurationPersistenceException {
+        delegate.successfulBoot();
+    }
+
+    @Override
+    public String snapshot() throws ConfigurationPersistenceException {
+        // The snapshot must include changes which are still queued
+        flush();
+        return delegate.snapshot();
+    }
+
+    @Override
+    public SnapshotInfo listSnapshots() {
+        return delegate.listSnapshots();
+    }
+
+    @Override
+    public void deleteSnapshot(final String name) {
+        delegate.deleteSnapshot(name);
+    }
+
+    @Override
+    public void registerSubsystemWriter(final String name, final XMLElementWriter<SubsystemMarshallingContext> writer) {
+        delegate.registerSubsystemWriter(name, writer);
+    }
+
+    @Override
+    public void registerSubsystemDeploymentWriter(final String name, final XMLElementWriter<SubsystemMarshallingContext> writer) {
+        delegate.registerSubsystemDeploymentWriter(name, writer);
+    }
+
+    private void recordWrite(final long start) {
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        writeCount.incrementAndGet();
+        totalWriteTime.addAndGet(elapsed);
+        lastWriteTime = elapsed;
+        long max;
+        do {
+            max = maxWriteTime.get();
+        } while (elapsed > max && !maxWriteTime.compareAndSet(max, elapsed));
+    }
+
+    private class Writer implements Runnable {
+
+        @Override
+        public void run() {
+            boolean intr = false;
+            try {
+                for (;;) {
+                    final ModelNode snapshot;
+                    final long sequence;
+                    synchronized (lock) {
+                        while (pending == null && !shutdown) {
+                            try {
+                                lock.wait();
+                            } catch (InterruptedException e) {
+                                intr = true;
+                            }
+                        }
+                        if (pending == null) {
+                            writer = null;
+                            return;
+                        }
+                        snapshot = pending;
+                        sequence = requested;
+                        pending = null;
+                    }
+                    ConfigurationPersistenceException failure = null;
+                    final long start = System.nanoTime();
+                    try {
+                        synchronized (writeLock) {
+                            delegate.store(snapshot);
+                        }
+                    } catch (ConfigurationPersistenceException e) {
+                        failure = e;
+                    } catch (Throwable t) {
+                        failure = new ConfigurationPersistenceException("Failed to store configuration", t);
+                    }
+                    recordWrite(start);
+                    if (failure != null) {
+                        failedWriteCount.incrementAndGet();
+                        log.warnf(failure, "Failed to persist configuration change: %s", failure);
+                    }
+                    synchronized (lock) {
+                        written = sequence;
+                        lastFailure = failure;
+                        lock.notifyAll();
+                    }
+                }
+            } finally {
+                if (intr) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
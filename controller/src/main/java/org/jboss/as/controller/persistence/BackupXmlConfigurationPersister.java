@@ -47,12 +47,26 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
      * @param rootDeparser the root model deparser
      */
     public BackupXmlConfigurationPersister(final ConfigurationFile file, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser, final XMLElementWriter<ModelMarshallingContext> rootDeparser) {
-        super(file.getBootFile(), rootElement, rootParser, rootDeparser);
+        this(file, rootElement, rootParser, rootDeparser, null);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param file the configuration base file
+     * @param rootElement the root element of the configuration file
+     * @param rootParser the root model parser
+     * @param rootDeparser the root model deparser
+     * @param bootModelCache the cache of parsed boot operations, or {@code null} to always parse the file
+     */
+    public BackupXmlConfigurationPersister(final ConfigurationFile file, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser, final XMLElementWriter<ModelMarshallingContext> rootDeparser, final BootModelCache bootModelCache) {
+        super(file.getBootFile(), rootElement, rootParser, rootDeparser, bootModelCache);
         this.configurationFile = file;
     }
 
     @Override
     public void successfulBoot() throws ConfigurationPersistenceException {
+        super.successfulBoot();
         configurationFile.successfulBoot();
     }
 
@@ -0,0 +1,340 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.Extension;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+import org.jboss.logging.Logger;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleIdentifier;
+import org.jboss.modules.ModuleLoader;
+
+/**
+ * A binary copy of the boot operations parsed from a configuration file.
+ * <p>
+ * An entry is only used if the configuration file content, the root parser and the extension modules referenced by
+ * the boot operations are all unchanged since the entry was written; otherwise the configuration is parsed again.
+ * The content is identified by its SHA-1 hash, the parser and extension modules by the location and modification
+ * time of the class or service file that defines them.
+ * </p>
+ * <p>
+ * Each entry records how long the original parse took, so the cache can report how much boot time it saved.
+ * </p>
+ */
+public class BootModelCache {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.controller");
+
+    private static final int MAGIC = 0x4A424D43; // JBMC
+    private static final int VERSION = 1;
+    private static final String EXTENSION_SERVICE = "META-INF/services/" + Extension.class.getName();
+
+    private final File cacheFile;
+    private final ModuleLoader moduleLoader;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong parseTime = new AtomicLong();
+    private final AtomicLong loadTime = new AtomicLong();
+    private final AtomicLong timeSaved = new AtomicLong();
+
+    /**
+     * Construct a new instance.
+     *
+     * @param cacheFile the file holding the cached boot operations
+     * @param moduleLoader the loader for the extension modules
+     */
+    public BootModelCache(final File cacheFile, final ModuleLoader moduleLoader) {
+        if (cacheFile == null) {
+            throw new IllegalArgumentException("cacheFile is null");
+        }
+        if (moduleLoader == null) {
+            throw new IllegalArgumentException("moduleLoader is null");
+        }
+        this.cacheFile = cacheFile;
+        this.moduleLoader = moduleLoader;
+    }
+
+    /**
+     * Read the boot operations stored for the given configuration.
+     *
+     * @param contentHash the SHA-1 hash of the configuration file content
+     * @param rootParser the parser which would otherwise be used to read the configuration
+     * @return the boot operations, or {@code null} if nothing usable is stored
+     */
+    public List<ModelNode> load(final byte[] contentHash, final Object rootParser) {
+        if (!cacheFile.isFile()) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        final long start = System.nanoTime();
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+            try {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("Unrecognized boot model format");
+                }
+                final byte[] storedHash = new byte[in.readUnsignedShort()];
+                in.readFully(storedHash);
+                if (!Arrays.equals(contentHash, storedHash)) {
+                    log.debugf("Configuration has changed since %s was written", cacheFile);
+                    missCount.incrementAndGet();
+                    return null;
+                }
+                if (!fingerprint(rootParser.getClass()).equals(in.readUTF())) {
+                    log.debugf("Configuration parser has changed since %s was written", cacheFile);
+                    missCount.incrementAndGet();
+                    return null;
+                }
+                final int extensionCount = in.readInt();
+                for (int i = 0; i < extensionCount; i++) {
+                    final String moduleName = in.readUTF();
+                    final String fingerprint = in.readUTF();
+                    if (!fingerprint.equals(fingerprint(moduleName))) {
+                        log.debugf("Extension module %s has changed since %s was written", moduleName, cacheFile);
+                        missCount.incrementAndGet();
+                        return null;
+                    }
+                }
+                final long originalTime = in.readLong();
+                final ModelNode operations = new ModelNode();
+                operations.readExternal(in);
+                final long elapsed = System.nanoTime() - start;
+                hitCount.incrementAndGet();
+                loadTime.addAndGet(elapsed);
+                if (originalTime > elapsed) {
+                    timeSaved.addAndGet(originalTime - elapsed);
+                }
+                return operations.getType() == ModelType.LIST ? operations.asList() : new ArrayList<ModelNode>();
+            } finally {
+                safeClose(in);
+            }
+        } catch (Exception e) {
+            log.debugf(e, "Discarding unreadable boot model %s", cacheFile);
+            failureCount.incrementAndGet();
+            missCount.incrementAndGet();
+            cacheFile.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Store the boot operations parsed from a configuration.  Failures are logged and otherwise ignored; the
+     * cache is only an optimization.
+     *
+     * @param contentHash the SHA-1 hash of the configuration file content
+     * @param rootParser the parser which read the configuration
+     * @param operations the boot operations
+     * @param parseNanos the time it took to parse the configuration, in nanoseconds
+     */
+    public void store(final byte[] contentHash, final Object rootParser, final List<ModelNode> operations, final long parseNanos) {
+        final File dir = cacheFile.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+            log.debugf("Could not create boot model directory %s", dir);
+            failureCount.incrementAndGet();
+            return;
+        }
+        final File tmp = new File(dir, cacheFile.getName() + ".tmp");
+        try {
+            final Map<String, String> extensions = new LinkedHashMap<String, String>();
+            final ModelNode list = new ModelNode().setEmptyList();
+            for (ModelNode operation : operations) {
+                final String moduleName = getExtensionModule(operation);
+                if (moduleName != null) {
+                    extensions.put(moduleName, fingerprint(moduleName));
+                }
+                list.add(operation);
+            }
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeShort(contentHash.length);
+                out.write(contentHash);
+                out.writeUTF(fingerprint(rootParser.getClass()));
+                out.writeInt(extensions.size());
+                for (Map.Entry<String, String> entry : extensions.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue());
+                }
+                out.writeLong(parseNanos);
+                list.writeExternal(out);
+                out.flush();
+            } finally {
+                safeClose(out);
+            }
+            if (!tmp.renameTo(cacheFile)) {
+                // Some platforms cannot rename over an existing file
+                if (!cacheFile.delete() || !tmp.renameTo(cacheFile)) {
+                    throw new IOException("Could not rename " + tmp + " to " + cacheFile);
+                }
+            }
+        } catch (Exception e) {
+            log.debugf(e, "Failed to store boot model %s", cacheFile);
+            failureCount.incrementAndGet();
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Record the time spent parsing a configuration which could not be read from the cache.
+     *
+     * @param parseNanos the parse time, in nanoseconds
+     */
+    public void recordParse(final long parseNanos) {
+        parseTime.addAndGet(parseNanos);
+    }
+
+    /**
+     * Get the number of boots which read their operations from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of boots which had to parse the configuration.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get the number of entries which could not be read or written.
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Get the total time spent parsing configurations which were not cached.
+     *
+     * @return the time in milliseconds
+     */
+    public long getParseTime() {
+        return TimeUnit.NANOSECONDS.toMillis(parseTime.get());
+    }
+
+    /**
+     * Get the total time spent reading cached boot operations.
+     *
+     * @return the time in milliseconds
+     */
+    public long getLoadTime() {
+        return TimeUnit.NANOSECONDS.toMillis(loadTime.get());
+    }
+
+    /**
+     * Get the parse time saved by cache hits, i.e. the original parse time of every entry served less the
+     * time it took to read it.
+     *
+     * @return the time in milliseconds
+     */
+    public long getTimeSaved() {
+        return TimeUnit.NANOSECONDS.toMillis(timeSaved.get());
+    }
+
+    private static String getExtensionModule(final ModelNode operation) {
+        if (!ADD.equals(operation.get(OP).asString()) || !operation.hasDefined(OP_ADDR)) {
+            return null;
+        }
+        final List<Property> address = operation.get(OP_ADDR).asPropertyList();
+        if (address.isEmpty()) {
+            return null;
+        }
+        final Property last = address.get(address.size() - 1);
+        return EXTENSION.equals(last.getName()) ? last.getValue().asString() : null;
+    }
+
+    private String fingerprint(final String moduleName) throws Exception {
+        final Module module = moduleLoader.loadModule(ModuleIdentifier.fromString(moduleName));
+        final StringBuilder builder = new StringBuilder();
+        final Enumeration<URL> resources = module.getClassLoader().getResources(EXTENSION_SERVICE);
+        while (resources.hasMoreElements()) {
+            appendFingerprint(builder, resources.nextElement());
+        }
+        return builder.toString();
+    }
+
+    private static String fingerprint(final Class<?> clazz) throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        final URL url = clazz.getResource(clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class");
+        if (url != null) {
+            appendFingerprint(builder, url);
+        }
+        return builder.toString();
+    }
+
+    private static void appendFingerprint(final StringBuilder builder, final URL url) throws IOException {
+        final URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+        builder.append(url.toExternalForm()).append('@').append(connection.getLastModified()).append(';');
+        // Opening the connection does not necessarily open a stream, but if it did it has to be closed
+        try {
+            connection.getInputStream().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void safeClose(final Closeable closeable) {
+        if (closeable != null) try {
+            closeable.close();
+        } catch (Throwable t) {
+            log.errorf(t, "Failed to close resource %s", closeable);
+        }
+    }
+}
@@ -24,10 +24,15 @@ package org.jboss.as.controller.persistence;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -53,6 +58,8 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     private final File fileName;
     private final QName rootElement;
     private final XMLElementReader<List<ModelNode>> rootParser;
+    private final BootModelCache bootModelCache;
+    private PendingBootModel pendingBootModel;
 
     /**
      * Construct a new instance.
@@ -63,10 +70,24 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
      * @param rootDeparser the root model deparser
      */
     public XmlConfigurationPersister(final File fileName, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser, final XMLElementWriter<ModelMarshallingContext> rootDeparser) {
+        this(fileName, rootElement, rootParser, rootDeparser, null);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param fileName the configuration base file name
+     * @param rootElement the root element of the configuration file
+     * @param rootParser the root model parser
+     * @param rootDeparser the root model deparser
+     * @param bootModelCache the cache of parsed boot operations, or {@code null} to always parse the file
+     */
+    public XmlConfigurationPersister(final File fileName, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser, final XMLElementWriter<ModelMarshallingContext> rootDeparser, final BootModelCache bootModelCache) {
         super(rootDeparser);
         this.fileName = fileName;
         this.rootElement = rootElement;
         this.rootParser = rootParser;
+        this.bootModelCache = bootModelCache;
     }
 
     /** {@inheritDoc} */
@@ -75,18 +96,37 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         store(model, fileName);
     }
 
+    /**
+     * Write the model to the given file. The content is first written to a temporary file in the
+     * same directory which then replaces {@code file}, so a failed write never leaves a truncated
+     * configuration behind.
+     *
+     * @param model the model to persist
+     * @param file the target file
+     * @throws ConfigurationPersistenceException if the model could not be written
+     */
     protected void store(final ModelNode model, final File file) throws ConfigurationPersistenceException {
+        final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
         try {
-            final FileOutputStream fos = new FileOutputStream(file);
+            final FileOutputStream fos = new FileOutputStream(temp);
             try {
                 BufferedOutputStream output = new BufferedOutputStream(fos);
                 marshallAsXml(model, output);
+                output.flush();
+                fos.getFD().sync();
                 output.close();
                 fos.close();
             } finally {
                 safeClose(fos);
             }
+            if (!temp.renameTo(file)) {
+                // Some platforms cannot rename over an existing file
+                if (!file.delete() || !temp.renameTo(file)) {
+                    throw new IOException("Failed to rename " + temp + " to " + file);
+                }
+            }
         } catch (Exception e) {
+            temp.delete();
             throw new ConfigurationPersistenceException("Failed to store configuration", e);
         }
     }
@@ -94,27 +134,97 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     /** {@inheritDoc} */
     @Override
     public List<ModelNode> load() throws ConfigurationPersistenceException {
+        if (bootModelCache == null) {
+            try {
+                final FileInputStream fis = new FileInputStream(fileName);
+                try {
+                    final List<ModelNode> updates = parse(fis);
+                    fis.close();
+                    return updates;
+                } finally {
+                    safeClose(fis);
+                }
+            } catch (ConfigurationPersistenceException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ConfigurationPersistenceException("Failed to parse configuration", e);
+            }
+        }
+        final byte[] content;
+        final byte[] hash;
+        try {
+            content = readFile(fileName);
+            hash = MessageDigest.getInstance("SHA-1").digest(content);
+        } catch (Exception e) {
+            throw new ConfigurationPersistenceException("Failed to parse configuration", e);
+        }
+        final List<ModelNode> cached = bootModelCache.load(hash, rootParser);
+        if (cached != null) {
+            return cached;
+        }
+        final long start = System.nanoTime();
+        final List<ModelNode> updates = parse(new ByteArrayInputStream(content));
+        final long elapsed = System.nanoTime() - start;
+        bootModelCache.recordParse(elapsed);
+        // The caller is free to modify the operations, so keep a copy for the cache
+        final List<ModelNode> copy = new ArrayList<ModelNode>(updates.size());
+        for (ModelNode update : updates) {
+            copy.add(update.clone());
+        }
+        synchronized (this) {
+            pendingBootModel = new PendingBootModel(hash, copy, elapsed);
+        }
+        return updates;
+    }
+
+    /**
+     * Write the operations parsed by {@link #load()} to the boot model cache, if there is one. They are only
+     * stored once the server has booted with them, so a configuration which fails to boot is never cached.
+     */
+    @Override
+    public void successfulBoot() throws ConfigurationPersistenceException {
+        final PendingBootModel pending;
+        synchronized (this) {
+            pending = pendingBootModel;
+            pendingBootModel = null;
+        }
+        if (pending != null) {
+            bootModelCache.store(pending.hash, rootParser, pending.operations, pending.parseTime);
+        }
+    }
+
+    private List<ModelNode> parse(final InputStream stream) throws ConfigurationPersistenceException {
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
         final List<ModelNode> updates = new ArrayList<ModelNode>();
         try {
-            final FileInputStream fis = new FileInputStream(fileName);
-            try {
-                BufferedInputStream input = new BufferedInputStream(fis);
-                XMLStreamReader streamReader = XMLInputFactory.newInstance().createXMLStreamReader(input);
-                mapper.parseDocument(updates, streamReader);
-                streamReader.close();
-                input.close();
-                fis.close();
-            } finally {
-                safeClose(fis);
-            }
+            BufferedInputStream input = new BufferedInputStream(stream);
+            XMLStreamReader streamReader = XMLInputFactory.newInstance().createXMLStreamReader(input);
+            mapper.parseDocument(updates, streamReader);
+            streamReader.close();
+            input.close();
         } catch (Exception e) {
             throw new ConfigurationPersistenceException("Failed to parse configuration", e);
         }
         return updates;
     }
 
+    private static byte[] readFile(final File file) throws IOException {
+        final FileInputStream fis = new FileInputStream(file);
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = fis.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            fis.close();
+            return out.toByteArray();
+        } finally {
+            safeClose(fis);
+        }
+    }
+
     private static void safeClose(final Closeable closeable) {
         if (closeable != null) try {
             closeable.close();
@@ -131,4 +241,16 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     public String snapshot() throws ConfigurationPersistenceException {
         return "";
     }
+
+    private static final class PendingBootModel {
+        private final byte[] hash;
+        private final List<ModelNode> operations;
+        private final long parseTime;
+
+        private PendingBootModel(final byte[] hash, final List<ModelNode> operations, final long parseTime) {
+            this.hash = hash;
+            this.operations = operations;
+            this.parseTime = parseTime;
+        }
+    }
 }
@@ -32,6 +32,7 @@ import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.mgmt.ManagementChannel;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -62,6 +63,15 @@ public class ModelControllerClientToModelControllerAdapter implements ModelContr
         client = ModelControllerClient.Factory.create(connection);
     }
 
+    /**
+     * Create a new model controller adapter sending its requests over a multiplexed management channel
+     *
+     * @param channel the channel
+     */
+    public ModelControllerClientToModelControllerAdapter(final ManagementChannel channel) {
+        client = ModelControllerClient.Factory.create(channel);
+    }
+
     @Override
     public OperationResult execute(final Operation operation, final ResultHandler handler) {
         return new OperationHandlerResultAdapter(client.execute(operation, new ResultHandlerAdapter(handler)));
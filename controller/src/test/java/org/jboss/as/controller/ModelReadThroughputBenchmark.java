@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.persistence.NullConfigurationPersister;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Measures recursive {@code read-resource} throughput against a large model while another thread keeps
+ * writing to it. Not a unit test; run it directly:
+ *
+ * <pre>
+ * java org.jboss.as.controller.ModelReadThroughputBenchmark [readerThreads] [seconds] [resources]
+ * </pre>
+ */
+public class ModelReadThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final int readers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final int resources = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        final BenchmarkController controller = new BenchmarkController(createModel(resources));
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong reads = new AtomicLong();
+        final AtomicLong writes = new AtomicLong();
+        final CountDownLatch done = new CountDownLatch(readers + 1);
+
+        final ModelNode readOp = new ModelNode();
+        readOp.get(OP).set(READ_RESOURCE_OPERATION);
+        readOp.get(OP_ADDR).setEmptyList();
+        readOp.get(RECURSIVE).set(true);
+        readOp.get("proxies").set(false);
+        final Operation read = OperationBuilder.Factory.create(readOp).build();
+
+        for (int i = 0; i < readers; i++) {
+            new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        while (running.get()) {
+                            controller.execute(read);
+                            reads.incrementAndGet();
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }, "reader-" + i).start();
+        }
+        new Thread(new Runnable() {
+            public void run() {
+                try {
+                    int i = 0;
+                    while (running.get()) {
+                        controller.execute(BaseModelControllerUnitTestCase.getOperation("good", "attr1", i++));
+                        writes.incrementAndGet();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }
+        }, "writer").start();
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        done.await();
+
+        System.out.printf("%d reader threads, %d resources, %d s%n", readers, resources, seconds);
+        System.out.printf("reads:  %d (%.1f/s)%n", reads.get(), reads.get() / (double) seconds);
+        System.out.printf("writes: %d (%.1f/s)%n", writes.get(), writes.get() / (double) seconds);
+    }
+
+    private static ModelNode createModel(int resources) {
+        final ModelNode model = BaseModelControllerUnitTestCase.createTestNode();
+        for (int i = 0; i < resources; i++) {
+            final ModelNode child = model.get("child", "child-" + i);
+            child.get("name").set("child-" + i);
+            child.get("value").set(i);
+            child.get("enabled").set(true);
+        }
+        return model;
+    }
+
+    private static class BenchmarkController extends BasicModelController {
+        BenchmarkController(final ModelNode model) {
+            super(model, new NullConfigurationPersister(null), BaseModelControllerUnitTestCase.DESC_PROVIDER);
+            getRegistry().registerOperationHandler(READ_RESOURCE_OPERATION, GlobalOperationHandlers.READ_RESOURCE, BaseModelControllerUnitTestCase.DESC_PROVIDER, true);
+            getRegistry().registerOperationHandler("good", new BaseModelControllerUnitTestCase.GoodHandler(), BaseModelControllerUnitTestCase.DESC_PROVIDER, false);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jboss.as.controller.persistence.NullConfigurationPersister;
+import org.jboss.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of the read-only model snapshot used by {@link BasicModelController}.
+ */
+public class ModelSnapshotUnitTestCase {
+
+    private TestModelController controller;
+    private final List<ModelNode> seen = new CopyOnWriteArrayList<ModelNode>();
+
+    @Before
+    public void setupController() {
+        seen.clear();
+        controller = new TestModelController();
+    }
+
+    @Test
+    public void testReadSeesWrites() throws Exception {
+        assertEquals(1, read("snapshot-read"));
+        ModelNode result = controller.execute(BaseModelControllerUnitTestCase.getOperation("good", "attr1", 5));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertEquals(5, read("snapshot-read"));
+        assertEquals(5, read("copy-read"));
+    }
+
+    @Test
+    public void testSnapshotSharedUntilWrite() throws Exception {
+        read("snapshot-read");
+        read("snapshot-read");
+        assertSame(seen.get(0), seen.get(1));
+
+        controller.execute(BaseModelControllerUnitTestCase.getOperation("good", "attr1", 5));
+        read("snapshot-read");
+        assertNotSame(seen.get(1), seen.get(2));
+    }
+
+    @Test
+    public void testPlainQueryGetsCopy() throws Exception {
+        read("copy-read");
+        seen.get(0).get("attr1").set(7);
+        read("copy-read");
+        assertNotSame(seen.get(0), seen.get(1));
+        assertEquals(1, read("snapshot-read"));
+    }
+
+    @Test
+    public void testSnapshotCopiesOnlyChangedPath() throws Exception {
+        controller.write(PathAddress.pathAddress(PathElement.pathElement("sub", "a")), "x", 1);
+        controller.write(PathAddress.pathAddress(PathElement.pathElement("sub", "b")), "y", 1);
+        final ModelNode first = controller.getModelSnapshot();
+
+        controller.write(PathAddress.pathAddress(PathElement.pathElement("sub", "a")), "x", 2);
+        final ModelNode second = controller.getModelSnapshot();
+
+        assertEquals(1, first.get("sub", "a", "x").asInt());
+        assertEquals(2, second.get("sub", "a", "x").asInt());
+        assertSame(first.get("sub", "b", "y"), second.get("sub", "b", "y"));
+        assertEquals(1, second.get("attr1").asInt());
+    }
+
+    @Test
+    public void testSnapshotFollowsAddAndRemove() throws Exception {
+        final PathAddress a = PathAddress.pathAddress(PathElement.pathElement("sub", "a"));
+        controller.write(a, "x", 1);
+        final ModelNode first = controller.getModelSnapshot();
+
+        controller.remove(a);
+        controller.write(PathAddress.pathAddress(PathElement.pathElement("sub", "c")), "z", 3);
+        final ModelNode second = controller.getModelSnapshot();
+
+        assertEquals(1, first.get("sub", "a", "x").asInt());
+        assertFalse(second.get("sub").has("a"));
+        assertEquals(3, second.get("sub", "c", "z").asInt());
+        assertEquals(controller.getModel(), second);
+    }
+
+    private int read(String opName) {
+        ModelNode result = controller.execute(BaseModelControllerUnitTestCase.getOperation(opName, "attr1", 0));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        return result.get(RESULT).asInt();
+    }
+
+    private class RecordingReadHandler implements ModelQueryOperationHandler {
+        @Override
+        public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler) {
+            ModelNode subModel = context.getSubModel();
+            seen.add(subModel);
+            resultHandler.handleResultFragment(new String[0], subModel.get("attr1").clone());
+            resultHandler.handleResultComplete();
+            return new BasicOperationResult();
+        }
+    }
+
+    private class SnapshotReadHandler extends RecordingReadHandler implements SnapshotQueryOperationHandler {
+    }
+
+    private class TestModelController extends BasicModelController {
+        protected TestModelController() {
+            super(BaseModelControllerUnitTestCase.createTestNode(), new NullConfigurationPersister(null), BaseModelControllerUnitTestCase.DESC_PROVIDER);
+
+            getRegistry().registerOperationHandler("good", new BaseModelControllerUnitTestCase.GoodHandler(), BaseModelControllerUnitTestCase.DESC_PROVIDER, false);
+            getRegistry().registerOperationHandler("snapshot-read", new SnapshotReadHandler(), BaseModelControllerUnitTestCase.DESC_PROVIDER, false);
+            getRegistry().registerOperationHandler("copy-read", new RecordingReadHandler(), BaseModelControllerUnitTestCase.DESC_PROVIDER, false);
+        }
+
+        void write(PathAddress address, String attribute, int value) {
+            final ModelNode model = getModel();
+            synchronized (model) {
+                address.navigate(model, true).get(attribute).set(value);
+                invalidateModelSnapshot(address);
+            }
+        }
+
+        void remove(PathAddress address) {
+            final ModelNode model = getModel();
+            synchronized (model) {
+                address.remove(model);
+                invalidateModelSnapshot(address);
+            }
+        }
+    }
+}
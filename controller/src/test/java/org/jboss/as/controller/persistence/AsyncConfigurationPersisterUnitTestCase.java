@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link AsyncConfigurationPersister}
+ */
+public class AsyncConfigurationPersisterUnitTestCase {
+
+    @Test
+    public void testFlush() throws Exception {
+        RecordingPersister delegate = new RecordingPersister(null);
+        AsyncConfigurationPersister persister = new AsyncConfigurationPersister(delegate);
+
+        persister.store(createModel(1));
+        persister.flush();
+
+        assertEquals(1, delegate.stored.size());
+        assertEquals(1, delegate.stored.get(0).get("value").asInt());
+        assertEquals(0, persister.getQueueDepth());
+        assertEquals(1, persister.getWriteCount());
+    }
+
+    @Test
+    public void testBurstIsCoalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingPersister delegate = new RecordingPersister(release);
+        AsyncConfigurationPersister persister = new AsyncConfigurationPersister(delegate);
+
+        // The first write blocks in the delegate; everything after it should collapse into one write
+        persister.store(createModel(0));
+        assertTrue(delegate.entered.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 10; i++) {
+            persister.store(createModel(i));
+        }
+        assertEquals(11, persister.getQueueDepth());
+        assertTrue(!persister.awaitDurable(10, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        persister.flush();
+
+        assertEquals(2, delegate.stored.size());
+        assertEquals(10, delegate.stored.get(1).get("value").asInt());
+        assertEquals(9, persister.getCoalescedCount());
+        assertEquals(0, persister.getQueueDepth());
+    }
+
+    @Test
+    public void testSnapshotIsIsolatedFromCaller() throws Exception {
+        RecordingPersister delegate = new RecordingPersister(null);
+        AsyncConfigurationPersister persister = new AsyncConfigurationPersister(delegate);
+
+        ModelNode model = createModel(1);
+        persister.store(model);
+        model.get("value").set(2);
+        persister.flush();
+
+        assertEquals(1, delegate.stored.get(0).get("value").asInt());
+    }
+
+    @Test(expected = ConfigurationPersistenceException.class)
+    public void testFailureReportedOnFlush() throws Exception {
+        RecordingPersister delegate = new RecordingPersister(null);
+        delegate.fail = true;
+        AsyncConfigurationPersister persister = new AsyncConfigurationPersister(delegate);
+
+        persister.store(createModel(1));
+        try {
+            persister.flush();
+        } finally {
+            assertEquals(1, persister.getFailedWriteCount());
+        }
+    }
+
+    @Test
+    public void testStoreAfterShutdownWaitsForQueuedWrites() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingPersister delegate = new RecordingPersister(release);
+        final AsyncConfigurationPersister persister = new AsyncConfigurationPersister(delegate);
+
+        persister.store(createModel(0));
+        assertTrue(delegate.entered.await(10, TimeUnit.SECONDS));
+        persister.store(createModel(1));
+
+        Thread shutdown = new Thread(new Runnable() {
+            public void run() {
+                persister.shutdown();
+            }
+        });
+        shutdown.start();
+        while (shutdown.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        Thread store = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    persister.store(createModel(2));
+                } catch (ConfigurationPersistenceException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        store.start();
+        store.join(50);
+        assertTrue(store.isAlive());
+
+        release.countDown();
+        shutdown.join(10000);
+        store.join(10000);
+        assertEquals(3, delegate.stored.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, delegate.stored.get(i).get("value").asInt());
+        }
+        assertEquals(0, persister.getQueueDepth());
+        assertEquals(3, persister.getWriteCount());
+    }
+
+    private static ModelNode createModel(int value) {
+        ModelNode model = new ModelNode();
+        model.get("value").set(value);
+        return model;
+    }
+
+    private static class RecordingPersister extends AbstractConfigurationPersister {
+
+        private final List<ModelNode> stored = new CopyOnWriteArrayList<ModelNode>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private volatile boolean fail;
+
+        RecordingPersister(CountDownLatch release) {
+            super(null);
+            this.release = release;
+        }
+
+        @Override
+        public void store(ModelNode model) throws ConfigurationPersistenceException {
+            entered.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail) {
+                throw new ConfigurationPersistenceException("failed");
+            }
+            stored.add(model);
+        }
+
+        @Override
+        public List<ModelNode> load() throws ConfigurationPersistenceException {
+            return Collections.emptyList();
+        }
+    }
+}
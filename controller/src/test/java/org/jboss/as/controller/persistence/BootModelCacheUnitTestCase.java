@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.ModuleIdentifier;
+import org.jboss.modules.ModuleLoadException;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.modules.ModuleSpec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BootModelCache}
+ */
+public class BootModelCacheUnitTestCase {
+
+    private static final byte[] HASH = new byte[] {1, 2, 3, 4};
+    private static final byte[] OTHER_HASH = new byte[] {4, 3, 2, 1};
+
+    private File cacheFile;
+    private BootModelCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheFile = File.createTempFile("boot-model", ".dmr");
+        cacheFile.delete();
+        cache = new BootModelCache(cacheFile, new EmptyModuleLoader());
+    }
+
+    @After
+    public void tearDown() {
+        cacheFile.delete();
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        assertNull(cache.load(HASH, this));
+        assertEquals(1, cache.getMissCount());
+
+        cache.store(HASH, this, createOperations(), 0);
+        assertTrue(cacheFile.isFile());
+
+        final List<ModelNode> loaded = cache.load(HASH, this);
+        assertNotNull(loaded);
+        assertEquals(createOperations(), loaded);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getFailureCount());
+    }
+
+    @Test
+    public void testChangedContent() throws Exception {
+        cache.store(HASH, this, createOperations(), 0);
+
+        assertNull(cache.load(OTHER_HASH, this));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void testChangedParser() throws Exception {
+        cache.store(HASH, this, createOperations(), 0);
+
+        assertNull(cache.load(HASH, new Object()));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testCorruptFile() throws Exception {
+        final FileOutputStream out = new FileOutputStream(cacheFile);
+        try {
+            out.write(new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+        } finally {
+            out.close();
+        }
+
+        assertNull(cache.load(HASH, this));
+        assertEquals(1, cache.getFailureCount());
+        assertTrue(!cacheFile.exists());
+    }
+
+    private static List<ModelNode> createOperations() {
+        final List<ModelNode> operations = new ArrayList<ModelNode>();
+        for (int i = 0; i < 3; i++) {
+            final ModelNode operation = new ModelNode();
+            operation.get("operation").set("add");
+            operation.get("address").add("subsystem", "test" + i);
+            operation.get("value").set(i);
+            operations.add(operation);
+        }
+        return operations;
+    }
+
+    private static class EmptyModuleLoader extends ModuleLoader {
+
+        @Override
+        protected ModuleSpec findModule(final ModuleIdentifier moduleIdentifier) throws ModuleLoadException {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "empty module loader";
+        }
+    }
+}
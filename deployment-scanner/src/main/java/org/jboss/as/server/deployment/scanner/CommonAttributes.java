@@ -37,5 +37,15 @@ interface CommonAttributes {
     String SCANNER = "scanner";
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
+    String WATCH_ENABLED = "watch-enabled";
+
+    // metrics
+    String SCAN_COUNT = "scan-count";
+    String SKIPPED_SCAN_COUNT = "skipped-scan-count";
+    String LAST_SCAN_TIME = "last-scan-time";
+    String AVERAGE_SCAN_TIME = "average-scan-time";
+    String FILES_EXAMINED = "files-examined";
+    String CHANGE_EVENT_COUNT = "change-event-count";
+    String WATCHING = "watching";
 
 }
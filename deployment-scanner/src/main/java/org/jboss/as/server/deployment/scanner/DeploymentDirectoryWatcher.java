@@ -0,0 +1,324 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Watches a directory tree for changes using the {@code java.nio.file.WatchService} of the running JVM.
+ * <p>
+ * This module is built for Java 6, so the NIO.2 API is reached reflectively. {@link #isSupported()} reports whether
+ * the running JVM provides it; when it does not, callers should fall back to polling.
+ * </p>
+ * <p>
+ * The watch service is not recursive, so every directory below the root is registered individually, including
+ * directories created after the watch was started. Changes are reported to the {@link Listener} from a
+ * dedicated daemon thread.
+ * </p>
+ */
+final class DeploymentDirectoryWatcher {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.deployment");
+
+    /** Receives change notifications. */
+    interface Listener {
+
+        /**
+         * A file or directory was created, modified or deleted.
+         *
+         * @param file the affected file
+         */
+        void changed(File file);
+
+        /**
+         * Events were lost, or the watch could not be maintained; the whole tree must be treated as changed.
+         */
+        void overflow();
+    }
+
+    private static final NioAccess NIO = NioAccess.create();
+
+    private final File root;
+    private final Listener listener;
+    // only accessed by the watcher thread once started
+    private final Map<Object, File> keys = new HashMap<Object, File>();
+    private Object watchService;
+    private Thread thread;
+    private volatile boolean running;
+
+    DeploymentDirectoryWatcher(final File root, final Listener listener) {
+        this.root = root;
+        this.listener = listener;
+    }
+
+    /**
+     * Whether the running JVM provides a watch service.
+     *
+     * @return {@code true} if file system notifications are available
+     */
+    static boolean isSupported() {
+        return NIO != null;
+    }
+
+    /**
+     * Register the directory tree and start delivering events.
+     *
+     * @throws IOException if the watch service cannot be created or the root cannot be registered
+     */
+    synchronized void start() throws IOException {
+        if (NIO == null) {
+            throw new IOException("File system notifications are not supported by this JVM");
+        }
+        if (running) {
+            return;
+        }
+        watchService = NIO.newWatchService();
+        try {
+            registerTree(root);
+        } catch (IOException e) {
+            NIO.close(watchService);
+            keys.clear();
+            throw e;
+        }
+        running = true;
+        final Thread thread = new Thread(new Runnable() {
+            public void run() {
+                processEvents();
+            }
+        }, "Deployment directory watcher for " + root.getName());
+        thread.setDaemon(true);
+        thread.start();
+        this.thread = thread;
+    }
+
+    /**
+     * Stop watching and release the watch service.
+     */
+    synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        NIO.close(watchService);
+        thread.interrupt();
+        thread = null;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    private void registerTree(final File dir) throws IOException {
+        keys.put(NIO.register(dir, watchService), dir);
+        final File[] children = dir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    registerTree(child);
+                }
+            }
+        }
+    }
+
+    private void processEvents() {
+        try {
+            while (running) {
+                final Object key = NIO.poll(watchService, 1, TimeUnit.SECONDS);
+                if (key == null) {
+                    continue;
+                }
+                final File dir = keys.get(key);
+                for (Object event : NIO.pollEvents(key)) {
+                    final Object kind = NIO.kind(event);
+                    if (kind == NIO.overflow) {
+                        listener.overflow();
+                        continue;
+                    }
+                    final File file = new File(dir, NIO.context(event));
+                    if (kind == NIO.entryCreate && file.isDirectory()) {
+                        try {
+                            registerTree(file);
+                        } catch (IOException e) {
+                            log.debugf(e, "Failed to watch %s", file);
+                            listener.overflow();
+                        }
+                    }
+                    listener.changed(file);
+                }
+                if (!NIO.reset(key)) {
+                    // the directory is gone
+                    keys.remove(key);
+                    if (dir.equals(root)) {
+                        log.warnf("Deployment directory %s is no longer accessible; file system notifications stopped", root);
+                        running = false;
+                        listener.overflow();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            if (running) {
+                log.warnf(e, "File system notifications for %s failed; falling back to polling", root);
+                running = false;
+                listener.overflow();
+            }
+        } finally {
+            keys.clear();
+        }
+    }
+
+    /**
+     * Reflective access to the parts of {@code java.nio.file} we need.
+     */
+    private static final class NioAccess {
+        private final Method toPath;
+        private final Method newWatchService;
+        private final Method register;
+        private final Method poll;
+        private final Method close;
+        private final Method pollEvents;
+        private final Method reset;
+        private final Method kind;
+        private final Method context;
+        private final Object fileSystem;
+        private final Object kinds;
+        private final Object entryCreate;
+        private final Object overflow;
+
+        private NioAccess() throws Exception {
+            final Class<?> fileSystemsClass = Class.forName("java.nio.file.FileSystems");
+            final Class<?> fileSystemClass = Class.forName("java.nio.file.FileSystem");
+            final Class<?> pathClass = Class.forName("java.nio.file.Path");
+            final Class<?> watchServiceClass = Class.forName("java.nio.file.WatchService");
+            final Class<?> watchKeyClass = Class.forName("java.nio.file.WatchKey");
+            final Class<?> watchEventClass = Class.forName("java.nio.file.WatchEvent");
+            final Class<?> kindClass = Class.forName("java.nio.file.WatchEvent$Kind");
+            final Class<?> kindsClass = Class.forName("java.nio.file.StandardWatchEventKinds");
+
+            toPath = File.class.getMethod("toPath");
+            fileSystem = fileSystemsClass.getMethod("getDefault").invoke(null);
+            newWatchService = fileSystemClass.getMethod("newWatchService");
+            final Object kindArray = Array.newInstance(kindClass, 3);
+            register = pathClass.getMethod("register", watchServiceClass, kindArray.getClass());
+            poll = watchServiceClass.getMethod("poll", long.class, TimeUnit.class);
+            close = watchServiceClass.getMethod("close");
+            pollEvents = watchKeyClass.getMethod("pollEvents");
+            reset = watchKeyClass.getMethod("reset");
+            kind = watchEventClass.getMethod("kind");
+            context = watchEventClass.getMethod("context");
+
+            entryCreate = kindsClass.getField("ENTRY_CREATE").get(null);
+            overflow = kindsClass.getField("OVERFLOW").get(null);
+            Array.set(kindArray, 0, entryCreate);
+            Array.set(kindArray, 1, kindsClass.getField("ENTRY_DELETE").get(null));
+            Array.set(kindArray, 2, kindsClass.getField("ENTRY_MODIFY").get(null));
+            kinds = kindArray;
+        }
+
+        static NioAccess create() {
+            try {
+                return new NioAccess();
+            } catch (Exception e) {
+                log.debugf("File system notifications are not available: %s", e);
+                return null;
+            } catch (LinkageError e) {
+                log.debugf("File system notifications are not available: %s", e);
+                return null;
+            }
+        }
+
+        Object newWatchService() throws IOException {
+            return invoke(newWatchService, fileSystem);
+        }
+
+        Object register(final File dir, final Object watchService) throws IOException {
+            return invoke(register, invoke(toPath, dir), watchService, kinds);
+        }
+
+        Object poll(final Object watchService, final long timeout, final TimeUnit unit) throws IOException, InterruptedException {
+            try {
+                return poll.invoke(watchService, Long.valueOf(timeout), unit);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof InterruptedException) {
+                    throw (InterruptedException) e.getCause();
+                }
+                throw asIOException(e);
+            } catch (IllegalAccessException e) {
+                throw asIOException(e);
+            }
+        }
+
+        void close(final Object watchService) {
+            try {
+                invoke(close, watchService);
+            } catch (IOException e) {
+                log.debugf(e, "Failed to close watch service");
+            }
+        }
+
+        List<?> pollEvents(final Object key) throws IOException {
+            return (List<?>) invoke(pollEvents, key);
+        }
+
+        boolean reset(final Object key) throws IOException {
+            return ((Boolean) invoke(reset, key)).booleanValue();
+        }
+
+        Object kind(final Object event) throws IOException {
+            return invoke(kind, event);
+        }
+
+        String context(final Object event) throws IOException {
+            // a Path relative to the watched directory
+            return String.valueOf(invoke(context, event));
+        }
+
+        private static Object invoke(final Method method, final Object target, final Object... args) throws IOException {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw asIOException(e);
+            } catch (IllegalAccessException e) {
+                throw asIOException(e);
+            }
+        }
+
+        private static IOException asIOException(final Exception e) {
+            final Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            if (cause instanceof IOException) {
+                return (IOException) cause;
+            }
+            final IOException ioe = new IOException(cause.toString());
+            ioe.initCause(cause);
+            return ioe;
+        }
+    }
+}
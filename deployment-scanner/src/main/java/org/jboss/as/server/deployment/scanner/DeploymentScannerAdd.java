@@ -84,6 +84,9 @@ class DeploymentScannerAdd implements ModelAddOperationHandler, DescriptionProvi
         final Long deploymentTimeout =  operation.hasDefined(CommonAttributes.DEPLOYMENT_TIMEOUT)
                     ? operation.get(CommonAttributes.DEPLOYMENT_TIMEOUT).asLong()
                     : 60L;
+        final Boolean watchEnabled = operation.hasDefined(CommonAttributes.WATCH_ENABLED)
+                    ? operation.get(CommonAttributes.WATCH_ENABLED).asBoolean()
+                    : false;
 
         final ModelNode compensatingOperation = Util.getResourceRemoveOperation(opAddr);
 
@@ -96,6 +99,7 @@ class DeploymentScannerAdd implements ModelAddOperationHandler, DescriptionProvi
         if (autoDeployExp != null) subModel.get(CommonAttributes.AUTO_DEPLOY_EXPLODED).set(autoDeployExp);
         if(relativeTo != null) subModel.get(CommonAttributes.RELATIVE_TO).set(relativeTo);
         if (deploymentTimeout != null) subModel.get(CommonAttributes.DEPLOYMENT_TIMEOUT).set(deploymentTimeout);
+        if (watchEnabled != null) subModel.get(CommonAttributes.WATCH_ENABLED).set(watchEnabled);
 
         if (context.getRuntimeContext() != null) {
             context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
@@ -103,7 +107,7 @@ class DeploymentScannerAdd implements ModelAddOperationHandler, DescriptionProvi
                 public void execute(RuntimeTaskContext context) throws OperationFailedException {
                     final ServiceTarget serviceTarget = context.getServiceTarget();
                     DeploymentScannerService.addService(serviceTarget, name, relativeTo, path, interval, TimeUnit.MILLISECONDS,
-                                                        autoDeployZip, autoDeployExp, enabled, deploymentTimeout);
+                                                        autoDeployZip, autoDeployExp, enabled, deploymentTimeout, watchEnabled);
                     resultHandler.handleResultComplete();
                 }
             });
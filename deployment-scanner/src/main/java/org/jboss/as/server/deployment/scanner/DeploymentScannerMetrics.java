@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.AVERAGE_SCAN_TIME;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.CHANGE_EVENT_COUNT;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.FILES_EXAMINED;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.LAST_SCAN_TIME;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.SCAN_COUNT;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.SKIPPED_SCAN_COUNT;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.WATCHING;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reports the scan statistics of a deployment scanner.
+ */
+class DeploymentScannerMetrics implements ModelQueryOperationHandler {
+
+    static final DeploymentScannerMetrics INSTANCE = new DeploymentScannerMetrics();
+
+    static final String[] ATTRIBUTES = new String[] {SCAN_COUNT, SKIPPED_SCAN_COUNT, LAST_SCAN_TIME, AVERAGE_SCAN_TIME,
+            FILES_EXAMINED, CHANGE_EVENT_COUNT, WATCHING};
+
+    private static final ModelNode NO_METRICS = new ModelNode().set("no metrics available");
+
+    private DeploymentScannerMetrics() {
+        //
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final String name = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+                    final String attributeName = operation.require(NAME).asString();
+                    final ServiceController<?> controller = context.getServiceRegistry().getService(DeploymentScannerService.getServiceName(name));
+                    final Object scanner = controller == null ? null : controller.getValue();
+                    if (scanner instanceof FileSystemDeploymentService) {
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, getMetric((FileSystemDeploymentService) scanner, attributeName));
+                    } else {
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, NO_METRICS);
+                    }
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(Util.NO_LOCATION, NO_METRICS);
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    static ModelNode getMetric(final FileSystemDeploymentService scanner, final String attributeName) throws OperationFailedException {
+        final ModelNode result = new ModelNode();
+        if (SCAN_COUNT.equals(attributeName)) {
+            result.set(scanner.getScanCount());
+        } else if (SKIPPED_SCAN_COUNT.equals(attributeName)) {
+            result.set(scanner.getSkippedScanCount());
+        } else if (LAST_SCAN_TIME.equals(attributeName)) {
+            result.set(scanner.getLastScanTime());
+        } else if (AVERAGE_SCAN_TIME.equals(attributeName)) {
+            result.set(scanner.getAverageScanTime());
+        } else if (FILES_EXAMINED.equals(attributeName)) {
+            result.set(scanner.getFilesExamined());
+        } else if (CHANGE_EVENT_COUNT.equals(attributeName)) {
+            result.set(scanner.getChangeEventCount());
+        } else if (WATCHING.equals(attributeName)) {
+            result.set(scanner.isWatching());
+        } else {
+            throw new OperationFailedException(new ModelNode().set("No metric called " + attributeName));
+        }
+        return result;
+    }
+}
@@ -82,6 +82,8 @@ class DeploymentScannerRemove implements ModelRemoveOperationHandler, Descriptio
             compensatingOperation.get(CommonAttributes.AUTO_DEPLOY_EXPLODED).set(subModel.get(CommonAttributes.AUTO_DEPLOY_EXPLODED));
         if (subModel.hasDefined(CommonAttributes.DEPLOYMENT_TIMEOUT))
             compensatingOperation.get(CommonAttributes.DEPLOYMENT_TIMEOUT).set(subModel.get(CommonAttributes.DEPLOYMENT_TIMEOUT));
+        if (subModel.hasDefined(CommonAttributes.WATCH_ENABLED))
+            compensatingOperation.get(CommonAttributes.WATCH_ENABLED).set(subModel.get(CommonAttributes.WATCH_ENABLED));
 
 
         if (context.getRuntimeContext() != null) {
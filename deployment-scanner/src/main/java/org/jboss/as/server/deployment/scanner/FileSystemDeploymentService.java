@@ -49,6 +49,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,6 +57,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
@@ -103,6 +105,15 @@ class FileSystemDeploymentService implements DeploymentScanner {
     /** Default timeout for deployments to execute in seconds*/
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 60;
 
+    /** Period without file system events after which a watched directory is scanned */
+    static final long WATCH_QUIET_PERIOD = 500;
+
+    /** Longest time a watched directory with a continuous stream of events goes without a scan */
+    static final long WATCH_MAX_DELAY = 10 * WATCH_QUIET_PERIOD;
+
+    /** Number of periodic scans skipped for lack of events after which a watched directory is fully rescanned anyway */
+    static final int WATCH_FULL_SCAN_INTERVALS = 12;
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -127,10 +138,36 @@ class FileSystemDeploymentService implements DeploymentScanner {
 
     private volatile long deploymentTimeout = DEFAULT_DEPLOYMENT_TIMEOUT;
 
+    private volatile boolean watchEnabled;
+    private volatile DeploymentDirectoryWatcher watcher;
+    private boolean eventScanScheduled;
+    private ScheduledFuture<?> eventScanTask;
+    /** Changes reported by the watcher since the last scan; guarded by itself */
+    private final Set<File> changedFiles = new HashSet<File>();
+    /** Whether the whole tree must be rescanned; guarded by changedFiles */
+    private boolean treeChanged = true;
+    private long firstChangeTime;
+    private long lastChangeTime;
+    /** Timestamps of exploded deployments, valid while the directory is watched; guarded by scanLock */
+    private final Map<File, Long> explodedTimestamps = new HashMap<File, Long>();
+    /** Periodic scans skipped since the last full scan; guarded by scanLock */
+    private int skippedScans;
+
+    private final AtomicLong scanCount = new AtomicLong();
+    private final AtomicLong skippedScanCount = new AtomicLong();
+    private final AtomicLong totalScanTime = new AtomicLong();
+    private final AtomicLong filesExamined = new AtomicLong();
+    private final AtomicLong changeEventCount = new AtomicLong();
+    private volatile long lastScanTime;
+
     private final Runnable scanRunnable = new Runnable() {
         @Override
         public void run() {
             try {
+                if (isWatching() && getRemainingQuietPeriod() > 0) {
+                    // a scan is already scheduled for the end of the burst of changes
+                    return;
+                }
                 scan();
             } catch (Exception e) {
                 log.errorf(e, "Scan of %s threw Exception", deploymentDir.getAbsolutePath());
@@ -138,6 +175,37 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
     };
 
+    private final Runnable eventScanRunnable = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (FileSystemDeploymentService.this) {
+                eventScanScheduled = false;
+            }
+            final long remaining = getRemainingQuietPeriod();
+            if (remaining > 0) {
+                scheduleEventScan(remaining);
+            } else {
+                scanRunnable.run();
+            }
+        }
+    };
+
+    private final DeploymentDirectoryWatcher.Listener watchListener = new DeploymentDirectoryWatcher.Listener() {
+        @Override
+        public void changed(final File file) {
+            changeEventCount.incrementAndGet();
+            recordChange(file);
+            scheduleEventScan(WATCH_QUIET_PERIOD);
+        }
+
+        @Override
+        public void overflow() {
+            changeEventCount.incrementAndGet();
+            recordChange(null);
+            scheduleEventScan(WATCH_QUIET_PERIOD);
+        }
+    };
+
     FileSystemDeploymentService(final File deploymentDir, final ServerController serverController, final ScheduledExecutorService scheduledExecutor,
             final ServerDeploymentRepository deploymentRepository) throws OperationFailedException {
         if (scheduledExecutor == null) {
@@ -219,6 +287,64 @@ class FileSystemDeploymentService implements DeploymentScanner {
         this.deploymentTimeout = deploymentTimeout;
     }
 
+    @Override
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    @Override
+    public synchronized void setWatchEnabled(boolean watchEnabled) {
+        if (watchEnabled != this.watchEnabled) {
+            this.watchEnabled = watchEnabled;
+            if (watchEnabled) {
+                startWatcher();
+            } else {
+                stopWatcher();
+            }
+        }
+    }
+
+    /**
+     * Whether changes to the deployment directory are currently being reported by file system notifications.
+     *
+     * @return {@code true} if the directory is being watched, {@code false} if it is only polled
+     */
+    boolean isWatching() {
+        final DeploymentDirectoryWatcher watcher = this.watcher;
+        return watcher != null && watcher.isRunning();
+    }
+
+    /** Get the number of scans performed */
+    long getScanCount() {
+        return scanCount.get();
+    }
+
+    /** Get the number of scans skipped because a watched directory had not changed */
+    long getSkippedScanCount() {
+        return skippedScanCount.get();
+    }
+
+    /** Get the duration of the most recent scan in milliseconds */
+    long getLastScanTime() {
+        return lastScanTime;
+    }
+
+    /** Get the average scan duration in milliseconds */
+    long getAverageScanTime() {
+        final long count = scanCount.get();
+        return count == 0 ? 0 : totalScanTime.get() / count;
+    }
+
+    /** Get the number of files inside exploded deployments examined for changes */
+    long getFilesExamined() {
+        return filesExamined.get();
+    }
+
+    /** Get the number of file system change notifications received */
+    long getChangeEventCount() {
+        return changeEventCount.get();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -240,6 +366,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
     public synchronized void stopScanner() {
         this.scanEnabled = false;
         cancelScan();
+        stopWatcher();
     }
 
     /** Hook solely for unit test to control how long deployments with no progress can exist without failing */
@@ -280,8 +407,16 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
 
         boolean scheduleRescan = false;
+        final long start = System.currentTimeMillis();
+        boolean scanned = false;
         try {
             if (scanEnabled) { // confirm the scan is still wanted
+                if (!prepareScan()) {
+                    log.tracef("Skipping scan of unchanged directory %s", deploymentDir.getAbsolutePath());
+                    skippedScanCount.incrementAndGet();
+                    return;
+                }
+                scanned = true;
                 log.tracef("Scanning directory %s for deployment content changes", deploymentDir.getAbsolutePath());
 
                 ScanContext scanContext = new ScanContext();
@@ -382,6 +517,12 @@ class FileSystemDeploymentService implements DeploymentScanner {
                 log.tracef("Scan complete");
             }
         } finally {
+            if (scanned) {
+                final long elapsed = System.currentTimeMillis() - start;
+                lastScanTime = elapsed;
+                totalScanTime.addAndGet(elapsed);
+                scanCount.incrementAndGet();
+            }
             scanLock.unlock();
 
             if (scheduleRescan) {
@@ -530,19 +671,160 @@ class FileSystemDeploymentService implements DeploymentScanner {
     }
 
     private long getDeploymentTimestamp(File deploymentFile) {
-        if (deploymentFile.isDirectory()) {
+        if (!deploymentFile.isDirectory()) {
+            return deploymentFile.lastModified();
+        }
+        if (!isWatching()) {
+            return getTreeTimestamp(deploymentFile);
+        }
+        // Nothing below the directory has changed since the last walk unless the watcher said so
+        Long timestamp = explodedTimestamps.get(deploymentFile);
+        if (timestamp == null) {
+            timestamp = Long.valueOf(getTreeTimestamp(deploymentFile));
+            explodedTimestamps.put(deploymentFile, timestamp);
+        }
+        return timestamp.longValue();
+    }
+
+    private long getTreeTimestamp(File file) {
+        filesExamined.incrementAndGet();
+        if (file.isDirectory()) {
             // Scan for most recent file
-            long latest = deploymentFile.lastModified();
-            for (File child : deploymentFile.listFiles()) {
-                long childTimestamp = getDeploymentTimestamp(child);
-                if (childTimestamp > latest) {
-                    latest = childTimestamp;
+            long latest = file.lastModified();
+            final File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    long childTimestamp = getTreeTimestamp(child);
+                    if (childTimestamp > latest) {
+                        latest = childTimestamp;
+                    }
                 }
             }
             return latest;
         }
         else {
-            return deploymentFile.lastModified();
+            return file.lastModified();
+        }
+    }
+
+    /**
+     * Decide whether a scan is needed and, for a watched directory, discard cached state affected by the
+     * changes reported since the last scan.  Invoke with the scan lock held.
+     *
+     * @return {@code false} if the scan can be skipped
+     */
+    private boolean prepareScan() {
+        if (!isWatching()) {
+            explodedTimestamps.clear();
+            return true;
+        }
+        final Set<File> changes;
+        final boolean all;
+        synchronized (changedFiles) {
+            all = treeChanged;
+            changes = new HashSet<File>(changedFiles);
+            treeChanged = false;
+            changedFiles.clear();
+        }
+        if (!all && changes.isEmpty() && incompleteDeployments.isEmpty() && nonscannableLogged.isEmpty()
+                && ++skippedScans < WATCH_FULL_SCAN_INTERVALS) {
+            return false;
+        }
+        skippedScans = 0;
+        if (all || changes.isEmpty()) {
+            explodedTimestamps.clear();
+        } else {
+            for (File changed : changes) {
+                final String changedPath = changed.getPath();
+                for (Iterator<File> it = explodedTimestamps.keySet().iterator(); it.hasNext();) {
+                    final String deploymentPath = it.next().getPath();
+                    if (changedPath.equals(deploymentPath) || changedPath.startsWith(deploymentPath + File.separatorChar)) {
+                        it.remove();
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void recordChange(final File file) {
+        final long now = System.currentTimeMillis();
+        synchronized (changedFiles) {
+            if (file == null) {
+                treeChanged = true;
+            } else {
+                changedFiles.add(file);
+            }
+            if (firstChangeTime == 0) {
+                firstChangeTime = now;
+            }
+            lastChangeTime = now;
+        }
+    }
+
+    /**
+     * Get how long to wait before reported changes should be scanned, so a burst of writes (e.g. a copy of
+     * an exploded deployment) results in a single scan of the finished content.
+     *
+     * @return the remaining time in milliseconds, or {@code 0} if a scan can proceed
+     */
+    private long getRemainingQuietPeriod() {
+        synchronized (changedFiles) {
+            if (firstChangeTime == 0) {
+                return 0;
+            }
+            final long now = System.currentTimeMillis();
+            final long remaining = Math.min(lastChangeTime + WATCH_QUIET_PERIOD, firstChangeTime + WATCH_MAX_DELAY) - now;
+            if (remaining <= 0) {
+                firstChangeTime = 0;
+                return 0;
+            }
+            return remaining;
+        }
+    }
+
+    private synchronized void scheduleEventScan(final long delay) {
+        if (scanEnabled && !eventScanScheduled) {
+            eventScanScheduled = true;
+            eventScanTask = scheduledExecutor.schedule(eventScanRunnable, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Invoke with the object monitor held
+     */
+    private void startWatcher() {
+        if (watcher != null || !scanEnabled) {
+            return;
+        }
+        if (!DeploymentDirectoryWatcher.isSupported()) {
+            log.infof("File system notifications are not available in this JVM; %s will be polled", deploymentDir.getAbsolutePath());
+            return;
+        }
+        final DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(deploymentDir, watchListener);
+        try {
+            watcher.start();
+        } catch (IOException e) {
+            log.warnf(e, "Cannot watch %s for changes; it will be polled", deploymentDir.getAbsolutePath());
+            return;
+        }
+        // Anything may have changed while nobody was watching
+        recordChange(null);
+        this.watcher = watcher;
+    }
+
+    /**
+     * Invoke with the object monitor held
+     */
+    private void stopWatcher() {
+        if (eventScanTask != null) {
+            eventScanTask.cancel(false);
+            eventScanTask = null;
+        }
+        eventScanScheduled = false;
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
         }
     }
 
@@ -673,6 +955,9 @@ class FileSystemDeploymentService implements DeploymentScanner {
 
     private synchronized void startScan() {
         if (scanEnabled) {
+            if (watchEnabled) {
+                startWatcher();
+            }
             if (scanInterval > 0) {
                 scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
             } else {
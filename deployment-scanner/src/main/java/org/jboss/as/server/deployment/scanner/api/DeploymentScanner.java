@@ -106,4 +106,20 @@ public interface DeploymentScanner {
      * @param timeout The deployment timeout
      */
     void setDeploymentTimeout(long timeout);
+
+    /**
+     * Gets whether the scanner reacts to file system change notifications instead of relying
+     * solely on periodic scans.
+     *
+     * @return true if file system notifications are used when available
+     */
+    boolean isWatchEnabled();
+
+    /**
+     * Sets whether the scanner reacts to file system change notifications. Where the platform does
+     * not support notifications the scanner keeps polling at the configured scan interval.
+     *
+     * @param watchEnabled true if file system notifications should be used when available
+     */
+    void setWatchEnabled(boolean watchEnabled);
 }
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentDirectoryWatcher}.
+ */
+public class DeploymentDirectoryWatcherUnitTestCase {
+
+    private static AutoDeployTestSupport testSupport;
+
+    private File dir;
+    private RecordingListener listener;
+    private DeploymentDirectoryWatcher watcher;
+
+    @BeforeClass
+    public static void setupClass() {
+        testSupport = new AutoDeployTestSupport(DeploymentDirectoryWatcherUnitTestCase.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void teardownClass() {
+        if (testSupport != null) {
+            testSupport.cleanupFiles();
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        Assume.assumeTrue(DeploymentDirectoryWatcher.isSupported());
+        dir = new File(testSupport.getTempDir(), String.valueOf(System.nanoTime()));
+        assertTrue(dir.mkdirs());
+        listener = new RecordingListener();
+        watcher = new DeploymentDirectoryWatcher(dir, listener);
+    }
+
+    @After
+    public void tearDown() {
+        if (watcher != null) {
+            watcher.stop();
+        }
+    }
+
+    @Test
+    public void testFileCreated() throws Exception {
+        watcher.start();
+        assertTrue(watcher.isRunning());
+        final File file = createFile(dir, "foo.war");
+        assertTrue(listener.await(file));
+    }
+
+    @Test
+    public void testExistingSubdirectoryIsWatched() throws Exception {
+        final File exploded = new File(dir, "foo.war");
+        assertTrue(new File(exploded, "WEB-INF").mkdirs());
+        watcher.start();
+        final File file = createFile(new File(exploded, "WEB-INF"), "web.xml");
+        assertTrue(listener.await(file));
+    }
+
+    @Test
+    public void testNewSubdirectoryIsWatched() throws Exception {
+        watcher.start();
+        final File exploded = new File(dir, "bar.war");
+        assertTrue(exploded.mkdirs());
+        assertTrue(listener.await(exploded));
+        final File file = createFile(exploded, "index.html");
+        assertTrue(listener.await(file));
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        watcher.start();
+        watcher.stop();
+        assertFalse(watcher.isRunning());
+        final File file = createFile(dir, "foo.war");
+        assertFalse(listener.await(file, 500));
+    }
+
+    private static File createFile(final File dir, final String name) throws IOException {
+        final File file = new File(dir, name);
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(name.getBytes());
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static class RecordingListener implements DeploymentDirectoryWatcher.Listener {
+        private final Set<File> changed = Collections.synchronizedSet(new HashSet<File>());
+
+        @Override
+        public void changed(final File file) {
+            changed.add(file);
+        }
+
+        @Override
+        public void overflow() {
+        }
+
+        boolean await(final File file) throws InterruptedException {
+            return await(file, TimeUnit.SECONDS.toMillis(10));
+        }
+
+        boolean await(final File file, final long timeout) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + timeout;
+            while (!changed.contains(file)) {
+                if (System.currentTimeMillis() > deadline) {
+                    return false;
+                }
+                Thread.sleep(20);
+            }
+            return true;
+        }
+    }
+}
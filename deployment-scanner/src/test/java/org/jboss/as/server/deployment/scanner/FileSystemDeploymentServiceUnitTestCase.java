@@ -65,6 +65,7 @@ import org.jboss.vfs.VirtualFile;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -613,6 +614,53 @@ public class FileSystemDeploymentServiceUnitTestCase {
 
     }
 
+    /**
+     * Tests that a watched directory only walks exploded content again once it is reported as changed.
+     */
+    @Test
+    public void testWatchedExplodedDeployment() throws Exception {
+        Assume.assumeTrue(DeploymentDirectoryWatcher.isSupported());
+
+        final File war = createDirectory("foo.war", "index.html");
+        final File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployExplodedContent(true);
+        ts.testee.setWatchEnabled(true);
+        try {
+            assertTrue(ts.testee.isWatching());
+
+            ts.controller.addCompositeSuccessResponse(1);
+            ts.testee.scan();
+            assertTrue(deployed.exists());
+            assertEquals(1, ts.repo.content.size());
+            final long examined = ts.testee.getFilesExamined();
+            assertTrue(examined > 0);
+
+            // Unchanged content is not walked again
+            ts.testee.scan();
+            assertEquals(examined, ts.testee.getFilesExamined());
+            assertEquals(1, ts.repo.content.size());
+
+            // Let the notifications for the markers written above drain
+            Thread.sleep(500);
+            final long events = ts.testee.getChangeEventCount();
+            final File page = createFile(war, "other.html");
+            page.setLastModified(deployed.lastModified() + 2000);
+            final long deadline = System.currentTimeMillis() + 10000;
+            while (ts.testee.getChangeEventCount() == events && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            ts.controller.addCompositeSuccessResponse(1);
+            ts.testee.scan();
+            assertTrue(ts.testee.getFilesExamined() > examined);
+            assertEquals(2, ts.repo.content.size());
+            assertTrue(deployed.exists());
+        } finally {
+            ts.testee.stopScanner();
+        }
+    }
+
     // FIXME remove this marker used to make it easy to find these tests in the IDE
 
     /**
@@ -440,6 +440,7 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
         ModelNode host = root.get(HOST);
         root.set(domainModel);
         root.get(HOST).set(host);
+        invalidateModelSnapshot();
         // Now we know what extensions are needed
         initializeExtensions(domainModel, extensionContext);
     }
@@ -1105,6 +1106,7 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
             final ModelNode model = modelSource.getModel();
             synchronized (model) {
                 model.set(localModel);
+                invalidateModelSnapshot();
                 if (modelUpdated) {
                     DomainModelImpl.this.persistConfiguration(model, injectedConfigPersisterProvider);
                 }
@@ -1149,6 +1151,7 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
                     } else {
                         address.navigate(model, true).set(subModel);
                     }
+                    invalidateModelSnapshot(address);
                     persistConfiguration(model, operationControllerContext.getConfigurationPersisterProvider());
                 }
 
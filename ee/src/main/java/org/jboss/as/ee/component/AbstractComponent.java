@@ -59,6 +59,7 @@ public abstract class AbstractComponent implements Component {
     public static final Object INSTANCE_KEY = new Object();
     public static final Object COMPONENT_INSTANCE_KEY = new Object();
     public static final Object INJECTION_HANDLE_KEY = new Object();
+    public static final Object INJECTED_VALUES_KEY = new Object();
 
     private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
 
@@ -75,6 +76,8 @@ public abstract class AbstractComponent implements Component {
     private final String componentName;
     private final Class<?> componentClass;
     private final List<ResourceInjection> resourceInjections;
+    private final List<Class<?>> interceptorClasses;
+    private final Map<Class<?>, List<ResourceInjection>> interceptorResourceInjections = new IdentityHashMap<Class<?>, List<ResourceInjection>>();
     private final InterceptorFactory postConstruct;
     private final InterceptorFactory preDestroy;
     private final List<ComponentInjector> componentInjectors;
@@ -97,6 +100,11 @@ public abstract class AbstractComponent implements Component {
         componentName = configuration.getComponentName();
         componentClass = configuration.getComponentClass();
         resourceInjections = configuration.getResourceInjections();
+        interceptorClasses = configuration.getInterceptorClasses();
+        for (Class<?> interceptorClass : interceptorClasses) {
+            final List<ResourceInjection> injections = configuration.getInterceptorResourceInjections(interceptorClass);
+            interceptorResourceInjections.put(interceptorClass, injections == null ? Collections.<ResourceInjection>emptyList() : injections);
+        }
         interceptorFactoryMap = configuration.getInterceptorFactoryMap();
         this.componentInjectors = configuration.getComponentInjectors();
         this.viewServices = new HashMap<Class<?>, ServiceName>(configuration.getViewServices());
@@ -113,6 +121,31 @@ public abstract class AbstractComponent implements Component {
      * {@inheritDoc}
      */
     public ComponentInstance createInstance() {
+        awaitStart();
+        //we must use the same context over the life of the instance
+        SimpleInterceptorFactoryContext interceptorContext = new SimpleInterceptorFactoryContext();
+
+        Object objectInstance = createObjectInstance();
+
+        return createInstance(objectInstance, interceptorContext, true);
+    }
+
+    /**
+     * Create a component instance around an existing object instance, for example one which has been restored from
+     * a passivation store.  Neither injections nor the post-construct lifecycle are run: the object instance, and any
+     * interceptor instances the context holds under their interceptor class, keep the state they were restored with.
+     * Values the caller injected while restoring them should be recorded in {@link #getInjectedValues(InterceptorFactoryContext)}.
+     *
+     * @param objectInstance the object instance to wrap
+     * @param interceptorContext the interceptor factory context to use over the life of the instance
+     * @return the component instance
+     */
+    protected ComponentInstance restoreInstance(final Object objectInstance, final InterceptorFactoryContext interceptorContext) {
+        awaitStart();
+        return createInstance(objectInstance, interceptorContext, false);
+    }
+
+    private void awaitStart() {
         if (!gate) {
             // Block until successful start
             synchronized (this) {
@@ -127,12 +160,9 @@ public abstract class AbstractComponent implements Component {
                 }
             }
         }
-        //we must use the same context over the life of the instance
-        SimpleInterceptorFactoryContext interceptorContext = new SimpleInterceptorFactoryContext();
-
-        Object objectInstance = createObjectInstance();
-
+    }
 
+    private ComponentInstance createInstance(final Object objectInstance, final InterceptorFactoryContext interceptorContext, final boolean newInstance) {
         //apply injections, and add the clean up interceptors to the pre destroy chain
         //we want interceptors that clean up injections to be last in the interceptor chain
         //so the injections are not cleaned up until all @AroundInvoke methods have been run
@@ -140,13 +170,21 @@ public abstract class AbstractComponent implements Component {
         AbstractComponentInstance instance = constructComponentInstance(objectInstance, interceptorContext);
 
 
-        final List<ComponentInjector.InjectionHandle> injectionHandles = applyInjections(instance);
+        final List<ComponentInjector.InjectionHandle> injectionHandles;
+        if (newInstance) {
+            injectionHandles = applyInjections(instance);
+        } else {
+            getInjectedValues(interceptorContext);
+            injectionHandles = Collections.emptyList();
+        }
         interceptorContext.getContextData().put(AbstractComponent.INJECTION_HANDLE_KEY, injectionHandles);
 
         interceptorContext.getContextData().put(AbstractComponent.INSTANCE_KEY, objectInstance);
         interceptorContext.getContextData().put(AbstractComponent.COMPONENT_INSTANCE_KEY, instance);
 
-        performLifecycle(instance, postConstruct, interceptorContext);
+        if (newInstance) {
+            performLifecycle(instance, postConstruct, interceptorContext);
+        }
 
         // process the interceptors bound to individual methods
         // the interceptors are tied to the lifecycle of the instance
@@ -234,8 +272,12 @@ public abstract class AbstractComponent implements Component {
     protected List<ComponentInjector.InjectionHandle> applyInjections(final ComponentInstance componentInstance) {
         final List<ResourceInjection> resourceInjections = this.resourceInjections;
         if (resourceInjections != null) {
+            final Map<Object, ResourceInjection> injectedValues = getInjectedValues(componentInstance.getInterceptorFactoryContext());
             for (ResourceInjection resourceInjection : resourceInjections) {
-                resourceInjection.inject(componentInstance.getInstance());
+                final Object value = resourceInjection.inject(componentInstance.getInstance());
+                if (value != null) {
+                    injectedValues.put(value, resourceInjection);
+                }
             }
         }
         List<ComponentInjector.InjectionHandle> injectionHandles = new ArrayList<ComponentInjector.InjectionHandle>();
@@ -247,7 +289,32 @@ public abstract class AbstractComponent implements Component {
 
 
 
-    private void performLifecycle(final ComponentInstance instance, final InterceptorFactory lifecycleInterceptors, final InterceptorFactoryContext factoryContext) {
+    /**
+     * Get the values injected into the object instance and the interceptor instances of a component instance, each
+     * mapped to the injection which provided it.
+     *
+     * @param context the interceptor factory context of the component instance
+     * @return the injected values, compared by identity
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<Object, ResourceInjection> getInjectedValues(final InterceptorFactoryContext context) {
+        final Map<Object, Object> contextData = context.getContextData();
+        Map<Object, ResourceInjection> injectedValues = (Map<Object, ResourceInjection>) contextData.get(INJECTED_VALUES_KEY);
+        if (injectedValues == null) {
+            injectedValues = new IdentityHashMap<Object, ResourceInjection>();
+            contextData.put(INJECTED_VALUES_KEY, injectedValues);
+        }
+        return injectedValues;
+    }
+
+    /**
+     * Run a lifecycle interceptor chain against a component instance.
+     *
+     * @param instance the component instance
+     * @param lifecycleInterceptors the lifecycle interceptor chain
+     * @param factoryContext the interceptor factory context of the component instance
+     */
+    protected void performLifecycle(final ComponentInstance instance, final InterceptorFactory lifecycleInterceptors, final InterceptorFactoryContext factoryContext) {
         final ClassLoader contextCl = getContextClassLoader();
         setContextClassLoader(componentClass.getClassLoader());
         try {
@@ -260,7 +327,7 @@ public abstract class AbstractComponent implements Component {
                 context.setParameters(EMPTY_OBJECT_ARRAY);
                 interceptor.processInvocation(context);
             } catch (Throwable t) {
-                throw new RuntimeException("Failed to invoke post construct method for class " + getComponentClass(), t);
+                throw new RuntimeException("Failed to invoke lifecycle method for class " + getComponentClass(), t);
             }
         } finally {
             setContextClassLoader(contextCl);
@@ -272,6 +339,27 @@ public abstract class AbstractComponent implements Component {
         return Collections.unmodifiableList(resourceInjections);
     }
 
+    /**
+     * Get the interceptor classes of this component, in the order their instances are created. Each instance is held
+     * in the interceptor factory context data of its component instance under its interceptor class.
+     *
+     * @return the interceptor classes
+     */
+    public List<Class<?>> getInterceptorClasses() {
+        return interceptorClasses;
+    }
+
+    /**
+     * Get the resource injections of an interceptor class of this component.
+     *
+     * @param interceptorClass the interceptor class
+     * @return the resource injections, empty if it has none
+     */
+    public List<ResourceInjection> getInterceptorResourceInjections(final Class<?> interceptorClass) {
+        final List<ResourceInjection> injections = interceptorResourceInjections.get(interceptorClass);
+        return injections == null ? Collections.<ResourceInjection>emptyList() : Collections.unmodifiableList(injections);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -51,6 +51,7 @@ public abstract class AbstractComponentConfiguration {
     private final Deque<InterceptorFactory> preDestroy = new ArrayDeque<InterceptorFactory>();;
     private final List<ResourceInjection> resourceInjections = new ArrayList<ResourceInjection>();
     private final Map<Class<?>,List<ResourceInjection>> interceptorResourceInjections = new IdentityHashMap<Class<?>,List<ResourceInjection>>();
+    private final List<Class<?>> interceptorClasses = new ArrayList<Class<?>>();
     private final List<InterceptorFactory> componentSystemInterceptorFactories = new ArrayList<InterceptorFactory>();
     private final Map<Method, InterceptorFactory> interceptorFactoryMap = new IdentityHashMap<Method, InterceptorFactory>();
     private final Map<Class<?>, ProxyFactory<?>> proxyFactories = new IdentityHashMap<Class<?>, ProxyFactory<?>>();
@@ -103,6 +104,19 @@ public abstract class AbstractComponentConfiguration {
         return interceptorResourceInjections.get(interceptorClass);
     }
 
+    void addInterceptorClass(Class<?> interceptorClass) {
+        interceptorClasses.add(interceptorClass);
+    }
+
+    /**
+     * Get the interceptor classes of the component, in the order their instances are created.
+     *
+     * @return the interceptor classes
+     */
+    public List<Class<?>> getInterceptorClasses() {
+        return Collections.unmodifiableList(interceptorClasses);
+    }
+
     List<ResourceInjection> getResourceInjections() {
         return resourceInjections;
     }
@@ -574,6 +574,7 @@ public abstract class AbstractComponentDescription extends AbstractLifecycleCapa
             preDestroyInterceptors.addAll(preDestroy);
             final InjectingInterceptorInstanceFactory instanceFactory = new InjectingInterceptorInstanceFactory(new SimpleInterceptorInstanceFactory(interceptorClass),interceptorClass,configuration);
             interceptorFactories.put(interceptor.getInterceptorClassName(),instanceFactory);
+            configuration.addInterceptorClass(interceptorClass);
             return instanceFactory;
         } catch (ClassNotFoundException e) {
             throw new DeploymentUnitProcessingException("Failed to load interceptor class " + interceptor.getInterceptorClassName());
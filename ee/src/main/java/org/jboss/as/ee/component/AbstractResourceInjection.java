@@ -50,12 +50,18 @@ public abstract class AbstractResourceInjection implements ResourceInjection {
     }
 
     /** {@inheritDoc} **/
-    public void inject(final Object target) {
-        final Object value = this.value.getValue().getReference().getInstance();
+    public Object inject(final Object target) {
+        final Object value = getValue();
         if(primitiveTarget && value == null) {
-            return;
+            return null;
         }
         doInject(target, value);
+        return value;
+    }
+
+    /** {@inheritDoc} **/
+    public Object getValue() {
+        return this.value.getValue().getReference().getInstance();
     }
 
     /**
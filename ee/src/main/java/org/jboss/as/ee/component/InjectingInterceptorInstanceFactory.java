@@ -31,6 +31,8 @@ import java.util.Map;
 
 /**
  * Interceptor instance factory that applies injections to the interceptor instance once the interceptors is created.
+ * The instance is kept in the context data under the interceptor class, so a context which already holds an instance,
+ * for example one restored from a passivation store, is given that instance without injecting it again.
  *
  * @author John Bailey
  * @author Stuart Douglas
@@ -58,10 +60,15 @@ public class InjectingInterceptorInstanceFactory implements InterceptorInstanceF
         //we cannot just call this method when the factory is created as
         List<ResourceInjection> interceptorInjections = componentConfiguration.getInterceptorResourceInjections(interceptorClass);
         if (interceptorInjections != null) {
+            final Map<Object, ResourceInjection> injectedValues = AbstractComponent.getInjectedValues(context);
             for (ResourceInjection injection : interceptorInjections) {
-                injection.inject(instance);
+                final Object value = injection.inject(instance);
+                if (value != null) {
+                    injectedValues.put(value, injection);
+                }
             }
         }
+        map.put(instanceClass, instance);
         return instance;
     }
 
@@ -40,7 +40,7 @@ import org.jboss.invocation.SimpleInterceptorFactoryContext;
 public final class ProxyInvocationHandler implements InvocationHandler {
 
     private final Interceptor interceptor;
-    private volatile Map<Class<?>, Object> initialPrivateData = Collections.emptyMap();
+    private volatile PrivateData initialPrivateData = PrivateData.EMPTY;
 
     /**
      * Construct a new instance.
@@ -65,11 +65,11 @@ public final class ProxyInvocationHandler implements InvocationHandler {
     public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
         final InterceptorContext context = new InterceptorContext();
         // snapshot
-        final Map<Class<?>, Object> privateData = initialPrivateData;
-        for (Map.Entry<Class<?>, Object> entry : privateData.entrySet()) {
-            final Class<?> key = entry.getKey();
-            Object value = entry.getValue();
-            putPrivate(context, key, value);
+        final PrivateData privateData = initialPrivateData;
+        final Class<?>[] keys = privateData.keys;
+        final Object[] values = privateData.values;
+        for (int i = 0; i < keys.length; i++) {
+            putPrivate(context, keys[i], values[i]);
         }
         // special location for original proxy
         context.putPrivateData(Object.class, proxy);
@@ -91,15 +91,15 @@ public final class ProxyInvocationHandler implements InvocationHandler {
             throw new IllegalArgumentException("key is null");
         }
         synchronized (this) {
-            final Map<Class<?>, Object> newMap = new IdentityHashMap<Class<?>, Object>(initialPrivateData);
+            final Map<Class<?>, Object> newMap = new IdentityHashMap<Class<?>, Object>(initialPrivateData.map);
             if (value == null) try {
                 return key.cast(newMap.remove(key));
             } finally {
-                initialPrivateData = newMap;
+                initialPrivateData = new PrivateData(newMap);
             } else try {
                 return key.cast(newMap.put(key, value));
             } finally {
-                initialPrivateData = newMap;
+                initialPrivateData = new PrivateData(newMap);
             }
         }
     }
@@ -112,10 +112,36 @@ public final class ProxyInvocationHandler implements InvocationHandler {
      * @return the value
      */
     public <T> T getPrivateData(Class<T> key) {
-        return key.cast(initialPrivateData.get(key));
+        return key.cast(initialPrivateData.map.get(key));
     }
 
+    @SuppressWarnings("unchecked")
     private static <T> void putPrivate(final InterceptorContext context, final Class<T> key, final Object value) {
-        context.putPrivateData(key, key.cast(value));
+        // the value was checked against its key by putPrivateData(Class, Object)
+        context.putPrivateData(key, (T) value);
+    }
+
+    /**
+     * An immutable copy of the initial private data, flattened into arrays so that each invocation can copy it
+     * without iterating over map entries.
+     */
+    private static final class PrivateData {
+        static final PrivateData EMPTY = new PrivateData(Collections.<Class<?>, Object>emptyMap());
+
+        final Map<Class<?>, Object> map;
+        final Class<?>[] keys;
+        final Object[] values;
+
+        PrivateData(final Map<Class<?>, Object> map) {
+            this.map = map;
+            keys = new Class<?>[map.size()];
+            values = new Object[map.size()];
+            int i = 0;
+            for (Map.Entry<Class<?>, Object> entry : map.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i] = entry.getValue();
+                i++;
+            }
+        }
     }
 }
@@ -42,8 +42,16 @@ public interface ResourceInjection {
      * Run this resource injection on the target instance.
      *
      * @param target the target object to inject into
+     * @return the injected value, or {@code null} if nothing was injected
      */
-    void inject(final Object target);
+    Object inject(final Object target);
+
+    /**
+     * Get a value for this injection without injecting it.
+     *
+     * @return the value
+     */
+    Object getValue();
 
     /**
      * Factory to create injections.
@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_POOL_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.STRATEGY;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT_UNIT;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelAddOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
+import org.jboss.as.ejb3.component.pool.PoolStrategy;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Adds a named bean instance pool definition.
+ */
+class BeanInstancePoolAdd implements ModelAddOperationHandler, DescriptionProvider {
+
+    static final BeanInstancePoolAdd INSTANCE = new BeanInstancePoolAdd();
+
+    private BeanInstancePoolAdd() {
+        //
+    }
+
+    static ModelNode getRecreateOperation(final ModelNode address, final ModelNode existing) {
+        final ModelNode op = Util.getEmptyOperation(ADD, address);
+        for (String attribute : new String[] {STRATEGY, MAX_POOL_SIZE, TIMEOUT, TIMEOUT_UNIT}) {
+            if (existing.hasDefined(attribute)) {
+                op.get(attribute).set(existing.get(attribute));
+            }
+        }
+        return op;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        final ModelNode opAddr = operation.require(OP_ADDR);
+        final String name = PathAddress.pathAddress(opAddr).getLastElement().getValue();
+
+        final PoolStrategy strategy = parseStrategy(operation.get(STRATEGY));
+        final int maxPoolSize = operation.hasDefined(MAX_POOL_SIZE) ? operation.get(MAX_POOL_SIZE).asInt() : PoolConfig.DEFAULT_MAX_POOL_SIZE;
+        final long timeout = operation.hasDefined(TIMEOUT) ? operation.get(TIMEOUT).asLong() : PoolConfig.DEFAULT_TIMEOUT;
+        final TimeUnit timeUnit = parseTimeUnit(operation.get(TIMEOUT_UNIT));
+        if (maxPoolSize < 1) {
+            throw new OperationFailedException(new ModelNode().set(MAX_POOL_SIZE + " must be at least 1"));
+        }
+
+        final ModelNode subModel = context.getSubModel();
+        subModel.get(STRATEGY).set(strategy.getLocalName());
+        subModel.get(MAX_POOL_SIZE).set(maxPoolSize);
+        subModel.get(TIMEOUT).set(timeout);
+        subModel.get(TIMEOUT_UNIT).set(timeUnit.name());
+
+        final ModelNode compensatingOperation = Util.getResourceRemoveOperation(opAddr);
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final PoolConfig poolConfig = new PoolConfig(name, strategy, maxPoolSize, timeout, timeUnit);
+                    context.getServiceTarget().addService(PoolConfigService.getServiceName(name), new PoolConfigService(poolConfig))
+                            .setInitialMode(ServiceController.Mode.ACTIVE)
+                            .install();
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult(compensatingOperation);
+    }
+
+    static PoolStrategy parseStrategy(final ModelNode node) throws OperationFailedException {
+        if (!node.isDefined()) {
+            return PoolStrategy.STRICT_MAX;
+        }
+        final PoolStrategy strategy = PoolStrategy.forName(node.asString());
+        if (strategy == null) {
+            throw new OperationFailedException(new ModelNode().set("Unknown bean instance pool strategy " + node.asString()));
+        }
+        return strategy;
+    }
+
+    static TimeUnit parseTimeUnit(final ModelNode node) throws OperationFailedException {
+        if (!node.isDefined()) {
+            return PoolConfig.DEFAULT_TIMEOUT_UNIT;
+        }
+        try {
+            return TimeUnit.valueOf(node.asString().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new OperationFailedException(new ModelNode().set("Unknown time unit " + node.asString()));
+        }
+    }
+
+    @Override
+    public ModelNode getModelDescription(final Locale locale) {
+        return EJB3SubsystemProviders.BEAN_INSTANCE_POOL_ADD.getModelDescription(locale);
+    }
+}
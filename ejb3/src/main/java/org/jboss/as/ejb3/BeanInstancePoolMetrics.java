@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.AVAILABLE_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.AVERAGE_WAIT_TIME;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.CREATE_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.CURRENT_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.IN_USE_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_WAIT_TIME;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.REMOVE_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.WAIT_COUNT;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ejb3.component.pool.InstancePool;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reports the statistics of a bean instance pool definition, summed over the pools of all components using it.
+ * Wait times are reported in milliseconds.
+ */
+class BeanInstancePoolMetrics implements ModelQueryOperationHandler {
+
+    static final BeanInstancePoolMetrics INSTANCE = new BeanInstancePoolMetrics();
+
+    static final String[] ATTRIBUTES = new String[] {AVAILABLE_COUNT, IN_USE_COUNT, CURRENT_SIZE, CREATE_COUNT, REMOVE_COUNT,
+            WAIT_COUNT, AVERAGE_WAIT_TIME, MAX_WAIT_TIME, TIMEOUT_COUNT};
+
+    private BeanInstancePoolMetrics() {
+        //
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+                    final String attributeName = operation.require(NAME).asString();
+
+                    final ServiceController<?> controller = context.getServiceRegistry().getService(PoolConfigService.getServiceName(name));
+                    if (controller != null) {
+                        final PoolConfig poolConfig = (PoolConfig) controller.getValue();
+                        final ModelNode result = new ModelNode().set(getMetric(poolConfig, attributeName));
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, result);
+                        resultHandler.handleResultComplete();
+                    } else {
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, new ModelNode().set("no metrics available"));
+                        resultHandler.handleResultComplete();
+                    }
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(Util.NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    static long getMetric(final PoolConfig poolConfig, final String attributeName) throws OperationFailedException {
+        if (!Arrays.asList(ATTRIBUTES).contains(attributeName)) {
+            throw new OperationFailedException(new ModelNode().set("No metric called " + attributeName));
+        }
+        long result = 0;
+        long waits = 0;
+        for (InstancePool<?> pool : poolConfig.getPools()) {
+            if (AVAILABLE_COUNT.equals(attributeName)) {
+                result += pool.getAvailableCount();
+            } else if (IN_USE_COUNT.equals(attributeName)) {
+                result += pool.getInUseCount();
+            } else if (CURRENT_SIZE.equals(attributeName)) {
+                result += pool.getCurrentSize();
+            } else if (CREATE_COUNT.equals(attributeName)) {
+                result += pool.getCreateCount();
+            } else if (REMOVE_COUNT.equals(attributeName)) {
+                result += pool.getRemoveCount();
+            } else if (WAIT_COUNT.equals(attributeName)) {
+                result += pool.getWaitCount();
+            } else if (AVERAGE_WAIT_TIME.equals(attributeName)) {
+                result += pool.getTotalWaitTime();
+                waits += pool.getWaitCount();
+            } else if (MAX_WAIT_TIME.equals(attributeName)) {
+                result = Math.max(result, pool.getMaxWaitTime());
+            } else if (TIMEOUT_COUNT.equals(attributeName)) {
+                result += pool.getTimeoutCount();
+            }
+        }
+        if (AVERAGE_WAIT_TIME.equals(attributeName)) {
+            return waits == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(result / waits);
+        } else if (MAX_WAIT_TIME.equals(attributeName)) {
+            return TimeUnit.NANOSECONDS.toMillis(result);
+        }
+        return result;
+    }
+}
@@ -28,6 +28,7 @@ import org.jboss.as.controller.ExtensionContext;
 import org.jboss.as.controller.ModelQueryOperationHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.SubsystemRegistration;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
@@ -36,19 +37,35 @@ import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.parsing.ExtensionParsingContext;
 import org.jboss.as.controller.parsing.ParseUtils;
 import org.jboss.as.controller.persistence.SubsystemMarshallingContext;
+import org.jboss.as.controller.registry.AttributeAccess.Storage;
 import org.jboss.as.controller.registry.ModelNodeRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
 import org.jboss.staxmapper.XMLElementReader;
 import org.jboss.staxmapper.XMLElementWriter;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
 import org.jboss.staxmapper.XMLExtendedStreamWriter;
 
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.BEAN_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_MDB_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_SFSB_CACHE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_SLSB_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.IDLE_TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_POOL_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.REMOVAL_TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.STATEFUL_CACHE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.STRATEGY;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT_UNIT;
 
 /**
  * @author Emanuel Muckenhuber
@@ -67,6 +84,30 @@ public class EJB3Extension implements Extension {
         final ModelNodeRegistration registration = subsystem.registerSubsystemModel(EJB3SubsystemProviders.SUBSYSTEM);
         registration.registerOperationHandler(ADD, Ejb3SubsystemAdd.INSTANCE, EJB3SubsystemProviders.SUBSYSTEM_ADD, false);
         registration.registerOperationHandler(DESCRIBE, SubsystemDescribeHandler.INSTANCE, SubsystemDescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
+
+        final ModelNodeRegistration pools = registration.registerSubModel(PathElement.pathElement(BEAN_INSTANCE_POOL), EJB3SubsystemProviders.BEAN_INSTANCE_POOL_DESC);
+        pools.registerOperationHandler(ADD, BeanInstancePoolAdd.INSTANCE, BeanInstancePoolAdd.INSTANCE, false);
+        pools.registerOperationHandler(REMOVE, BeanInstancePoolRemove.INSTANCE, BeanInstancePoolRemove.INSTANCE, false);
+        for (String attribute : new String[] {STRATEGY, MAX_POOL_SIZE, TIMEOUT, TIMEOUT_UNIT}) {
+            pools.registerReadWriteAttribute(attribute, null, BeanInstancePoolWriteHandler.INSTANCE, Storage.CONFIGURATION);
+        }
+        for (String metric : BeanInstancePoolMetrics.ATTRIBUTES) {
+            pools.registerMetric(metric, BeanInstancePoolMetrics.INSTANCE);
+        }
+
+        final ModelNodeRegistration caches = registration.registerSubModel(PathElement.pathElement(STATEFUL_CACHE), EJB3SubsystemProviders.STATEFUL_CACHE_DESC);
+        caches.registerOperationHandler(ADD, StatefulCacheAdd.INSTANCE, StatefulCacheAdd.INSTANCE, false);
+        caches.registerOperationHandler(REMOVE, StatefulCacheRemove.INSTANCE, StatefulCacheRemove.INSTANCE, false);
+        for (String attribute : new String[] {MAX_SIZE, IDLE_TIMEOUT, REMOVAL_TIMEOUT, TIMEOUT_UNIT}) {
+            caches.registerReadWriteAttribute(attribute, null, StatefulCacheWriteHandler.INSTANCE, Storage.CONFIGURATION);
+        }
+        for (String attribute : new String[] {PATH, RELATIVE_TO}) {
+            caches.registerReadOnlyAttribute(attribute, null, Storage.CONFIGURATION);
+        }
+        for (String metric : StatefulCacheMetrics.ATTRIBUTES) {
+            caches.registerMetric(metric, StatefulCacheMetrics.INSTANCE);
+        }
+
         subsystem.registerXMLElementWriter(parser);
     }
 
@@ -81,28 +122,164 @@ public class EJB3Extension implements Extension {
         /** {@inheritDoc} */
         @Override
         public void writeContent(final XMLExtendedStreamWriter writer, final SubsystemMarshallingContext context) throws XMLStreamException {
+            final ModelNode node = context.getModelNode();
+            final boolean hasPools = node.hasDefined(BEAN_INSTANCE_POOL) && node.get(BEAN_INSTANCE_POOL).keys().size() > 0;
             // //TODO seems to be a problem with empty elements cleaning up the queue in FormattingXMLStreamWriter.runAttrQueue
             //context.startSubsystemElement(NewManagedBeansExtension.NAMESPACE, true);
             context.startSubsystemElement(NAMESPACE, false);
+            if (node.hasDefined(DEFAULT_SLSB_INSTANCE_POOL)) {
+                writer.writeAttribute(DEFAULT_SLSB_INSTANCE_POOL, node.get(DEFAULT_SLSB_INSTANCE_POOL).asString());
+            }
+            if (node.hasDefined(DEFAULT_MDB_INSTANCE_POOL)) {
+                writer.writeAttribute(DEFAULT_MDB_INSTANCE_POOL, node.get(DEFAULT_MDB_INSTANCE_POOL).asString());
+            }
+            if (node.hasDefined(DEFAULT_SFSB_CACHE)) {
+                writer.writeAttribute(DEFAULT_SFSB_CACHE, node.get(DEFAULT_SFSB_CACHE).asString());
+            }
+            if (hasPools) {
+                for (Property pool : node.get(BEAN_INSTANCE_POOL).asPropertyList()) {
+                    final ModelNode poolNode = pool.getValue();
+                    writer.writeEmptyElement(BEAN_INSTANCE_POOL);
+                    writer.writeAttribute(NAME, pool.getName());
+                    for (String attribute : new String[] {STRATEGY, MAX_POOL_SIZE, TIMEOUT, TIMEOUT_UNIT}) {
+                        if (poolNode.hasDefined(attribute)) {
+                            writer.writeAttribute(attribute, poolNode.get(attribute).asString());
+                        }
+                    }
+                }
+            }
+            if (node.hasDefined(STATEFUL_CACHE)) {
+                for (Property cache : node.get(STATEFUL_CACHE).asPropertyList()) {
+                    final ModelNode cacheNode = cache.getValue();
+                    writer.writeEmptyElement(STATEFUL_CACHE);
+                    writer.writeAttribute(NAME, cache.getName());
+                    for (String attribute : new String[] {MAX_SIZE, IDLE_TIMEOUT, REMOVAL_TIMEOUT, TIMEOUT_UNIT, PATH, RELATIVE_TO}) {
+                        if (cacheNode.hasDefined(attribute)) {
+                            writer.writeAttribute(attribute, cacheNode.get(attribute).asString());
+                        }
+                    }
+                }
+            }
             writer.writeEndElement();
         }
 
         /** {@inheritDoc} */
         @Override
         public void readElement(final XMLExtendedStreamReader reader, final List<ModelNode> list) throws XMLStreamException {
-            ParseUtils.requireNoAttributes(reader);
-            ParseUtils.requireNoContent(reader);
+            final ModelNode address = new ModelNode();
+            address.add(SUBSYSTEM, SUBSYSTEM_NAME);
+            address.protect();
+
             final ModelNode update = new ModelNode();
             update.get(OP).set(ADD);
-            update.get(OP_ADDR).add(SUBSYSTEM, SUBSYSTEM_NAME);
+            update.get(OP_ADDR).set(address);
+            final int count = reader.getAttributeCount();
+            for (int i = 0; i < count; i++) {
+                ParseUtils.requireNoNamespaceAttribute(reader, i);
+                final String attribute = reader.getAttributeLocalName(i);
+                if (DEFAULT_SLSB_INSTANCE_POOL.equals(attribute) || DEFAULT_MDB_INSTANCE_POOL.equals(attribute)
+                        || DEFAULT_SFSB_CACHE.equals(attribute)) {
+                    update.get(attribute).set(reader.getAttributeValue(i));
+                } else {
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+                }
+            }
             list.add(update);
+
+            while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+                if (!NAMESPACE.equals(reader.getNamespaceURI())) {
+                    throw ParseUtils.unexpectedElement(reader);
+                }
+                if (BEAN_INSTANCE_POOL.equals(reader.getLocalName())) {
+                    list.add(parseBeanInstancePool(reader, address));
+                } else if (STATEFUL_CACHE.equals(reader.getLocalName())) {
+                    list.add(parseStatefulCache(reader, address));
+                } else {
+                    throw ParseUtils.unexpectedElement(reader);
+                }
+            }
+        }
+
+        private static ModelNode parseBeanInstancePool(final XMLExtendedStreamReader reader, final ModelNode parentAddress) throws XMLStreamException {
+            final ModelNode pool = new ModelNode();
+            pool.get(OP).set(ADD);
+            String name = null;
+            final int count = reader.getAttributeCount();
+            for (int i = 0; i < count; i++) {
+                ParseUtils.requireNoNamespaceAttribute(reader, i);
+                final String attribute = reader.getAttributeLocalName(i);
+                final String value = reader.getAttributeValue(i);
+                if (NAME.equals(attribute)) {
+                    name = value;
+                } else if (STRATEGY.equals(attribute) || TIMEOUT_UNIT.equals(attribute)) {
+                    pool.get(attribute).set(value);
+                } else if (MAX_POOL_SIZE.equals(attribute)) {
+                    pool.get(attribute).set(ParseUtils.parseBoundedIntegerAttribute(reader, i, 1, Integer.MAX_VALUE));
+                } else if (TIMEOUT.equals(attribute)) {
+                    try {
+                        pool.get(attribute).set(Long.parseLong(value));
+                    } catch (NumberFormatException e) {
+                        throw ParseUtils.invalidAttributeValue(reader, i);
+                    }
+                } else {
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+                }
+            }
+            if (name == null) {
+                throw ParseUtils.missingRequired(reader, Collections.singleton(NAME));
+            }
+            ParseUtils.requireNoContent(reader);
+            pool.get(OP_ADDR).set(parentAddress).add(BEAN_INSTANCE_POOL, name);
+            return pool;
+        }
+
+        private static ModelNode parseStatefulCache(final XMLExtendedStreamReader reader, final ModelNode parentAddress) throws XMLStreamException {
+            final ModelNode cache = new ModelNode();
+            cache.get(OP).set(ADD);
+            String name = null;
+            final int count = reader.getAttributeCount();
+            for (int i = 0; i < count; i++) {
+                ParseUtils.requireNoNamespaceAttribute(reader, i);
+                final String attribute = reader.getAttributeLocalName(i);
+                final String value = reader.getAttributeValue(i);
+                if (NAME.equals(attribute)) {
+                    name = value;
+                } else if (TIMEOUT_UNIT.equals(attribute) || PATH.equals(attribute) || RELATIVE_TO.equals(attribute)) {
+                    cache.get(attribute).set(value);
+                } else if (MAX_SIZE.equals(attribute)) {
+                    cache.get(attribute).set(ParseUtils.parseBoundedIntegerAttribute(reader, i, 0, Integer.MAX_VALUE));
+                } else if (IDLE_TIMEOUT.equals(attribute) || REMOVAL_TIMEOUT.equals(attribute)) {
+                    try {
+                        cache.get(attribute).set(Long.parseLong(value));
+                    } catch (NumberFormatException e) {
+                        throw ParseUtils.invalidAttributeValue(reader, i);
+                    }
+                } else {
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+                }
+            }
+            if (name == null) {
+                throw ParseUtils.missingRequired(reader, Collections.singleton(NAME));
+            }
+            ParseUtils.requireNoContent(reader);
+            cache.get(OP_ADDR).set(parentAddress).add(STATEFUL_CACHE, name);
+            return cache;
         }
     }
 
-    private static ModelNode createAddSubSystemOperation() {
+    private static ModelNode createAddSubSystemOperation(final ModelNode model) {
         final ModelNode subsystem = new ModelNode();
         subsystem.get(OP).set(ADD);
         subsystem.get(OP_ADDR).add(ModelDescriptionConstants.SUBSYSTEM, SUBSYSTEM_NAME);
+        if (model.hasDefined(DEFAULT_SLSB_INSTANCE_POOL)) {
+            subsystem.get(DEFAULT_SLSB_INSTANCE_POOL).set(model.get(DEFAULT_SLSB_INSTANCE_POOL));
+        }
+        if (model.hasDefined(DEFAULT_MDB_INSTANCE_POOL)) {
+            subsystem.get(DEFAULT_MDB_INSTANCE_POOL).set(model.get(DEFAULT_MDB_INSTANCE_POOL));
+        }
+        if (model.hasDefined(DEFAULT_SFSB_CACHE)) {
+            subsystem.get(DEFAULT_SFSB_CACHE).set(model.get(DEFAULT_SFSB_CACHE));
+        }
         return subsystem;
     }
 
@@ -110,8 +287,25 @@ public class EJB3Extension implements Extension {
         static final SubsystemDescribeHandler INSTANCE = new SubsystemDescribeHandler();
         @Override
         public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler) {
+            final ModelNode model = context.getSubModel();
             ModelNode node = new ModelNode();
-            node.add(createAddSubSystemOperation());
+            node.add(createAddSubSystemOperation(model));
+            if (model.hasDefined(BEAN_INSTANCE_POOL)) {
+                for (Property pool : model.get(BEAN_INSTANCE_POOL).asPropertyList()) {
+                    final ModelNode address = new ModelNode();
+                    address.add(SUBSYSTEM, SUBSYSTEM_NAME);
+                    address.add(BEAN_INSTANCE_POOL, pool.getName());
+                    node.add(BeanInstancePoolAdd.getRecreateOperation(address, pool.getValue()));
+                }
+            }
+            if (model.hasDefined(STATEFUL_CACHE)) {
+                for (Property cache : model.get(STATEFUL_CACHE).asPropertyList()) {
+                    final ModelNode address = new ModelNode();
+                    address.add(SUBSYSTEM, SUBSYSTEM_NAME);
+                    address.add(STATEFUL_CACHE, cache.getName());
+                    node.add(StatefulCacheAdd.getRecreateOperation(address, cache.getValue()));
+                }
+            }
 
             resultHandler.handleResultFragment(Util.NO_LOCATION, node);
             resultHandler.handleResultComplete();
@@ -31,11 +31,17 @@ import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ejb3.cache.StatefulCacheConfig;
+import org.jboss.as.ejb3.cache.StatefulCacheConfigService;
 import org.jboss.as.ejb3.component.EJBUtilities;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
+import org.jboss.as.ejb3.component.pool.PoolStrategy;
 import org.jboss.as.ejb3.deployment.processors.AccessTimeoutAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.ApplicationExceptionAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.AsynchronousAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.BusinessViewAnnotationProcessor;
+import org.jboss.as.ejb3.deployment.processors.CacheAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.ConcurrencyManagementAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.EjbAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.EjbContextJndiBindingProcessor;
@@ -49,6 +55,7 @@ import org.jboss.as.ejb3.deployment.processors.EjbResourceInjectionAnnotationPro
 import org.jboss.as.ejb3.deployment.processors.ImplicitLocalViewProcessor;
 import org.jboss.as.ejb3.deployment.processors.LockAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.MessageDrivenAnnotationProcessor;
+import org.jboss.as.ejb3.deployment.processors.PoolAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.ResourceAdapterAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.StartupAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.TransactionAttributeAnnotationProcessor;
@@ -62,13 +69,23 @@ import org.jboss.as.server.deployment.Phase;
 import org.jboss.as.txn.TxnServices;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.ValueService;
+import org.jboss.msc.value.ImmediateValue;
+import org.jboss.msc.value.InjectedValue;
 
 import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.UserTransaction;
+import java.util.concurrent.TimeUnit;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.BEAN_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_MDB_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_SFSB_CACHE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_SLSB_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.STATEFUL_CACHE;
 
 /**
  * @author Emanuel Muckenhuber
@@ -103,6 +120,9 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
                             .addDependency(TxnServices.JBOSS_TXN_USER_TRANSACTION, UserTransaction.class, utilities.getUserTransactionInjector())
                             .setInitialMode(ServiceController.Mode.ACTIVE)
                             .install();
+                    installDefaultPoolConfig(serviceTarget, PoolConfigService.DEFAULT_SLSB_POOL_CONFIG_SERVICE_NAME, operation.get(DEFAULT_SLSB_INSTANCE_POOL), "default-slsb-pool");
+                    installDefaultPoolConfig(serviceTarget, PoolConfigService.DEFAULT_MDB_POOL_CONFIG_SERVICE_NAME, operation.get(DEFAULT_MDB_INSTANCE_POOL), "default-mdb-pool");
+                    installDefaultCacheConfig(serviceTarget, operation.get(DEFAULT_SFSB_CACHE));
                     resultHandler.handleResultComplete(); // TODO: Listener
                 }
             });
@@ -127,6 +147,8 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_TRANSACTION_ATTR_ANNOTATION, new TransactionAttributeAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_RESOURCE_ADAPTER_ANNOTATION, new ResourceAdapterAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_ASYNCHRONOUS_ANNOTATION, new AsynchronousAnnotationProcessor());
+            updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_POOL_ANNOTATION, new PoolAnnotationProcessor());
+            updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_CACHE_ANNOTATION, new CacheAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_APPLICATION_EXCEPTION_ANNOTATION, new ApplicationExceptionAnnotationProcessor());
 
             updateContext.addDeploymentProcessor(Phase.DEPENDENCIES, Phase.DEPENDENCIES_EJB, new EjbDependencyDeploymentUnitProcessor());
@@ -143,9 +165,56 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
             // updateContext.addDeploymentProcessor(processor, priority);
         }
 
-        context.getSubModel().setEmptyObject();
+        final ModelNode subModel = context.getSubModel();
+        subModel.setEmptyObject();
+        if (operation.hasDefined(DEFAULT_SLSB_INSTANCE_POOL)) {
+            subModel.get(DEFAULT_SLSB_INSTANCE_POOL).set(operation.get(DEFAULT_SLSB_INSTANCE_POOL));
+        }
+        if (operation.hasDefined(DEFAULT_MDB_INSTANCE_POOL)) {
+            subModel.get(DEFAULT_MDB_INSTANCE_POOL).set(operation.get(DEFAULT_MDB_INSTANCE_POOL));
+        }
+        if (operation.hasDefined(DEFAULT_SFSB_CACHE)) {
+            subModel.get(DEFAULT_SFSB_CACHE).set(operation.get(DEFAULT_SFSB_CACHE));
+        }
+        subModel.get(BEAN_INSTANCE_POOL).setEmptyObject();
+        subModel.get(STATEFUL_CACHE).setEmptyObject();
         resultHandler.handleResultComplete();
         return new BasicOperationResult(compensatingOperation);
     }
 
+    /**
+     * Install the pool definition used by beans which do not name one. It refers to the named bean instance pool
+     * if one is configured, and otherwise to a private definition matching the historical strict-max defaults.
+     */
+    private static void installDefaultPoolConfig(final ServiceTarget serviceTarget, final ServiceName serviceName, final ModelNode poolName, final String defaultName) {
+        if (poolName.isDefined()) {
+            final InjectedValue<PoolConfig> poolConfig = new InjectedValue<PoolConfig>();
+            serviceTarget.addService(serviceName, new ValueService<PoolConfig>(poolConfig))
+                    .addDependency(PoolConfigService.getServiceName(poolName.asString()), PoolConfig.class, poolConfig)
+                    .install();
+        } else {
+            final PoolConfig poolConfig = new PoolConfig(defaultName, PoolStrategy.STRICT_MAX, PoolConfig.DEFAULT_MAX_POOL_SIZE, PoolConfig.DEFAULT_TIMEOUT, PoolConfig.DEFAULT_TIMEOUT_UNIT);
+            serviceTarget.addService(serviceName, new ValueService<PoolConfig>(new ImmediateValue<PoolConfig>(poolConfig)))
+                    .install();
+        }
+    }
+
+    /**
+     * Install the cache definition used by stateful beans which do not name one. It refers to the named stateful cache
+     * if one is configured, and otherwise to a definition which keeps every instance in memory and never passivates.
+     */
+    private static void installDefaultCacheConfig(final ServiceTarget serviceTarget, final ModelNode cacheName) {
+        final ServiceName serviceName = StatefulCacheConfigService.DEFAULT_SFSB_CACHE_CONFIG_SERVICE_NAME;
+        if (cacheName.isDefined()) {
+            final InjectedValue<StatefulCacheConfig> cacheConfig = new InjectedValue<StatefulCacheConfig>();
+            serviceTarget.addService(serviceName, new ValueService<StatefulCacheConfig>(cacheConfig))
+                    .addDependency(StatefulCacheConfigService.getServiceName(cacheName.asString()), StatefulCacheConfig.class, cacheConfig)
+                    .install();
+        } else {
+            final StatefulCacheConfig cacheConfig = new StatefulCacheConfig("default-sfsb-cache", null, 0, 0, 0, TimeUnit.MINUTES);
+            serviceTarget.addService(serviceName, new ValueService<StatefulCacheConfig>(new ImmediateValue<StatefulCacheConfig>(cacheConfig)))
+                    .install();
+        }
+    }
+
 }
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+/**
+ * Attribute and element names used in the ejb3 subsystem model.
+ */
+interface EJB3SubsystemModel {
+
+    String BEAN_INSTANCE_POOL = "bean-instance-pool";
+    String DEFAULT_MDB_INSTANCE_POOL = "default-mdb-instance-pool";
+    String DEFAULT_SFSB_CACHE = "default-sfsb-cache";
+    String DEFAULT_SLSB_INSTANCE_POOL = "default-slsb-instance-pool";
+    String IDLE_TIMEOUT = "idle-timeout";
+    String MAX_POOL_SIZE = "max-pool-size";
+    String MAX_SIZE = "max-size";
+    String REMOVAL_TIMEOUT = "removal-timeout";
+    String STATEFUL_CACHE = "stateful-cache";
+    String STRATEGY = "strategy";
+    String TIMEOUT = "timeout";
+    String TIMEOUT_UNIT = "timeout-unit";
+
+    // bean instance pool metrics
+    String AVAILABLE_COUNT = "available-count";
+    String AVERAGE_WAIT_TIME = "average-wait-time";
+    String CREATE_COUNT = "create-count";
+    String CURRENT_SIZE = "current-size";
+    String IN_USE_COUNT = "in-use-count";
+    String MAX_WAIT_TIME = "max-wait-time";
+    String REMOVE_COUNT = "remove-count";
+    String TIMEOUT_COUNT = "timeout-count";
+    String WAIT_COUNT = "wait-count";
+
+    // stateful cache metrics
+    String ACTIVATION_COUNT = "activation-count";
+    String AVERAGE_ACTIVATION_TIME = "average-activation-time";
+    String CACHE_SIZE = "cache-size";
+    String COMPONENT_STATISTICS = "component-statistics";
+    String EXPIRATION_COUNT = "expiration-count";
+    String MAX_ACTIVATION_TIME = "max-activation-time";
+    String PASSIVATED_COUNT = "passivated-count";
+    String PASSIVATION_COUNT = "passivation-count";
+    String PASSIVATION_FAILURE_COUNT = "passivation-failure-count";
+}
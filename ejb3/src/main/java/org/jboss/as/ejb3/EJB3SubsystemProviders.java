@@ -23,17 +23,43 @@
 package org.jboss.as.ejb3;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HEAD_COMMENT_ALLOWED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_OCCURS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIN_OCCURS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMESPACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NILLABLE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PATH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELATIVE_TO;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.BEAN_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_MDB_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_SFSB_CACHE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.DEFAULT_SLSB_INSTANCE_POOL;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.IDLE_TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_POOL_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.REMOVAL_TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.STATEFUL_CACHE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.STRATEGY;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT_UNIT;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * @author Emanuel Muckenhuber
@@ -52,6 +78,26 @@ class EJB3SubsystemProviders {
             subsystem.get(TAIL_COMMENT_ALLOWED).set(true);
             subsystem.get(NAMESPACE).set(EJB3Extension.NAMESPACE);
 
+            subsystem.get(ATTRIBUTES, DEFAULT_SLSB_INSTANCE_POOL, TYPE).set(ModelType.STRING);
+            subsystem.get(ATTRIBUTES, DEFAULT_SLSB_INSTANCE_POOL, DESCRIPTION).set(bundle.getString("ejb3.default-slsb-instance-pool"));
+            subsystem.get(ATTRIBUTES, DEFAULT_SLSB_INSTANCE_POOL, REQUIRED).set(false);
+            subsystem.get(ATTRIBUTES, DEFAULT_MDB_INSTANCE_POOL, TYPE).set(ModelType.STRING);
+            subsystem.get(ATTRIBUTES, DEFAULT_MDB_INSTANCE_POOL, DESCRIPTION).set(bundle.getString("ejb3.default-mdb-instance-pool"));
+            subsystem.get(ATTRIBUTES, DEFAULT_MDB_INSTANCE_POOL, REQUIRED).set(false);
+            subsystem.get(ATTRIBUTES, DEFAULT_SFSB_CACHE, TYPE).set(ModelType.STRING);
+            subsystem.get(ATTRIBUTES, DEFAULT_SFSB_CACHE, DESCRIPTION).set(bundle.getString("ejb3.default-sfsb-cache"));
+            subsystem.get(ATTRIBUTES, DEFAULT_SFSB_CACHE, REQUIRED).set(false);
+
+            subsystem.get(CHILDREN, BEAN_INSTANCE_POOL, DESCRIPTION).set(bundle.getString("ejb3.bean-instance-pool"));
+            subsystem.get(CHILDREN, BEAN_INSTANCE_POOL, MIN_OCCURS).set(0);
+            subsystem.get(CHILDREN, BEAN_INSTANCE_POOL, MAX_OCCURS).set(Integer.MAX_VALUE);
+            subsystem.get(CHILDREN, BEAN_INSTANCE_POOL, MODEL_DESCRIPTION).setEmptyObject();
+
+            subsystem.get(CHILDREN, STATEFUL_CACHE, DESCRIPTION).set(bundle.getString("ejb3.stateful-cache"));
+            subsystem.get(CHILDREN, STATEFUL_CACHE, MIN_OCCURS).set(0);
+            subsystem.get(CHILDREN, STATEFUL_CACHE, MAX_OCCURS).set(Integer.MAX_VALUE);
+            subsystem.get(CHILDREN, STATEFUL_CACHE, MODEL_DESCRIPTION).setEmptyObject();
+
             return subsystem;
         }
     };
@@ -65,10 +111,165 @@ class EJB3SubsystemProviders {
             op.get(OPERATION_NAME).set(ADD);
             op.get(DESCRIPTION).set(bundle.getString("ejb3.add"));
 
+            op.get(REQUEST_PROPERTIES, DEFAULT_SLSB_INSTANCE_POOL, TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, DEFAULT_SLSB_INSTANCE_POOL, DESCRIPTION).set(bundle.getString("ejb3.default-slsb-instance-pool"));
+            op.get(REQUEST_PROPERTIES, DEFAULT_SLSB_INSTANCE_POOL, REQUIRED).set(false);
+            op.get(REQUEST_PROPERTIES, DEFAULT_MDB_INSTANCE_POOL, TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, DEFAULT_MDB_INSTANCE_POOL, DESCRIPTION).set(bundle.getString("ejb3.default-mdb-instance-pool"));
+            op.get(REQUEST_PROPERTIES, DEFAULT_MDB_INSTANCE_POOL, REQUIRED).set(false);
+            op.get(REQUEST_PROPERTIES, DEFAULT_SFSB_CACHE, TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, DEFAULT_SFSB_CACHE, DESCRIPTION).set(bundle.getString("ejb3.default-sfsb-cache"));
+            op.get(REQUEST_PROPERTIES, DEFAULT_SFSB_CACHE, REQUIRED).set(false);
+            op.get(REPLY_PROPERTIES).setEmptyObject();
+
+            return op;
+        }
+    };
+
+    static final DescriptionProvider BEAN_INSTANCE_POOL_DESC = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode node = new ModelNode();
+            node.get(DESCRIPTION).set(bundle.getString("ejb3.bean-instance-pool"));
+            node.get(HEAD_COMMENT_ALLOWED).set(true);
+            node.get(TAIL_COMMENT_ALLOWED).set(true);
+            addBeanInstancePoolAttributes(node.get(ATTRIBUTES), bundle);
+
+            return node;
+        }
+    };
+
+    static final DescriptionProvider BEAN_INSTANCE_POOL_ADD = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode op = new ModelNode();
+            op.get(OPERATION_NAME).set(ADD);
+            op.get(DESCRIPTION).set(bundle.getString("ejb3.bean-instance-pool.add"));
+            addBeanInstancePoolAttributes(op.get(REQUEST_PROPERTIES), bundle);
+            op.get(REPLY_PROPERTIES).setEmptyObject();
+
+            return op;
+        }
+    };
+
+    static final DescriptionProvider BEAN_INSTANCE_POOL_REMOVE = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode op = new ModelNode();
+            op.get(OPERATION_NAME).set(REMOVE);
+            op.get(DESCRIPTION).set(bundle.getString("ejb3.bean-instance-pool.remove"));
+            op.get(REQUEST_PROPERTIES).setEmptyObject();
+            op.get(REPLY_PROPERTIES).setEmptyObject();
+
+            return op;
+        }
+    };
+
+    static final DescriptionProvider STATEFUL_CACHE_DESC = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode node = new ModelNode();
+            node.get(DESCRIPTION).set(bundle.getString("ejb3.stateful-cache"));
+            node.get(HEAD_COMMENT_ALLOWED).set(true);
+            node.get(TAIL_COMMENT_ALLOWED).set(true);
+            addStatefulCacheAttributes(node.get(ATTRIBUTES), bundle);
+
+            return node;
+        }
+    };
+
+    static final DescriptionProvider STATEFUL_CACHE_ADD = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode op = new ModelNode();
+            op.get(OPERATION_NAME).set(ADD);
+            op.get(DESCRIPTION).set(bundle.getString("ejb3.stateful-cache.add"));
+            addStatefulCacheAttributes(op.get(REQUEST_PROPERTIES), bundle);
+            op.get(REPLY_PROPERTIES).setEmptyObject();
+
             return op;
         }
     };
 
+    static final DescriptionProvider STATEFUL_CACHE_REMOVE = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode op = new ModelNode();
+            op.get(OPERATION_NAME).set(REMOVE);
+            op.get(DESCRIPTION).set(bundle.getString("ejb3.stateful-cache.remove"));
+            op.get(REQUEST_PROPERTIES).setEmptyObject();
+            op.get(REPLY_PROPERTIES).setEmptyObject();
+
+            return op;
+        }
+    };
+
+    private static void addBeanInstancePoolAttributes(final ModelNode node, final ResourceBundle bundle) {
+        node.get(STRATEGY, TYPE).set(ModelType.STRING);
+        node.get(STRATEGY, DESCRIPTION).set(bundle.getString("ejb3.bean-instance-pool.strategy"));
+        node.get(STRATEGY, REQUIRED).set(false);
+        node.get(STRATEGY, NILLABLE).set(true);
+
+        node.get(MAX_POOL_SIZE, TYPE).set(ModelType.INT);
+        node.get(MAX_POOL_SIZE, DESCRIPTION).set(bundle.getString("ejb3.bean-instance-pool.max-pool-size"));
+        node.get(MAX_POOL_SIZE, REQUIRED).set(false);
+        node.get(MAX_POOL_SIZE, NILLABLE).set(true);
+
+        node.get(TIMEOUT, TYPE).set(ModelType.LONG);
+        node.get(TIMEOUT, DESCRIPTION).set(bundle.getString("ejb3.bean-instance-pool.timeout"));
+        node.get(TIMEOUT, REQUIRED).set(false);
+        node.get(TIMEOUT, NILLABLE).set(true);
+
+        node.get(TIMEOUT_UNIT, TYPE).set(ModelType.STRING);
+        node.get(TIMEOUT_UNIT, DESCRIPTION).set(bundle.getString("ejb3.bean-instance-pool.timeout-unit"));
+        node.get(TIMEOUT_UNIT, REQUIRED).set(false);
+        node.get(TIMEOUT_UNIT, NILLABLE).set(true);
+    }
+
+    private static void addStatefulCacheAttributes(final ModelNode node, final ResourceBundle bundle) {
+        node.get(MAX_SIZE, TYPE).set(ModelType.INT);
+        node.get(MAX_SIZE, DESCRIPTION).set(bundle.getString("ejb3.stateful-cache.max-size"));
+        node.get(MAX_SIZE, REQUIRED).set(false);
+        node.get(MAX_SIZE, NILLABLE).set(true);
+
+        node.get(IDLE_TIMEOUT, TYPE).set(ModelType.LONG);
+        node.get(IDLE_TIMEOUT, DESCRIPTION).set(bundle.getString("ejb3.stateful-cache.idle-timeout"));
+        node.get(IDLE_TIMEOUT, REQUIRED).set(false);
+        node.get(IDLE_TIMEOUT, NILLABLE).set(true);
+
+        node.get(REMOVAL_TIMEOUT, TYPE).set(ModelType.LONG);
+        node.get(REMOVAL_TIMEOUT, DESCRIPTION).set(bundle.getString("ejb3.stateful-cache.removal-timeout"));
+        node.get(REMOVAL_TIMEOUT, REQUIRED).set(false);
+        node.get(REMOVAL_TIMEOUT, NILLABLE).set(true);
+
+        node.get(TIMEOUT_UNIT, TYPE).set(ModelType.STRING);
+        node.get(TIMEOUT_UNIT, DESCRIPTION).set(bundle.getString("ejb3.stateful-cache.timeout-unit"));
+        node.get(TIMEOUT_UNIT, REQUIRED).set(false);
+        node.get(TIMEOUT_UNIT, NILLABLE).set(true);
+
+        node.get(PATH, TYPE).set(ModelType.STRING);
+        node.get(PATH, DESCRIPTION).set(bundle.getString("ejb3.stateful-cache.path"));
+        node.get(PATH, REQUIRED).set(false);
+        node.get(PATH, NILLABLE).set(true);
+
+        node.get(RELATIVE_TO, TYPE).set(ModelType.STRING);
+        node.get(RELATIVE_TO, DESCRIPTION).set(bundle.getString("ejb3.stateful-cache.relative-to"));
+        node.get(RELATIVE_TO, REQUIRED).set(false);
+        node.get(RELATIVE_TO, NILLABLE).set(true);
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
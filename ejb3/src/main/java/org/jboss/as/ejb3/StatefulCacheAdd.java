@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PATH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELATIVE_TO;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.IDLE_TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.REMOVAL_TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT_UNIT;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelAddOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ejb3.cache.StatefulCacheConfig;
+import org.jboss.as.ejb3.cache.StatefulCacheConfigService;
+import org.jboss.as.server.services.path.AbstractPathService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceController;
+
+class StatefulCacheAdd implements ModelAddOperationHandler, DescriptionProvider {
+
+    static final StatefulCacheAdd INSTANCE = new StatefulCacheAdd();
+
+    static final String DEFAULT_RELATIVE_TO = "jboss.server.data.dir";
+    static final String DEFAULT_PATH = "ejb3-sessions";
+
+    private StatefulCacheAdd() {
+        //
+    }
+
+    static ModelNode getRecreateOperation(final ModelNode address, final ModelNode existing) {
+        final ModelNode op = Util.getEmptyOperation(ADD, address);
+        for (String attribute : new String[] {MAX_SIZE, IDLE_TIMEOUT, REMOVAL_TIMEOUT, TIMEOUT_UNIT, PATH, RELATIVE_TO}) {
+            if (existing.hasDefined(attribute)) {
+                op.get(attribute).set(existing.get(attribute));
+            }
+        }
+        return op;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        final ModelNode opAddr = operation.require(OP_ADDR);
+        final String name = PathAddress.pathAddress(opAddr).getLastElement().getValue();
+
+        final int maxSize = parseMaxSize(operation.get(MAX_SIZE));
+        final long idleTimeout = parseTimeout(operation.get(IDLE_TIMEOUT), IDLE_TIMEOUT, StatefulCacheConfig.DEFAULT_IDLE_TIMEOUT);
+        final long removalTimeout = parseTimeout(operation.get(REMOVAL_TIMEOUT), REMOVAL_TIMEOUT, StatefulCacheConfig.DEFAULT_REMOVAL_TIMEOUT);
+        final TimeUnit timeUnit = parseTimeUnit(operation.get(TIMEOUT_UNIT));
+        final String path = operation.hasDefined(PATH) ? operation.get(PATH).asString() : DEFAULT_PATH;
+        final String relativeTo = operation.hasDefined(RELATIVE_TO) ? operation.get(RELATIVE_TO).asString() : DEFAULT_RELATIVE_TO;
+
+        final ModelNode subModel = context.getSubModel();
+        subModel.get(MAX_SIZE).set(maxSize);
+        subModel.get(IDLE_TIMEOUT).set(idleTimeout);
+        subModel.get(REMOVAL_TIMEOUT).set(removalTimeout);
+        subModel.get(TIMEOUT_UNIT).set(timeUnit.name());
+        subModel.get(PATH).set(path);
+        subModel.get(RELATIVE_TO).set(relativeTo);
+
+        final ModelNode compensatingOperation = Util.getResourceRemoveOperation(opAddr);
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final StatefulCacheConfigService service = new StatefulCacheConfigService(name, path, maxSize, idleTimeout, removalTimeout, timeUnit);
+                    final ServiceBuilder<StatefulCacheConfig> builder = context.getServiceTarget().addService(StatefulCacheConfigService.getServiceName(name), service);
+                    builder.addDependency(AbstractPathService.pathNameOf(relativeTo), String.class, service.getRelativeToInjector());
+                    builder.setInitialMode(ServiceController.Mode.ACTIVE)
+                            .install();
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult(compensatingOperation);
+    }
+
+    static int parseMaxSize(final ModelNode node) throws OperationFailedException {
+        final int maxSize = node.isDefined() ? node.asInt() : StatefulCacheConfig.DEFAULT_MAX_SIZE;
+        if (maxSize < 0) {
+            throw new OperationFailedException(new ModelNode().set(MAX_SIZE + " must not be negative"));
+        }
+        return maxSize;
+    }
+
+    static long parseTimeout(final ModelNode node, final String attributeName, final long defaultValue) throws OperationFailedException {
+        final long timeout = node.isDefined() ? node.asLong() : defaultValue;
+        if (timeout < 0) {
+            throw new OperationFailedException(new ModelNode().set(attributeName + " must not be negative"));
+        }
+        return timeout;
+    }
+
+    static TimeUnit parseTimeUnit(final ModelNode node) throws OperationFailedException {
+        if (!node.isDefined()) {
+            return StatefulCacheConfig.DEFAULT_TIMEOUT_UNIT;
+        }
+        return BeanInstancePoolAdd.parseTimeUnit(node);
+    }
+
+    @Override
+    public ModelNode getModelDescription(final Locale locale) {
+        return EJB3SubsystemProviders.STATEFUL_CACHE_ADD.getModelDescription(locale);
+    }
+}
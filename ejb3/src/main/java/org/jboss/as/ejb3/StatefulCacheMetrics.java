@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.ACTIVATION_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.AVERAGE_ACTIVATION_TIME;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.CACHE_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.COMPONENT_STATISTICS;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.EXPIRATION_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_ACTIVATION_TIME;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.PASSIVATED_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.PASSIVATION_COUNT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.PASSIVATION_FAILURE_COUNT;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ejb3.cache.PassivatingCache;
+import org.jboss.as.ejb3.cache.StatefulCacheConfig;
+import org.jboss.as.ejb3.cache.StatefulCacheConfigService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+class StatefulCacheMetrics implements ModelQueryOperationHandler {
+
+    static final StatefulCacheMetrics INSTANCE = new StatefulCacheMetrics();
+
+    static final String[] ATTRIBUTES = new String[] {CACHE_SIZE, PASSIVATED_COUNT, PASSIVATION_COUNT, PASSIVATION_FAILURE_COUNT,
+            ACTIVATION_COUNT, AVERAGE_ACTIVATION_TIME, MAX_ACTIVATION_TIME, EXPIRATION_COUNT, COMPONENT_STATISTICS};
+
+    private StatefulCacheMetrics() {
+        //
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+                    final String attributeName = operation.require(NAME).asString();
+                    if (!Arrays.asList(ATTRIBUTES).contains(attributeName)) {
+                        throw new OperationFailedException(new ModelNode().set("No metric called " + attributeName));
+                    }
+
+                    final ServiceController<?> controller = context.getServiceRegistry().getService(StatefulCacheConfigService.getServiceName(name));
+                    if (controller != null) {
+                        final StatefulCacheConfig cacheConfig = (StatefulCacheConfig) controller.getValue();
+                        final ModelNode result = new ModelNode();
+                        if (COMPONENT_STATISTICS.equals(attributeName)) {
+                            result.setEmptyObject();
+                            for (PassivatingCache<?> cache : cacheConfig.getCaches()) {
+                                final ModelNode stats = result.get(cache.getName());
+                                for (String metric : ATTRIBUTES) {
+                                    if (!COMPONENT_STATISTICS.equals(metric)) {
+                                        stats.get(metric).set(getMetric(Collections.<PassivatingCache<?>>singleton(cache), metric));
+                                    }
+                                }
+                            }
+                        } else {
+                            result.set(getMetric(cacheConfig.getCaches(), attributeName));
+                        }
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, result);
+                        resultHandler.handleResultComplete();
+                    } else {
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, new ModelNode().set("no metrics available"));
+                        resultHandler.handleResultComplete();
+                    }
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(Util.NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    static long getMetric(final Collection<PassivatingCache<?>> caches, final String attributeName) {
+        long result = 0;
+        long activations = 0;
+        for (PassivatingCache<?> cache : caches) {
+            if (CACHE_SIZE.equals(attributeName)) {
+                result += cache.getCacheSize();
+            } else if (PASSIVATED_COUNT.equals(attributeName)) {
+                result += cache.getPassivatedCount();
+            } else if (PASSIVATION_COUNT.equals(attributeName)) {
+                result += cache.getPassivationCount();
+            } else if (PASSIVATION_FAILURE_COUNT.equals(attributeName)) {
+                result += cache.getPassivationFailureCount();
+            } else if (ACTIVATION_COUNT.equals(attributeName)) {
+                result += cache.getActivationCount();
+            } else if (AVERAGE_ACTIVATION_TIME.equals(attributeName)) {
+                result += cache.getTotalActivationTime();
+                activations += cache.getActivationCount();
+            } else if (MAX_ACTIVATION_TIME.equals(attributeName)) {
+                result = Math.max(result, cache.getMaxActivationTime());
+            } else if (EXPIRATION_COUNT.equals(attributeName)) {
+                result += cache.getExpirationCount();
+            }
+        }
+        if (AVERAGE_ACTIVATION_TIME.equals(attributeName)) {
+            return activations == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(result / activations);
+        } else if (MAX_ACTIVATION_TIME.equals(attributeName)) {
+            return TimeUnit.NANOSECONDS.toMillis(result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.IDLE_TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.MAX_SIZE;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.REMOVAL_TIMEOUT;
+import static org.jboss.as.ejb3.EJB3SubsystemModel.TIMEOUT_UNIT;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelUpdateOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ejb3.cache.StatefulCacheConfig;
+import org.jboss.as.ejb3.cache.StatefulCacheConfigService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+class StatefulCacheWriteHandler implements ModelUpdateOperationHandler {
+
+    static final StatefulCacheWriteHandler INSTANCE = new StatefulCacheWriteHandler();
+
+    private StatefulCacheWriteHandler() {
+        //
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+        final String attributeName = operation.require(NAME).asString();
+        final ModelNode newValue = operation.hasDefined(VALUE) ? operation.get(VALUE) : new ModelNode();
+
+        // Validate and normalize before touching the model
+        final ModelNode normalized;
+        if (MAX_SIZE.equals(attributeName)) {
+            normalized = new ModelNode().set(StatefulCacheAdd.parseMaxSize(newValue));
+        } else if (IDLE_TIMEOUT.equals(attributeName)) {
+            normalized = new ModelNode().set(StatefulCacheAdd.parseTimeout(newValue, IDLE_TIMEOUT, StatefulCacheConfig.DEFAULT_IDLE_TIMEOUT));
+        } else if (REMOVAL_TIMEOUT.equals(attributeName)) {
+            normalized = new ModelNode().set(StatefulCacheAdd.parseTimeout(newValue, REMOVAL_TIMEOUT, StatefulCacheConfig.DEFAULT_REMOVAL_TIMEOUT));
+        } else if (TIMEOUT_UNIT.equals(attributeName)) {
+            normalized = new ModelNode().set(StatefulCacheAdd.parseTimeUnit(newValue).name());
+        } else {
+            throw new OperationFailedException(new ModelNode().set("No known attribute called " + attributeName));
+        }
+
+        final ModelNode model = context.getSubModel();
+        final ModelNode oldValue = model.get(attributeName).clone();
+        model.get(attributeName).set(normalized);
+
+        final long idleTimeout = model.get(IDLE_TIMEOUT).asLong();
+        final long removalTimeout = model.get(REMOVAL_TIMEOUT).asLong();
+        final TimeUnit timeUnit = TimeUnit.valueOf(model.get(TIMEOUT_UNIT).asString());
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final ServiceController<?> service = context.getServiceRegistry().getService(StatefulCacheConfigService.getServiceName(name));
+                    if (service == null) {
+                        throw new OperationFailedException(new ModelNode().set(String.format("No stateful cache named %s is configured", name)));
+                    }
+                    final StatefulCacheConfig cacheConfig = (StatefulCacheConfig) service.getValue();
+                    if (MAX_SIZE.equals(attributeName)) {
+                        cacheConfig.setMaxSize(normalized.asInt());
+                    } else {
+                        cacheConfig.setTimeouts(idleTimeout, removalTimeout, timeUnit);
+                    }
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultComplete();
+        }
+
+        final ModelNode compensatingOp = operation.clone();
+        compensatingOp.get(VALUE).set(oldValue);
+        return new BasicOperationResult(compensatingOp);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+
+/**
+ * Keeps passivated state in one file per object under a directory.
+ */
+public class FilePassivationStore {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File directory;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param directory the directory holding the passivated state; it is created when needed
+     */
+    public FilePassivationStore(final File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory is null");
+        }
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Write the state of an object, replacing any previous state for the same identifier.
+     *
+     * @param id the identifier of the object
+     * @param state the state
+     * @throws IOException if the state cannot be written
+     */
+    public void store(final Serializable id, final Serializable state) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Cannot create passivation directory " + directory);
+        }
+        final File file = getFile(id);
+        final File tmp = new File(directory, file.getName() + ".tmp");
+        boolean ok = false;
+        final FileOutputStream fos = new FileOutputStream(tmp);
+        try {
+            final ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(fos));
+            out.writeObject(state);
+            out.close();
+            ok = true;
+        } finally {
+            safeClose(fos);
+            if (!ok) {
+                tmp.delete();
+            }
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+                throw new IOException("Cannot rename " + tmp + " to " + file);
+            }
+        }
+    }
+
+    /**
+     * Read and remove the state of an object.
+     *
+     * @param id the identifier of the object
+     * @param classLoader the class loader used to resolve the classes of the state
+     * @return the state
+     * @throws IOException if there is no state for the identifier or it cannot be read
+     * @throws ClassNotFoundException if a class of the state cannot be found
+     */
+    public Serializable load(final Serializable id, final ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        final File file = getFile(id);
+        final FileInputStream fis = new FileInputStream(file);
+        try {
+            final ObjectInputStream in = new ClassLoaderObjectInputStream(new BufferedInputStream(fis), classLoader);
+            final Serializable state = (Serializable) in.readObject();
+            in.close();
+            return state;
+        } finally {
+            safeClose(fis);
+            file.delete();
+        }
+    }
+
+    /**
+     * Remove the state of an object, if there is any.
+     *
+     * @param id the identifier of the object
+     */
+    public void remove(final Serializable id) {
+        getFile(id).delete();
+    }
+
+    /**
+     * Remove all state and the directory itself.
+     */
+    public void clear() {
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    File getFile(final Serializable id) {
+        final byte[] bytes;
+        try {
+            bytes = id.toString().getBytes("UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        final char[] name = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            name[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            name[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new File(directory, new String(name) + ".ser");
+    }
+
+    private static void safeClose(final Closeable stream) {
+        try {
+            stream.close();
+        } catch (IOException ignore) {
+            //
+        }
+    }
+
+    private static final class ClassLoaderObjectInputStream extends ObjectInputStream {
+        private final ClassLoader classLoader;
+
+        ClassLoaderObjectInputStream(final InputStream in, final ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // fall back to the default resolution for primitives and bootstrap classes
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
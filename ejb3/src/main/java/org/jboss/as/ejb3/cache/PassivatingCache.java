@@ -0,0 +1,570 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ejb.NoSuchEJBException;
+
+import org.jboss.ejb3.cache.Cache;
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.ejb3.cache.StatefulObjectFactory;
+import org.jboss.logging.Logger;
+
+/**
+ * A cache which keeps at most a maximum number of objects in memory and passivates the rest to a
+ * {@link FilePassivationStore}.
+ * <p>
+ * Objects are passivated least recently used first once the maximum size is exceeded, and by a background sweep
+ * once they have been idle for longer than the idle timeout. The sweep also removes objects which have not been
+ * used for longer than the removal timeout and destroys them, activating passivated ones first. Objects in use are never
+ * passivated or removed. Passivated objects are activated again on their next {@link #get(Serializable)}.
+ * </p>
+ *
+ * @param <T> the cached object type
+ */
+public class PassivatingCache<T extends Identifiable> implements Cache<T> {
+
+    private static final Logger log = Logger.getLogger(PassivatingCache.class);
+
+    private static final long MIN_SWEEP_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final long MAX_SWEEP_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final String name;
+    private final PassivationManager<T> passivationManager;
+    private final FilePassivationStore store;
+    private final ScheduledExecutorService executor;
+    private final StatefulCacheConfig config;
+    private StatefulObjectFactory<T> factory;
+
+    // All entries in access order, least recently used first
+    private final LinkedHashMap<Serializable, Entry<T>> entries = new LinkedHashMap<Serializable, Entry<T>>(16, 0.75f, true);
+    // Number of entries whose object is in memory and not being passivated; guarded by entries
+    private int residentCount;
+    // Number of entries whose object is in the store; guarded by entries
+    private int passivatedCount;
+
+    private volatile int maxSize;
+    private volatile long idleTimeout;
+    private volatile long removalTimeout;
+    private ScheduledFuture<?> sweeper;
+
+    private final AtomicLong passivationCount = new AtomicLong();
+    private final AtomicLong passivationFailureCount = new AtomicLong();
+    private final AtomicLong activationCount = new AtomicLong();
+    private final AtomicLong totalActivationTime = new AtomicLong();
+    private final AtomicLong maxActivationTime = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the name of the cache, used in log messages
+     * @param passivationManager the callbacks used to passivate and activate objects
+     * @param store the store holding passivated objects
+     * @param executor the executor running the background sweep, or {@code null} for none
+     * @param maxSize the maximum number of objects kept in memory, or {@code 0} for no limit
+     * @param idleTimeout the time after which an unused object is passivated, or {@code 0} for never
+     * @param removalTimeout the time after which an unused object is removed, or {@code 0} for never
+     * @param timeUnit the unit of the timeouts
+     */
+    public PassivatingCache(final String name, final PassivationManager<T> passivationManager, final FilePassivationStore store,
+                            final ScheduledExecutorService executor, final int maxSize, final long idleTimeout,
+                            final long removalTimeout, final TimeUnit timeUnit) {
+        this(name, passivationManager, store, executor, maxSize, timeUnit.toMillis(idleTimeout), timeUnit.toMillis(removalTimeout), (StatefulCacheConfig) null);
+    }
+
+    PassivatingCache(final String name, final PassivationManager<T> passivationManager, final FilePassivationStore store,
+                     final ScheduledExecutorService executor, final int maxSize, final long idleTimeoutMillis,
+                     final long removalTimeoutMillis, final StatefulCacheConfig config) {
+        if (passivationManager == null) {
+            throw new IllegalArgumentException("passivationManager is null");
+        }
+        if (store == null) {
+            throw new IllegalArgumentException("store is null");
+        }
+        this.name = name;
+        this.passivationManager = passivationManager;
+        this.store = store;
+        this.executor = executor;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeoutMillis;
+        this.removalTimeout = removalTimeoutMillis;
+        this.config = config;
+    }
+
+    /** {@inheritDoc} */
+    public void setStatefulObjectFactory(final StatefulObjectFactory<T> factory) {
+        this.factory = factory;
+    }
+
+    /** {@inheritDoc} */
+    public T create() {
+        final T obj = factory.createInstance();
+        synchronized (entries) {
+            entries.put(obj.getId(), new Entry<T>(obj.getId(), obj));
+            residentCount++;
+        }
+        evictIfNeeded();
+        return obj;
+    }
+
+    /** {@inheritDoc} */
+    public T get(final Serializable key) throws NoSuchEJBException {
+        final Entry<T> entry;
+        synchronized (entries) {
+            entry = awaitEntry(key);
+            if (entry == null) {
+                throw new NoSuchEJBException("Could not find stateful bean: " + key);
+            }
+            entry.useCount++;
+            entry.lastUsed = System.currentTimeMillis();
+            if (entry.obj != null) {
+                return entry.obj;
+            }
+            // Passivated; activate it outside the lock
+            entry.busy = true;
+        }
+        final T obj;
+        final long start = System.nanoTime();
+        try {
+            final Serializable state = store.load(key, passivationManager.getClassLoader());
+            obj = passivationManager.activate(key, state);
+            passivationManager.postActivate(obj);
+        } catch (Throwable t) {
+            synchronized (entries) {
+                entries.remove(key);
+                passivatedCount--;
+                entry.busy = false;
+                entries.notifyAll();
+            }
+            store.remove(key);
+            final NoSuchEJBException e = new NoSuchEJBException("Could not activate stateful bean: " + key);
+            e.initCause(t);
+            throw e;
+        }
+        recordActivation(start);
+        synchronized (entries) {
+            entry.obj = obj;
+            entry.busy = false;
+            passivatedCount--;
+            residentCount++;
+            entries.notifyAll();
+        }
+        evictIfNeeded();
+        return obj;
+    }
+
+    /** {@inheritDoc} */
+    public void release(final T obj) {
+        synchronized (entries) {
+            final Entry<T> entry = entries.get(obj.getId());
+            if (entry == null || entry.obj != obj) {
+                return;
+            }
+            if (entry.useCount > 0) {
+                entry.useCount--;
+            }
+            entry.lastUsed = System.currentTimeMillis();
+        }
+        evictIfNeeded();
+    }
+
+    /** {@inheritDoc} */
+    public void discard(final Serializable key) {
+        final Entry<T> entry;
+        synchronized (entries) {
+            entry = awaitEntry(key);
+            if (entry == null) {
+                return;
+            }
+            entries.remove(key);
+            if (entry.obj != null) {
+                residentCount--;
+            } else {
+                passivatedCount--;
+            }
+        }
+        if (entry.obj == null) {
+            store.remove(key);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void remove(final Serializable key) {
+        // Make sure the object is in memory so that its pre-destroy callbacks can run
+        final T obj = get(key);
+        synchronized (entries) {
+            final Entry<T> entry = entries.remove(key);
+            if (entry == null) {
+                // removed concurrently
+                return;
+            }
+            residentCount--;
+        }
+        factory.destroyInstance(obj);
+    }
+
+    /** {@inheritDoc} */
+    public synchronized void start() {
+        if (executor != null && sweeper == null) {
+            final long interval = getSweepInterval();
+            sweeper = executor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        sweep();
+                    } catch (Throwable t) {
+                        log.warnf(t, "Failed to sweep stateful session cache %s", name);
+                    }
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop the background sweep and drop all objects. Objects still in memory are left to the garbage collector;
+     * passivated state is deleted.
+     */
+    public synchronized void stop() {
+        if (sweeper != null) {
+            sweeper.cancel(false);
+            sweeper = null;
+        }
+        synchronized (entries) {
+            entries.clear();
+            residentCount = 0;
+            passivatedCount = 0;
+        }
+        store.clear();
+        if (config != null) {
+            config.removeCache(this);
+        }
+    }
+
+    /**
+     * Passivate idle objects and remove expired ones.
+     */
+    void sweep() {
+        final long now = System.currentTimeMillis();
+        final long idle = idleTimeout;
+        final long removal = removalTimeout;
+        final List<Entry<T>> toPassivate = new ArrayList<Entry<T>>();
+        final List<Entry<T>> expired = new ArrayList<Entry<T>>();
+        synchronized (entries) {
+            final Iterator<Entry<T>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                final Entry<T> entry = it.next();
+                if (entry.useCount > 0 || entry.busy) {
+                    continue;
+                }
+                final long age = now - entry.lastUsed;
+                if (removal > 0 && age >= removal) {
+                    it.remove();
+                    if (entry.obj != null) {
+                        residentCount--;
+                    } else {
+                        passivatedCount--;
+                    }
+                    expired.add(entry);
+                } else if (idle > 0 && age >= idle) {
+                    if (entry.obj != null && !entry.pinned) {
+                        entry.busy = true;
+                        residentCount--;
+                        toPassivate.add(entry);
+                    }
+                } else {
+                    // Entries are in access order, so every following entry has been used more recently
+                    break;
+                }
+            }
+        }
+        for (Entry<T> entry : expired) {
+            expire(entry);
+        }
+        for (Entry<T> entry : toPassivate) {
+            passivate(entry);
+        }
+    }
+
+    /**
+     * Destroy an object which has been removed for being unused too long. Like {@link #remove(Serializable)}, a
+     * passivated object is activated first so that its pre-destroy callbacks can run.
+     */
+    private void expire(final Entry<T> entry) {
+        try {
+            T obj = entry.obj;
+            if (obj == null) {
+                final Serializable state = store.load(entry.id, passivationManager.getClassLoader());
+                obj = passivationManager.activate(entry.id, state);
+                passivationManager.postActivate(obj);
+            }
+            factory.destroyInstance(obj);
+        } catch (Throwable t) {
+            log.warnf(t, "Failed to destroy expired stateful bean %s of %s", entry.id, name);
+        } finally {
+            if (entry.obj == null) {
+                store.remove(entry.id);
+            }
+        }
+        expirationCount.incrementAndGet();
+        if (log.isTraceEnabled()) {
+            log.tracef("Removed expired stateful bean %s from %s", entry.id, name);
+        }
+    }
+
+    private void evictIfNeeded() {
+        final int max = maxSize;
+        if (max <= 0) {
+            return;
+        }
+        List<Entry<T>> victims = null;
+        synchronized (entries) {
+            if (residentCount <= max) {
+                return;
+            }
+            for (Entry<T> entry : entries.values()) {
+                if (residentCount <= max) {
+                    break;
+                }
+                if (entry.obj != null && entry.useCount == 0 && !entry.busy && !entry.pinned) {
+                    entry.busy = true;
+                    residentCount--;
+                    if (victims == null) {
+                        victims = new ArrayList<Entry<T>>();
+                    }
+                    victims.add(entry);
+                }
+            }
+        }
+        if (victims != null) {
+            for (Entry<T> entry : victims) {
+                passivate(entry);
+            }
+        }
+    }
+
+    private void passivate(final Entry<T> entry) {
+        final T obj = entry.obj;
+        boolean passivated = false;
+        boolean pinned = false;
+        if (passivationManager.isPassivationCapable(obj)) {
+            try {
+                passivationManager.prePassivate(obj);
+                store.store(entry.id, passivationManager.getPassivationState(obj));
+                passivated = true;
+            } catch (Throwable t) {
+                passivationFailureCount.incrementAndGet();
+                log.warnf(t, "Failed to passivate stateful bean %s of %s; it is kept in memory", entry.id, name);
+                pinned = true;
+                passivationManager.postActivate(obj);
+            }
+        } else {
+            log.debugf("Stateful bean %s of %s cannot be passivated; it is kept in memory", entry.id, name);
+            pinned = true;
+        }
+        synchronized (entries) {
+            entry.busy = false;
+            if (passivated) {
+                entry.obj = null;
+                passivatedCount++;
+            } else {
+                entry.pinned = pinned;
+                residentCount++;
+            }
+            entries.notifyAll();
+        }
+        if (passivated) {
+            passivationCount.incrementAndGet();
+            passivationManager.passivated(obj);
+        }
+    }
+
+    // call with the entries lock held
+    private Entry<T> awaitEntry(final Serializable key) {
+        Entry<T> entry = entries.get(key);
+        boolean intr = false;
+        try {
+            while (entry != null && entry.busy) {
+                try {
+                    entries.wait();
+                } catch (InterruptedException e) {
+                    intr = true;
+                }
+                entry = entries.get(key);
+            }
+        } finally {
+            if (intr) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return entry;
+    }
+
+    private void recordActivation(final long start) {
+        final long elapsed = System.nanoTime() - start;
+        activationCount.incrementAndGet();
+        totalActivationTime.addAndGet(elapsed);
+        long max;
+        do {
+            max = maxActivationTime.get();
+        } while (elapsed > max && !maxActivationTime.compareAndSet(max, elapsed));
+    }
+
+    private long getSweepInterval() {
+        long shortest = Long.MAX_VALUE;
+        if (idleTimeout > 0) {
+            shortest = idleTimeout;
+        }
+        if (removalTimeout > 0) {
+            shortest = Math.min(shortest, removalTimeout);
+        }
+        return Math.max(MIN_SWEEP_INTERVAL, Math.min(MAX_SWEEP_INTERVAL, shortest / 2));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Change the maximum number of objects kept in memory. Lowering it passivates the surplus straight away.
+     *
+     * @param maxSize the new maximum, or {@code 0} for no limit
+     */
+    public void setMaxSize(final int maxSize) {
+        this.maxSize = maxSize;
+        evictIfNeeded();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Change the idle and removal timeouts. The sweep interval chosen at start is kept.
+     *
+     * @param idleTimeout the time after which an unused object is passivated, or {@code 0} for never
+     * @param removalTimeout the time after which an unused object is removed, or {@code 0} for never
+     * @param timeUnit the unit of the timeouts
+     */
+    public void setTimeouts(final long idleTimeout, final long removalTimeout, final TimeUnit timeUnit) {
+        this.idleTimeout = timeUnit.toMillis(idleTimeout);
+        this.removalTimeout = timeUnit.toMillis(removalTimeout);
+    }
+
+    /**
+     * Get the number of objects in memory.
+     *
+     * @return the cache size
+     */
+    public int getCacheSize() {
+        synchronized (entries) {
+            return residentCount;
+        }
+    }
+
+    /**
+     * Get the number of objects in the passivation store.
+     *
+     * @return the passivated count
+     */
+    public int getPassivatedCount() {
+        synchronized (entries) {
+            return passivatedCount;
+        }
+    }
+
+    /**
+     * Get the number of objects in the cache, whether in memory or passivated.
+     *
+     * @return the total size
+     */
+    public int getTotalSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getPassivationCount() {
+        return passivationCount.get();
+    }
+
+    public long getPassivationFailureCount() {
+        return passivationFailureCount.get();
+    }
+
+    public long getActivationCount() {
+        return activationCount.get();
+    }
+
+    /**
+     * Get the total time spent activating objects.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTotalActivationTime() {
+        return totalActivationTime.get();
+    }
+
+    /**
+     * Get the longest time spent activating an object.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getMaxActivationTime() {
+        return maxActivationTime.get();
+    }
+
+    /**
+     * Get the number of objects removed because they were not used within the removal timeout.
+     *
+     * @return the expiration count
+     */
+    public long getExpirationCount() {
+        return expirationCount.get();
+    }
+
+    private static final class Entry<T> {
+        final Serializable id;
+        // null while passivated
+        T obj;
+        int useCount;
+        long lastUsed = System.currentTimeMillis();
+        // being passivated or activated
+        boolean busy;
+        // cannot be passivated
+        boolean pinned;
+
+        Entry(final Serializable id, final T obj) {
+            this.id = id;
+            this.obj = obj;
+        }
+    }
+}
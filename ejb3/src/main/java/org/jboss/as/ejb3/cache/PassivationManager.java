@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache;
+
+import java.io.Serializable;
+
+import org.jboss.ejb3.cache.Identifiable;
+
+/**
+ * Callbacks through which a {@link PassivatingCache} moves the objects it holds to and from its passivation store.
+ *
+ * @param <T> the cached object type
+ */
+public interface PassivationManager<T extends Identifiable> {
+
+    /**
+     * Determine whether an object can be passivated at all. Objects which cannot are kept in memory.
+     *
+     * @param obj the object
+     * @return {@code true} if the object can be passivated
+     */
+    boolean isPassivationCapable(T obj);
+
+    /**
+     * Invoke the pre-passivate callbacks of an object.
+     *
+     * @param obj the object about to be passivated
+     */
+    void prePassivate(T obj);
+
+    /**
+     * Get the state of an object which is written to the passivation store.
+     *
+     * @param obj the object
+     * @return the state
+     */
+    Serializable getPassivationState(T obj);
+
+    /**
+     * Release anything held by the in-memory copy of an object once its state has been written.
+     *
+     * @param obj the passivated object
+     */
+    void passivated(T obj);
+
+    /**
+     * Recreate an object from its passivated state.
+     *
+     * @param id the identifier of the object
+     * @param state the state read from the passivation store
+     * @return the object
+     */
+    T activate(Serializable id, Serializable state);
+
+    /**
+     * Invoke the post-activate callbacks of an object.
+     *
+     * @param obj the object which has been activated, or whose passivation failed
+     */
+    void postActivate(T obj);
+
+    /**
+     * Get the class loader used to read passivated state.
+     *
+     * @return the class loader
+     */
+    ClassLoader getClassLoader();
+}
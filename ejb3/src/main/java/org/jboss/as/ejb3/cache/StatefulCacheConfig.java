@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.ejb3.cache.Cache;
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.ejb3.cache.NoPassivationCache;
+
+/**
+ * A named stateful session bean cache definition. Every stateful component using the definition gets its own
+ * {@link PassivatingCache}; the definition keeps track of them so that changes to the size and timeouts apply to
+ * running components, and so that their statistics can be reported. A definition without a passivation
+ * directory hands out caches which keep every instance in memory.
+ */
+public class StatefulCacheConfig {
+
+    /** The maximum number of instances in memory used when none is configured. */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    /** The idle timeout used when none is configured. */
+    public static final long DEFAULT_IDLE_TIMEOUT = 10;
+    /** The removal timeout used when none is configured; instances are never removed. */
+    public static final long DEFAULT_REMOVAL_TIMEOUT = 0;
+    /** The timeout unit used when none is configured. */
+    public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.MINUTES;
+
+    private final String name;
+    private final File passivationDirectory;
+    private final Set<PassivatingCache<?>> caches = new CopyOnWriteArraySet<PassivatingCache<?>>();
+    private final AtomicInteger cacheIndex = new AtomicInteger();
+    private volatile ScheduledExecutorService executor;
+    private volatile int maxSize;
+    private volatile long idleTimeout;
+    private volatile long removalTimeout;
+    private volatile TimeUnit timeUnit;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the name of the definition
+     * @param passivationDirectory the directory passivated instances are written to, or {@code null} to never
+     *          passivate
+     * @param maxSize the maximum number of instances of a component kept in memory, or {@code 0} for no limit
+     * @param idleTimeout the time after which an unused instance is passivated, or {@code 0} for never
+     * @param removalTimeout the time after which an unused instance is removed, or {@code 0} for never
+     * @param timeUnit the unit of the timeouts
+     */
+    public StatefulCacheConfig(final String name, final File passivationDirectory, final int maxSize, final long idleTimeout,
+                               final long removalTimeout, final TimeUnit timeUnit) {
+        if (name == null) {
+            throw new IllegalArgumentException("name is null");
+        }
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize is negative");
+        }
+        if (timeUnit == null) {
+            throw new IllegalArgumentException("timeUnit is null");
+        }
+        this.name = name;
+        this.passivationDirectory = passivationDirectory;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.removalTimeout = removalTimeout;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Create a cache for a component.
+     *
+     * @param componentName the name of the component
+     * @param passivationManager the callbacks used to passivate and activate the component's instances
+     * @param <T> the instance type
+     * @return the cache
+     */
+    public <T extends Identifiable> Cache<T> createCache(final String componentName, final PassivationManager<T> passivationManager) {
+        if (passivationDirectory == null) {
+            return new NoPassivationCache<T>();
+        }
+        final File directory = new File(passivationDirectory, sanitize(componentName) + "-" + cacheIndex.incrementAndGet() + "-" + Long.toHexString(System.nanoTime()));
+        final PassivatingCache<T> cache = new PassivatingCache<T>(componentName, passivationManager, new FilePassivationStore(directory),
+                executor, maxSize, timeUnit.toMillis(idleTimeout), timeUnit.toMillis(removalTimeout), this);
+        caches.add(cache);
+        return cache;
+    }
+
+    void removeCache(final PassivatingCache<?> cache) {
+        caches.remove(cache);
+    }
+
+    /**
+     * Get the caches of the components currently using this definition.
+     *
+     * @return the caches
+     */
+    public Collection<PassivatingCache<?>> getCaches() {
+        return Collections.unmodifiableCollection(caches);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public File getPassivationDirectory() {
+        return passivationDirectory;
+    }
+
+    void setExecutor(final ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized void setMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize is negative");
+        }
+        this.maxSize = maxSize;
+        for (PassivatingCache<?> cache : caches) {
+            cache.setMaxSize(maxSize);
+        }
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public long getRemovalTimeout() {
+        return removalTimeout;
+    }
+
+    public TimeUnit getTimeUnit() {
+        return timeUnit;
+    }
+
+    public synchronized void setTimeouts(final long idleTimeout, final long removalTimeout, final TimeUnit timeUnit) {
+        if (timeUnit == null) {
+            throw new IllegalArgumentException("timeUnit is null");
+        }
+        this.idleTimeout = idleTimeout;
+        this.removalTimeout = removalTimeout;
+        this.timeUnit = timeUnit;
+        for (PassivatingCache<?> cache : caches) {
+            cache.setTimeouts(idleTimeout, removalTimeout, timeUnit);
+        }
+    }
+
+    private static String sanitize(final String name) {
+        final StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            builder.append(Character.isLetterOrDigit(c) || c == '-' || c == '_' ? c : '_');
+        }
+        return builder.toString();
+    }
+}
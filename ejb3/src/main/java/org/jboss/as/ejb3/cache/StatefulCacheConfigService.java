@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache;
+
+import java.io.File;
+import java.security.AccessController;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Service exposing a named {@link StatefulCacheConfig}. The passivation directory is resolved against an optional
+ * path service when the service starts, and a single daemon thread runs the background sweeps of all caches
+ * created from the definition.
+ */
+public class StatefulCacheConfigService implements Service<StatefulCacheConfig> {
+    public static final ServiceName BASE_SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "stateful-cache-config");
+    /** The cache definition used by stateful session beans which do not name one. */
+    public static final ServiceName DEFAULT_SFSB_CACHE_CONFIG_SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "default-cache-config", "sfsb");
+
+    private final String name;
+    private final String path;
+    private final int maxSize;
+    private final long idleTimeout;
+    private final long removalTimeout;
+    private final TimeUnit timeUnit;
+    private final InjectedValue<String> relativeTo = new InjectedValue<String>();
+
+    private StatefulCacheConfig cacheConfig;
+    private ScheduledThreadPoolExecutor executor;
+
+    public StatefulCacheConfigService(final String name, final String path, final int maxSize, final long idleTimeout,
+                                      final long removalTimeout, final TimeUnit timeUnit) {
+        this.name = name;
+        this.path = path;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.removalTimeout = removalTimeout;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Get the name of the service for a cache definition.
+     *
+     * @param name the name of the definition
+     * @return the service name
+     */
+    public static ServiceName getServiceName(final String name) {
+        return BASE_SERVICE_NAME.append(name);
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        final String relativeTo = this.relativeTo.getOptionalValue();
+        final File directory = relativeTo == null ? new File(path) : new File(relativeTo, path);
+        // Sessions do not survive a restart; drop whatever an earlier run left behind
+        final File[] stale = directory.listFiles();
+        if (stale != null) {
+            for (File file : stale) {
+                if (file.isDirectory()) {
+                    new FilePassivationStore(file).clear();
+                }
+            }
+        }
+        final StatefulCacheConfig config = new StatefulCacheConfig(name, directory, maxSize, idleTimeout, removalTimeout, timeUnit);
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                new JBossThreadFactory(new ThreadGroup("EJB3 stateful cache " + name), Boolean.TRUE, null, "%G - %t", null, null, AccessController.getContext()));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        config.setExecutor(executor);
+        this.executor = executor;
+        this.cacheConfig = config;
+    }
+
+    public synchronized void stop(final StopContext context) {
+        executor.shutdownNow();
+        executor = null;
+        cacheConfig = null;
+    }
+
+    public synchronized StatefulCacheConfig getValue() throws IllegalStateException {
+        final StatefulCacheConfig config = cacheConfig;
+        if (config == null) {
+            throw new IllegalStateException();
+        }
+        return config;
+    }
+
+    public InjectedValue<String> getRelativeToInjector() {
+        return relativeTo;
+    }
+}
@@ -36,6 +36,7 @@ import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.UserTransaction;
 import java.lang.reflect.Method;
 import java.security.Principal;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
@@ -46,6 +47,8 @@ public abstract class EJBComponent extends AbstractComponent implements org.jbos
     private static Logger log = Logger.getLogger(EJBComponent.class);
 
     private final ConcurrentMap<MethodIntf, ConcurrentMap<String, ConcurrentMap<ArrayKey, TransactionAttributeType>>> txAttrs;
+    // resolved tx attributes per method instance, read-only after construction
+    private final Map<MethodIntf, MethodIdentityCache<TransactionAttributeType>> resolvedTxAttrs;
 
     private final EJBUtilities utilities;
     private final boolean isBeanManagedTransaction;
@@ -64,6 +67,10 @@ public abstract class EJBComponent extends AbstractComponent implements org.jbos
         this.applicationExceptions = configuration.getEjbJarConfiguration().getApplicationExceptions();
         // slurp some memory
         txAttrs = configuration.getTxAttrs();
+        resolvedTxAttrs = new EnumMap<MethodIntf, MethodIdentityCache<TransactionAttributeType>>(MethodIntf.class);
+        for (MethodIntf methodIntf : MethodIntf.values()) {
+            resolvedTxAttrs.put(methodIntf, new MethodIdentityCache<TransactionAttributeType>(2 * countTxAttrs(methodIntf)));
+        }
         isBeanManagedTransaction = configuration.getTransactionManagementType().equals(TransactionManagementType.BEAN);
     }
 
@@ -128,6 +135,31 @@ public abstract class EJBComponent extends AbstractComponent implements org.jbos
     }
 
     public TransactionAttributeType getTransactionAttributeType(MethodIntf methodIntf, Method method) {
+        final MethodIdentityCache<TransactionAttributeType> resolved = resolvedTxAttrs.get(methodIntf);
+        TransactionAttributeType txAttr = resolved.get(method);
+        if (txAttr == null) {
+            txAttr = resolveTransactionAttributeType(methodIntf, method);
+            resolved.put(method, txAttr);
+        }
+        return txAttr;
+    }
+
+    private int countTxAttrs(MethodIntf methodIntf) {
+        if (txAttrs == null) {
+            // bean managed transactions
+            return 0;
+        }
+        final ConcurrentMap<String, ConcurrentMap<ArrayKey, TransactionAttributeType>> perMethodIntf = txAttrs.get(methodIntf);
+        int count = 0;
+        if (perMethodIntf != null) {
+            for (ConcurrentMap<ArrayKey, TransactionAttributeType> perMethod : perMethodIntf.values()) {
+                count += perMethod.size();
+            }
+        }
+        return count;
+    }
+
+    private TransactionAttributeType resolveTransactionAttributeType(MethodIntf methodIntf, Method method) {
         ConcurrentMap<String, ConcurrentMap<ArrayKey, TransactionAttributeType>> perMethodIntf = txAttrs.get(methodIntf);
         if (perMethodIntf == null)
             throw new IllegalStateException("Can't find tx attrs for " + methodIntf);
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A copy-on-write map keyed by {@link Method} identity, for data which is looked up on every invocation.
+ * <p>
+ * {@code Method} objects are copied each time they are obtained through reflection, but a proxy class hands the
+ * same instances to its invocation handler on every call. Keying on identity therefore hits from the second call
+ * through a given proxy class onwards, without hashing the declaring class and name or cloning the parameter types.
+ * Writes copy the whole map and are only expected while a proxy class warms up.
+ * </p>
+ * <p>
+ * The cache is bounded. Callers which look methods up reflectively on every call pass a new instance each time; once
+ * the bound is reached such instances are no longer cached, and the caller falls back to its {@code equals}-keyed
+ * lookup instead of growing and copying the map on every miss.
+ * </p>
+ *
+ * @param <V> the value type
+ */
+public final class MethodIdentityCache<V> {
+
+    private final int maxSize;
+    private volatile Map<Method, V> map = Collections.emptyMap();
+
+    /**
+     * Construct a new instance.
+     *
+     * @param maxSize the maximum number of method instances to cache
+     */
+    public MethodIdentityCache(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the value cached for the given method instance.
+     *
+     * @param method the method
+     * @return the value, or {@code null} if none has been cached for this instance
+     */
+    public V get(final Method method) {
+        return map.get(method);
+    }
+
+    /**
+     * Cache a value for the given method instance, unless the cache is full.
+     *
+     * @param method the method
+     * @param value the value
+     */
+    public synchronized void put(final Method method, final V value) {
+        final Map<Method, V> map = this.map;
+        if (map.size() >= maxSize || map.containsKey(method)) {
+            return;
+        }
+        final Map<Method, V> newMap = new IdentityHashMap<Method, V>(map);
+        newMap.put(method, value);
+        this.map = newMap;
+    }
+
+    /**
+     * Get the number of method instances cached.
+     *
+     * @return the size
+     */
+    public int size() {
+        return map.size();
+    }
+}
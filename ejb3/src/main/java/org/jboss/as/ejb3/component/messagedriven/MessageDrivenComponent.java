@@ -29,7 +29,6 @@ import org.jboss.as.ejb3.inflow.MessageEndpointService;
 import org.jboss.ejb3.context.spi.MessageDrivenBeanComponent;
 import org.jboss.ejb3.pool.Pool;
 import org.jboss.ejb3.pool.StatelessObjectFactory;
-import org.jboss.ejb3.pool.strictmax.StrictMaxPool;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactoryContext;
@@ -77,7 +76,7 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
                 destroyInstance(obj);
             }
         };
-        this.pool = new StrictMaxPool<MessageDrivenComponentInstance>(factory, 20, 5, TimeUnit.MINUTES);
+        this.pool = configuration.getPoolConfig().createPool(factory);
 
         this.messageListenerInterface = configuration.getMessageListenerInterface();
         final MessageEndpointService<?> service = new MessageEndpointService<Object>() {
@@ -150,6 +149,7 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
 
     @Override
     public void start() {
+        pool.start();
         super.start();
 
         try {
@@ -164,5 +164,6 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
         resourceAdapter.endpointDeactivation(endpointFactory, activationSpec);
 
         super.stop();
+        pool.stop();
     }
 }
@@ -22,6 +22,8 @@
 package org.jboss.as.ejb3.component.messagedriven;
 
 import org.jboss.as.ejb3.component.EJBComponentConfiguration;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
 import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceName;
@@ -37,6 +39,7 @@ public class MessageDrivenComponentConfiguration extends EJBComponentConfigurati
     private Class<?> messageListenerInterface;
     private final String resourceAdapterName;
     private final ServiceName raServiceName;
+    private final ServiceName poolConfigServiceName;
 
     /**
      * Construct a new instance.
@@ -56,6 +59,10 @@ public class MessageDrivenComponentConfiguration extends EJBComponentConfigurati
         this.raServiceName = ServiceName.of(deploymentName);
         description.addDependency(raServiceName, ServiceBuilder.DependencyType.REQUIRED);
 
+        final String poolConfigName = description.getPoolConfigName();
+        this.poolConfigServiceName = poolConfigName != null ? PoolConfigService.getServiceName(poolConfigName) : PoolConfigService.DEFAULT_MDB_POOL_CONFIG_SERVICE_NAME;
+        description.addDependency(poolConfigServiceName, ServiceBuilder.DependencyType.REQUIRED);
+
         addComponentSystemInterceptorFactory(pooled());
     }
 
@@ -71,6 +78,10 @@ public class MessageDrivenComponentConfiguration extends EJBComponentConfigurati
         return component;
     }
 
+    PoolConfig getPoolConfig() {
+        return getInjectionValue(poolConfigServiceName, PoolConfig.class);
+    }
+
     Class<?> getMessageListenerInterface() {
         return messageListenerInterface;
     }
@@ -0,0 +1,413 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ejb.EJBException;
+
+import org.jboss.ejb3.pool.Pool;
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A bean instance pool which bounds the number of instances in use at any time.
+ * <p>
+ * The maximum size is split over one or more stripes, each with its own semaphore and queue of idle instances.
+ * A thread takes a permit from its home stripe, falls back to the other stripes when that one is exhausted and
+ * only then blocks, up to the configured timeout. An instance belongs to the stripe which created it and is
+ * always returned there, so the permits of a stripe keep matching its instances. With a single stripe this is a
+ * strict-max pool.
+ * </p>
+ * <p>
+ * Idle instances are kept until the pool is stopped or shrunk. Obtaining an instance without waiting does not
+ * take a lock; waits are measured and exposed for the management model.
+ * </p>
+ *
+ * @param <T> the instance type
+ */
+public class InstancePool<T> implements Pool<T> {
+
+    // How long a waiting thread blocks on its home stripe before checking the others again
+    private static final long SCAN_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final StatelessObjectFactory<T> factory;
+    private final Stripe<T>[] stripes;
+    // Owning stripe of every live instance; only used with more than one stripe
+    private final ConcurrentMap<T, Stripe<T>> owners;
+    private final PoolConfig config;
+
+    private volatile int maxSize;
+    private volatile long timeout;
+
+    private final AtomicInteger createCount = new AtomicInteger();
+    private final AtomicInteger removeCount = new AtomicInteger();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * Construct a new instance.
+     *
+     * @param factory the factory creating and destroying instances
+     * @param maxSize the maximum number of instances in use at any time
+     * @param timeout the maximum time to wait for an instance
+     * @param timeUnit the unit of {@code timeout}
+     * @param stripeCount the number of stripes to split {@code maxSize} over
+     */
+    public InstancePool(final StatelessObjectFactory<T> factory, final int maxSize, final long timeout, final TimeUnit timeUnit, final int stripeCount) {
+        this(factory, maxSize, timeUnit.toNanos(timeout), stripeCount, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    InstancePool(final StatelessObjectFactory<T> factory, final int maxSize, final long timeoutNanos, final int stripeCount, final PoolConfig config) {
+        if (factory == null) {
+            throw new IllegalArgumentException("factory is null");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripeCount must be at least 1");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.timeout = timeoutNanos;
+        this.config = config;
+        final int count = Math.min(stripeCount, maxSize);
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<T>(share(maxSize, count, i));
+        }
+        owners = count > 1 ? new ConcurrentHashMap<T, Stripe<T>>() : null;
+    }
+
+    /** {@inheritDoc} */
+    public T get() {
+        final Stripe<T>[] stripes = this.stripes;
+        final int count = stripes.length;
+        final int home = count == 1 ? 0 : (int) (Thread.currentThread().getId() % count);
+        for (int i = 0; i < count; i++) {
+            final Stripe<T> stripe = stripes[(home + i) % count];
+            if (stripe.permits.tryAcquire()) {
+                return take(stripe);
+            }
+        }
+        final long start = System.nanoTime();
+        final long deadline = start + timeout;
+        try {
+            for (;;) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeoutCount.incrementAndGet();
+                    recordWait(start);
+                    throw new EJBException("Failed to acquire a bean instance within " + TimeUnit.NANOSECONDS.toMillis(timeout) + " ms");
+                }
+                final Stripe<T> homeStripe = stripes[home];
+                if (homeStripe.permits.tryAcquire(count == 1 ? remaining : Math.min(remaining, SCAN_INTERVAL), TimeUnit.NANOSECONDS)) {
+                    recordWait(start);
+                    return take(homeStripe);
+                }
+                for (int i = 1; i < count; i++) {
+                    final Stripe<T> stripe = stripes[(home + i) % count];
+                    if (stripe.permits.tryAcquire()) {
+                        recordWait(start);
+                        return take(stripe);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordWait(start);
+            throw new EJBException("Interrupted while waiting for a bean instance", e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void release(final T obj) {
+        final Stripe<T> stripe = ownerOf(obj);
+        if (stripe == null) {
+            // Not one of ours, or already discarded
+            factory.destroy(obj);
+            return;
+        }
+        if (stripe.permits.availablePermits() < 0) {
+            // The pool has been shrunk and still has more instances than it may keep
+            discard(stripe, obj);
+        } else {
+            stripe.instances.offer(obj);
+        }
+        stripe.permits.release();
+    }
+
+    /** {@inheritDoc} */
+    public void discard(final T obj) {
+        final Stripe<T> stripe = ownerOf(obj);
+        if (stripe == null) {
+            factory.destroy(obj);
+            return;
+        }
+        discard(stripe, obj);
+        stripe.permits.release();
+    }
+
+    /** {@inheritDoc} */
+    public void start() {
+    }
+
+    /**
+     * Destroy all idle instances. Instances still in use are destroyed when they are released.
+     */
+    public void stop() {
+        for (Stripe<T> stripe : stripes) {
+            T obj;
+            while ((obj = stripe.instances.poll()) != null) {
+                discard(stripe, obj);
+            }
+        }
+        if (config != null) {
+            config.removePool(this);
+        }
+    }
+
+    /**
+     * Change the maximum number of instances in use at any time. Lowering it does not affect invocations already
+     * in progress; surplus instances are destroyed as they are released.
+     *
+     * @param maxSize the new maximum size
+     */
+    public synchronized void setMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        final int old = this.maxSize;
+        final int count = stripes.length;
+        for (int i = 0; i < count; i++) {
+            final Stripe<T> stripe = stripes[i];
+            final int delta = share(maxSize, count, i) - share(old, count, i);
+            if (delta > 0) {
+                stripe.permits.release(delta);
+            } else if (delta < 0) {
+                stripe.permits.reducePermits(-delta);
+                for (int j = 0; j < -delta; j++) {
+                    final T obj = stripe.instances.poll();
+                    if (obj == null) {
+                        break;
+                    }
+                    discard(stripe, obj);
+                }
+            }
+            stripe.max = share(maxSize, count, i);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Change how long {@link #get()} waits for an instance.
+     *
+     * @param timeout the maximum time to wait
+     * @param timeUnit the unit of {@code timeout}
+     */
+    public void setTimeout(final long timeout, final TimeUnit timeUnit) {
+        this.timeout = timeUnit.toNanos(timeout);
+    }
+
+    /** {@inheritDoc} */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the number of invocations which can obtain an instance without waiting.
+     *
+     * @return the number of available permits
+     */
+    public int getAvailableCount() {
+        int available = 0;
+        for (Stripe<T> stripe : stripes) {
+            available += Math.max(0, stripe.permits.availablePermits());
+        }
+        return available;
+    }
+
+    /**
+     * Get the number of instances currently handed out.
+     *
+     * @return the in-use count
+     */
+    public int getInUseCount() {
+        int inUse = 0;
+        for (Stripe<T> stripe : stripes) {
+            inUse += stripe.max - stripe.permits.availablePermits();
+        }
+        return inUse;
+    }
+
+    /** {@inheritDoc} */
+    public int getCurrentSize() {
+        return createCount.get() - removeCount.get();
+    }
+
+    /** {@inheritDoc} */
+    public int getCreateCount() {
+        return createCount.get();
+    }
+
+    /** {@inheritDoc} */
+    public int getRemoveCount() {
+        return removeCount.get();
+    }
+
+    /**
+     * Get the number of stripes the pool is split into.
+     *
+     * @return the stripe count
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Get the number of invocations which had to wait for an instance.
+     *
+     * @return the wait count
+     */
+    public long getWaitCount() {
+        return waitCount.get();
+    }
+
+    /**
+     * Get the total time invocations spent waiting for an instance.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTotalWaitTime() {
+        return totalWaitTime.get();
+    }
+
+    /**
+     * Get the longest time an invocation waited for an instance.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getMaxWaitTime() {
+        return maxWaitTime.get();
+    }
+
+    /**
+     * Get the number of invocations which gave up waiting for an instance.
+     *
+     * @return the timeout count
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    private T take(final Stripe<T> stripe) {
+        final T obj = stripe.instances.poll();
+        if (obj != null) {
+            return obj;
+        }
+        final T created;
+        try {
+            created = factory.create();
+        } catch (RuntimeException e) {
+            stripe.permits.release();
+            throw e;
+        } catch (Error e) {
+            stripe.permits.release();
+            throw e;
+        }
+        createCount.incrementAndGet();
+        if (owners != null) {
+            owners.put(created, stripe);
+        }
+        return created;
+    }
+
+    private Stripe<T> ownerOf(final T obj) {
+        return owners == null ? stripes[0] : owners.get(obj);
+    }
+
+    private void discard(final Stripe<T> stripe, final T obj) {
+        if (owners != null) {
+            owners.remove(obj, stripe);
+        }
+        destroy(obj);
+    }
+
+    private void destroy(final T obj) {
+        try {
+            factory.destroy(obj);
+        } finally {
+            removeCount.incrementAndGet();
+        }
+    }
+
+    private void recordWait(final long start) {
+        final long elapsed = System.nanoTime() - start;
+        waitCount.incrementAndGet();
+        totalWaitTime.addAndGet(elapsed);
+        long max;
+        do {
+            max = maxWaitTime.get();
+        } while (elapsed > max && !maxWaitTime.compareAndSet(max, elapsed));
+    }
+
+    /**
+     * The part of {@code total} assigned to stripe {@code index}.
+     */
+    private static int share(final int total, final int count, final int index) {
+        return total / count + (index < total % count ? 1 : 0);
+    }
+
+    private static final class Stripe<T> {
+        final Permits permits;
+        final ConcurrentLinkedQueue<T> instances = new ConcurrentLinkedQueue<T>();
+        volatile int max;
+
+        Stripe(final int max) {
+            this.permits = new Permits(max);
+            this.max = max;
+        }
+    }
+
+    private static final class Permits extends Semaphore {
+        private static final long serialVersionUID = -6096624598412009487L;
+
+        Permits(final int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(final int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
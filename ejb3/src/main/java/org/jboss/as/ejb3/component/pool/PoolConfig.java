@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A named bean instance pool definition. Every pooled component using the definition gets its own
+ * {@link InstancePool}; the definition keeps track of them so that changes to the maximum size and timeout apply
+ * to running components, and so that their statistics can be reported together. A change of strategy only
+ * affects pools created afterwards.
+ */
+public class PoolConfig {
+
+    /** The maximum pool size used when none is configured. */
+    public static final int DEFAULT_MAX_POOL_SIZE = 20;
+    /** The timeout used when none is configured. */
+    public static final long DEFAULT_TIMEOUT = 5;
+    /** The timeout unit used when none is configured. */
+    public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.MINUTES;
+
+    private final String name;
+    private final Set<InstancePool<?>> pools = new CopyOnWriteArraySet<InstancePool<?>>();
+    private volatile PoolStrategy strategy;
+    private volatile int maxPoolSize;
+    private volatile long timeout;
+    private volatile TimeUnit timeUnit;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the name of the definition
+     * @param strategy the pool strategy
+     * @param maxPoolSize the maximum number of instances in use per component
+     * @param timeout the maximum time to wait for an instance
+     * @param timeUnit the unit of {@code timeout}
+     */
+    public PoolConfig(final String name, final PoolStrategy strategy, final int maxPoolSize, final long timeout, final TimeUnit timeUnit) {
+        if (name == null) {
+            throw new IllegalArgumentException("name is null");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy is null");
+        }
+        if (maxPoolSize < 1) {
+            throw new IllegalArgumentException("maxPoolSize must be at least 1");
+        }
+        if (timeUnit == null) {
+            throw new IllegalArgumentException("timeUnit is null");
+        }
+        this.name = name;
+        this.strategy = strategy;
+        this.maxPoolSize = maxPoolSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Create a pool for a component.
+     *
+     * @param factory the factory creating and destroying the component's instances
+     * @param <T> the instance type
+     * @return the pool
+     */
+    public synchronized <T> InstancePool<T> createPool(final StatelessObjectFactory<T> factory) {
+        final int stripes = strategy == PoolStrategy.STRIPED ? Runtime.getRuntime().availableProcessors() : 1;
+        final InstancePool<T> pool = new InstancePool<T>(factory, maxPoolSize, timeUnit.toNanos(timeout), stripes, this);
+        pools.add(pool);
+        return pool;
+    }
+
+    void removePool(final InstancePool<?> pool) {
+        pools.remove(pool);
+    }
+
+    /**
+     * Get the pools of the components currently using this definition.
+     *
+     * @return the pools
+     */
+    public Collection<InstancePool<?>> getPools() {
+        return Collections.unmodifiableCollection(pools);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public PoolStrategy getStrategy() {
+        return strategy;
+    }
+
+    public synchronized void setStrategy(final PoolStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy is null");
+        }
+        this.strategy = strategy;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public synchronized void setMaxPoolSize(final int maxPoolSize) {
+        if (maxPoolSize < 1) {
+            throw new IllegalArgumentException("maxPoolSize must be at least 1");
+        }
+        this.maxPoolSize = maxPoolSize;
+        for (InstancePool<?> pool : pools) {
+            pool.setMaxSize(maxPoolSize);
+        }
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public TimeUnit getTimeUnit() {
+        return timeUnit;
+    }
+
+    public synchronized void setTimeout(final long timeout, final TimeUnit timeUnit) {
+        if (timeUnit == null) {
+            throw new IllegalArgumentException("timeUnit is null");
+        }
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        for (InstancePool<?> pool : pools) {
+            pool.setTimeout(timeout, timeUnit);
+        }
+    }
+}
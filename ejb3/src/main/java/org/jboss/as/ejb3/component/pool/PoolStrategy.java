@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The way a {@link PoolConfig bean instance pool} hands out instances.
+ */
+public enum PoolStrategy {
+    /**
+     * A single set of instances guarded by one semaphore. Invocations beyond the maximum pool size wait, in
+     * arrival order, until an instance is released.
+     */
+    STRICT_MAX("strict-max"),
+    /**
+     * The maximum pool size is split over one stripe per processor. Threads take instances from their own stripe
+     * and only fall back to the other stripes when it is exhausted, so concurrent invocations rarely touch the same
+     * semaphore or queue.
+     */
+    STRIPED("striped"),
+    ;
+
+    private final String name;
+
+    PoolStrategy(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the name used for this strategy in the management model.
+     *
+     * @return the name
+     */
+    public String getLocalName() {
+        return name;
+    }
+
+    private static final Map<String, PoolStrategy> MAP;
+
+    static {
+        final Map<String, PoolStrategy> map = new HashMap<String, PoolStrategy>();
+        for (PoolStrategy strategy : values()) {
+            map.put(strategy.name, strategy);
+        }
+        MAP = map;
+    }
+
+    /**
+     * Get the strategy with the given management name.
+     *
+     * @param localName the name
+     * @return the strategy, or {@code null} if there is none with that name
+     */
+    public static PoolStrategy forName(final String localName) {
+        return MAP.get(localName);
+    }
+}
@@ -23,6 +23,7 @@ package org.jboss.as.ejb3.component.pool;
 
 import org.jboss.as.ee.component.ComponentInstance;
 import org.jboss.as.ejb3.component.AbstractEJBInterceptor;
+import org.jboss.ejb3.pool.Pool;
 import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
@@ -45,14 +46,15 @@ public class PooledInstanceInterceptor extends AbstractEJBInterceptor {
     @Override
     public Object processInvocation(InterceptorContext context) throws Exception {
         PooledComponent<ComponentInstance> component = getComponent(context, PooledComponent.class);
-        ComponentInstance instance = component.getPool().get();
+        final Pool<ComponentInstance> pool = component.getPool();
+        ComponentInstance instance = pool.get();
         context.putPrivateData(ComponentInstance.class, instance);
         try {
             return context.proceed();
         }
         finally {
             context.putPrivateData(ComponentInstance.class, null);
-            component.getPool().release(instance);
+            pool.release(instance);
         }
     }
 }
@@ -25,8 +25,6 @@ import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentInjector;
 import org.jboss.as.ee.component.ComponentInstance;
 import org.jboss.as.ee.component.ComponentView;
-import org.jboss.as.ejb3.component.AsyncFutureInterceptor;
-import org.jboss.as.ejb3.component.AsyncVoidInterceptor;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.threads.ThreadsServices;
 import org.jboss.ejb3.context.CurrentInvocationContext;
@@ -34,7 +32,6 @@ import org.jboss.ejb3.context.base.BaseSessionInvocationContext;
 import org.jboss.ejb3.context.spi.SessionContext;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
-import org.jboss.logging.Logger;
 import org.jboss.msc.service.ServiceName;
 
 import javax.ejb.AccessTimeout;
@@ -43,11 +40,11 @@ import javax.ejb.EJBObject;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -58,13 +55,12 @@ import static java.util.concurrent.TimeUnit.MINUTES;
  */
 public abstract class SessionBeanComponent extends EJBComponent implements org.jboss.ejb3.context.spi.SessionBeanComponent {
 
-    private static final Logger logger = Logger.getLogger(SessionBeanComponent.class);
-
     static final ServiceName ASYNC_EXECUTOR_SERVICE_NAME = ThreadsServices.EXECUTOR.append("ejb3-async");
 
     protected AccessTimeout beanLevelAccessTimeout;
     private final Set<Method> asynchronousMethods;
     protected Executor asyncExecutor;
+    private final ConcurrentMap<Class<?>, ViewInvocationPlan> invocationPlans = new ConcurrentHashMap<Class<?>, ViewInvocationPlan>();
 
     /**
      * Construct a new instance.
@@ -97,6 +93,9 @@ public abstract class SessionBeanComponent extends EJBComponent implements org.j
         this.beanLevelAccessTimeout = accessTimeout;
         this.asynchronousMethods = configuration.getAsynchronousMethods();
         this.asyncExecutor = (Executor) configuration.getInjection(ASYNC_EXECUTOR_SERVICE_NAME).getValue();
+        for (Class<?> view : getViewServices().keySet()) {
+            invocationPlans.put(view, createInvocationPlan(view));
+        }
     }
 
     @Override
@@ -157,33 +156,33 @@ public abstract class SessionBeanComponent extends EJBComponent implements org.j
     }
 
     protected boolean isAsynchronous(final Method method) {
-        final Set<Method> asyncMethods = this.asynchronousMethods;
-        if (asyncMethods == null) {
-            return false;
-        }
+        return ViewInvocationPlan.isAsynchronous(asynchronousMethods, method);
+    }
 
-        for (Method asyncMethod : asyncMethods) {
-            if (method.getName().equals(asyncMethod.getName())) {
-                final Object[] methodParams = method.getParameterTypes();
-                final Object[] asyncMethodParams = asyncMethod.getParameterTypes();
-                if (Arrays.equals(methodParams, asyncMethodParams)) {
-                    return true;
-                }
+    /**
+     * Get the dispatch plan of a view. Plans for the views known at construction are built up front.
+     *
+     * @param view the view class
+     * @return the plan
+     */
+    protected ViewInvocationPlan getInvocationPlan(final Class<?> view) {
+        ViewInvocationPlan plan = invocationPlans.get(view);
+        if (plan == null) {
+            plan = createInvocationPlan(view);
+            final ViewInvocationPlan existing = invocationPlans.putIfAbsent(view, plan);
+            if (existing != null) {
+                plan = existing;
             }
         }
-        return false;
+        return plan;
     }
 
-    public abstract Object invoke(Serializable sessionId, Map<String, Object> contextData, Class<?> invokedBusinessInterface, Method implMethod, Object[] args) throws Exception;
-
-    protected Object invokeAsynchronous(final Method method, final InterceptorContext context) throws Exception {
-        if (Void.TYPE.isAssignableFrom(method.getReturnType())) {
-            return new AsyncVoidInterceptor(getAsynchronousExecutor()).processInvocation(context);
-        } else {
-            return new AsyncFutureInterceptor(getAsynchronousExecutor()).processInvocation(context);
-        }
+    private ViewInvocationPlan createInvocationPlan(final Class<?> view) {
+        return new ViewInvocationPlan(view, getComponentClass().equals(view), asynchronousMethods, asyncExecutor);
     }
 
+    public abstract Object invoke(Serializable sessionId, Map<String, Object> contextData, Class<?> invokedBusinessInterface, Method implMethod, Object[] args) throws Exception;
+
     @Override
     public Interceptor createClientInterceptor(Class<?> view, Serializable sessionId) {
         // ignore the session id. Session aware components like (StatefulSessionComponent) should override
@@ -193,26 +192,24 @@ public abstract class SessionBeanComponent extends EJBComponent implements org.j
 
     @Override
     public Interceptor createClientInterceptor(final Class<?> view) {
-
+        final ViewInvocationPlan plan = getInvocationPlan(view);
         return new Interceptor() {
             @Override
             public Object processInvocation(InterceptorContext context) throws Exception {
-                final Method method = context.getMethod();
+                final ViewInvocationPlan.MethodPlan methodPlan = plan.getMethodPlan(context.getMethod());
                 // if no-interface view, then check whether invocation on the method is allowed
                 // (for ex: invocation on protected methods isn't allowed)
-                if (SessionBeanComponent.this.getComponentClass().equals(view)) {
-                    if (!SessionBeanComponent.this.isInvocationAllowed(method)) {
-                        throw new javax.ejb.EJBException("Cannot invoke method " + method
-                                + " on nointerface view of bean " + SessionBeanComponent.this.getComponentName());
-
-                    }
+                if (!methodPlan.isAllowed()) {
+                    throw new javax.ejb.EJBException("Cannot invoke method " + methodPlan.getMethod()
+                            + " on nointerface view of bean " + SessionBeanComponent.this.getComponentName());
                 }
                 // TODO: FIXME: Component shouldn't be attached in a interceptor context that
                 // runs on remote clients.
                 context.putPrivateData(Component.class, SessionBeanComponent.this);
                 try {
-                    if (isAsynchronous(method)) {
-                        return invokeAsynchronous(method, context);
+                    final Interceptor asyncInterceptor = methodPlan.getAsyncInterceptor();
+                    if (asyncInterceptor != null) {
+                        return asyncInterceptor.processInvocation(context);
                     }
                     return context.proceed();
                 } finally {
@@ -228,38 +225,7 @@ public abstract class SessionBeanComponent extends EJBComponent implements org.j
      * Else returns false.
      */
     protected boolean isInvocationAllowed(Method method) {
-        int m = method.getModifiers();
-        // We handle only public, non-static, non-final methods
-        if (!Modifier.isPublic(m)) {
-            if (logger.isTraceEnabled()) {
-                logger.trace("Method " + method + " is *not* public");
-            }
-            // it's not a public method
-            return false;
-        }
-        if (Modifier.isFinal(m)) {
-            if (logger.isTraceEnabled()) {
-                logger.trace("Method " + method + " is final");
-            }
-            // it's a final method
-            return false;
-        }
-        if (Modifier.isStatic(m)) {
-            if (logger.isTraceEnabled()) {
-                logger.trace("Method " + method + " is static");
-            }
-            // it's a static method
-            return false;
-        }
-        if (Modifier.isNative(m)) {
-            if (logger.isTraceEnabled()) {
-                logger.trace("Method " + method + " is native");
-            }
-            // it's a native method
-            return false;
-        }
-        // we handle rest of the methods
-        return true;
+        return ViewInvocationPlan.isInvocationAllowed(method);
     }
 
 }
@@ -0,0 +1,238 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.session;
+
+import org.jboss.as.ejb3.component.AsyncFutureInterceptor;
+import org.jboss.as.ejb3.component.AsyncVoidInterceptor;
+import org.jboss.as.ejb3.component.MethodIdentityCache;
+import org.jboss.invocation.Interceptor;
+import org.jboss.logging.Logger;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * The per-method dispatch decisions for one view of a session bean, worked out when the component is created so
+ * that an invocation only has to look its method up.
+ * <p>
+ * Plans are built up front for every method of the view. Lookups go through a {@link MethodIdentityCache} first,
+ * so the steady-state cost of an invocation through a proxy is a single identity hash lookup; no modifiers are
+ * inspected, no parameter type arrays are compared and no interceptors are allocated. The cache holds up to two
+ * instances per method of the view; other instances are resolved through the plans table on each call.
+ * </p>
+ */
+public final class ViewInvocationPlan {
+
+    private static final Logger logger = Logger.getLogger(ViewInvocationPlan.class);
+
+    private final Class<?> viewClass;
+    private final boolean noInterfaceView;
+    private final Set<Method> asynchronousMethods;
+    private final Interceptor asyncVoidInterceptor;
+    private final Interceptor asyncFutureInterceptor;
+    // keyed by Method.equals(), complete after construction
+    private final Map<Method, MethodPlan> plans;
+    private final MethodIdentityCache<MethodPlan> resolved;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param viewClass the view class
+     * @param noInterfaceView {@code true} if the view is the bean class itself
+     * @param asynchronousMethods the asynchronous methods of the bean, or {@code null} if there are none
+     * @param asyncExecutor the executor for asynchronous invocations
+     */
+    public ViewInvocationPlan(final Class<?> viewClass, final boolean noInterfaceView, final Set<Method> asynchronousMethods, final Executor asyncExecutor) {
+        this.viewClass = viewClass;
+        this.noInterfaceView = noInterfaceView;
+        this.asynchronousMethods = asynchronousMethods == null ? Collections.<Method>emptySet() : asynchronousMethods;
+        // both interceptors only hold the executor, so one of each serves every invocation
+        this.asyncVoidInterceptor = new AsyncVoidInterceptor(asyncExecutor);
+        this.asyncFutureInterceptor = new AsyncFutureInterceptor(asyncExecutor);
+
+        final Map<Method, MethodPlan> plans = new HashMap<Method, MethodPlan>();
+        for (Method method : viewClass.getMethods()) {
+            plans.put(method, createMethodPlan(method));
+        }
+        if (noInterfaceView) {
+            // include the non-public methods, which are refused
+            for (Class<?> c = viewClass; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Method method : c.getDeclaredMethods()) {
+                    if (!plans.containsKey(method)) {
+                        plans.put(method, createMethodPlan(method));
+                    }
+                }
+            }
+        }
+        this.plans = plans;
+        this.resolved = new MethodIdentityCache<MethodPlan>(2 * plans.size());
+    }
+
+    /**
+     * Get the plan for a method of this view.
+     *
+     * @param method the invoked method
+     * @return the plan
+     */
+    public MethodPlan getMethodPlan(final Method method) {
+        MethodPlan plan = resolved.get(method);
+        if (plan == null) {
+            plan = plans.get(method);
+            if (plan == null) {
+                // not a method of the view class itself, e.g. one declared on a proxy superclass
+                return createMethodPlan(method);
+            }
+            resolved.put(method, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Get the number of method instances whose plan is cached by identity.
+     *
+     * @return the count
+     */
+    int getCachedMethodCount() {
+        return resolved.size();
+    }
+
+    /**
+     * Get the view class.
+     *
+     * @return the view class
+     */
+    public Class<?> getViewClass() {
+        return viewClass;
+    }
+
+    private MethodPlan createMethodPlan(final Method method) {
+        final boolean allowed = !noInterfaceView || isInvocationAllowed(method);
+        Interceptor asyncInterceptor = null;
+        if (isAsynchronous(asynchronousMethods, method)) {
+            asyncInterceptor = Void.TYPE.isAssignableFrom(method.getReturnType()) ? asyncVoidInterceptor : asyncFutureInterceptor;
+        }
+        return new MethodPlan(method, allowed, asyncInterceptor);
+    }
+
+    static boolean isAsynchronous(final Set<Method> asyncMethods, final Method method) {
+        if (asyncMethods == null) {
+            return false;
+        }
+        for (Method asyncMethod : asyncMethods) {
+            if (method.getName().equals(asyncMethod.getName())) {
+                final Object[] methodParams = method.getParameterTypes();
+                final Object[] asyncMethodParams = asyncMethod.getParameterTypes();
+                if (Arrays.equals(methodParams, asyncMethodParams)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * EJB 3.1 spec mandates that the no-interface view should allow invocation on only public, non-final,
+     * non-static methods. Native methods are refused as well.
+     */
+    static boolean isInvocationAllowed(final Method method) {
+        int m = method.getModifiers();
+        // We handle only public, non-static, non-final methods
+        if (!Modifier.isPublic(m)) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Method " + method + " is *not* public");
+            }
+            // it's not a public method
+            return false;
+        }
+        if (Modifier.isFinal(m)) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Method " + method + " is final");
+            }
+            // it's a final method
+            return false;
+        }
+        if (Modifier.isStatic(m)) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Method " + method + " is static");
+            }
+            // it's a static method
+            return false;
+        }
+        if (Modifier.isNative(m)) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Method " + method + " is native");
+            }
+            // it's a native method
+            return false;
+        }
+        // we handle rest of the methods
+        return true;
+    }
+
+    /**
+     * The dispatch decisions for a single method.
+     */
+    public static final class MethodPlan {
+        private final Method method;
+        private final boolean allowed;
+        private final Interceptor asyncInterceptor;
+
+        MethodPlan(final Method method, final boolean allowed, final Interceptor asyncInterceptor) {
+            this.method = method;
+            this.allowed = allowed;
+            this.asyncInterceptor = asyncInterceptor;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * Whether the method may be invoked through the view.
+         *
+         * @return {@code false} for methods the no-interface view refuses
+         */
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        public boolean isAsynchronous() {
+            return asyncInterceptor != null;
+        }
+
+        /**
+         * Get the interceptor which hands the invocation off to the async executor.
+         *
+         * @return the interceptor, or {@code null} if the method is synchronous
+         */
+        public Interceptor getAsyncInterceptor() {
+            return asyncInterceptor;
+        }
+    }
+}
@@ -32,6 +32,8 @@ import org.jboss.as.ejb3.deployment.EjbJarDescription;
  */
 public class StatefulComponentDescription extends SessionBeanComponentDescription {
 
+    private String cacheConfigName;
+
     /**
      * Construct a new instance.
      *
@@ -57,4 +59,17 @@ public class StatefulComponentDescription extends SessionBeanComponentDescriptio
     public SessionBeanType getSessionBeanType() {
         return SessionBeanComponentDescription.SessionBeanType.STATEFUL;
     }
+
+    /**
+     * Get the name of the stateful cache definition this bean uses.
+     *
+     * @return the name, or {@code null} to use the default definition
+     */
+    public String getCacheConfigName() {
+        return cacheConfigName;
+    }
+
+    public void setCacheConfigName(final String cacheConfigName) {
+        this.cacheConfigName = cacheConfigName;
+    }
 }
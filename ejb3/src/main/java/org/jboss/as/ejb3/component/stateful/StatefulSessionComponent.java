@@ -21,19 +21,51 @@
  */
 package org.jboss.as.ejb3.component.stateful;
 
+import org.jboss.as.ee.component.AbstractComponent;
 import org.jboss.as.ee.component.AbstractComponentInstance;
 import org.jboss.as.ee.component.Component;
+import org.jboss.as.ee.component.ComponentLifecycleMethodInterceptorFactory;
+import org.jboss.as.ee.component.MethodAwareInterceptorFactory;
+import org.jboss.as.ee.component.ResourceInjection;
+import org.jboss.as.ejb3.cache.PassivationManager;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
+import org.jboss.as.ejb3.component.session.ViewInvocationPlan;
 import org.jboss.ejb3.cache.Cache;
-import org.jboss.ejb3.cache.NoPassivationCache;
 import org.jboss.ejb3.cache.StatefulObjectFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.InterceptorInstanceFactory;
 import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.MethodInterceptorFactory;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.jboss.util.id.GUID;
 
+import javax.ejb.EJBContext;
+import javax.ejb.EJBException;
+import javax.ejb.PostActivate;
+import javax.ejb.PrePassivate;
+import javax.ejb.TimerService;
+import javax.interceptor.InvocationContext;
+import javax.naming.Context;
+import javax.transaction.UserTransaction;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -43,7 +75,14 @@ import java.util.Map;
  */
 public class StatefulSessionComponent extends SessionBeanComponent {
 
+    // Context data key carrying the session id of an instance restored from passivation
+    private static final Object SESSION_ID_KEY = new Object();
+
     private Cache<StatefulSessionComponentInstance> cache;
+    private final InterceptorFactory prePassivate;
+    private final InterceptorFactory postActivate;
+    // The injections of the bean and its interceptors, indexed by InjectedValueHandle.index
+    private final List<ResourceInjection> injections;
 
     /**
      * Construct a new instance.
@@ -53,8 +92,14 @@ public class StatefulSessionComponent extends SessionBeanComponent {
     protected StatefulSessionComponent(final StatefulSessionComponentConfiguration configuration) {
         super(configuration);
 
+        prePassivate = getLifecycleInterceptorFactory(PrePassivate.class);
+        postActivate = getLifecycleInterceptorFactory(PostActivate.class);
+        injections = new ArrayList<ResourceInjection>(getResourceInjections());
+        for (Class<?> interceptorClass : getInterceptorClasses()) {
+            injections.addAll(getInterceptorResourceInjections(interceptorClass));
+        }
 
-        cache = new NoPassivationCache<StatefulSessionComponentInstance>();
+        cache = configuration.getCacheConfig().createCache(getComponentName(), new StatefulSessionPassivationManager());
         cache.setStatefulObjectFactory(new StatefulObjectFactory<StatefulSessionComponentInstance>() {
             @Override
             public StatefulSessionComponentInstance createInstance() {
@@ -76,18 +121,16 @@ public class StatefulSessionComponent extends SessionBeanComponent {
 
     @Override
     public Interceptor createClientInterceptor(final Class<?> view, final Serializable sessionId) {
+        final ViewInvocationPlan plan = getInvocationPlan(view);
         return new Interceptor() {
             @Override
             public Object processInvocation(InterceptorContext context) throws Exception {
-                final Method method = context.getMethod();
+                final ViewInvocationPlan.MethodPlan methodPlan = plan.getMethodPlan(context.getMethod());
                 // if no-interface view, then check whether invocation on the method is allowed
                 // (for ex: invocation on protected methods isn't allowed)
-                if (StatefulSessionComponent.this.getComponentClass().equals(view)) {
-                    if (!StatefulSessionComponent.this.isInvocationAllowed(method)) {
-                        throw new javax.ejb.EJBException("Cannot invoke method " + method
-                                + " on nointerface view of bean " + StatefulSessionComponent.this.getComponentName());
-
-                    }
+                if (!methodPlan.isAllowed()) {
+                    throw new javax.ejb.EJBException("Cannot invoke method " + methodPlan.getMethod()
+                            + " on nointerface view of bean " + StatefulSessionComponent.this.getComponentName());
                 }
                 // TODO: FIXME: Component shouldn't be attached in a interceptor context that
                 // runs on remote clients.
@@ -95,8 +138,9 @@ public class StatefulSessionComponent extends SessionBeanComponent {
                 // TODO: attaching as Serializable.class is a bit wicked
                 context.putPrivateData(Serializable.class, sessionId);
                 try {
-                    if (isAsynchronous(method)) {
-                        return invokeAsynchronous(method, context);
+                    final Interceptor asyncInterceptor = methodPlan.getAsyncInterceptor();
+                    if (asyncInterceptor != null) {
+                        return asyncInterceptor.processInvocation(context);
                     }
                     return context.proceed();
                 } finally {
@@ -115,11 +159,234 @@ public class StatefulSessionComponent extends SessionBeanComponent {
         return cache;
     }
 
+    @Override
+    public void start() {
+        super.start();
+        cache.start();
+    }
+
+    @Override
+    public void stop() {
+        cache.stop();
+        super.stop();
+    }
+
     @Override
     protected AbstractComponentInstance constructComponentInstance(Object instance, InterceptorFactoryContext context) {
+        final GUID id = (GUID) context.getContextData().get(SESSION_ID_KEY);
+        if (id != null) {
+            return new StatefulSessionComponentInstance(this, instance, context, id);
+        }
         return new StatefulSessionComponentInstance(this, instance, context);
     }
 
+    /**
+     * Build the interceptor chain of a stateful lifecycle callback: the callback methods of the interceptor classes, in
+     * interceptor order, followed by those of the bean class.
+     */
+    private InterceptorFactory getLifecycleInterceptorFactory(final Class<? extends Annotation> annotation) {
+        final List<InterceptorFactory> factories = new ArrayList<InterceptorFactory>();
+        for (final Class<?> interceptorClass : getInterceptorClasses()) {
+            final InterceptorInstanceFactory instanceFactory = new InterceptorInstanceFactory() {
+                public Object createInstance(final InterceptorFactoryContext context) {
+                    return context.getContextData().get(interceptorClass);
+                }
+            };
+            for (Method method : getLifecycleMethods(interceptorClass, annotation, InvocationContext.class)) {
+                factories.add(new MethodAwareInterceptorFactory(new MethodInterceptorFactory(instanceFactory, method), method));
+            }
+        }
+        factories.add(new ComponentLifecycleMethodInterceptorFactory(getLifecycleMethods(getComponentClass(), annotation)));
+        return Interceptors.getChainedInterceptorFactory(factories);
+    }
+
+    /**
+     * Collect the methods of a class and its superclasses carrying a lifecycle annotation and taking the given
+     * parameters, superclass methods first.
+     */
+    private static List<Method> getLifecycleMethods(final Class<?> clazz, final Class<? extends Annotation> annotation, final Class<?>... parameterTypes) {
+        if (clazz == null || clazz == Object.class) {
+            return Collections.emptyList();
+        }
+        final List<Method> methods = new ArrayList<Method>(getLifecycleMethods(clazz.getSuperclass(), annotation, parameterTypes));
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(annotation) && Arrays.equals(method.getParameterTypes(), parameterTypes) && !Modifier.isStatic(method.getModifiers())) {
+                method.setAccessible(true);
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Determine whether an injected value is a container object, such as the session context or a user transaction,
+     * which has to be injected again on activation rather than serialized with the bean.
+     */
+    private static boolean isContainerObject(final Object value) {
+        return !(value instanceof Serializable) || value instanceof EJBContext || value instanceof UserTransaction
+                || value instanceof TimerService || value instanceof Context;
+    }
+
+    /**
+     * Passivates the bean object of an instance together with its interceptor instances. Container objects injected into
+     * them are written as handles and are looked up again on activation; everything else, including references to other
+     * stateful beans, is serialized as conversational state and is not injected again.
+     */
+    private class StatefulSessionPassivationManager implements PassivationManager<StatefulSessionComponentInstance> {
+
+        @Override
+        public boolean isPassivationCapable(final StatefulSessionComponentInstance obj) {
+            if (!(obj.getInstance() instanceof Serializable)) {
+                return false;
+            }
+            for (Object interceptor : getInterceptors(obj)) {
+                if (interceptor != null && !(interceptor instanceof Serializable)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void prePassivate(final StatefulSessionComponentInstance obj) {
+            performLifecycle(obj, prePassivate, obj.getInterceptorFactoryContext());
+        }
+
+        @Override
+        public Serializable getPassivationState(final StatefulSessionComponentInstance obj) {
+            try {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                final ObjectOutputStream out = new PassivationOutputStream(bytes, AbstractComponent.getInjectedValues(obj.getInterceptorFactoryContext()));
+                out.writeObject(obj.getInstance());
+                out.writeObject(getInterceptors(obj));
+                out.close();
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new EJBException("Failed to serialize stateful bean " + obj.getId(), e);
+            }
+        }
+
+        @Override
+        public void passivated(final StatefulSessionComponentInstance obj) {
+            // Nothing to release: everything the instance references now lives on in its passivated state
+        }
+
+        @Override
+        public StatefulSessionComponentInstance activate(final Serializable id, final Serializable state) {
+            final SimpleInterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
+            context.getContextData().put(SESSION_ID_KEY, id);
+            final Object instance;
+            final Object[] interceptors;
+            try {
+                final ObjectInputStream in = new ActivationInputStream(new ByteArrayInputStream((byte[]) state), AbstractComponent.getInjectedValues(context));
+                instance = in.readObject();
+                interceptors = (Object[]) in.readObject();
+                in.close();
+            } catch (IOException e) {
+                throw new EJBException("Failed to deserialize stateful bean " + id, e);
+            } catch (ClassNotFoundException e) {
+                throw new EJBException("Failed to deserialize stateful bean " + id, e);
+            }
+            // The interceptor instance factories hand out the restored instances instead of creating new ones
+            final List<Class<?>> interceptorClasses = getInterceptorClasses();
+            for (int i = 0; i < interceptors.length; i++) {
+                if (interceptors[i] != null) {
+                    context.getContextData().put(interceptorClasses.get(i), interceptors[i]);
+                }
+            }
+            return (StatefulSessionComponentInstance) restoreInstance(instance, context);
+        }
+
+        @Override
+        public void postActivate(final StatefulSessionComponentInstance obj) {
+            performLifecycle(obj, postActivate, obj.getInterceptorFactoryContext());
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return getComponentClass().getClassLoader();
+        }
+
+        private Object[] getInterceptors(final StatefulSessionComponentInstance obj) {
+            final Map<Object, Object> contextData = obj.getInterceptorFactoryContext().getContextData();
+            final List<Class<?>> interceptorClasses = getInterceptorClasses();
+            final Object[] interceptors = new Object[interceptorClasses.size()];
+            for (int i = 0; i < interceptors.length; i++) {
+                interceptors[i] = contextData.get(interceptorClasses.get(i));
+            }
+            return interceptors;
+        }
+    }
+
+    /**
+     * Stands in for an injected container object in the passivated state of a bean.
+     */
+    private static final class InjectedValueHandle implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        InjectedValueHandle(final int index) {
+            this.index = index;
+        }
+    }
+
+    private class PassivationOutputStream extends ObjectOutputStream {
+        private final Map<Object, ResourceInjection> injectedValues;
+
+        PassivationOutputStream(final OutputStream out, final Map<Object, ResourceInjection> injectedValues) throws IOException {
+            super(out);
+            this.injectedValues = injectedValues;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) throws IOException {
+            final ResourceInjection injection = injectedValues.get(obj);
+            if (injection != null && isContainerObject(obj)) {
+                final int index = injections.indexOf(injection);
+                if (index >= 0) {
+                    return new InjectedValueHandle(index);
+                }
+            }
+            return obj;
+        }
+    }
+
+    private class ActivationInputStream extends ObjectInputStream {
+        private final Map<Object, ResourceInjection> injectedValues;
+
+        ActivationInputStream(final InputStream in, final Map<Object, ResourceInjection> injectedValues) throws IOException {
+            super(in);
+            this.injectedValues = injectedValues;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, getComponentClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                // fall back to the default resolution for primitives and bootstrap classes
+                return super.resolveClass(desc);
+            }
+        }
+
+        @Override
+        protected Object resolveObject(final Object obj) throws IOException {
+            if (obj instanceof InjectedValueHandle) {
+                final ResourceInjection injection = injections.get(((InjectedValueHandle) obj).index);
+                final Object value = injection.getValue();
+                if (value != null) {
+                    // so that the value is written as a handle again on the next passivation
+                    injectedValues.put(value, injection);
+                }
+                return value;
+            }
+            return obj;
+        }
+    }
+
     @Override
     public Object invoke(Serializable sessionId, Map<String, Object> contextData, Class<?> invokedBusinessInterface, Method beanMethod, Object[] args) throws Exception {
         if (sessionId == null)
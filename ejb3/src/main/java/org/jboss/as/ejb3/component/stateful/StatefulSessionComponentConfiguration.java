@@ -24,11 +24,15 @@ package org.jboss.as.ejb3.component.stateful;
 import org.jboss.as.ee.component.AbstractComponent;
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentInterceptorFactory;
+import org.jboss.as.ejb3.cache.StatefulCacheConfig;
+import org.jboss.as.ejb3.cache.StatefulCacheConfigService;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentConfiguration;
 import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
 
 import javax.ejb.TransactionManagementType;
 
@@ -36,10 +40,15 @@ import javax.ejb.TransactionManagementType;
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class StatefulSessionComponentConfiguration extends SessionBeanComponentConfiguration {
+    private final ServiceName cacheConfigServiceName;
 
     public StatefulSessionComponentConfiguration(final StatefulComponentDescription description) {
         super(description);
 
+        final String cacheConfigName = description.getCacheConfigName();
+        this.cacheConfigServiceName = cacheConfigName != null ? StatefulCacheConfigService.getServiceName(cacheConfigName) : StatefulCacheConfigService.DEFAULT_SFSB_CACHE_CONFIG_SERVICE_NAME;
+        description.addDependency(cacheConfigServiceName, ServiceBuilder.DependencyType.REQUIRED);
+
         addComponentSystemInterceptorFactory(new ImmediateInterceptorFactory(new ComponentInstanceInterceptor()));
 
         if(description.getTransactionManagementType().equals(TransactionManagementType.BEAN)) {
@@ -63,4 +72,8 @@ public class StatefulSessionComponentConfiguration extends SessionBeanComponentC
     public AbstractComponent constructComponent() {
         return new StatefulSessionComponent(this);
     }
+
+    StatefulCacheConfig getCacheConfig() {
+        return getInjectionValue(cacheConfigServiceName, StatefulCacheConfig.class);
+    }
 }
@@ -35,8 +35,12 @@ public class StatefulSessionComponentInstance extends SessionBeanComponentInstan
     private final GUID id;
 
     protected StatefulSessionComponentInstance(final StatefulSessionComponent component, final Object instance, InterceptorFactoryContext context) {
+        this(component, instance, context, new GUID());
+    }
+
+    protected StatefulSessionComponentInstance(final StatefulSessionComponent component, final Object instance, InterceptorFactoryContext context, final GUID id) {
         super(component, instance, context);
-        this.id = new GUID();
+        this.id = id;
     }
 
     @Override
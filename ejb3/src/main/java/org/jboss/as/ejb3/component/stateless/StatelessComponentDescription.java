@@ -24,13 +24,16 @@ package org.jboss.as.ejb3.component.stateless;
 
 import org.jboss.as.ee.component.AbstractComponentConfiguration;
 
+import org.jboss.as.ejb3.component.pool.PooledComponentDescription;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentDescription;
 import org.jboss.as.ejb3.deployment.EjbJarDescription;
 
 /**
  * User: jpai
  */
-public class StatelessComponentDescription extends SessionBeanComponentDescription {
+public class StatelessComponentDescription extends SessionBeanComponentDescription implements PooledComponentDescription {
+
+    private String poolConfigName;
 
     /**
      * Construct a new instance.
@@ -57,4 +60,14 @@ public class StatelessComponentDescription extends SessionBeanComponentDescripti
     public SessionBeanType getSessionBeanType() {
         return SessionBeanComponentDescription.SessionBeanType.STATELESS;
     }
+
+    @Override
+    public String getPoolConfigName() {
+        return poolConfigName;
+    }
+
+    @Override
+    public void setPoolConfigName(final String poolConfigName) {
+        this.poolConfigName = poolConfigName;
+    }
 }
@@ -29,7 +29,6 @@ import org.jboss.as.ejb3.component.pool.PooledComponent;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.ejb3.pool.Pool;
 import org.jboss.ejb3.pool.StatelessObjectFactory;
-import org.jboss.ejb3.pool.strictmax.StrictMaxPool;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactoryContext;
@@ -38,7 +37,6 @@ import org.jboss.invocation.Interceptors;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 /**
  * {@link org.jboss.as.ee.component.Component} responsible for managing EJB3 stateless session beans
@@ -70,7 +68,7 @@ public class StatelessSessionComponent extends SessionBeanComponent implements P
                 destroyInstance(obj);
             }
         };
-        this.pool = new StrictMaxPool<StatelessSessionComponentInstance>(factory, 20, 5, TimeUnit.MINUTES);
+        this.pool = componentConfiguration.getPoolConfig().createPool(factory);
     }
 
     //TODO: This should be getInstance()
@@ -90,6 +88,18 @@ public class StatelessSessionComponent extends SessionBeanComponent implements P
         return pool;
     }
 
+    @Override
+    public void start() {
+        pool.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        pool.stop();
+    }
+
     @Override
     public Object invoke(Serializable sessionId, Map<String, Object> contextData, Class<?> invokedBusinessInterface, Method beanMethod, Object[] args) throws Exception {
         if (sessionId != null)
@@ -25,9 +25,13 @@ package org.jboss.as.ejb3.component.stateless;
 import org.jboss.as.ee.component.AbstractComponent;
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentInterceptorFactory;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentConfiguration;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
 
 import javax.ejb.TransactionManagementType;
 
@@ -37,6 +41,7 @@ import static org.jboss.as.ejb3.component.pool.PooledInstanceInterceptor.pooled;
  * @author Jaikiran Pai
  */
 public class StatelessSessionComponentConfiguration extends SessionBeanComponentConfiguration {
+    private final ServiceName poolConfigServiceName;
 
     /**
      * Construct a new instance.
@@ -46,6 +51,10 @@ public class StatelessSessionComponentConfiguration extends SessionBeanComponent
     public StatelessSessionComponentConfiguration(final StatelessComponentDescription description) {
         super(description);
 
+        final String poolConfigName = description.getPoolConfigName();
+        this.poolConfigServiceName = poolConfigName != null ? PoolConfigService.getServiceName(poolConfigName) : PoolConfigService.DEFAULT_SLSB_POOL_CONFIG_SERVICE_NAME;
+        description.addDependency(poolConfigServiceName, ServiceBuilder.DependencyType.REQUIRED);
+
         addComponentSystemInterceptorFactory(pooled());
 
         if(description.getTransactionManagementType().equals(TransactionManagementType.BEAN)) {
@@ -62,4 +71,8 @@ public class StatelessSessionComponentConfiguration extends SessionBeanComponent
     public AbstractComponent constructComponent() {
         return new StatelessSessionComponent(this);
     }
+
+    PoolConfig getPoolConfig() {
+        return getInjectionValue(poolConfigServiceName, PoolConfig.class);
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.deployment.processors;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.ejb3.component.stateful.StatefulComponentDescription;
+import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
+import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.logging.Logger;
+
+/**
+ * Processes the {@code org.jboss.ejb3.annotation.Cache} annotation on stateful session beans and records the name
+ * of the stateful cache definition the bean should use on its {@link StatefulComponentDescription}.
+ * <p>
+ * Like {@link PoolAnnotationProcessor}, the annotation is matched by name.
+ * </p>
+ */
+public class CacheAnnotationProcessor extends AbstractAnnotationEJBProcessor<StatefulComponentDescription> {
+
+    private static final Logger logger = Logger.getLogger(CacheAnnotationProcessor.class);
+
+    private static final DotName CACHE_ANNOTATION = DotName.createSimple("org.jboss.ejb3.annotation.Cache");
+
+    @Override
+    protected Class<StatefulComponentDescription> getComponentDescriptionType() {
+        return StatefulComponentDescription.class;
+    }
+
+    @Override
+    protected void processAnnotations(ClassInfo beanClass, CompositeIndex compositeIndex, StatefulComponentDescription componentDescription) throws DeploymentUnitProcessingException {
+        Map<DotName, List<AnnotationInstance>> annotationsOnBean = beanClass.annotations();
+        if (annotationsOnBean == null || annotationsOnBean.isEmpty()) {
+            return;
+        }
+        List<AnnotationInstance> cacheAnnotations = annotationsOnBean.get(CACHE_ANNOTATION);
+        if (cacheAnnotations == null || cacheAnnotations.isEmpty()) {
+            return;
+        }
+        AnnotationInstance cacheAnnotation = null;
+        for (AnnotationInstance annotation : cacheAnnotations) {
+            if (annotation.target() instanceof ClassInfo) {
+                if (cacheAnnotation != null) {
+                    throw new DeploymentUnitProcessingException("More than one @Cache annotation found on bean: " + componentDescription.getEJBName());
+                }
+                cacheAnnotation = annotation;
+            }
+        }
+        if (cacheAnnotation == null) {
+            return;
+        }
+        final AnnotationValue value = cacheAnnotation.value();
+        if (value == null || value.asString().trim().length() == 0) {
+            throw new DeploymentUnitProcessingException("@Cache on bean " + componentDescription.getEJBName() + " does not name a stateful cache");
+        }
+        final String cacheName = value.asString().trim();
+        componentDescription.setCacheConfigName(cacheName);
+        logger.debug(componentDescription.getEJBName() + " bean will use stateful cache " + cacheName);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.deployment.processors;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.ejb3.component.EJBComponentDescription;
+import org.jboss.as.ejb3.component.pool.PooledComponentDescription;
+import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
+import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.logging.Logger;
+
+/**
+ * Processes the {@code org.jboss.ejb3.annotation.Pool} annotation on stateless session and message driven beans
+ * and records the name of the bean instance pool the bean should use on its {@link PooledComponentDescription}.
+ * <p>
+ * The annotation is matched by name so that deployments can use it without the subsystem depending on the
+ * JBoss EJB3 extension API.
+ * </p>
+ */
+public class PoolAnnotationProcessor extends AbstractAnnotationEJBProcessor<EJBComponentDescription> {
+
+    private static final Logger logger = Logger.getLogger(PoolAnnotationProcessor.class);
+
+    private static final DotName POOL_ANNOTATION = DotName.createSimple("org.jboss.ejb3.annotation.Pool");
+
+    @Override
+    protected Class<EJBComponentDescription> getComponentDescriptionType() {
+        return EJBComponentDescription.class;
+    }
+
+    @Override
+    protected void processAnnotations(ClassInfo beanClass, CompositeIndex compositeIndex, EJBComponentDescription componentDescription) throws DeploymentUnitProcessingException {
+        if (!(componentDescription instanceof PooledComponentDescription)) {
+            return;
+        }
+        Map<DotName, List<AnnotationInstance>> annotationsOnBean = beanClass.annotations();
+        if (annotationsOnBean == null || annotationsOnBean.isEmpty()) {
+            return;
+        }
+        List<AnnotationInstance> poolAnnotations = annotationsOnBean.get(POOL_ANNOTATION);
+        if (poolAnnotations == null || poolAnnotations.isEmpty()) {
+            return;
+        }
+        AnnotationInstance poolAnnotation = null;
+        for (AnnotationInstance annotation : poolAnnotations) {
+            if (annotation.target() instanceof ClassInfo) {
+                if (poolAnnotation != null) {
+                    throw new DeploymentUnitProcessingException("More than one @Pool annotation found on bean: " + componentDescription.getEJBName());
+                }
+                poolAnnotation = annotation;
+            }
+        }
+        if (poolAnnotation == null) {
+            return;
+        }
+        final AnnotationValue value = poolAnnotation.value();
+        if (value == null || value.asString().trim().length() == 0) {
+            throw new DeploymentUnitProcessingException("@Pool on bean " + componentDescription.getEJBName() + " does not name a bean instance pool");
+        }
+        final String poolName = value.asString().trim();
+        ((PooledComponentDescription) componentDescription).setPoolConfigName(poolName);
+        logger.debug(componentDescription.getEJBName() + " bean will use bean instance pool " + poolName);
+    }
+}
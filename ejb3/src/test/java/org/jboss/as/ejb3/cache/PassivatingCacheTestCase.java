@@ -0,0 +1,329 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ejb.NoSuchEJBException;
+
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.ejb3.cache.StatefulObjectFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link PassivatingCache} and {@link FilePassivationStore}.
+ */
+public class PassivatingCacheTestCase {
+
+    static class Bean implements Identifiable, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String id;
+        String state;
+
+        Bean(final String id) {
+            this.id = id;
+        }
+
+        public Serializable getId() {
+            return id;
+        }
+    }
+
+    static class UnserializableBean extends Bean {
+        private static final long serialVersionUID = 1L;
+
+        UnserializableBean(final String id) {
+            super(id);
+        }
+    }
+
+    static class RecordingManager implements PassivationManager<Bean>, StatefulObjectFactory<Bean> {
+        final AtomicInteger created = new AtomicInteger();
+        final List<String> destroyed = new ArrayList<String>();
+        final List<String> prePassivated = new ArrayList<String>();
+        final List<String> postActivated = new ArrayList<String>();
+
+        public Bean createInstance() {
+            return new Bean("bean" + created.incrementAndGet());
+        }
+
+        public void destroyInstance(final Bean instance) {
+            destroyed.add(instance.id);
+        }
+
+        public boolean isPassivationCapable(final Bean obj) {
+            return !(obj instanceof UnserializableBean);
+        }
+
+        public void prePassivate(final Bean obj) {
+            prePassivated.add(obj.id);
+        }
+
+        public Serializable getPassivationState(final Bean obj) {
+            return obj;
+        }
+
+        public void passivated(final Bean obj) {
+        }
+
+        public Bean activate(final Serializable id, final Serializable state) {
+            return (Bean) state;
+        }
+
+        public void postActivate(final Bean obj) {
+            postActivated.add(obj.id);
+        }
+
+        public ClassLoader getClassLoader() {
+            return Bean.class.getClassLoader();
+        }
+    }
+
+    private File directory;
+    private RecordingManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = File.createTempFile("passivation", "");
+        assertTrue(directory.delete());
+        manager = new RecordingManager();
+    }
+
+    @After
+    public void tearDown() {
+        new FilePassivationStore(directory).clear();
+    }
+
+    private PassivatingCache<Bean> createCache(final int maxSize, final long idleTimeout, final long removalTimeout) {
+        final PassivatingCache<Bean> cache = new PassivatingCache<Bean>("test", manager, new FilePassivationStore(directory), null,
+                maxSize, idleTimeout, removalTimeout, TimeUnit.MILLISECONDS);
+        cache.setStatefulObjectFactory(manager);
+        cache.start();
+        return cache;
+    }
+
+    private static void idle() throws InterruptedException {
+        Thread.sleep(20);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPassivation() {
+        final PassivatingCache<Bean> cache = createCache(2, 0, 0);
+        final Bean first = cache.create();
+        first.state = "first";
+        cache.release(first);
+        final Bean second = cache.create();
+        cache.release(second);
+        // touch the first bean so the second one becomes least recently used
+        cache.release(cache.get(first.getId()));
+        final Bean third = cache.create();
+        cache.release(third);
+
+        assertEquals(2, cache.getCacheSize());
+        assertEquals(1, cache.getPassivatedCount());
+        assertEquals(3, cache.getTotalSize());
+        assertEquals(1, cache.getPassivationCount());
+        assertEquals(1, manager.prePassivated.size());
+        assertEquals(second.id, manager.prePassivated.get(0));
+    }
+
+    @Test
+    public void testActivation() {
+        final PassivatingCache<Bean> cache = createCache(1, 0, 0);
+        final Bean first = cache.create();
+        first.state = "state";
+        cache.release(first);
+        cache.release(cache.create());
+        assertEquals(1, cache.getPassivatedCount());
+
+        final Bean activated = cache.get(first.getId());
+        assertNotSame(first, activated);
+        assertEquals("state", activated.state);
+        assertEquals(1, manager.postActivated.size());
+        assertEquals(first.id, manager.postActivated.get(0));
+        assertEquals(1, cache.getActivationCount());
+        assertTrue(cache.getMaxActivationTime() > 0);
+        assertTrue(cache.getTotalActivationTime() >= cache.getMaxActivationTime());
+        // the other bean made room for it
+        assertEquals(1, cache.getCacheSize());
+        assertEquals(1, cache.getPassivatedCount());
+    }
+
+    @Test
+    public void testInUseIsNotPassivated() {
+        final PassivatingCache<Bean> cache = createCache(1, 0, 0);
+        final Bean first = cache.create();
+        assertSame(first, cache.get(first.getId()));
+        // the first bean is least recently used but still in use, so the second one goes
+        final Bean second = cache.create();
+        assertEquals(1, cache.getCacheSize());
+        assertEquals(1, manager.prePassivated.size());
+        assertEquals(second.id, manager.prePassivated.get(0));
+        cache.release(first);
+        assertSame(first, cache.get(first.getId()));
+    }
+
+    @Test
+    public void testIdlePassivation() throws Exception {
+        final PassivatingCache<Bean> cache = createCache(0, 10, 0);
+        final Bean bean = cache.create();
+        cache.release(bean);
+        cache.sweep();
+        assertEquals(1, cache.getCacheSize());
+        idle();
+        cache.sweep();
+        assertEquals(0, cache.getCacheSize());
+        assertEquals(1, cache.getPassivatedCount());
+        assertEquals(bean.state, cache.get(bean.getId()).state);
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        final PassivatingCache<Bean> cache = createCache(1, 0, 10);
+        final Bean first = cache.create();
+        cache.release(first);
+        final Bean second = cache.create();
+        cache.release(second);
+        assertEquals(1, cache.getPassivatedCount());
+        idle();
+        cache.sweep();
+        assertEquals(0, cache.getTotalSize());
+        assertEquals(2, cache.getExpirationCount());
+        // expired beans are destroyed, the passivated one after being activated
+        assertEquals(Arrays.asList(first.id, second.id), manager.destroyed);
+        assertEquals(Collections.singletonList(first.id), manager.postActivated);
+        final String[] files = directory.list();
+        assertEquals(0, files == null ? 0 : files.length);
+        try {
+            cache.get(first.getId());
+            fail("Expected NoSuchEJBException");
+        } catch (NoSuchEJBException expected) {
+        }
+    }
+
+    @Test
+    public void testUnserializableIsPinned() {
+        final PassivatingCache<Bean> cache = createCache(1, 0, 0);
+        final RecordingManager factory = new RecordingManager() {
+            @Override
+            public Bean createInstance() {
+                return new UnserializableBean("pinned" + created.incrementAndGet());
+            }
+        };
+        cache.setStatefulObjectFactory(factory);
+        final Bean pinned = cache.create();
+        cache.release(pinned);
+        cache.setStatefulObjectFactory(manager);
+        final Bean other = cache.create();
+        cache.release(other);
+
+        // the pinned bean stays in memory, so the serializable one goes instead
+        assertSame(pinned, cache.get(pinned.getId()));
+        assertEquals(1, cache.getPassivationCount());
+        assertEquals(other.id, manager.prePassivated.get(0));
+    }
+
+    @Test
+    public void testRemove() {
+        final PassivatingCache<Bean> cache = createCache(1, 0, 0);
+        final Bean first = cache.create();
+        cache.release(first);
+        cache.release(cache.create());
+        cache.remove(first.getId());
+        assertEquals(1, manager.destroyed.size());
+        assertEquals(first.id, manager.destroyed.get(0));
+        assertEquals(1, manager.postActivated.size());
+        assertEquals(1, cache.getTotalSize());
+    }
+
+    @Test
+    public void testDiscard() {
+        final PassivatingCache<Bean> cache = createCache(1, 0, 0);
+        final Bean first = cache.create();
+        cache.release(first);
+        cache.release(cache.create());
+        cache.discard(first.getId());
+        assertTrue(manager.destroyed.isEmpty());
+        assertTrue(manager.postActivated.isEmpty());
+        assertEquals(0, cache.getPassivatedCount());
+        assertEquals(1, cache.getTotalSize());
+    }
+
+    @Test
+    public void testMaxSizeChange() {
+        final PassivatingCache<Bean> cache = createCache(0, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            cache.release(cache.create());
+        }
+        assertEquals(5, cache.getCacheSize());
+        cache.setMaxSize(2);
+        assertEquals(2, cache.getCacheSize());
+        assertEquals(3, cache.getPassivatedCount());
+    }
+
+    @Test
+    public void testStopClearsStore() {
+        final PassivatingCache<Bean> cache = createCache(1, 0, 0);
+        cache.release(cache.create());
+        cache.release(cache.create());
+        assertTrue(directory.exists());
+        cache.stop();
+        assertEquals(0, cache.getTotalSize());
+        assertFalse(directory.exists());
+    }
+
+    @Test
+    public void testConfigWithoutDirectoryDoesNotPassivate() {
+        final StatefulCacheConfig config = new StatefulCacheConfig("none", null, 0, 0, 0, TimeUnit.MINUTES);
+        assertFalse(config.createCache("component", manager) instanceof PassivatingCache);
+        assertTrue(config.getCaches().isEmpty());
+    }
+
+    @Test
+    public void testConfigPushesChanges() {
+        final StatefulCacheConfig config = new StatefulCacheConfig("config", directory, 5, 1, 0, TimeUnit.MINUTES);
+        final PassivatingCache<Bean> cache = (PassivatingCache<Bean>) config.createCache("component", manager);
+        assertEquals(1, config.getCaches().size());
+        config.setMaxSize(3);
+        assertEquals(3, cache.getMaxSize());
+        cache.stop();
+        assertTrue(config.getCaches().isEmpty());
+    }
+}
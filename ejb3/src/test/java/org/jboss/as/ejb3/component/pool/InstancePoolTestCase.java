@@ -0,0 +1,257 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ejb.EJBException;
+
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link InstancePool} and {@link PoolConfig}.
+ */
+public class InstancePoolTestCase {
+
+    private static class CountingFactory implements StatelessObjectFactory<Object> {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        public Object create() {
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        public void destroy(final Object obj) {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testReuse() {
+        final CountingFactory factory = new CountingFactory();
+        final InstancePool<Object> pool = new InstancePool<Object>(factory, 2, 1, TimeUnit.SECONDS, 1);
+        final Object first = pool.get();
+        pool.release(first);
+        assertSame(first, pool.get());
+        assertEquals(1, factory.created.get());
+        assertEquals(1, pool.getInUseCount());
+        assertEquals(1, pool.getAvailableCount());
+        assertEquals(1, pool.getCurrentSize());
+    }
+
+    @Test
+    public void testTimeout() {
+        final CountingFactory factory = new CountingFactory();
+        final InstancePool<Object> pool = new InstancePool<Object>(factory, 1, 50, TimeUnit.MILLISECONDS, 1);
+        pool.get();
+        try {
+            pool.get();
+            fail("Expected the pool to be exhausted");
+        } catch (EJBException expected) {
+            // expected
+        }
+        assertEquals(1, pool.getTimeoutCount());
+        assertEquals(1, pool.getWaitCount());
+        assertTrue(pool.getMaxWaitTime() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, factory.created.get());
+    }
+
+    @Test
+    public void testWaitForRelease() throws Exception {
+        final CountingFactory factory = new CountingFactory();
+        final InstancePool<Object> pool = new InstancePool<Object>(factory, 1, 10, TimeUnit.SECONDS, 1);
+        final Object instance = pool.get();
+        final AtomicReference<Object> obtained = new AtomicReference<Object>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final Thread waiter = new Thread(new Runnable() {
+            public void run() {
+                started.countDown();
+                obtained.set(pool.get());
+            }
+        });
+        waiter.start();
+        started.await();
+        Thread.sleep(50);
+        pool.release(instance);
+        waiter.join(10000);
+        assertSame(instance, obtained.get());
+        assertEquals(1, pool.getWaitCount());
+        assertEquals(0, pool.getTimeoutCount());
+    }
+
+    @Test
+    public void testStripedUsesWholeCapacity() {
+        final CountingFactory factory = new CountingFactory();
+        final InstancePool<Object> pool = new InstancePool<Object>(factory, 8, 50, TimeUnit.MILLISECONDS, 4);
+        assertEquals(4, pool.getStripeCount());
+        final List<Object> instances = new ArrayList<Object>();
+        // A single thread has to take instances from every stripe to use the whole pool
+        for (int i = 0; i < 8; i++) {
+            instances.add(pool.get());
+        }
+        assertEquals(0, pool.getAvailableCount());
+        assertEquals(8, pool.getInUseCount());
+        assertEquals(0, pool.getWaitCount());
+        try {
+            pool.get();
+            fail("Expected the pool to be exhausted");
+        } catch (EJBException expected) {
+            // expected
+        }
+        for (Object instance : instances) {
+            pool.release(instance);
+        }
+        assertEquals(8, pool.getAvailableCount());
+        assertEquals(0, pool.getInUseCount());
+        assertEquals(8, pool.getCurrentSize());
+        pool.stop();
+        assertEquals(8, factory.destroyed.get());
+        assertEquals(0, pool.getCurrentSize());
+    }
+
+    @Test
+    public void testStripeCountLimitedByMaxSize() {
+        final InstancePool<Object> pool = new InstancePool<Object>(new CountingFactory(), 2, 1, TimeUnit.SECONDS, 16);
+        assertEquals(2, pool.getStripeCount());
+    }
+
+    @Test
+    public void testGrow() {
+        final CountingFactory factory = new CountingFactory();
+        final InstancePool<Object> pool = new InstancePool<Object>(factory, 1, 50, TimeUnit.MILLISECONDS, 1);
+        pool.get();
+        pool.setMaxSize(2);
+        assertNotNull(pool.get());
+        assertEquals(2, pool.getInUseCount());
+        assertEquals(2, pool.getMaxSize());
+    }
+
+    @Test
+    public void testShrink() {
+        final CountingFactory factory = new CountingFactory();
+        final InstancePool<Object> pool = new InstancePool<Object>(factory, 3, 50, TimeUnit.MILLISECONDS, 1);
+        final Object a = pool.get();
+        final Object b = pool.get();
+        final Object c = pool.get();
+        pool.release(c);
+        // One idle instance, two in use
+        pool.setMaxSize(1);
+        assertEquals(1, factory.destroyed.get());
+        assertEquals(2, pool.getInUseCount());
+        assertEquals(0, pool.getAvailableCount());
+        pool.release(a);
+        assertEquals(2, factory.destroyed.get());
+        pool.release(b);
+        assertEquals(2, factory.destroyed.get());
+        assertEquals(1, pool.getAvailableCount());
+        assertEquals(1, pool.getCurrentSize());
+        assertSame(b, pool.get());
+        try {
+            pool.get();
+            fail("Expected the pool to be exhausted");
+        } catch (EJBException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDiscard() {
+        final CountingFactory factory = new CountingFactory();
+        final InstancePool<Object> pool = new InstancePool<Object>(factory, 1, 50, TimeUnit.MILLISECONDS, 1);
+        final Object first = pool.get();
+        pool.discard(first);
+        assertEquals(1, pool.getRemoveCount());
+        final Object second = pool.get();
+        assertNotSame(first, second);
+        assertEquals(2, pool.getCreateCount());
+    }
+
+    @Test
+    public void testConfigUpdatesLivePools() {
+        final PoolConfig config = new PoolConfig("test", PoolStrategy.STRIPED, 4, 1, TimeUnit.SECONDS);
+        final InstancePool<Object> pool = config.createPool(new CountingFactory());
+        assertEquals(1, config.getPools().size());
+        assertEquals(Math.min(4, Runtime.getRuntime().availableProcessors()), pool.getStripeCount());
+        config.setMaxPoolSize(10);
+        assertEquals(10, pool.getMaxSize());
+        config.setStrategy(PoolStrategy.STRICT_MAX);
+        assertEquals(1, config.createPool(new CountingFactory()).getStripeCount());
+        pool.stop();
+        assertEquals(1, config.getPools().size());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final CountingFactory factory = new CountingFactory();
+        final int max = 4;
+        final InstancePool<Object> pool = new InstancePool<Object>(factory, max, 10, TimeUnit.SECONDS, 4);
+        final AtomicInteger inUse = new AtomicInteger();
+        final AtomicInteger maxInUse = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < 2000; j++) {
+                            final Object instance = pool.get();
+                            final int current = inUse.incrementAndGet();
+                            int seen;
+                            while ((seen = maxInUse.get()) < current && !maxInUse.compareAndSet(seen, current)) {
+                                // retry
+                            }
+                            inUse.decrementAndGet();
+                            pool.release(instance);
+                        }
+                    } catch (Throwable t) {
+                        failure.set(t);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertTrue(maxInUse.get() <= max);
+        assertTrue(factory.created.get() <= max);
+        assertEquals(max, pool.getAvailableCount());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.session;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.ee.component.ProxyInvocationHandler;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+
+/**
+ * Measures the cost of a no-op session bean call through a view proxy, comparing the per-call checks the client
+ * interceptor used to make with the lookup in a {@link ViewInvocationPlan}. The bean itself is replaced by an
+ * interceptor which returns straight away, so the numbers show the dispatch overhead only. Not a unit test; run
+ * it directly:
+ *
+ * <pre>
+ * java org.jboss.as.ejb3.component.session.ViewInvocationBenchmark [threads] [seconds] [async methods]
+ * </pre>
+ */
+public class ViewInvocationBenchmark {
+
+    public interface NoOp {
+        void noop();
+    }
+
+    public static void main(String[] args) throws Exception {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        final int asyncMethodCount = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        // asynchronous methods of the bean which are not invoked, so the old linear scan has something to do
+        final Set<Method> asyncMethods = new HashSet<Method>();
+        final Method[] candidates = Object.class.getMethods();
+        for (int i = 0; i < asyncMethodCount && i < candidates.length; i++) {
+            asyncMethods.add(candidates[i]);
+        }
+        final Executor executor = new Executor() {
+            public void execute(final Runnable command) {
+                command.run();
+            }
+        };
+        final Interceptor bean = new Interceptor() {
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                return null;
+            }
+        };
+
+        final Interceptor perCallChecks = new Interceptor() {
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                final Method method = context.getMethod();
+                if (!ViewInvocationPlan.isInvocationAllowed(method)) {
+                    throw new IllegalStateException();
+                }
+                if (ViewInvocationPlan.isAsynchronous(asyncMethods, method)) {
+                    throw new IllegalStateException();
+                }
+                return context.proceed();
+            }
+        };
+        final ViewInvocationPlan plan = new ViewInvocationPlan(NoOp.class, false, asyncMethods, executor);
+        final Interceptor planned = new Interceptor() {
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                final ViewInvocationPlan.MethodPlan methodPlan = plan.getMethodPlan(context.getMethod());
+                if (!methodPlan.isAllowed() || methodPlan.isAsynchronous()) {
+                    throw new IllegalStateException();
+                }
+                return context.proceed();
+            }
+        };
+
+        System.out.printf("%d threads, %d async methods, %d s per run%n", threads, asyncMethods.size(), seconds);
+        // warm up both paths before measuring
+        run(threads, 1, createProxy(perCallChecks, bean));
+        run(threads, 1, createProxy(planned, bean));
+        final long before = run(threads, seconds, createProxy(perCallChecks, bean));
+        System.out.printf("per-call checks: %.1f calls/s%n", before / (double) seconds);
+        final long after = run(threads, seconds, createProxy(planned, bean));
+        System.out.printf("invocation plan: %.1f calls/s%n", after / (double) seconds);
+    }
+
+    private static NoOp createProxy(final Interceptor client, final Interceptor bean) {
+        final ProxyInvocationHandler handler = new ProxyInvocationHandler(Interceptors.getChainedInterceptor(client, bean));
+        return (NoOp) Proxy.newProxyInstance(NoOp.class.getClassLoader(), new Class<?>[] {NoOp.class}, handler);
+    }
+
+    private static long run(final int threads, final int seconds, final NoOp proxy) throws Exception {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong calls = new AtomicLong();
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+                public void run() {
+                    long count = 0;
+                    try {
+                        while (running.get()) {
+                            for (int i = 0; i < 1000; i++) {
+                                proxy.noop();
+                            }
+                            count += 1000;
+                        }
+                    } finally {
+                        calls.addAndGet(count);
+                        done.countDown();
+                    }
+                }
+            }, "invoke-" + t).start();
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        done.await();
+        return calls.get();
+    }
+}
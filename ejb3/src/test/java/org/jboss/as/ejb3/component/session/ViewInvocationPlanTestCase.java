@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.session;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.jboss.as.ejb3.component.AsyncFutureInterceptor;
+import org.jboss.as.ejb3.component.AsyncVoidInterceptor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link ViewInvocationPlan}.
+ */
+public class ViewInvocationPlanTestCase {
+
+    private static final Executor EXECUTOR = new Executor() {
+        public void execute(final Runnable command) {
+            command.run();
+        }
+    };
+
+    public interface View {
+        void fireAndForget(String arg);
+
+        void alsoFireAndForget(String arg);
+
+        Future<String> compute(String arg);
+
+        String echo(String arg);
+
+        String echo(Integer arg);
+    }
+
+    public static class Bean {
+        public void fireAndForget(final String arg) {
+        }
+
+        public String echo(final String arg) {
+            return arg;
+        }
+
+        public final String finalMethod() {
+            return null;
+        }
+
+        protected String protectedMethod() {
+            return null;
+        }
+    }
+
+    private static Set<Method> asyncMethods() throws NoSuchMethodException {
+        final Set<Method> methods = new HashSet<Method>();
+        methods.add(Bean.class.getMethod("fireAndForget", String.class));
+        methods.add(View.class.getMethod("alsoFireAndForget", String.class));
+        // matched by name and parameter types, not declaring class
+        methods.add(View.class.getMethod("compute", String.class));
+        return methods;
+    }
+
+    @Test
+    public void testBusinessInterfaceView() throws Exception {
+        final ViewInvocationPlan plan = new ViewInvocationPlan(View.class, false, asyncMethods(), EXECUTOR);
+
+        final ViewInvocationPlan.MethodPlan fireAndForget = plan.getMethodPlan(View.class.getMethod("fireAndForget", String.class));
+        assertTrue(fireAndForget.isAllowed());
+        assertTrue(fireAndForget.getAsyncInterceptor() instanceof AsyncVoidInterceptor);
+
+        final ViewInvocationPlan.MethodPlan compute = plan.getMethodPlan(View.class.getMethod("compute", String.class));
+        assertTrue(compute.getAsyncInterceptor() instanceof AsyncFutureInterceptor);
+
+        final ViewInvocationPlan.MethodPlan echo = plan.getMethodPlan(View.class.getMethod("echo", String.class));
+        assertTrue(echo.isAllowed());
+        assertFalse(echo.isAsynchronous());
+        assertNull(echo.getAsyncInterceptor());
+        assertNotSame(echo, plan.getMethodPlan(View.class.getMethod("echo", Integer.class)));
+    }
+
+    @Test
+    public void testNoInterfaceView() throws Exception {
+        final ViewInvocationPlan plan = new ViewInvocationPlan(Bean.class, true, asyncMethods(), EXECUTOR);
+        assertTrue(plan.getMethodPlan(Bean.class.getMethod("echo", String.class)).isAllowed());
+        assertTrue(plan.getMethodPlan(Bean.class.getMethod("fireAndForget", String.class)).isAsynchronous());
+        assertFalse(plan.getMethodPlan(Bean.class.getMethod("finalMethod")).isAllowed());
+        assertFalse(plan.getMethodPlan(Bean.class.getDeclaredMethod("protectedMethod")).isAllowed());
+        assertFalse(plan.getMethodPlan(Object.class.getMethod("getClass")).isAllowed());
+    }
+
+    @Test
+    public void testPlansAreShared() throws Exception {
+        final ViewInvocationPlan plan = new ViewInvocationPlan(View.class, false, asyncMethods(), EXECUTOR);
+        // every lookup through reflection returns a new Method instance
+        final Method first = View.class.getMethod("echo", String.class);
+        final Method second = View.class.getMethod("echo", String.class);
+        assertNotSame(first, second);
+        final ViewInvocationPlan.MethodPlan plan1 = plan.getMethodPlan(first);
+        assertSame(plan1, plan.getMethodPlan(first));
+        assertSame(plan1, plan.getMethodPlan(second));
+
+        // the async interceptors are not allocated per method or per call
+        assertSame(plan.getMethodPlan(View.class.getMethod("fireAndForget", String.class)).getAsyncInterceptor(),
+                plan.getMethodPlan(View.class.getMethod("alsoFireAndForget", String.class)).getAsyncInterceptor());
+    }
+
+    @Test
+    public void testReflectiveCopiesDoNotGrowCache() throws Exception {
+        final ViewInvocationPlan plan = new ViewInvocationPlan(View.class, false, asyncMethods(), EXECUTOR);
+        final ViewInvocationPlan.MethodPlan echo = plan.getMethodPlan(View.class.getMethod("echo", String.class));
+        // e.g. a remote invocation path looking the method up on every call
+        for (int i = 0; i < 1000; i++) {
+            assertSame(echo, plan.getMethodPlan(View.class.getMethod("echo", String.class)));
+        }
+        assertTrue(plan.getCachedMethodCount() <= 2 * View.class.getMethods().length);
+
+        // methods outside the view get a plan, but are not cached
+        final int cached = plan.getCachedMethodCount();
+        assertTrue(plan.getMethodPlan(Runnable.class.getMethod("run")).isAllowed());
+        assertEquals(cached, plan.getCachedMethodCount());
+    }
+
+    @Test
+    public void testNoAsynchronousMethods() throws Exception {
+        final ViewInvocationPlan plan = new ViewInvocationPlan(View.class, false, null, EXECUTOR);
+        for (Method method : View.class.getMethods()) {
+            assertFalse(plan.getMethodPlan(method).isAsynchronous());
+        }
+        assertEquals(View.class, plan.getViewClass());
+    }
+}
@@ -66,9 +66,9 @@ import org.jboss.as.protocol.ProtocolClient;
 import org.jboss.as.protocol.SimpleByteDataInput;
 import org.jboss.as.protocol.SimpleByteDataOutput;
 import org.jboss.as.protocol.StreamUtils;
+import org.jboss.as.protocol.mgmt.ManagementChannel;
 import org.jboss.as.protocol.mgmt.ManagementHeaderMessageHandler;
 import org.jboss.as.protocol.mgmt.ManagementRequest;
-import org.jboss.as.protocol.mgmt.ManagementRequestConnectionStrategy;
 import org.jboss.as.protocol.mgmt.ManagementResponse;
 import org.jboss.dmr.ModelNode;
 import org.jboss.logging.Logger;
@@ -93,6 +93,8 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private final RemoteFileRepository remoteFileRepository;
 
     private volatile Connection connection;
+    /** Carries the requests to the master, several of which may be in flight at once */
+    private volatile ManagementChannel channel;
     /** Used to invoke ModelController ops on the master */
     private volatile ModelController masterProxy;
     /** Handler for non-transactional operations */
@@ -133,12 +135,13 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
 
         try {
             connection = protocolClient.connect();
+            channel = ManagementChannel.create(connection, initialMessageHandler);
 
             if (reconnectInfo != null) {
                 unregister();
             }
 
-            masterProxy = new ModelControllerClientToModelControllerAdapter(connection);
+            masterProxy = new ModelControllerClientToModelControllerAdapter(channel);
 //            operationHandler = ModelControllerOperationHandler.Factory.create(slave, initialMessageHandler);
             txOperationHandler = new SlaveDomainControllerOperationHandler(slave);
             managementCommunicationService.getValue().addHandler(txOperationHandler);
@@ -148,7 +151,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         }
 
         try {
-            ModelNode node = new RegisterModelControllerRequest(callbackAddress, ourPort).executeForResult(new ManagementRequestConnectionStrategy.ExistingConnectionStrategy(connection));
+            ModelNode node = new RegisterModelControllerRequest(callbackAddress, ourPort).executeForResult(channel);
             if (reconnectInfo == null) {
                 //TODO update the domain model from the reconnected host
                 slave.setInitialDomainModel(node);
@@ -223,7 +226,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     @Override
     public synchronized void unregister() {
         try {
-            new UnregisterModelControllerRequest().executeForResult(new ManagementRequestConnectionStrategy.ExistingConnectionStrategy(connection));
+            new UnregisterModelControllerRequest().executeForResult(channel);
         } catch (Exception e) {
             log.errorf(e, "Error unregistering from master");
         }
@@ -503,7 +506,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
 
         private File getFile(final String relativePath, final byte repoId) {
             try {
-                return new GetFileRequest(repoId, relativePath, localFileRepository).executeForResult(new ManagementRequestConnectionStrategy.ExistingConnectionStrategy(connection));
+                return new GetFileRequest(repoId, relativePath, localFileRepository).executeForResult(channel);
             } catch (Exception e) {
                 throw new RuntimeException("Failed to get file from remote repository", e);
             }
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 
@@ -34,6 +35,7 @@ import javax.net.ServerSocketFactory;
 import org.jboss.as.protocol.Connection;
 import org.jboss.as.protocol.ConnectionHandler;
 import org.jboss.as.protocol.MessageHandler;
+import org.jboss.as.protocol.NioTransport;
 import org.jboss.as.protocol.ProtocolServer;
 import org.jboss.as.protocol.mgmt.ManagementHeaderMessageHandler;
 import org.jboss.as.protocol.mgmt.ManagementOperationHandler;
@@ -57,6 +59,12 @@ import org.jboss.msc.value.InjectedValue;
 public class ManagementCommunicationService implements Service<ManagementCommunicationService>, ConnectionHandler {
     private static final Logger log = Logger.getLogger("org.jboss.as.host.controller");
 
+    /**
+     * System property giving the number of selector threads of the non-blocking management transport.  If it is
+     * not set the blocking transport, with a read thread per connection, is used.
+     */
+    public static final String NIO_SELECTOR_COUNT = "jboss.management.nio.selectors";
+
     public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("host", "controller", "management", "communication");
 
     private final InjectedValue<NetworkInterfaceBinding> interfaceBindingValue = new InjectedValue<NetworkInterfaceBinding>();
@@ -65,6 +73,7 @@ public class ManagementCommunicationService implements Service<ManagementCommuni
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
     private final ConcurrentMap<Byte, ManagementOperationHandler> handlers = new ConcurrentHashMap<Byte, ManagementOperationHandler>();
     private ProtocolServer server;
+    private NioTransport transport;
 
     /**
      * Starts the service.  Will start a socket listener to listen for management operation requests.
@@ -88,6 +97,13 @@ public class ManagementCommunicationService implements Service<ManagementCommuni
             config.setBacklog(50);
             config.setConnectionHandler(this);
 
+            final int selectorCount = Integer.getInteger(NIO_SELECTOR_COUNT, 0).intValue();
+            if (selectorCount > 0) {
+                transport = new NioTransport(threadFactory, selectorCount);
+                transport.start();
+                config.setTransport(transport);
+            }
+
             server = new ProtocolServer(config);
             server.start();
         } catch (Exception e) {
@@ -105,6 +121,10 @@ public class ManagementCommunicationService implements Service<ManagementCommuni
         if (server != null) {
             server.stop();
         }
+        if (transport != null) {
+            transport.stop();
+            transport = null;
+        }
     }
 
     /** {@inheritDoc} */
@@ -171,5 +191,10 @@ public class ManagementCommunicationService implements Service<ManagementCommuni
             protected MessageHandler getHandlerForId(byte handlerId) {
                 return handlers.get(handlerId);
             }
+
+            @Override
+            protected Executor getRequestExecutor() {
+                return executorServiceValue.getOptionalValue();
+            }
         };
 }
@@ -0,0 +1,274 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+
+import java.util.Map;
+
+import org.hornetq.core.server.HornetQServer;
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.registry.ModelNodeRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Base class for the runtime metrics and operations of a single destination. The destination is looked
+ * up by name in the HornetQ management service, and both metric reads and operations are dispatched to
+ * the resulting control object.
+ *
+ * @param <T> the type of the HornetQ control object
+ */
+public abstract class DestinationControlHandler<T> implements ModelQueryOperationHandler {
+
+    public static final String LIST_MESSAGES = "list-messages";
+    public static final String REMOVE_MESSAGES = "remove-messages";
+    public static final String PAUSE = "pause";
+    public static final String RESUME = "resume";
+
+    public static final String MESSAGE_COUNT = "message-count";
+    public static final String DELIVERING_COUNT = "delivering-count";
+    public static final String CONSUMER_COUNT = "consumer-count";
+    public static final String MESSAGES_ADDED = "messages-added";
+    public static final String SCHEDULED_COUNT = "scheduled-count";
+    public static final String PAUSED = "paused";
+
+    static final String[] NO_LOCATION = new String[0];
+
+    private final String resourcePrefix;
+    private final Class<T> controlType;
+
+    protected DestinationControlHandler(final String resourcePrefix, final Class<T> controlType) {
+        this.resourcePrefix = resourcePrefix;
+        this.controlType = controlType;
+    }
+
+    /**
+     * Get the names of the metrics supported by this handler.
+     *
+     * @return the metric names
+     */
+    public abstract String[] getMetrics();
+
+    /**
+     * Register the metrics of this handler on the given resource.
+     *
+     * @param registration the destination resource registration
+     */
+    public void registerMetrics(final ModelNodeRegistration registration) {
+        for (String metric : getMetrics()) {
+            registration.registerMetric(metric, this);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
+            throws OperationFailedException {
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final String name = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+                    final HornetQServer server = getServer(context.getServiceRegistry());
+                    final Object resource = server.getManagementService().getResource(resourcePrefix + name);
+                    if (resource == null) {
+                        throw new OperationFailedException(new ModelNode().set("no runtime destination named " + name));
+                    }
+                    final T control = controlType.cast(resource);
+                    final String operationName = operation.require(OP).asString();
+                    final ModelNode result;
+                    try {
+                        if (READ_ATTRIBUTE_OPERATION.equals(operationName)) {
+                            result = readMetric(control, operation.require(NAME).asString());
+                        } else {
+                            result = invokeOperation(control, operationName, operation);
+                        }
+                    } catch (OperationFailedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new OperationFailedException(new ModelNode().set("failed to execute " + operationName + " on "
+                                + name + ": " + e.getMessage()));
+                    }
+                    resultHandler.handleResultFragment(NO_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    /**
+     * Read a single metric from the control.
+     *
+     * @param control the destination control
+     * @param metric the metric name
+     * @return the metric value
+     * @throws Exception if HornetQ fails to provide the value
+     */
+    protected abstract ModelNode readMetric(T control, String metric) throws Exception;
+
+    /**
+     * Invoke a runtime operation on the control.
+     *
+     * @param control the destination control
+     * @param operationName the operation name
+     * @param operation the operation
+     * @return the operation result
+     * @throws Exception if the operation fails
+     */
+    protected abstract ModelNode invokeOperation(T control, String operationName, ModelNode operation) throws Exception;
+
+    /**
+     * Read every metric of the control into a single node.
+     *
+     * @param control the destination control
+     * @return the statistics
+     * @throws Exception if HornetQ fails to provide a value
+     */
+    public ModelNode readStatistics(final T control) throws Exception {
+        final ModelNode result = new ModelNode();
+        for (String metric : getMetrics()) {
+            result.get(metric).set(readMetric(control, metric));
+        }
+        return result;
+    }
+
+    /**
+     * Get the destination name of a control.
+     *
+     * @param control the destination control
+     * @return the name
+     */
+    protected abstract String getName(T control);
+
+    /**
+     * Read the statistics of every destination of this handler's type, keyed by destination name.
+     *
+     * @param server the running server
+     * @return the statistics
+     * @throws Exception if HornetQ fails to provide a value
+     */
+    public ModelNode readAllStatistics(final HornetQServer server) throws Exception {
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Object resource : server.getManagementService().getResources(controlType)) {
+            final T control = controlType.cast(resource);
+            result.get(getName(control)).set(readStatistics(control));
+        }
+        return result;
+    }
+
+    /**
+     * Get the optional message filter from an operation.
+     *
+     * @param operation the operation
+     * @return the filter, or {@code null} to match all messages
+     */
+    protected static String getFilter(final ModelNode operation) {
+        return operation.hasDefined(CommonAttributes.FILTER) ? operation.get(CommonAttributes.FILTER).asString() : null;
+    }
+
+    /**
+     * Get the running HornetQ server.
+     *
+     * @param registry the service registry
+     * @return the server
+     * @throws OperationFailedException if the messaging server is not running
+     */
+    public static HornetQServer getServer(final ServiceRegistry registry) throws OperationFailedException {
+        final ServiceController<?> controller = registry.getService(MessagingServices.JBOSS_MESSAGING);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            throw new OperationFailedException(new ModelNode().set("the messaging server is not running"));
+        }
+        return HornetQServer.class.cast(controller.getValue());
+    }
+
+    /**
+     * Convert the messages returned by a HornetQ {@code listMessages} call.
+     *
+     * @param messages the message property maps
+     * @return a list node with one object per message
+     */
+    public static ModelNode messagesToModelNode(final Map<String, Object>[] messages) {
+        final ModelNode result = new ModelNode();
+        result.setEmptyList();
+        if (messages != null) {
+            for (Map<String, Object> message : messages) {
+                result.add(toModelNode(message));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Convert a value returned by a HornetQ control into a typed node.
+     *
+     * @param value the value
+     * @return the node, undefined if {@code value} is {@code null}
+     */
+    public static ModelNode toModelNode(final Object value) {
+        final ModelNode node = new ModelNode();
+        if (value == null) {
+            return node;
+        } else if (value instanceof Boolean) {
+            node.set(((Boolean) value).booleanValue());
+        } else if (value instanceof Long) {
+            node.set(((Long) value).longValue());
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            node.set(((Number) value).intValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            node.set(((Number) value).doubleValue());
+        } else if (value instanceof byte[]) {
+            node.set((byte[]) value);
+        } else if (value instanceof Map<?, ?>) {
+            node.setEmptyObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                node.get(String.valueOf(entry.getKey())).set(toModelNode(entry.getValue()));
+            }
+        } else if (value instanceof Object[]) {
+            node.setEmptyList();
+            for (Object element : (Object[]) value) {
+                node.add(toModelNode(element));
+            }
+        } else {
+            node.set(value.toString());
+        }
+        return node;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hornetq.core.server.HornetQServer;
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads the statistics of all destinations of a subsystem in a single operation. The result holds one
+ * entry per destination type, each keyed by destination name.
+ */
+public class DestinationStatisticsRead implements ModelQueryOperationHandler {
+
+    public static final String OPERATION_NAME = "read-destination-statistics";
+
+    public static final DestinationStatisticsRead INSTANCE = new DestinationStatisticsRead(
+            Collections.<String, DestinationControlHandler<?>>singletonMap(CommonAttributes.QUEUE, QueueControlHandler.INSTANCE));
+
+    private final Map<String, DestinationControlHandler<?>> handlers;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param handlers the destination handlers, keyed by the resource type they are registered for
+     */
+    public DestinationStatisticsRead(final Map<String, DestinationControlHandler<?>> handlers) {
+        this.handlers = new LinkedHashMap<String, DestinationControlHandler<?>>(handlers);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
+            throws OperationFailedException {
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final HornetQServer server = DestinationControlHandler.getServer(context.getServiceRegistry());
+                    final ModelNode result = new ModelNode();
+                    for (Map.Entry<String, DestinationControlHandler<?>> entry : handlers.entrySet()) {
+                        try {
+                            result.get(entry.getKey()).set(entry.getValue().readAllStatistics(server));
+                        } catch (Exception e) {
+                            throw new OperationFailedException(new ModelNode().set("failed to read statistics " + e.getMessage()));
+                        }
+                    }
+                    resultHandler.handleResultFragment(DestinationControlHandler.NO_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(DestinationControlHandler.NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+}
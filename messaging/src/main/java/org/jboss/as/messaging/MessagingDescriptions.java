@@ -131,6 +131,76 @@ public class MessagingDescriptions {
         return node;
     }
 
+    public static ModelNode getQueueListMessages(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode node = new ModelNode();
+        node.get(OPERATION_NAME).set(DestinationControlHandler.LIST_MESSAGES);
+        node.get(DESCRIPTION).set(bundle.getString("queue.list-messages"));
+        addFilterParameter(node, bundle);
+        node.get(REPLY_PROPERTIES, TYPE).set(ModelType.LIST);
+        node.get(REPLY_PROPERTIES, VALUE_TYPE).set(ModelType.OBJECT);
+        node.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("queue.list-messages.reply"));
+
+        return node;
+    }
+
+    public static ModelNode getQueueRemoveMessages(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode node = new ModelNode();
+        node.get(OPERATION_NAME).set(DestinationControlHandler.REMOVE_MESSAGES);
+        node.get(DESCRIPTION).set(bundle.getString("queue.remove-messages"));
+        addFilterParameter(node, bundle);
+        node.get(REPLY_PROPERTIES, TYPE).set(ModelType.INT);
+        node.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("queue.remove-messages.reply"));
+
+        return node;
+    }
+
+    public static ModelNode getQueuePause(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode node = new ModelNode();
+        node.get(OPERATION_NAME).set(DestinationControlHandler.PAUSE);
+        node.get(DESCRIPTION).set(bundle.getString("queue.pause"));
+        node.get(REQUEST_PROPERTIES).setEmptyObject();
+        node.get(REPLY_PROPERTIES).setEmptyObject();
+
+        return node;
+    }
+
+    public static ModelNode getQueueResume(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode node = new ModelNode();
+        node.get(OPERATION_NAME).set(DestinationControlHandler.RESUME);
+        node.get(DESCRIPTION).set(bundle.getString("queue.resume"));
+        node.get(REQUEST_PROPERTIES).setEmptyObject();
+        node.get(REPLY_PROPERTIES).setEmptyObject();
+
+        return node;
+    }
+
+    public static ModelNode getReadDestinationStatistics(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode node = new ModelNode();
+        node.get(OPERATION_NAME).set(DestinationStatisticsRead.OPERATION_NAME);
+        node.get(DESCRIPTION).set(bundle.getString("messaging.read-destination-statistics"));
+        node.get(REQUEST_PROPERTIES).setEmptyObject();
+        node.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+        node.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("messaging.read-destination-statistics.reply"));
+
+        return node;
+    }
+
+    private static void addFilterParameter(final ModelNode node, final ResourceBundle bundle) {
+        node.get(REQUEST_PROPERTIES, CommonAttributes.FILTER, TYPE).set(ModelType.STRING);
+        node.get(REQUEST_PROPERTIES, CommonAttributes.FILTER, DESCRIPTION).set(bundle.getString("queue.message-filter"));
+        node.get(REQUEST_PROPERTIES, CommonAttributes.FILTER, REQUIRED).set(false);
+    }
+
     private static ModelNode getPathDescription(final String description, final ResourceBundle bundle) {
         final ModelNode node = new ModelNode();
 
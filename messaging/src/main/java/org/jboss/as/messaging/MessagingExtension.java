@@ -52,11 +52,18 @@ public class MessagingExtension implements Extension {
         registration.registerOperationHandler(ADD, MessagingSubsystemAdd.INSTANCE, MessagingSubsystemProviders.SUBSYSTEM_ADD, false);
         registration.registerOperationHandler(DESCRIBE, MessagingSubsystemDescribeHandler.INSTANCE, MessagingSubsystemProviders.SUBSYSTEM_DESCRIBE, false, OperationEntry.EntryType.PRIVATE);
 
+        registration.registerOperationHandler(DestinationStatisticsRead.OPERATION_NAME, DestinationStatisticsRead.INSTANCE, MessagingSubsystemProviders.READ_DESTINATION_STATISTICS, false);
+
         subsystem.registerXMLElementWriter(MessagingSubsystemParser.getInstance());
 
         final ModelNodeRegistration queue = registration.registerSubModel(PathElement.pathElement(QUEUE), MessagingSubsystemProviders.QUEUE_RESOURCE);
         queue.registerOperationHandler(ADD, QueueAdd.INSTANCE, QueueAdd.INSTANCE, false);
         queue.registerOperationHandler(REMOVE, QueueRemove.INSTANCE, QueueRemove.INSTANCE, false);
+        queue.registerOperationHandler(DestinationControlHandler.LIST_MESSAGES, QueueControlHandler.INSTANCE, MessagingSubsystemProviders.QUEUE_LIST_MESSAGES, false);
+        queue.registerOperationHandler(DestinationControlHandler.REMOVE_MESSAGES, QueueControlHandler.INSTANCE, MessagingSubsystemProviders.QUEUE_REMOVE_MESSAGES, false);
+        queue.registerOperationHandler(DestinationControlHandler.PAUSE, QueueControlHandler.INSTANCE, MessagingSubsystemProviders.QUEUE_PAUSE, false);
+        queue.registerOperationHandler(DestinationControlHandler.RESUME, QueueControlHandler.INSTANCE, MessagingSubsystemProviders.QUEUE_RESUME, false);
+        QueueControlHandler.INSTANCE.registerMetrics(queue);
     }
 
     /** {@inheritDoc} */
@@ -131,4 +131,44 @@ class MessagingSubsystemProviders {
         }
     };
 
+    static final DescriptionProvider QUEUE_LIST_MESSAGES = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            return MessagingDescriptions.getQueueListMessages(locale);
+        }
+    };
+
+    static final DescriptionProvider QUEUE_REMOVE_MESSAGES = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            return MessagingDescriptions.getQueueRemoveMessages(locale);
+        }
+    };
+
+    static final DescriptionProvider QUEUE_PAUSE = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            return MessagingDescriptions.getQueuePause(locale);
+        }
+    };
+
+    static final DescriptionProvider QUEUE_RESUME = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            return MessagingDescriptions.getQueueResume(locale);
+        }
+    };
+
+    static final DescriptionProvider READ_DESTINATION_STATISTICS = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            return MessagingDescriptions.getReadDestinationStatistics(locale);
+        }
+    };
+
 }
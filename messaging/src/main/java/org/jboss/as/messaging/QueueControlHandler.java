@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging;
+
+import org.hornetq.api.core.management.QueueControl;
+import org.hornetq.api.core.management.ResourceNames;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Runtime metrics and operations of a core queue.
+ */
+public class QueueControlHandler extends DestinationControlHandler<QueueControl> {
+
+    public static final QueueControlHandler INSTANCE = new QueueControlHandler();
+
+    static final String[] METRICS = { MESSAGE_COUNT, DELIVERING_COUNT, CONSUMER_COUNT, MESSAGES_ADDED, SCHEDULED_COUNT, PAUSED };
+
+    private QueueControlHandler() {
+        super(ResourceNames.CORE_QUEUE, QueueControl.class);
+    }
+
+    @Override
+    public String[] getMetrics() {
+        return METRICS;
+    }
+
+    @Override
+    protected String getName(final QueueControl control) {
+        return control.getName();
+    }
+
+    @Override
+    protected ModelNode readMetric(final QueueControl control, final String metric) throws Exception {
+        final ModelNode result = new ModelNode();
+        if (MESSAGE_COUNT.equals(metric)) {
+            result.set(control.getMessageCount());
+        } else if (DELIVERING_COUNT.equals(metric)) {
+            result.set(control.getDeliveringCount());
+        } else if (CONSUMER_COUNT.equals(metric)) {
+            result.set(control.getConsumerCount());
+        } else if (MESSAGES_ADDED.equals(metric)) {
+            result.set(control.getMessagesAdded());
+        } else if (SCHEDULED_COUNT.equals(metric)) {
+            result.set(control.getScheduledCount());
+        } else if (PAUSED.equals(metric)) {
+            result.set(control.isPaused());
+        } else {
+            throw new IllegalArgumentException("unknown metric " + metric);
+        }
+        return result;
+    }
+
+    @Override
+    protected ModelNode invokeOperation(final QueueControl control, final String operationName, final ModelNode operation) throws Exception {
+        final ModelNode result = new ModelNode();
+        if (LIST_MESSAGES.equals(operationName)) {
+            result.set(messagesToModelNode(control.listMessages(getFilter(operation))));
+        } else if (REMOVE_MESSAGES.equals(operationName)) {
+            result.set(control.removeMessages(getFilter(operation)));
+        } else if (PAUSE.equals(operationName)) {
+            control.pause();
+        } else if (RESUME.equals(operationName)) {
+            control.resume();
+        } else {
+            throw new IllegalArgumentException("unknown operation " + operationName);
+        }
+        return result;
+    }
+}
@@ -31,6 +31,7 @@ public interface CommonAttributes {
     String BLOCK_ON_ACK ="block-on-acknowledge";
     String BLOCK_ON_DURABLE_SEND ="block-on-durable-send";
     String BLOCK_ON_NON_DURABLE_SEND ="block-on-non-durable-send";
+    String BLOCKING_TIMEOUT_WAIT_MILLIS ="blocking-timeout-wait-millis";
     String CACHE_LARGE_MESSAGE_CLIENT ="cache-large-message-client";
     String CALL_TIMEOUT ="call-timeout";
     String CLIENT_FAILURE_CHECK_PERIOD ="client-failure-check-period";
@@ -54,11 +55,16 @@ public interface CommonAttributes {
     String ENTRY ="entry";
     String FAILOVER_ON_INITIAL_CONNECTION ="failover-on-initial-connection";
     String FAILOVER_ON_SERVER_SHUTDOWN ="failover-on-server-shutdown";
+    String FILTER ="filter";
     String GROUP_ID ="group-id";
+    String IDLE_TIMEOUT_MINUTES ="idle-timeout-minutes";
     String LOAD_BALANCING_CLASS_NAME ="connection-load-balancing-policy-class-name";
+    String MAX_POOL_SIZE ="max-pool-size";
     String MAX_RETRY_INTERVAL ="max-retry-interval";
     String MIN_LARGE_MESSAGE_SIZE ="min-large-message-size";
+    String MIN_POOL_SIZE ="min-pool-size";
     String NAME ="name";
+    String POOLED_CONNECTION_FACTORY ="pooled-connection-factory";
     String PRE_ACK ="pre-acknowledge";
     String PRODUCER_MAX_RATE ="producer-max-rate";
     String PRODUCER_WINDOW_SIZE ="producer-window-size";
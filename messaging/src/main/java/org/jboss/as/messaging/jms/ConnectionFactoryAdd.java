@@ -134,7 +134,11 @@ class ConnectionFactoryAdd implements ModelAddOperationHandler {
     }
 
     static ConnectionFactoryConfiguration createConfiguration(final String name, final ModelNode operation) {
-        final ConnectionFactoryConfiguration config = new ConnectionFactoryConfigurationImpl(name, jndiBindings(operation));
+        return createConfiguration(name, jndiBindings(operation), operation);
+    }
+
+    static ConnectionFactoryConfiguration createConfiguration(final String name, final String[] bindings, final ModelNode operation) {
+        final ConnectionFactoryConfiguration config = new ConnectionFactoryConfigurationImpl(name, bindings);
 
         config.setAutoGroup(operation.get(AUTO_GROUP).asBoolean(HornetQClient.DEFAULT_AUTO_GROUP));
         config.setBlockOnAcknowledge(operation.get(BLOCK_ON_ACK).asBoolean(HornetQClient.DEFAULT_BLOCK_ON_ACKNOWLEDGE));
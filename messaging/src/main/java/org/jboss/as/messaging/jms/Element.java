@@ -35,6 +35,7 @@ enum Element {
     BLOCK_ON_ACK(CommonAttributes.BLOCK_ON_ACK),
     BLOCK_ON_DURABLE_SEND(CommonAttributes.BLOCK_ON_DURABLE_SEND),
     BLOCK_ON_NON_DURABLE_SEND(CommonAttributes.BLOCK_ON_NON_DURABLE_SEND),
+    BLOCKING_TIMEOUT_WAIT_MILLIS(CommonAttributes.BLOCKING_TIMEOUT_WAIT_MILLIS),
     CACHE_LARGE_MESSAGE_CLIENT(CommonAttributes.CACHE_LARGE_MESSAGE_CLIENT),
     CALL_TIMEOUT(CommonAttributes.CALL_TIMEOUT),
     CLIENT_FAILURE_CHECK_PERIOD(CommonAttributes.CLIENT_FAILURE_CHECK_PERIOD),
@@ -55,9 +56,13 @@ enum Element {
     FAILOVER_ON_INITIAL_CONNECTION(CommonAttributes.FAILOVER_ON_INITIAL_CONNECTION),
     FAILOVER_ON_SERVER_SHUTDOWN(CommonAttributes.FAILOVER_ON_SERVER_SHUTDOWN),
     GROUP_ID(CommonAttributes.GROUP_ID),
+    IDLE_TIMEOUT_MINUTES(CommonAttributes.IDLE_TIMEOUT_MINUTES),
     LOAD_BALANCING_CLASS_NAME(CommonAttributes.LOAD_BALANCING_CLASS_NAME),
+    MAX_POOL_SIZE(CommonAttributes.MAX_POOL_SIZE),
     MAX_RETRY_INTERVAL(CommonAttributes.MAX_RETRY_INTERVAL),
     MIN_LARGE_MESSAGE_SIZE(CommonAttributes.MIN_LARGE_MESSAGE_SIZE),
+    MIN_POOL_SIZE(CommonAttributes.MIN_POOL_SIZE),
+    POOLED_CONNECTION_FACTORY(CommonAttributes.POOLED_CONNECTION_FACTORY),
     PRE_ACK(CommonAttributes.PRE_ACK),
     PRODUCER_WINDOW_SIZE(CommonAttributes.PRODUCER_WINDOW_SIZE),
     PRODUCER_MAX_RATE(CommonAttributes.PRODUCER_MAX_RATE),
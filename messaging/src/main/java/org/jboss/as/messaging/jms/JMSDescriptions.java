@@ -36,15 +36,22 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQ
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
+import static org.jboss.as.messaging.jms.CommonAttributes.BLOCKING_TIMEOUT_WAIT_MILLIS;
 import static org.jboss.as.messaging.jms.CommonAttributes.CONNECTOR;
 import static org.jboss.as.messaging.jms.CommonAttributes.DURABLE;
 import static org.jboss.as.messaging.jms.CommonAttributes.ENTRIES;
+import static org.jboss.as.messaging.jms.CommonAttributes.FILTER;
+import static org.jboss.as.messaging.jms.CommonAttributes.IDLE_TIMEOUT_MINUTES;
+import static org.jboss.as.messaging.jms.CommonAttributes.MAX_POOL_SIZE;
+import static org.jboss.as.messaging.jms.CommonAttributes.MIN_POOL_SIZE;
 import static org.jboss.as.messaging.jms.CommonAttributes.SELECTOR;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.jboss.as.controller.descriptions.common.CommonDescriptions;
+import org.jboss.as.messaging.DestinationControlHandler;
+import org.jboss.as.messaging.DestinationStatisticsRead;
 import org.jboss.as.messaging.jms.JMSServices.NodeAttribute;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -78,6 +85,7 @@ class JMSDescriptions {
         subsystem.get(ATTRIBUTES).setEmptyObject();
         subsystem.get(OPERATIONS);
         subsystem.get(CHILDREN, CommonAttributes.CONNECTION_FACTORY, DESCRIPTION).set(bundle.getString("jms.connection-factories"));
+        subsystem.get(CHILDREN, CommonAttributes.POOLED_CONNECTION_FACTORY, DESCRIPTION).set(bundle.getString("jms.pooled-connection-factories"));
         subsystem.get(CHILDREN, CommonAttributes.QUEUE, DESCRIPTION).set(bundle.getString("jms.queues"));
         subsystem.get(CHILDREN, CommonAttributes.TOPIC, DESCRIPTION).set(bundle.getString("jms.topics"));
 
@@ -150,6 +158,57 @@ class JMSDescriptions {
         return op;
     }
 
+    static ModelNode getQueueListMessages(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode op = new ModelNode();
+        op.get(OPERATION_NAME).set(DestinationControlHandler.LIST_MESSAGES);
+        op.get(DESCRIPTION).set(bundle.getString("queue.list-messages"));
+        addFilterParameter(op, bundle.getString("queue.message-filter"));
+        op.get(REPLY_PROPERTIES, TYPE).set(ModelType.LIST);
+        op.get(REPLY_PROPERTIES, VALUE_TYPE).set(ModelType.OBJECT);
+        op.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("queue.list-messages.reply"));
+
+        return op;
+    }
+
+    static ModelNode getQueueRemoveMessages(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode op = new ModelNode();
+        op.get(OPERATION_NAME).set(DestinationControlHandler.REMOVE_MESSAGES);
+        op.get(DESCRIPTION).set(bundle.getString("queue.remove-messages"));
+        addFilterParameter(op, bundle.getString("queue.message-filter"));
+        op.get(REPLY_PROPERTIES, TYPE).set(ModelType.INT);
+        op.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("queue.remove-messages.reply"));
+
+        return op;
+    }
+
+    static ModelNode getQueuePause(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode op = new ModelNode();
+        op.get(OPERATION_NAME).set(DestinationControlHandler.PAUSE);
+        op.get(DESCRIPTION).set(bundle.getString("queue.pause"));
+        op.get(REQUEST_PROPERTIES).setEmptyObject();
+        op.get(REPLY_PROPERTIES).setEmptyObject();
+
+        return op;
+    }
+
+    static ModelNode getQueueResume(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode op = new ModelNode();
+        op.get(OPERATION_NAME).set(DestinationControlHandler.RESUME);
+        op.get(DESCRIPTION).set(bundle.getString("queue.resume"));
+        op.get(REQUEST_PROPERTIES).setEmptyObject();
+        op.get(REPLY_PROPERTIES).setEmptyObject();
+
+        return op;
+    }
+
     static ModelNode getTopic(final Locale locale) {
         final ResourceBundle bundle = getResourceBundle(locale);
 
@@ -191,6 +250,38 @@ class JMSDescriptions {
         return op;
     }
 
+    static ModelNode getTopicRemoveMessages(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode op = new ModelNode();
+        op.get(OPERATION_NAME).set(DestinationControlHandler.REMOVE_MESSAGES);
+        op.get(DESCRIPTION).set(bundle.getString("topic.remove-messages"));
+        addFilterParameter(op, bundle.getString("topic.message-filter"));
+        op.get(REPLY_PROPERTIES, TYPE).set(ModelType.INT);
+        op.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("topic.remove-messages.reply"));
+
+        return op;
+    }
+
+    private static void addFilterParameter(final ModelNode op, final String description) {
+        op.get(REQUEST_PROPERTIES, FILTER, DESCRIPTION).set(description);
+        op.get(REQUEST_PROPERTIES, FILTER, TYPE).set(ModelType.STRING);
+        op.get(REQUEST_PROPERTIES, FILTER, REQUIRED).set(false);
+    }
+
+    static ModelNode getReadDestinationStatistics(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode op = new ModelNode();
+        op.get(OPERATION_NAME).set(DestinationStatisticsRead.OPERATION_NAME);
+        op.get(DESCRIPTION).set(bundle.getString("jms.read-destination-statistics"));
+        op.get(REQUEST_PROPERTIES).setEmptyObject();
+        op.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+        op.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("jms.read-destination-statistics.reply"));
+
+        return op;
+    }
+
     static ModelNode getConnectionFactory(final Locale locale) {
         final ResourceBundle bundle = getResourceBundle(locale);
 
@@ -233,6 +324,54 @@ class JMSDescriptions {
         return node;
     }
 
+    static ModelNode getPooledConnectionFactory(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode node = new ModelNode();
+        node.get(DESCRIPTION).set(bundle.getString("pooled-connection-factory"));
+        addConnectionFactoryProperties(bundle, node, ATTRIBUTES);
+        addPoolProperties(bundle, node, ATTRIBUTES);
+
+        return node;
+    }
+
+    static ModelNode getPooledConnectionFactoryAdd(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode node = new ModelNode();
+        node.get(OPERATION_NAME).set(ADD);
+        node.get(DESCRIPTION).set(bundle.getString("pooled-connection-factory.add"));
+        addConnectionFactoryProperties(bundle, node, REQUEST_PROPERTIES);
+        addPoolProperties(bundle, node, REQUEST_PROPERTIES);
+        node.get(REPLY_PROPERTIES).setEmptyObject();
+
+        return node;
+    }
+
+    private static void addPoolProperties(final ResourceBundle bundle, final ModelNode node, final String propType) {
+        for (NodeAttribute attr : JMSServices.POOL_ATTRS) {
+            node.get(propType, attr.getName(), DESCRIPTION).set(bundle.getString("pooled-connection-factory." + attr.getName()));
+            node.get(propType, attr.getName(), TYPE).set(attr.getType());
+            node.get(propType, attr.getName(), REQUIRED).set(attr.isRequired());
+        }
+        node.get(propType, MIN_POOL_SIZE, DEFAULT).set(PooledConnectionFactoryAdd.DEFAULT_MIN_POOL_SIZE);
+        node.get(propType, MAX_POOL_SIZE, DEFAULT).set(PooledConnectionFactoryAdd.DEFAULT_MAX_POOL_SIZE);
+        node.get(propType, BLOCKING_TIMEOUT_WAIT_MILLIS, DEFAULT).set(PooledConnectionFactoryAdd.DEFAULT_BLOCKING_TIMEOUT_WAIT_MILLIS);
+        node.get(propType, IDLE_TIMEOUT_MINUTES, DEFAULT).set(PooledConnectionFactoryAdd.DEFAULT_IDLE_TIMEOUT_MINUTES);
+    }
+
+    static ModelNode getPooledConnectionFactoryRemove(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode op = new ModelNode();
+        op.get(OPERATION_NAME).set(REMOVE);
+        op.get(DESCRIPTION).set(bundle.getString("pooled-connection-factory.remove"));
+        op.get(REQUEST_PROPERTIES).setEmptyObject();
+        op.get(REPLY_PROPERTIES).setEmptyObject();
+
+        return op;
+    }
+
     static ModelNode getConnectionFactoryRemove(final Locale locale) {
         final ResourceBundle bundle = getResourceBundle(locale);
 
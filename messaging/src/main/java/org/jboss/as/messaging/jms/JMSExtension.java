@@ -26,6 +26,9 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIBE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOVE;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.ExtensionContext;
 import org.jboss.as.controller.PathElement;
@@ -33,6 +36,8 @@ import org.jboss.as.controller.SubsystemRegistration;
 import org.jboss.as.controller.parsing.ExtensionParsingContext;
 import org.jboss.as.controller.registry.ModelNodeRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.messaging.DestinationControlHandler;
+import org.jboss.as.messaging.DestinationStatisticsRead;
 
 /**
  * The JMS extension.
@@ -44,9 +49,18 @@ public class JMSExtension implements Extension {
     public static final String SUBSYSTEM_NAME = "jms";
 
     private static final PathElement CFS_PATH = PathElement.pathElement(CommonAttributes.CONNECTION_FACTORY);
+    private static final PathElement POOLED_CFS_PATH = PathElement.pathElement(CommonAttributes.POOLED_CONNECTION_FACTORY);
     private static final PathElement QUEUE_PATH = PathElement.pathElement(CommonAttributes.QUEUE);
     private static final PathElement TOPIC_PATH = PathElement.pathElement(CommonAttributes.TOPIC);
 
+    private static final DestinationStatisticsRead READ_DESTINATION_STATISTICS;
+    static {
+        final Map<String, DestinationControlHandler<?>> handlers = new LinkedHashMap<String, DestinationControlHandler<?>>();
+        handlers.put(CommonAttributes.QUEUE, JMSQueueControlHandler.INSTANCE);
+        handlers.put(CommonAttributes.TOPIC, JMSTopicControlHandler.INSTANCE);
+        READ_DESTINATION_STATISTICS = new DestinationStatisticsRead(handlers);
+    }
+
     private static final JMSSubsystemParser parsers = JMSSubsystemParser.getInstance();
 
     /** {@inheritDoc} */
@@ -56,19 +70,34 @@ public class JMSExtension implements Extension {
         final ModelNodeRegistration registration = subsystem.registerSubsystemModel(JMSSubsystemProviders.SUBSYSTEM);
         registration.registerOperationHandler(ADD, JMSSubsystemAdd.INSTANCE, JMSSubsystemProviders.SUBSYSTEM_ADD, false);
         registration.registerOperationHandler(DESCRIBE, JMSSubsystemDescribeHandler.INSTANCE, JMSSubsystemProviders.SUBSYSTEM_DESCRIBE, false, OperationEntry.EntryType.PRIVATE);
+        registration.registerOperationHandler(DestinationStatisticsRead.OPERATION_NAME, READ_DESTINATION_STATISTICS, JMSSubsystemProviders.READ_DESTINATION_STATISTICS, false);
         subsystem.registerXMLElementWriter(parsers);
         // Connection factories
         final ModelNodeRegistration cfs = registration.registerSubModel(CFS_PATH, JMSSubsystemProviders.CF);
         cfs.registerOperationHandler(ADD, ConnectionFactoryAdd.INSTANCE, JMSSubsystemProviders.CF_ADD, false);
         cfs.registerOperationHandler(REMOVE, ConnectionFactoryRemove.INSTANCE, JMSSubsystemProviders.CF_REMOVE, false);
+        // Pooled connection factories
+        final ModelNodeRegistration pooledCfs = registration.registerSubModel(POOLED_CFS_PATH, JMSSubsystemProviders.POOLED_CF);
+        pooledCfs.registerOperationHandler(ADD, PooledConnectionFactoryAdd.INSTANCE, JMSSubsystemProviders.POOLED_CF_ADD, false);
+        pooledCfs.registerOperationHandler(REMOVE, PooledConnectionFactoryRemove.INSTANCE, JMSSubsystemProviders.POOLED_CF_REMOVE, false);
+        for (String metric : PooledConnectionFactoryMetrics.ATTRIBUTES) {
+            pooledCfs.registerMetric(metric, PooledConnectionFactoryMetrics.INSTANCE);
+        }
         // Queues
         final ModelNodeRegistration queues = registration.registerSubModel(QUEUE_PATH, JMSSubsystemProviders.JMS_QUEUE);
         queues.registerOperationHandler(ADD, JMSQueueAdd.INSTANCE, JMSSubsystemProviders.JMS_QUEUE_ADD, false);
         queues.registerOperationHandler(REMOVE, JMSQueueRemove.INSTANCE, JMSSubsystemProviders.JMS_QUEUE_REMOVE, false);
+        queues.registerOperationHandler(DestinationControlHandler.LIST_MESSAGES, JMSQueueControlHandler.INSTANCE, JMSSubsystemProviders.JMS_QUEUE_LIST_MESSAGES, false);
+        queues.registerOperationHandler(DestinationControlHandler.REMOVE_MESSAGES, JMSQueueControlHandler.INSTANCE, JMSSubsystemProviders.JMS_QUEUE_REMOVE_MESSAGES, false);
+        queues.registerOperationHandler(DestinationControlHandler.PAUSE, JMSQueueControlHandler.INSTANCE, JMSSubsystemProviders.JMS_QUEUE_PAUSE, false);
+        queues.registerOperationHandler(DestinationControlHandler.RESUME, JMSQueueControlHandler.INSTANCE, JMSSubsystemProviders.JMS_QUEUE_RESUME, false);
+        JMSQueueControlHandler.INSTANCE.registerMetrics(queues);
         // Topics
         final ModelNodeRegistration topics = registration.registerSubModel(TOPIC_PATH, JMSSubsystemProviders.JMS_TOPIC);
         topics.registerOperationHandler(ADD, JMSTopicAdd.INSTANCE, JMSSubsystemProviders.JMS_TOPIC_ADD, false);
         topics.registerOperationHandler(REMOVE, JMSTopicRemove.INSTANCE, JMSSubsystemProviders.JMS_TOPIC_REMOVE, false);
+        topics.registerOperationHandler(DestinationControlHandler.REMOVE_MESSAGES, JMSTopicControlHandler.INSTANCE, JMSSubsystemProviders.JMS_TOPIC_REMOVE_MESSAGES, false);
+        JMSTopicControlHandler.INSTANCE.registerMetrics(topics);
     }
 
     /** {@inheritDoc} */
@@ -26,6 +26,7 @@ import static org.jboss.as.messaging.jms.CommonAttributes.AUTO_GROUP;
 import static org.jboss.as.messaging.jms.CommonAttributes.BLOCK_ON_ACK;
 import static org.jboss.as.messaging.jms.CommonAttributes.BLOCK_ON_DURABLE_SEND;
 import static org.jboss.as.messaging.jms.CommonAttributes.BLOCK_ON_NON_DURABLE_SEND;
+import static org.jboss.as.messaging.jms.CommonAttributes.BLOCKING_TIMEOUT_WAIT_MILLIS;
 import static org.jboss.as.messaging.jms.CommonAttributes.CACHE_LARGE_MESSAGE_CLIENT;
 import static org.jboss.as.messaging.jms.CommonAttributes.CALL_TIMEOUT;
 import static org.jboss.as.messaging.jms.CommonAttributes.CLIENT_FAILURE_CHECK_PERIOD;
@@ -42,8 +43,11 @@ import static org.jboss.as.messaging.jms.CommonAttributes.ENTRIES;
 import static org.jboss.as.messaging.jms.CommonAttributes.FAILOVER_ON_INITIAL_CONNECTION;
 import static org.jboss.as.messaging.jms.CommonAttributes.FAILOVER_ON_SERVER_SHUTDOWN;
 import static org.jboss.as.messaging.jms.CommonAttributes.GROUP_ID;
+import static org.jboss.as.messaging.jms.CommonAttributes.IDLE_TIMEOUT_MINUTES;
+import static org.jboss.as.messaging.jms.CommonAttributes.MAX_POOL_SIZE;
 import static org.jboss.as.messaging.jms.CommonAttributes.MAX_RETRY_INTERVAL;
 import static org.jboss.as.messaging.jms.CommonAttributes.MIN_LARGE_MESSAGE_SIZE;
+import static org.jboss.as.messaging.jms.CommonAttributes.MIN_POOL_SIZE;
 import static org.jboss.as.messaging.jms.CommonAttributes.PRE_ACK;
 import static org.jboss.as.messaging.jms.CommonAttributes.PRODUCER_MAX_RATE;
 import static org.jboss.as.messaging.jms.CommonAttributes.PRODUCER_WINDOW_SIZE;
@@ -69,6 +73,7 @@ class JMSServices {
     public static final ServiceName JMS_QUEUE_BASE = JMS.append("queue");
     public static final ServiceName JMS_TOPIC_BASE = JMS.append("topic");
     public static final ServiceName JMS_CF_BASE = JMS.append("connection-factory");
+    public static final ServiceName JMS_POOLED_CF_BASE = JMS.append("pooled-connection-factory");
 
     static NodeAttribute[] CONNECTION_FACTORY_ATTRS = new NodeAttribute[] {
         //Do these 2 most frequently used ones out of alphabetical order
@@ -106,6 +111,12 @@ class JMSServices {
         new NodeAttribute(TRANSACTION_BATCH_SIZE, ModelType.INT, false),
         new NodeAttribute(USE_GLOBAL_POOLS, ModelType.BOOLEAN, false)};
 
+    static NodeAttribute[] POOL_ATTRS = new NodeAttribute[] {
+        new NodeAttribute(MIN_POOL_SIZE, ModelType.INT, false),
+        new NodeAttribute(MAX_POOL_SIZE, ModelType.INT, false),
+        new NodeAttribute(BLOCKING_TIMEOUT_WAIT_MILLIS, ModelType.LONG, false),
+        new NodeAttribute(IDLE_TIMEOUT_MINUTES, ModelType.LONG, false)};
+
     static class NodeAttribute {
         private final String name;
         private final ModelType type;
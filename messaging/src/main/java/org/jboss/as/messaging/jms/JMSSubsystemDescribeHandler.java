@@ -63,6 +63,13 @@ class JMSSubsystemDescribeHandler implements ModelQueryOperationHandler {
                 result.add(ConnectionFactoryAdd.getAddOperation(address, property.getValue()));
             }
         }
+        if(subModel.hasDefined(CommonAttributes.POOLED_CONNECTION_FACTORY)) {
+            for(final Property property : subModel.get(CommonAttributes.POOLED_CONNECTION_FACTORY).asPropertyList()) {
+                final ModelNode address = rootAddress.toModelNode();
+                address.add(CommonAttributes.POOLED_CONNECTION_FACTORY, property.getName());
+                result.add(PooledConnectionFactoryAdd.getAddOperation(address, property.getValue()));
+            }
+        }
         if(subModel.hasDefined(CommonAttributes.QUEUE)) {
             for(final Property property : subModel.get(CommonAttributes.QUEUE).asPropertyList()) {
                 final ModelNode address = rootAddress.toModelNode();
@@ -32,6 +32,7 @@ import static org.jboss.as.messaging.jms.CommonAttributes.CONNECTOR_BACKUP_NAME;
 import static org.jboss.as.messaging.jms.CommonAttributes.DISCOVERY_GROUP_REF;
 import static org.jboss.as.messaging.jms.CommonAttributes.DURABLE;
 import static org.jboss.as.messaging.jms.CommonAttributes.ENTRIES;
+import static org.jboss.as.messaging.jms.CommonAttributes.POOLED_CONNECTION_FACTORY;
 import static org.jboss.as.messaging.jms.CommonAttributes.QUEUE;
 import static org.jboss.as.messaging.jms.CommonAttributes.SELECTOR;
 import static org.jboss.as.messaging.jms.CommonAttributes.TOPIC;
@@ -86,6 +87,9 @@ public class JMSSubsystemParser implements XMLStreamConstants, XMLElementReader<
                 case CONNECTION_FACTORY: {
                     processConnectionFactory(reader, address, updates);
                     break;
+                } case POOLED_CONNECTION_FACTORY: {
+                    processPooledConnectionFactory(reader, address, updates);
+                    break;
                 } case QUEUE: {
                     processJMSQueue(reader, address, updates);
                     break;
@@ -167,6 +171,14 @@ public class JMSSubsystemParser implements XMLStreamConstants, XMLElementReader<
     }
 
     static void processConnectionFactory(final XMLExtendedStreamReader reader, final ModelNode address, final List<ModelNode> updates) throws XMLStreamException {
+        processConnectionFactory(reader, address, CONNECTION_FACTORY, updates);
+    }
+
+    static void processPooledConnectionFactory(final XMLExtendedStreamReader reader, final ModelNode address, final List<ModelNode> updates) throws XMLStreamException {
+        processConnectionFactory(reader, address, POOLED_CONNECTION_FACTORY, updates);
+    }
+
+    private static void processConnectionFactory(final XMLExtendedStreamReader reader, final ModelNode address, final String type, final List<ModelNode> updates) throws XMLStreamException {
         final String name = reader.getAttributeValue(0);
         if(name == null) {
             ParseUtils.missingRequired(reader, Collections.singleton("name"));
@@ -174,7 +186,7 @@ public class JMSSubsystemParser implements XMLStreamConstants, XMLElementReader<
 
         final ModelNode connectionFactory = new ModelNode();
         connectionFactory.get(OP).set(ADD);
-        connectionFactory.get(OP_ADDR).set(address).add(CONNECTION_FACTORY, name);
+        connectionFactory.get(OP_ADDR).set(address).add(type, name);
 
         while(reader.hasNext() && reader.nextTag() != END_ELEMENT) {
             final Element element = Element.forName(reader.getLocalName());
@@ -233,6 +245,15 @@ public class JMSSubsystemParser implements XMLStreamConstants, XMLElementReader<
                 case GROUP_ID:
                     parseElementText(reader, element, connectionFactory);
                     break;
+                case MIN_POOL_SIZE:
+                case MAX_POOL_SIZE:
+                case BLOCKING_TIMEOUT_WAIT_MILLIS:
+                case IDLE_TIMEOUT_MINUTES:
+                    if (!POOLED_CONNECTION_FACTORY.equals(type)) {
+                        throw ParseUtils.unexpectedElement(reader);
+                    }
+                    parseElementText(reader, element, connectionFactory);
+                    break;
                 default: {
                     throw ParseUtils.unexpectedElement(reader);
                 }
@@ -294,6 +315,9 @@ public class JMSSubsystemParser implements XMLStreamConstants, XMLElementReader<
         if (node.has(CONNECTION_FACTORY)) {
             writeConnectionFactories(writer, node.get(CONNECTION_FACTORY));
         }
+        if (node.has(POOLED_CONNECTION_FACTORY)) {
+            writePooledConnectionFactories(writer, node.get(POOLED_CONNECTION_FACTORY));
+        }
         if (node.has(QUEUE)) {
             writeQueues(writer, node.get(QUEUE));
         }
@@ -310,134 +334,164 @@ public class JMSSubsystemParser implements XMLStreamConstants, XMLElementReader<
             if (factory.isDefined()) {
                 writer.writeStartElement(Element.CONNECTION_FACTORY.getLocalName());
                 writer.writeAttribute(Attribute.NAME.getLocalName(), name);
+                writeConnectionFactoryContent(writer, factory);
+                writer.writeEndElement();
+            }
+        }
+    }
 
-                if (has(factory, CommonAttributes.DISCOVERY_GROUP_REF)) {
-                    writer.writeStartElement(Element.DISCOVERY_GROUP_REF.getLocalName());
-                    writeAttribute(writer, Attribute.DISCOVERY_GROUP_NAME, factory.get(DISCOVERY_GROUP_REF));
-                    writer.writeEndElement();
+    private void writePooledConnectionFactories(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
+        for (Property prop : node.asPropertyList()) {
+            final String name = prop.getName();
+            final ModelNode factory = prop.getValue();
+            if (factory.isDefined()) {
+                writer.writeStartElement(Element.POOLED_CONNECTION_FACTORY.getLocalName());
+                writer.writeAttribute(Attribute.NAME.getLocalName(), name);
+                writeConnectionFactoryContent(writer, factory);
+                if (has(factory, CommonAttributes.MIN_POOL_SIZE)) {
+                    writeSimpleElement(writer, Element.MIN_POOL_SIZE, factory);
                 }
-                if (has(factory, CONNECTOR)) {
-                    writer.writeStartElement(Element.CONNECTORS.getLocalName());
-                    for (Property connProp : factory.get(CONNECTOR).asPropertyList()) {
-                        final ModelNode conn = connProp.getValue();
-                        if (conn.isDefined()) {
-                            writer.writeStartElement(Element.CONNECTOR_REF.getLocalName());
-                            writer.writeAttribute(Attribute.CONNECTOR_NAME.getLocalName(), connProp.getName());
-                            if (has(conn, CONNECTOR_BACKUP_NAME)) {
-                                writeAttribute(writer, Attribute.CONNECTOR_BACKUP_NAME, conn.get(CONNECTOR_BACKUP_NAME));
-                            }
-                            writer.writeEndElement();
-                        }
+                if (has(factory, CommonAttributes.MAX_POOL_SIZE)) {
+                    writeSimpleElement(writer, Element.MAX_POOL_SIZE, factory);
+                }
+                if (has(factory, CommonAttributes.BLOCKING_TIMEOUT_WAIT_MILLIS)) {
+                    writeSimpleElement(writer, Element.BLOCKING_TIMEOUT_WAIT_MILLIS, factory);
+                }
+                if (has(factory, CommonAttributes.IDLE_TIMEOUT_MINUTES)) {
+                    writeSimpleElement(writer, Element.IDLE_TIMEOUT_MINUTES, factory);
+                }
+                writer.writeEndElement();
+            }
+        }
+    }
+
+    private void writeConnectionFactoryContent(final XMLExtendedStreamWriter writer, final ModelNode factory) throws XMLStreamException {
+        if (has(factory, CommonAttributes.DISCOVERY_GROUP_REF)) {
+            writer.writeStartElement(Element.DISCOVERY_GROUP_REF.getLocalName());
+            writeAttribute(writer, Attribute.DISCOVERY_GROUP_NAME, factory.get(DISCOVERY_GROUP_REF));
+            writer.writeEndElement();
+        }
+        if (has(factory, CONNECTOR)) {
+            writer.writeStartElement(Element.CONNECTORS.getLocalName());
+            for (Property connProp : factory.get(CONNECTOR).asPropertyList()) {
+                final ModelNode conn = connProp.getValue();
+                if (conn.isDefined()) {
+                    writer.writeStartElement(Element.CONNECTOR_REF.getLocalName());
+                    writer.writeAttribute(Attribute.CONNECTOR_NAME.getLocalName(), connProp.getName());
+                    if (has(conn, CONNECTOR_BACKUP_NAME)) {
+                        writeAttribute(writer, Attribute.CONNECTOR_BACKUP_NAME, conn.get(CONNECTOR_BACKUP_NAME));
                     }
                     writer.writeEndElement();
                 }
-                if (has(factory, ENTRIES)) {
-                    final ModelNode entries = factory.get(ENTRIES);
-                    if (entries.getType() == ModelType.LIST) {
-                        writer.writeStartElement(Element.ENTRIES.getLocalName());
-                        for (ModelNode entry : entries.asList()) {
-                            if (entry.isDefined()) {
-                                writer.writeStartElement(Element.ENTRY.getLocalName());
-                                writeAttribute(writer, Attribute.NAME, entry);
-                                writer.writeEndElement();
-                            }
-                        }
+            }
+            writer.writeEndElement();
+        }
+        if (has(factory, ENTRIES)) {
+            final ModelNode entries = factory.get(ENTRIES);
+            if (entries.getType() == ModelType.LIST) {
+                writer.writeStartElement(Element.ENTRIES.getLocalName());
+                for (ModelNode entry : entries.asList()) {
+                    if (entry.isDefined()) {
+                        writer.writeStartElement(Element.ENTRY.getLocalName());
+                        writeAttribute(writer, Attribute.NAME, entry);
                         writer.writeEndElement();
                     }
                 }
-                //ENTRIES
-
-                if (has(factory, CommonAttributes.DISCOVERY_INITIAL_WAIT_TIMEOUT)){
-                    writeSimpleElement(writer, Element.DISCOVERY_INITIAL_WAIT_TIMEOUT, node);
-                }
-                if (has(factory, CommonAttributes.CLIENT_FAILURE_CHECK_PERIOD)){
-                    writeSimpleElement(writer, Element.DISCOVERY_INITIAL_WAIT_TIMEOUT, node);
-                }
-                if (has(factory, CommonAttributes.CONNECTION_TTL)){
-                    writeSimpleElement(writer, Element.CONNECTION_TTL, node);
-                }
-                if (has(factory, CommonAttributes.CALL_TIMEOUT)){
-                    writeSimpleElement(writer, Element.CALL_TIMEOUT, node);
-                }
-                if (has(factory, CommonAttributes.CONSUMER_WINDOW_SIZE)){
-                    writeSimpleElement(writer, Element.CONSUMER_WINDOW_SIZE, node);
-                }
-                if (has(factory, CommonAttributes.CONSUMER_MAX_RATE)){
-                    writeSimpleElement(writer, Element.CONSUMER_MAX_RATE, node);
-                }
-                if (has(factory, CommonAttributes.CONFIRMATION_WINDOW_SIZE)){
-                    writeSimpleElement(writer, Element.CONFIRMATION_WINDOW_SIZE, node);
-                }
-                if (has(factory, CommonAttributes.PRODUCER_WINDOW_SIZE)){
-                    writeSimpleElement(writer, Element.PRODUCER_WINDOW_SIZE, node);
-                }
-                if (has(factory, CommonAttributes.PRODUCER_MAX_RATE)){
-                    writeSimpleElement(writer, Element.PRODUCER_MAX_RATE, node);
-                }
-                if (has(factory, CommonAttributes.CACHE_LARGE_MESSAGE_CLIENT)){
-                    writeSimpleElement(writer, Element.CACHE_LARGE_MESSAGE_CLIENT, node);
-                }
-                if (has(factory, CommonAttributes.MIN_LARGE_MESSAGE_SIZE)){
-                    writeSimpleElement(writer, Element.MIN_LARGE_MESSAGE_SIZE, node);
-                }
-                if (has(factory, CommonAttributes.CLIENT_ID)){
-                    writeSimpleElement(writer, Element.CLIENT_ID, node);
-                }
-                if (has(factory, CommonAttributes.DUPS_OK_BATCH_SIZE)){
-                    writeSimpleElement(writer, Element.DUPS_OK_BATCH_SIZE, node);
-                }
-                if (has(factory, CommonAttributes.TRANSACTION_BATCH_SIZE)){
-                    writeSimpleElement(writer, Element.TRANSACTION_BATH_SIZE, node);
-                }
-                if (has(factory, CommonAttributes.BLOCK_ON_ACK)){
-                    writeSimpleElement(writer, Element.BLOCK_ON_ACK, node);
-                }
-                if (has(factory, CommonAttributes.BLOCK_ON_NON_DURABLE_SEND)){
-                    writeSimpleElement(writer, Element.BLOCK_ON_NON_DURABLE_SEND, node);
-                }
-                if (has(factory, CommonAttributes.BLOCK_ON_DURABLE_SEND)){
-                    writeSimpleElement(writer, Element.BLOCK_ON_DURABLE_SEND, node);
-                }
-                if (has(factory, CommonAttributes.AUTO_GROUP)){
-                    writeSimpleElement(writer, Element.AUTO_GROUP, node);
-                }
-                if (has(factory, CommonAttributes.PRE_ACK)){
-                    writeSimpleElement(writer, Element.PRE_ACK, node);
-                }
-                if (has(factory, CommonAttributes.RETRY_INTERVAL_MULTIPLIER)){
-                    writeSimpleElement(writer, Element.RETRY_INTERVAL_MULTIPLIER, node);
-                }
-                if (has(factory, CommonAttributes.MAX_RETRY_INTERVAL)){
-                    writeSimpleElement(writer, Element.MAX_RETRY_INTERVAL, node);
-                }
-                if (has(factory, CommonAttributes.RECONNECT_ATTEMPTS)){
-                    writeSimpleElement(writer, Element.RECONNECT_ATTEMPTS, node);
-                }
-                if (has(factory, CommonAttributes.FAILOVER_ON_INITIAL_CONNECTION)){
-                    writeSimpleElement(writer, Element.FAILOVER_ON_INITIAL_CONNECTION, node);
-                }
-                if (has(factory, CommonAttributes.FAILOVER_ON_SERVER_SHUTDOWN)){
-                    writeSimpleElement(writer, Element.FAILOVER_ON_SERVER_SHUTDOWN, node);
-                }
-                if (has(factory, CommonAttributes.LOAD_BALANCING_CLASS_NAME)){
-                    writeSimpleElement(writer, Element.LOAD_BALANCING_CLASS_NAME, node);
-                }
-                if (has(factory, CommonAttributes.USE_GLOBAL_POOLS)){
-                    writeSimpleElement(writer, Element.USE_GLOBAL_POOLS, node);
-                }
-                if (has(factory, CommonAttributes.SCHEDULED_THREAD_POOL_MAX_SIZE)){
-                    writeSimpleElement(writer, Element.SCHEDULED_THREAD_POOL_MAX_SIZE, node);
-                }
-                if (has(factory, CommonAttributes.THREAD_POOL_MAX_SIZE)){
-                    writeSimpleElement(writer, Element.THREAD_POOL_MAX_SIZE, node);
-                }
-                if (has(factory, CommonAttributes.GROUP_ID)){
-                    writeSimpleElement(writer, Element.GROUP_ID, node);
-                }
-
                 writer.writeEndElement();
             }
         }
+        //ENTRIES
+
+        if (has(factory, CommonAttributes.DISCOVERY_INITIAL_WAIT_TIMEOUT)){
+            writeSimpleElement(writer, Element.DISCOVERY_INITIAL_WAIT_TIMEOUT, factory);
+        }
+        if (has(factory, CommonAttributes.CLIENT_FAILURE_CHECK_PERIOD)){
+            writeSimpleElement(writer, Element.CLIENT_FAILURE_CHECK_PERIOD, factory);
+        }
+        if (has(factory, CommonAttributes.CONNECTION_TTL)){
+            writeSimpleElement(writer, Element.CONNECTION_TTL, factory);
+        }
+        if (has(factory, CommonAttributes.CALL_TIMEOUT)){
+            writeSimpleElement(writer, Element.CALL_TIMEOUT, factory);
+        }
+        if (has(factory, CommonAttributes.CONSUMER_WINDOW_SIZE)){
+            writeSimpleElement(writer, Element.CONSUMER_WINDOW_SIZE, factory);
+        }
+        if (has(factory, CommonAttributes.CONSUMER_MAX_RATE)){
+            writeSimpleElement(writer, Element.CONSUMER_MAX_RATE, factory);
+        }
+        if (has(factory, CommonAttributes.CONFIRMATION_WINDOW_SIZE)){
+            writeSimpleElement(writer, Element.CONFIRMATION_WINDOW_SIZE, factory);
+        }
+        if (has(factory, CommonAttributes.PRODUCER_WINDOW_SIZE)){
+            writeSimpleElement(writer, Element.PRODUCER_WINDOW_SIZE, factory);
+        }
+        if (has(factory, CommonAttributes.PRODUCER_MAX_RATE)){
+            writeSimpleElement(writer, Element.PRODUCER_MAX_RATE, factory);
+        }
+        if (has(factory, CommonAttributes.CACHE_LARGE_MESSAGE_CLIENT)){
+            writeSimpleElement(writer, Element.CACHE_LARGE_MESSAGE_CLIENT, factory);
+        }
+        if (has(factory, CommonAttributes.MIN_LARGE_MESSAGE_SIZE)){
+            writeSimpleElement(writer, Element.MIN_LARGE_MESSAGE_SIZE, factory);
+        }
+        if (has(factory, CommonAttributes.CLIENT_ID)){
+            writeSimpleElement(writer, Element.CLIENT_ID, factory);
+        }
+        if (has(factory, CommonAttributes.DUPS_OK_BATCH_SIZE)){
+            writeSimpleElement(writer, Element.DUPS_OK_BATCH_SIZE, factory);
+        }
+        if (has(factory, CommonAttributes.TRANSACTION_BATCH_SIZE)){
+            writeSimpleElement(writer, Element.TRANSACTION_BATH_SIZE, factory);
+        }
+        if (has(factory, CommonAttributes.BLOCK_ON_ACK)){
+            writeSimpleElement(writer, Element.BLOCK_ON_ACK, factory);
+        }
+        if (has(factory, CommonAttributes.BLOCK_ON_NON_DURABLE_SEND)){
+            writeSimpleElement(writer, Element.BLOCK_ON_NON_DURABLE_SEND, factory);
+        }
+        if (has(factory, CommonAttributes.BLOCK_ON_DURABLE_SEND)){
+            writeSimpleElement(writer, Element.BLOCK_ON_DURABLE_SEND, factory);
+        }
+        if (has(factory, CommonAttributes.AUTO_GROUP)){
+            writeSimpleElement(writer, Element.AUTO_GROUP, factory);
+        }
+        if (has(factory, CommonAttributes.PRE_ACK)){
+            writeSimpleElement(writer, Element.PRE_ACK, factory);
+        }
+        if (has(factory, CommonAttributes.RETRY_INTERVAL)){
+            writeSimpleElement(writer, Element.RETRY_INTERVAL, factory);
+        }
+        if (has(factory, CommonAttributes.RETRY_INTERVAL_MULTIPLIER)){
+            writeSimpleElement(writer, Element.RETRY_INTERVAL_MULTIPLIER, factory);
+        }
+        if (has(factory, CommonAttributes.MAX_RETRY_INTERVAL)){
+            writeSimpleElement(writer, Element.MAX_RETRY_INTERVAL, factory);
+        }
+        if (has(factory, CommonAttributes.RECONNECT_ATTEMPTS)){
+            writeSimpleElement(writer, Element.RECONNECT_ATTEMPTS, factory);
+        }
+        if (has(factory, CommonAttributes.FAILOVER_ON_INITIAL_CONNECTION)){
+            writeSimpleElement(writer, Element.FAILOVER_ON_INITIAL_CONNECTION, factory);
+        }
+        if (has(factory, CommonAttributes.FAILOVER_ON_SERVER_SHUTDOWN)){
+            writeSimpleElement(writer, Element.FAILOVER_ON_SERVER_SHUTDOWN, factory);
+        }
+        if (has(factory, CommonAttributes.LOAD_BALANCING_CLASS_NAME)){
+            writeSimpleElement(writer, Element.LOAD_BALANCING_CLASS_NAME, factory);
+        }
+        if (has(factory, CommonAttributes.USE_GLOBAL_POOLS)){
+            writeSimpleElement(writer, Element.USE_GLOBAL_POOLS, factory);
+        }
+        if (has(factory, CommonAttributes.SCHEDULED_THREAD_POOL_MAX_SIZE)){
+            writeSimpleElement(writer, Element.SCHEDULED_THREAD_POOL_MAX_SIZE, factory);
+        }
+        if (has(factory, CommonAttributes.THREAD_POOL_MAX_SIZE)){
+            writeSimpleElement(writer, Element.THREAD_POOL_MAX_SIZE, factory);
+        }
+        if (has(factory, CommonAttributes.GROUP_ID)){
+            writeSimpleElement(writer, Element.GROUP_ID, factory);
+        }
     }
 
     private void writeQueues(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
@@ -117,4 +117,67 @@ public class JMSSubsystemProviders {
             return JMSDescriptions.getTopicRemove(locale);
         }
     };
+
+    static final DescriptionProvider JMS_QUEUE_LIST_MESSAGES = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getQueueListMessages(locale);
+        }
+    };
+
+    static final DescriptionProvider JMS_QUEUE_REMOVE_MESSAGES = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getQueueRemoveMessages(locale);
+        }
+    };
+
+    static final DescriptionProvider JMS_QUEUE_PAUSE = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getQueuePause(locale);
+        }
+    };
+
+    static final DescriptionProvider JMS_QUEUE_RESUME = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getQueueResume(locale);
+        }
+    };
+
+    static final DescriptionProvider JMS_TOPIC_REMOVE_MESSAGES = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getTopicRemoveMessages(locale);
+        }
+    };
+
+    static final DescriptionProvider READ_DESTINATION_STATISTICS = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getReadDestinationStatistics(locale);
+        }
+    };
+
+    static final DescriptionProvider POOLED_CF = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getPooledConnectionFactory(locale);
+        }
+    };
+
+    static final DescriptionProvider POOLED_CF_ADD = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getPooledConnectionFactoryAdd(locale);
+        }
+    };
+
+    static final DescriptionProvider POOLED_CF_REMOVE = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return JMSDescriptions.getPooledConnectionFactoryRemove(locale);
+        }
+    };
 }
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.jms;
+
+import org.hornetq.api.core.management.ResourceNames;
+import org.hornetq.api.jms.management.TopicControl;
+import org.jboss.as.messaging.DestinationControlHandler;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Runtime metrics and operations of a JMS topic.
+ */
+class JMSTopicControlHandler extends DestinationControlHandler<TopicControl> {
+
+    static final JMSTopicControlHandler INSTANCE = new JMSTopicControlHandler();
+
+    static final String SUBSCRIPTION_COUNT = "subscription-count";
+    static final String DURABLE_SUBSCRIPTION_COUNT = "durable-subscription-count";
+    static final String NON_DURABLE_SUBSCRIPTION_COUNT = "non-durable-subscription-count";
+    static final String DURABLE_MESSAGE_COUNT = "durable-message-count";
+    static final String NON_DURABLE_MESSAGE_COUNT = "non-durable-message-count";
+
+    static final String[] METRICS = { MESSAGE_COUNT, DELIVERING_COUNT, MESSAGES_ADDED, SUBSCRIPTION_COUNT,
+        DURABLE_SUBSCRIPTION_COUNT, NON_DURABLE_SUBSCRIPTION_COUNT, DURABLE_MESSAGE_COUNT, NON_DURABLE_MESSAGE_COUNT };
+
+    private JMSTopicControlHandler() {
+        super(ResourceNames.JMS_TOPIC, TopicControl.class);
+    }
+
+    @Override
+    public String[] getMetrics() {
+        return METRICS;
+    }
+
+    @Override
+    protected String getName(final TopicControl control) {
+        return control.getName();
+    }
+
+    @Override
+    protected ModelNode readMetric(final TopicControl control, final String metric) throws Exception {
+        final ModelNode result = new ModelNode();
+        if (MESSAGE_COUNT.equals(metric)) {
+            result.set(control.getMessageCount());
+        } else if (DELIVERING_COUNT.equals(metric)) {
+            result.set(control.getDeliveringCount());
+        } else if (MESSAGES_ADDED.equals(metric)) {
+            result.set(control.getMessagesAdded());
+        } else if (SUBSCRIPTION_COUNT.equals(metric)) {
+            result.set(control.getSubscriptionCount());
+        } else if (DURABLE_SUBSCRIPTION_COUNT.equals(metric)) {
+            result.set(control.getDurableSubscriptionCount());
+        } else if (NON_DURABLE_SUBSCRIPTION_COUNT.equals(metric)) {
+            result.set(control.getNonDurableSubscriptionCount());
+        } else if (DURABLE_MESSAGE_COUNT.equals(metric)) {
+            result.set(control.getDurableMessageCount());
+        } else if (NON_DURABLE_MESSAGE_COUNT.equals(metric)) {
+            result.set(control.getNonDurableMessageCount());
+        } else {
+            throw new IllegalArgumentException("unknown metric " + metric);
+        }
+        return result;
+    }
+
+    @Override
+    protected ModelNode invokeOperation(final TopicControl control, final String operationName, final ModelNode operation) throws Exception {
+        final ModelNode result = new ModelNode();
+        if (REMOVE_MESSAGES.equals(operationName)) {
+            result.set(control.removeMessages(getFilter(operation)));
+        } else {
+            throw new IllegalArgumentException("unknown operation " + operationName);
+        }
+        return result;
+    }
+}
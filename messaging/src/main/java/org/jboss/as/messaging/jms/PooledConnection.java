@@ -0,0 +1,288 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.jms;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.jms.Connection;
+import javax.jms.ExceptionListener;
+import javax.jms.JMSException;
+import javax.jms.QueueConnection;
+import javax.jms.Session;
+import javax.jms.TemporaryQueue;
+import javax.jms.TemporaryTopic;
+import javax.jms.TopicConnection;
+import javax.jms.TransactionInProgressException;
+import javax.jms.XAConnection;
+import javax.jms.XASession;
+import javax.transaction.RollbackException;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A physical connection owned by a {@link PooledConnectionFactory}. Applications only ever see handles created by
+ * {@link #createHandle()}, which return the connection to the pool when they are closed.
+ * <p>
+ * Temporary queues and topics live as long as the physical connection, so those created through a handle are deleted
+ * when the handle is closed. If one cannot be deleted, the physical connection is discarded instead of being pooled.
+ * </p>
+ */
+final class PooledConnection {
+
+    private static final Logger log = Logger.getLogger("org.jboss.messaging");
+
+    private static final Class<?>[] HANDLE_INTERFACES = { QueueConnection.class, TopicConnection.class };
+
+    private final PooledConnectionFactory pool;
+    private final Connection connection;
+    private volatile boolean broken;
+    private volatile long lastUsed;
+
+    PooledConnection(final PooledConnectionFactory pool, final Connection connection) throws JMSException {
+        this.pool = pool;
+        this.connection = connection;
+        connection.setExceptionListener(new ExceptionListener() {
+            public void onException(final JMSException exception) {
+                broken = true;
+            }
+        });
+    }
+
+    Connection getPhysicalConnection() {
+        return connection;
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    void setLastUsed(final long lastUsed) {
+        this.lastUsed = lastUsed;
+    }
+
+    Connection createHandle() {
+        return (Connection) Proxy.newProxyInstance(PooledConnection.class.getClassLoader(), HANDLE_INTERFACES,
+                new ConnectionHandle());
+    }
+
+    private static Class<?>[] getInterfaces(Class<?> type) {
+        final Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (; type != null; type = type.getSuperclass()) {
+            for (Class<?> iface : type.getInterfaces()) {
+                interfaces.add(iface);
+            }
+        }
+        return interfaces.toArray(new Class<?>[interfaces.size()]);
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void closeQuietly(final Session session) {
+        try {
+            session.close();
+        } catch (Exception e) {
+            log.debugf(e, "Failed to close session %s", session);
+        }
+    }
+
+    private static Session createSessionHandle(final ConnectionHandle owner, final Session session, final boolean enlisted) {
+        return (Session) Proxy.newProxyInstance(PooledConnection.class.getClassLoader(), getInterfaces(session.getClass()),
+                new SessionHandle(owner, session, enlisted));
+    }
+
+    /**
+     * The application's view of the pooled connection.
+     */
+    private class ConnectionHandle implements InvocationHandler {
+
+        // guarded by this
+        private final List<Session> sessions = new ArrayList<Session>();
+        // guarded by this
+        private final List<Object> temporaryDestinations = new ArrayList<Object>();
+        private boolean closed;
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                if ("equals".equals(name)) {
+                    return Boolean.valueOf(proxy == args[0]);
+                } else if ("hashCode".equals(name)) {
+                    return Integer.valueOf(System.identityHashCode(proxy));
+                } else if ("toString".equals(name)) {
+                    return "pooled connection handle for " + connection;
+                }
+                return PooledConnection.invoke(this, method, args);
+            }
+            if ("close".equals(name)) {
+                close();
+                return null;
+            }
+            synchronized (this) {
+                if (closed) {
+                    throw new javax.jms.IllegalStateException("The connection is closed");
+                }
+            }
+            if (("createSession".equals(name) || "createQueueSession".equals(name) || "createTopicSession".equals(name))
+                    && args != null && args.length == 2) {
+                return createSession(((Boolean) args[0]).booleanValue(), ((Integer) args[1]).intValue());
+            }
+            if ("setClientID".equals(name) || "setExceptionListener".equals(name)) {
+                throw new javax.jms.IllegalStateException(name + " is not allowed on a pooled connection");
+            }
+            return PooledConnection.invoke(connection, method, args);
+        }
+
+        private Session createSession(final boolean transacted, final int acknowledgeMode) throws JMSException {
+            final Transaction transaction = pool.getActiveTransaction();
+            if (transaction != null && connection instanceof XAConnection) {
+                return createEnlistedSession(transaction);
+            }
+            final Session session = connection.createSession(transacted, acknowledgeMode);
+            synchronized (this) {
+                sessions.add(session);
+            }
+            return createSessionHandle(this, session, false);
+        }
+
+        private Session createEnlistedSession(final Transaction transaction) throws JMSException {
+            final XASession xaSession = ((XAConnection) connection).createXASession();
+            try {
+                transaction.registerSynchronization(new Synchronization() {
+                    public void beforeCompletion() {
+                    }
+
+                    public void afterCompletion(final int status) {
+                        closeQuietly(xaSession);
+                    }
+                });
+                transaction.enlistResource(xaSession.getXAResource());
+            } catch (RollbackException e) {
+                closeQuietly(xaSession);
+                throw PooledConnectionFactory.createException("The transaction is marked for rollback", e);
+            } catch (SystemException e) {
+                closeQuietly(xaSession);
+                throw PooledConnectionFactory.createException("Failed to enlist the session in the transaction", e);
+            }
+            pool.sessionEnlisted();
+            return createSessionHandle(this, xaSession.getSession(), true);
+        }
+
+        synchronized void temporaryDestinationCreated(final Object destination) {
+            temporaryDestinations.add(destination);
+        }
+
+        private void close() throws JMSException {
+            final List<Session> open;
+            final List<Object> temporary;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                open = new ArrayList<Session>(sessions);
+                sessions.clear();
+                temporary = new ArrayList<Object>(temporaryDestinations);
+                temporaryDestinations.clear();
+            }
+            for (Session session : open) {
+                closeQuietly(session);
+            }
+            for (Object destination : temporary) {
+                try {
+                    if (destination instanceof TemporaryQueue) {
+                        ((TemporaryQueue) destination).delete();
+                    } else {
+                        ((TemporaryTopic) destination).delete();
+                    }
+                } catch (Exception e) {
+                    // Still in use, e.g. by a session waiting for its transaction; closing the connection removes it
+                    log.debugf(e, "Failed to delete temporary destination %s", destination);
+                    broken = true;
+                }
+            }
+            try {
+                connection.stop();
+            } catch (Exception e) {
+                broken = true;
+            }
+            pool.returnConnection(PooledConnection.this);
+        }
+    }
+
+    /**
+     * The application's view of a session, recording the temporary destinations it creates. A session enlisted in a
+     * transaction is closed when the transaction completes, and cannot be committed or rolled back directly.
+     */
+    private static class SessionHandle implements InvocationHandler {
+
+        private final ConnectionHandle owner;
+        private final Session session;
+        private final boolean enlisted;
+
+        SessionHandle(final ConnectionHandle owner, final Session session, final boolean enlisted) {
+            this.owner = owner;
+            this.session = session;
+            this.enlisted = enlisted;
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                if ("equals".equals(name)) {
+                    return Boolean.valueOf(proxy == args[0]);
+                } else if ("hashCode".equals(name)) {
+                    return Integer.valueOf(System.identityHashCode(proxy));
+                }
+            } else if (enlisted && "close".equals(name)) {
+                return null;
+            } else if (enlisted && ("commit".equals(name) || "rollback".equals(name))) {
+                throw new TransactionInProgressException(name + " is not allowed on a session enlisted in a transaction");
+            }
+            final Object result = PooledConnection.invoke(session, method, args);
+            if ("createTemporaryQueue".equals(name) || "createTemporaryTopic".equals(name)) {
+                owner.temporaryDestinationCreated(result);
+            }
+            return result;
+        }
+    }
+}
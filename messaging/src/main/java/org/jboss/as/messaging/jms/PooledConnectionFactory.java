@@ -0,0 +1,330 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.jms;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.QueueConnection;
+import javax.jms.QueueConnectionFactory;
+import javax.jms.TopicConnection;
+import javax.jms.TopicConnectionFactory;
+import javax.jms.XAConnectionFactory;
+import javax.transaction.Status;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link ConnectionFactory} which hands out connections from a bounded pool of physical HornetQ connections.
+ * <p>
+ * Closing a connection obtained from this factory closes its sessions and returns the physical connection to
+ * the pool. Sessions created while a JTA transaction is active are enlisted in that transaction and stay open
+ * until it completes. Idle connections beyond {@code min-pool-size} are discarded once they have been idle for
+ * longer than the idle timeout; this check runs whenever a connection is returned, so no reaper thread is needed.
+ * </p>
+ * <p>
+ * Connections requested with explicit credentials are not pooled and are not enlisted.
+ * </p>
+ */
+class PooledConnectionFactory implements ConnectionFactory, QueueConnectionFactory, TopicConnectionFactory {
+
+    private static final Logger log = Logger.getLogger("org.jboss.messaging");
+
+    private final String name;
+    private final ConnectionFactory delegate;
+    private final TransactionManager transactionManager;
+    private final int minPoolSize;
+    private final long blockingTimeout;
+    private final long idleTimeout;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<PooledConnection>();
+    private volatile boolean closed;
+
+    private final AtomicInteger inUseCount = new AtomicInteger();
+    private final AtomicInteger maxUsedCount = new AtomicInteger();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+    private final AtomicLong enlistedSessionCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong totalBlockingTime = new AtomicLong();
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the name of the pooled connection factory
+     * @param delegate the factory creating the physical connections
+     * @param transactionManager the transaction manager, or {@code null} to disable enlistment
+     * @param minPoolSize the number of idle connections which are never discarded for being idle
+     * @param maxPoolSize the maximum number of connections in use at the same time
+     * @param blockingTimeout the time in milliseconds to wait for a connection when the pool is exhausted
+     * @param idleTimeout the time in milliseconds after which an idle connection is discarded, {@code 0} to keep them
+     */
+    PooledConnectionFactory(final String name, final ConnectionFactory delegate, final TransactionManager transactionManager,
+            final int minPoolSize, final int maxPoolSize, final long blockingTimeout, final long idleTimeout) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate is null");
+        }
+        if (maxPoolSize < 1) {
+            throw new IllegalArgumentException("max-pool-size must be at least 1");
+        }
+        if (minPoolSize < 0 || minPoolSize > maxPoolSize) {
+            throw new IllegalArgumentException("min-pool-size must be between 0 and max-pool-size");
+        }
+        this.name = name;
+        this.delegate = delegate;
+        this.transactionManager = transactionManager;
+        this.minPoolSize = minPoolSize;
+        this.blockingTimeout = blockingTimeout;
+        this.idleTimeout = idleTimeout;
+        this.permits = new Semaphore(maxPoolSize, true);
+    }
+
+    /** {@inheritDoc} */
+    public Connection createConnection() throws JMSException {
+        return getConnection();
+    }
+
+    /** {@inheritDoc} */
+    public Connection createConnection(final String userName, final String password) throws JMSException {
+        return delegate.createConnection(userName, password);
+    }
+
+    /** {@inheritDoc} */
+    public QueueConnection createQueueConnection() throws JMSException {
+        return (QueueConnection) getConnection();
+    }
+
+    /** {@inheritDoc} */
+    public QueueConnection createQueueConnection(final String userName, final String password) throws JMSException {
+        return ((QueueConnectionFactory) delegate).createQueueConnection(userName, password);
+    }
+
+    /** {@inheritDoc} */
+    public TopicConnection createTopicConnection() throws JMSException {
+        return (TopicConnection) getConnection();
+    }
+
+    /** {@inheritDoc} */
+    public TopicConnection createTopicConnection(final String userName, final String password) throws JMSException {
+        return ((TopicConnectionFactory) delegate).createTopicConnection(userName, password);
+    }
+
+    private Connection getConnection() throws JMSException {
+        if (closed) {
+            throw new javax.jms.IllegalStateException("pooled-connection-factory " + name + " is closed");
+        }
+        requestCount.incrementAndGet();
+        final long start = System.nanoTime();
+        final boolean acquired;
+        try {
+            acquired = permits.tryAcquire(blockingTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw createException("Interrupted waiting for a connection from pooled-connection-factory " + name, e);
+        } finally {
+            totalBlockingTime.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        if (!acquired) {
+            timedOutCount.incrementAndGet();
+            throw new JMSException("No connection available from pooled-connection-factory " + name + " within "
+                    + blockingTimeout + "ms");
+        }
+        boolean ok = false;
+        try {
+            PooledConnection connection = takeIdle();
+            if (connection == null) {
+                connection = create();
+            }
+            final int used = inUseCount.incrementAndGet();
+            int max;
+            do {
+                max = maxUsedCount.get();
+            } while (used > max && !maxUsedCount.compareAndSet(max, used));
+            ok = true;
+            return connection.createHandle();
+        } finally {
+            if (!ok) {
+                permits.release();
+            }
+        }
+    }
+
+    private PooledConnection takeIdle() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (!connection.isBroken()) {
+                return connection;
+            }
+            destroy(connection);
+        }
+        return null;
+    }
+
+    private PooledConnection create() throws JMSException {
+        final Connection physical;
+        if (transactionManager != null && delegate instanceof XAConnectionFactory) {
+            physical = ((XAConnectionFactory) delegate).createXAConnection();
+        } else {
+            physical = delegate.createConnection();
+        }
+        createdCount.incrementAndGet();
+        return new PooledConnection(this, physical);
+    }
+
+    /**
+     * Return a physical connection to the pool once its handle has been closed.
+     *
+     * @param connection the physical connection
+     */
+    void returnConnection(final PooledConnection connection) {
+        inUseCount.decrementAndGet();
+        try {
+            if (closed || connection.isBroken()) {
+                destroy(connection);
+            } else {
+                connection.setLastUsed(System.currentTimeMillis());
+                idle.offerFirst(connection);
+                discardIdleConnections();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discardIdleConnections() {
+        if (idleTimeout <= 0) {
+            return;
+        }
+        final long limit = System.currentTimeMillis() - idleTimeout;
+        while (idle.size() > minPoolSize) {
+            final PooledConnection oldest = idle.peekLast();
+            if (oldest == null || oldest.getLastUsed() > limit) {
+                return;
+            }
+            if (idle.removeLastOccurrence(oldest)) {
+                destroy(oldest);
+            }
+        }
+    }
+
+    private void destroy(final PooledConnection connection) {
+        destroyedCount.incrementAndGet();
+        try {
+            connection.getPhysicalConnection().close();
+        } catch (Exception e) {
+            log.debugf(e, "Failed to close connection of pooled-connection-factory %s", name);
+        }
+    }
+
+    /**
+     * Get the transaction the calling thread is associated with, if sessions should be enlisted in it.
+     *
+     * @return the active transaction, or {@code null} if there is none
+     * @throws JMSException if the transaction manager fails
+     */
+    Transaction getActiveTransaction() throws JMSException {
+        if (transactionManager == null) {
+            return null;
+        }
+        try {
+            final Transaction transaction = transactionManager.getTransaction();
+            return transaction != null && transaction.getStatus() == Status.STATUS_ACTIVE ? transaction : null;
+        } catch (SystemException e) {
+            throw createException("Failed to get the current transaction", e);
+        }
+    }
+
+    void sessionEnlisted() {
+        enlistedSessionCount.incrementAndGet();
+    }
+
+    /**
+     * Close the pool. Idle connections are closed immediately, connections in use are closed when they are returned.
+     */
+    void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            destroy(connection);
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getInUseCount() {
+        return inUseCount.get();
+    }
+
+    int getIdleCount() {
+        return idle.size();
+    }
+
+    int getAvailableCount() {
+        return permits.availablePermits();
+    }
+
+    int getMaxUsedCount() {
+        return maxUsedCount.get();
+    }
+
+    long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    long getDestroyedCount() {
+        return destroyedCount.get();
+    }
+
+    long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    long getEnlistedSessionCount() {
+        return enlistedSessionCount.get();
+    }
+
+    long getAverageBlockingTime() {
+        final long requests = requestCount.get();
+        return requests == 0 ? 0 : totalBlockingTime.get() / requests;
+    }
+
+    static JMSException createException(final String message, final Exception cause) {
+        final JMSException e = new JMSException(message);
+        e.setLinkedException(cause);
+        e.initCause(cause);
+        return e;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.jms;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.messaging.jms.CommonAttributes.BLOCKING_TIMEOUT_WAIT_MILLIS;
+import static org.jboss.as.messaging.jms.CommonAttributes.IDLE_TIMEOUT_MINUTES;
+import static org.jboss.as.messaging.jms.CommonAttributes.MAX_POOL_SIZE;
+import static org.jboss.as.messaging.jms.CommonAttributes.MIN_POOL_SIZE;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.transaction.TransactionManager;
+
+import org.hornetq.jms.server.JMSServerManager;
+import org.hornetq.jms.server.config.ConnectionFactoryConfiguration;
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelAddOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
+import org.jboss.as.controller.operations.validation.ParametersValidator;
+import org.jboss.as.messaging.jms.JMSServices.NodeAttribute;
+import org.jboss.as.txn.TxnServices;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController.Mode;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Update adding a pooled connection factory to the subsystem. The
+ * runtime action will create the {@link PooledConnectionFactoryService}.
+ */
+class PooledConnectionFactoryAdd implements ModelAddOperationHandler {
+
+    static final PooledConnectionFactoryAdd INSTANCE = new PooledConnectionFactoryAdd();
+
+    static final int DEFAULT_MIN_POOL_SIZE = 0;
+    static final int DEFAULT_MAX_POOL_SIZE = 20;
+    static final long DEFAULT_BLOCKING_TIMEOUT_WAIT_MILLIS = 30000;
+    static final long DEFAULT_IDLE_TIMEOUT_MINUTES = 30;
+
+    /** The prefix of the name of the underlying HornetQ connection factory. */
+    private static final String INTERNAL_PREFIX = "pooled-connection-factory.";
+
+    private final ParametersValidator validator = new ParametersValidator();
+
+    private PooledConnectionFactoryAdd() {
+        validator.registerValidator(MIN_POOL_SIZE, new IntRangeValidator(0, true));
+        validator.registerValidator(MAX_POOL_SIZE, new IntRangeValidator(1, true));
+        validator.registerValidator(BLOCKING_TIMEOUT_WAIT_MILLIS, new ModelTypeValidator(ModelType.LONG, true));
+        validator.registerValidator(IDLE_TIMEOUT_MINUTES, new ModelTypeValidator(ModelType.LONG, true));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        validator.validate(operation);
+
+        ModelNode opAddr = operation.require(OP_ADDR);
+        final PathAddress address = PathAddress.pathAddress(opAddr);
+        final String name = address.getLastElement().getValue();
+
+        final int minPoolSize = operation.get(MIN_POOL_SIZE).asInt(DEFAULT_MIN_POOL_SIZE);
+        final int maxPoolSize = operation.get(MAX_POOL_SIZE).asInt(DEFAULT_MAX_POOL_SIZE);
+        if (minPoolSize > maxPoolSize) {
+            throw new OperationFailedException(new ModelNode().set(MIN_POOL_SIZE + " must not be greater than " + MAX_POOL_SIZE));
+        }
+        final long blockingTimeout = operation.get(BLOCKING_TIMEOUT_WAIT_MILLIS).asLong(DEFAULT_BLOCKING_TIMEOUT_WAIT_MILLIS);
+        final long idleTimeout = TimeUnit.MINUTES.toMillis(operation.get(IDLE_TIMEOUT_MINUTES).asLong(DEFAULT_IDLE_TIMEOUT_MINUTES));
+
+        final ModelNode compensatingOperation = Util.getResourceRemoveOperation(opAddr);
+
+        final ModelNode subModel = context.getSubModel();
+        for(final NodeAttribute attribute : JMSServices.CONNECTION_FACTORY_ATTRS) {
+            final String attrName = attribute.getName();
+            if(operation.hasDefined(attrName)) {
+                subModel.get(attrName).set(operation.get(attrName));
+            }
+        }
+        for(final NodeAttribute attribute : JMSServices.POOL_ATTRS) {
+            final String attrName = attribute.getName();
+            if(operation.hasDefined(attrName)) {
+                subModel.get(attrName).set(operation.get(attrName));
+            }
+        }
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final String internalName = INTERNAL_PREFIX + name;
+                    final ConnectionFactoryConfiguration configuration = ConnectionFactoryAdd.createConfiguration(internalName,
+                            new String[] { internalName }, operation);
+                    final PooledConnectionFactoryService service = new PooledConnectionFactoryService(name, configuration,
+                            ConnectionFactoryAdd.jndiBindings(operation), minPoolSize, maxPoolSize, blockingTimeout, idleTimeout);
+                    final ServiceName serviceName = JMSServices.JMS_POOLED_CF_BASE.append(name);
+                    context.getServiceTarget().addService(serviceName, service)
+                            .addDependency(JMSServices.JMS_MANAGER, JMSServerManager.class, service.getJmsServer())
+                            .addDependency(TxnServices.JBOSS_TXN_TRANSACTION_MANAGER, TransactionManager.class, service.getTransactionManager())
+                            .setInitialMode(Mode.ACTIVE)
+                            .install();
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult(compensatingOperation);
+    }
+
+    static ModelNode getAddOperation(final ModelNode address, ModelNode subModel) {
+
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(ADD);
+        operation.get(OP_ADDR).set(address);
+
+        for(final NodeAttribute attribute : JMSServices.CONNECTION_FACTORY_ATTRS) {
+            final String attrName = attribute.getName();
+            if(subModel.hasDefined(attrName)) {
+                operation.get(attrName).set(subModel.get(attrName));
+            }
+        }
+        for(final NodeAttribute attribute : JMSServices.POOL_ATTRS) {
+            final String attrName = attribute.getName();
+            if(subModel.hasDefined(attrName)) {
+                operation.get(attrName).set(subModel.get(attrName));
+            }
+        }
+
+        return operation;
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.jms;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Handler for the pool metrics of a pooled connection factory.
+ */
+class PooledConnectionFactoryMetrics implements ModelQueryOperationHandler {
+
+    static final PooledConnectionFactoryMetrics INSTANCE = new PooledConnectionFactoryMetrics();
+
+    static final String IN_USE_COUNT = "in-use-count";
+    static final String IDLE_COUNT = "idle-count";
+    static final String AVAILABLE_COUNT = "available-count";
+    static final String MAX_USED_COUNT = "max-used-count";
+    static final String CREATED_COUNT = "created-count";
+    static final String DESTROYED_COUNT = "destroyed-count";
+    static final String TIMED_OUT_COUNT = "timed-out-count";
+    static final String ENLISTED_SESSION_COUNT = "enlisted-session-count";
+    static final String AVERAGE_BLOCKING_TIME = "average-blocking-time";
+
+    static final String[] ATTRIBUTES = { IN_USE_COUNT, IDLE_COUNT, AVAILABLE_COUNT, MAX_USED_COUNT, CREATED_COUNT,
+        DESTROYED_COUNT, TIMED_OUT_COUNT, ENLISTED_SESSION_COUNT, AVERAGE_BLOCKING_TIME };
+
+    private static final String[] NO_LOCATION = new String[0];
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
+            throws OperationFailedException {
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final String name = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+                    final String attributeName = operation.require(NAME).asString();
+                    final ServiceController<?> controller = context.getServiceRegistry().getService(JMSServices.JMS_POOLED_CF_BASE.append(name));
+                    if (controller == null || controller.getState() != ServiceController.State.UP) {
+                        throw new OperationFailedException(new ModelNode().set("pooled-connection-factory " + name + " is not running"));
+                    }
+                    final PooledConnectionFactory factory = PooledConnectionFactory.class.cast(controller.getValue());
+                    resultHandler.handleResultFragment(NO_LOCATION, readMetric(factory, attributeName));
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    static ModelNode readMetric(final PooledConnectionFactory factory, final String attributeName) throws OperationFailedException {
+        final ModelNode result = new ModelNode();
+        if (IN_USE_COUNT.equals(attributeName)) {
+            result.set(factory.getInUseCount());
+        } else if (IDLE_COUNT.equals(attributeName)) {
+            result.set(factory.getIdleCount());
+        } else if (AVAILABLE_COUNT.equals(attributeName)) {
+            result.set(factory.getAvailableCount());
+        } else if (MAX_USED_COUNT.equals(attributeName)) {
+            result.set(factory.getMaxUsedCount());
+        } else if (CREATED_COUNT.equals(attributeName)) {
+            result.set(factory.getCreatedCount());
+        } else if (DESTROYED_COUNT.equals(attributeName)) {
+            result.set(factory.getDestroyedCount());
+        } else if (TIMED_OUT_COUNT.equals(attributeName)) {
+            result.set(factory.getTimedOutCount());
+        } else if (ENLISTED_SESSION_COUNT.equals(attributeName)) {
+            result.set(factory.getEnlistedSessionCount());
+        } else if (AVERAGE_BLOCKING_TIME.equals(attributeName)) {
+            result.set(factory.getAverageBlockingTime());
+        } else {
+            throw new OperationFailedException(new ModelNode().set("unknown metric " + attributeName));
+        }
+        return result;
+    }
+}
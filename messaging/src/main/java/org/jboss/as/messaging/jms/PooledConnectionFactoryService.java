@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.jms;
+
+import java.util.Map;
+
+import javax.jms.ConnectionFactory;
+import javax.transaction.TransactionManager;
+
+import org.hornetq.jms.server.JMSServerManager;
+import org.hornetq.jms.server.config.ConnectionFactoryConfiguration;
+import org.jboss.as.naming.MockContext;
+import org.jboss.as.naming.NamingStore;
+import org.jboss.as.naming.ValueManagedObject;
+import org.jboss.as.naming.deployment.ContextNames;
+import org.jboss.as.naming.service.BinderService;
+import org.jboss.logging.Logger;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.msc.value.Values;
+
+/**
+ * {@code Service} responsible for creating a {@link PooledConnectionFactory} and binding it into JNDI.
+ * <p>
+ * The physical connections come from a HornetQ connection factory which is created through the JMS server manager
+ * like any other connection factory, but is only used by the pool and never bound under the configured entries.
+ * </p>
+ */
+class PooledConnectionFactoryService implements Service<PooledConnectionFactory> {
+
+    private final String name;
+    private final ConnectionFactoryConfiguration configuration;
+    private final String[] bindings;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final long blockingTimeout;
+    private final long idleTimeout;
+    private final InjectedValue<JMSServerManager> jmsServer = new InjectedValue<JMSServerManager>();
+    private final InjectedValue<TransactionManager> transactionManager = new InjectedValue<TransactionManager>();
+    private PooledConnectionFactory factory;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the name of the resource
+     * @param configuration the configuration of the underlying HornetQ connection factory
+     * @param bindings the JNDI names the pooled factory is bound under
+     * @param minPoolSize the minimum pool size
+     * @param maxPoolSize the maximum pool size
+     * @param blockingTimeout the blocking timeout in milliseconds
+     * @param idleTimeout the idle timeout in milliseconds
+     */
+    public PooledConnectionFactoryService(final String name, final ConnectionFactoryConfiguration configuration,
+            final String[] bindings, final int minPoolSize, final int maxPoolSize, final long blockingTimeout,
+            final long idleTimeout) {
+        this.name = name;
+        this.configuration = configuration;
+        this.bindings = bindings;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.blockingTimeout = blockingTimeout;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /** {@inheritDoc} */
+    public synchronized void start(StartContext context) throws StartException {
+        final JMSServerManager jmsManager = jmsServer.getValue();
+        final ConnectionFactory delegate;
+        try {
+            // Trap the binding of the underlying factory so that we get hold of the instance without exposing it
+            MockContext.pushBindingTrap();
+            Map<String, Object> trapped = null;
+            try {
+                jmsManager.createConnectionFactory(false, configuration, configuration.getBindings());
+            } finally {
+                trapped = MockContext.popTrappedBindings();
+            }
+            if (trapped.isEmpty()) {
+                throw new StartException("no connection factory created for pooled-connection-factory " + name);
+            }
+            delegate = (ConnectionFactory) trapped.values().iterator().next();
+        } catch (StartException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StartException("failed to create pooled-connection-factory", e);
+        }
+        try {
+            factory = new PooledConnectionFactory(name, delegate, transactionManager.getOptionalValue(), minPoolSize, maxPoolSize,
+                    blockingTimeout, idleTimeout);
+        } catch (IllegalArgumentException e) {
+            throw new StartException("invalid pool configuration for pooled-connection-factory " + name, e);
+        }
+        final ServiceTarget target = context.getChildTarget();
+        for (String binding : bindings) {
+            final BinderService binderService = new BinderService(binding);
+            target.addService(ContextNames.JAVA_CONTEXT_SERVICE_NAME.append(binding), binderService)
+                .addDependency(ContextNames.JAVA_CONTEXT_SERVICE_NAME, NamingStore.class, binderService.getNamingStoreInjector())
+                .addInjection(binderService.getManagedObjectInjector(), new ValueManagedObject(Values.immediateValue(factory)))
+                .setInitialMode(ServiceController.Mode.ACTIVE)
+                .install();
+        }
+    }
+
+    /** {@inheritDoc} */
+    public synchronized void stop(StopContext context) {
+        if (factory != null) {
+            factory.close();
+            factory = null;
+        }
+        try {
+            jmsServer.getValue().destroyConnectionFactory(configuration.getName());
+        } catch (Exception e) {
+            Logger.getLogger("org.jboss.messaging").warnf(e ,"failed to destroy pooled-connection-factory: %s", name);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public synchronized PooledConnectionFactory getValue() throws IllegalStateException {
+        final PooledConnectionFactory factory = this.factory;
+        if (factory == null) {
+            throw new IllegalStateException();
+        }
+        return factory;
+    }
+
+    InjectedValue<JMSServerManager> getJmsServer() {
+        return jmsServer;
+    }
+
+    InjectedValue<TransactionManager> getTransactionManager() {
+        return transactionManager;
+    }
+}
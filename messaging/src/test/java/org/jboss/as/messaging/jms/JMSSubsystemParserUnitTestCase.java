@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.jms;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.persistence.SubsystemMarshallingContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.jboss.staxmapper.XMLMapper;
+import org.junit.Test;
+
+/**
+ * Tests that the JMS subsystem configuration survives being parsed and marshalled again.
+ */
+public class JMSSubsystemParserUnitTestCase {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final URL url = getClass().getResource("subsystem-jms.xml");
+        assertNotNull(url);
+        final List<ModelNode> operations;
+        final InputStream input = url.openStream();
+        try {
+            operations = parse(XMLInputFactory.newInstance().createXMLStreamReader(input));
+        } finally {
+            input.close();
+        }
+        assertEquals(4, operations.size());
+
+        final ModelNode pooled = operations.get(2);
+        final Property address = pooled.get(OP_ADDR).asPropertyList().get(1);
+        assertEquals(CommonAttributes.POOLED_CONNECTION_FACTORY, address.getName());
+        assertEquals("hornetq-ra", address.getValue().asString());
+        assertEquals("10000", pooled.get(CommonAttributes.CLIENT_FAILURE_CHECK_PERIOD).asString());
+        assertEquals("20", pooled.get(CommonAttributes.MAX_POOL_SIZE).asString());
+        assertEquals("15", pooled.get(CommonAttributes.IDLE_TIMEOUT_MINUTES).asString());
+
+        final String marshalled = marshal(toModel(operations));
+        assertTrue(marshalled, marshalled.contains("<client-failure-check-period>10000</client-failure-check-period>"));
+        assertEquals(operations, parse(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(marshalled))));
+    }
+
+    private static List<ModelNode> parse(final XMLStreamReader reader) throws XMLStreamException {
+        final XMLMapper mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(Namespace.CURRENT.getQName(), JMSSubsystemParser.getInstance());
+        final List<ModelNode> operations = new ArrayList<ModelNode>();
+        mapper.parseDocument(operations, reader);
+        return operations;
+    }
+
+    private static ModelNode toModel(final List<ModelNode> operations) {
+        final ModelNode model = new ModelNode();
+        for (ModelNode operation : operations.subList(1, operations.size())) {
+            final Property address = operation.get(OP_ADDR).asPropertyList().get(1);
+            Util.copyParamsToModel(operation, model.get(address.getName(), address.getValue().asString()));
+        }
+        return model;
+    }
+
+    private static String marshal(final ModelNode model) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final XMLStreamWriter streamWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(output, "UTF-8");
+        XMLMapper.Factory.create().deparseDocument(new XMLElementWriter<ModelNode>() {
+            public void writeContent(final XMLExtendedStreamWriter writer, final ModelNode value) throws XMLStreamException {
+                JMSSubsystemParser.getInstance().writeContent(writer, new SubsystemMarshallingContext(value, writer));
+            }
+        }, model, streamWriter);
+        streamWriter.close();
+        return output.toString("UTF-8");
+    }
+}
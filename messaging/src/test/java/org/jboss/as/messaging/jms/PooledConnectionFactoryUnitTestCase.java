@@ -0,0 +1,367 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.jms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.ExceptionListener;
+import javax.jms.JMSException;
+import javax.jms.QueueConnection;
+import javax.jms.QueueConnectionFactory;
+import javax.jms.QueueSession;
+import javax.jms.Session;
+import javax.jms.TemporaryQueue;
+import javax.jms.TemporaryTopic;
+import javax.jms.TopicConnection;
+import javax.jms.TopicConnectionFactory;
+import javax.jms.TopicSession;
+import javax.jms.TransactionInProgressException;
+import javax.jms.XAConnection;
+import javax.jms.XAConnectionFactory;
+import javax.jms.XASession;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.xa.XAResource;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link PooledConnectionFactory} against mock JMS connections.
+ */
+public class PooledConnectionFactoryUnitTestCase {
+
+    @Test
+    public void testBlockingTimeout() throws Exception {
+        final MockConnectionFactory delegate = new MockConnectionFactory();
+        final PooledConnectionFactory pool = new PooledConnectionFactory("test", delegate.proxy, null, 0, 1, 50, 0);
+
+        final Connection first = pool.createConnection();
+        final long start = System.currentTimeMillis();
+        try {
+            pool.createConnection();
+            fail("Expected the exhausted pool to time out");
+        } catch (JMSException expected) {
+        }
+        assertTrue(System.currentTimeMillis() - start >= 40);
+        assertEquals(1, pool.getTimedOutCount());
+        assertEquals(0, pool.getAvailableCount());
+
+        first.close();
+        pool.createConnection().close();
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testHandleCloseReturnsConnection() throws Exception {
+        final MockConnectionFactory delegate = new MockConnectionFactory();
+        final PooledConnectionFactory pool = new PooledConnectionFactory("test", delegate.proxy, null, 0, 2, 1000, 0);
+
+        final Connection handle = pool.createConnection();
+        final Session session = handle.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        assertEquals(1, pool.getInUseCount());
+        handle.close();
+
+        final MockConnection physical = delegate.connections.get(0);
+        assertTrue(physical.sessions.get(0).closed);
+        assertTrue(physical.stopped);
+        assertFalse(physical.closed);
+        assertEquals(0, pool.getInUseCount());
+        assertEquals(1, pool.getIdleCount());
+        try {
+            handle.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            fail("Expected the closed handle to be unusable");
+        } catch (javax.jms.IllegalStateException expected) {
+        }
+        assertNotNull(session);
+
+        final QueueConnection queueConnection = pool.createQueueConnection();
+        assertTrue(queueConnection.createQueueSession(false, Session.AUTO_ACKNOWLEDGE) instanceof QueueSession);
+        queueConnection.close();
+        final TopicConnection topicConnection = pool.createTopicConnection();
+        assertTrue(topicConnection.createTopicSession(false, Session.AUTO_ACKNOWLEDGE) instanceof TopicSession);
+        topicConnection.close();
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, delegate.connections.size());
+    }
+
+    @Test
+    public void testBrokenConnectionDiscarded() throws Exception {
+        final MockConnectionFactory delegate = new MockConnectionFactory();
+        final PooledConnectionFactory pool = new PooledConnectionFactory("test", delegate.proxy, null, 0, 2, 1000, 0);
+
+        // Broken while in use
+        final Connection handle = pool.createConnection();
+        delegate.connections.get(0).fail();
+        handle.close();
+        assertTrue(delegate.connections.get(0).closed);
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(1, pool.getDestroyedCount());
+
+        // Broken while idle
+        pool.createConnection().close();
+        assertEquals(1, pool.getIdleCount());
+        delegate.connections.get(1).fail();
+        pool.createConnection().close();
+        assertTrue(delegate.connections.get(1).closed);
+        assertFalse(delegate.connections.get(2).closed);
+        assertEquals(2, pool.getDestroyedCount());
+        assertEquals(3, pool.getCreatedCount());
+        assertEquals(2, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        final MockConnectionFactory delegate = new MockConnectionFactory();
+        final PooledConnectionFactory pool = new PooledConnectionFactory("test", delegate.proxy, null, 1, 3, 1000, 20);
+
+        final Connection first = pool.createConnection();
+        final Connection second = pool.createConnection();
+        final Connection third = pool.createConnection();
+        first.close();
+        second.close();
+        assertEquals(2, pool.getIdleCount());
+        Thread.sleep(60);
+        third.close();
+
+        // The two connections idle for longer than the timeout are discarded, down to min-pool-size
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(2, pool.getDestroyedCount());
+        assertTrue(delegate.connections.get(0).closed);
+        assertTrue(delegate.connections.get(1).closed);
+        assertFalse(delegate.connections.get(2).closed);
+
+        // The last idle connection is kept even once it has timed out
+        Thread.sleep(60);
+        pool.createConnection().close();
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(3, pool.getCreatedCount());
+    }
+
+    @Test
+    public void testEnlistedSessionClosedAfterCompletion() throws Exception {
+        final MockConnectionFactory delegate = new MockConnectionFactory();
+        final MockTransaction transaction = new MockTransaction();
+        final TransactionManager transactionManager = proxy(TransactionManager.class, new MockHandler() {
+            Object handle(final Object proxy, final String name, final Object[] args) {
+                return "getTransaction".equals(name) ? transaction.proxy : null;
+            }
+        });
+        final PooledConnectionFactory pool = new PooledConnectionFactory("test", delegate.proxy, transactionManager, 0, 1,
+                1000, 0);
+
+        final Connection handle = pool.createConnection();
+        final Session session = handle.createSession(true, Session.AUTO_ACKNOWLEDGE);
+        final MockConnection physical = delegate.connections.get(0);
+        assertTrue(physical.xa);
+        final MockSession xaSession = physical.sessions.get(0);
+        assertEquals(1, transaction.synchronizations.size());
+        assertEquals(1, transaction.resources.size());
+        assertEquals(1, pool.getEnlistedSessionCount());
+
+        try {
+            session.commit();
+            fail("Expected commit of an enlisted session to fail");
+        } catch (TransactionInProgressException expected) {
+        }
+        session.close();
+        handle.close();
+        assertFalse(xaSession.closed);
+        assertEquals(1, pool.getIdleCount());
+
+        transaction.synchronizations.get(0).afterCompletion(Status.STATUS_COMMITTED);
+        assertTrue(xaSession.closed);
+    }
+
+    @Test
+    public void testTemporaryDestinationsDeletedOnClose() throws Exception {
+        final MockConnectionFactory delegate = new MockConnectionFactory();
+        final PooledConnectionFactory pool = new PooledConnectionFactory("test", delegate.proxy, null, 0, 1, 1000, 0);
+
+        Connection handle = pool.createConnection();
+        Session session = handle.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        final TemporaryQueue queue = session.createTemporaryQueue();
+        final TemporaryTopic topic = session.createTemporaryTopic();
+        handle.close();
+        final MockSession mockSession = delegate.connections.get(0).sessions.get(0);
+        assertEquals(2, mockSession.deleted.size());
+        assertSame(queue, mockSession.deleted.get(0));
+        assertSame(topic, mockSession.deleted.get(1));
+        assertEquals(1, pool.getIdleCount());
+
+        // A temporary destination which cannot be deleted goes away with its physical connection
+        handle = pool.createConnection();
+        session = handle.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        delegate.connections.get(0).sessions.get(1).failDelete = true;
+        session.createTemporaryQueue();
+        handle.close();
+        assertTrue(delegate.connections.get(0).closed);
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return (T) proxy(new Class<?>[] { type }, handler);
+    }
+
+    static Object proxy(final Class<?>[] types, final InvocationHandler handler) {
+        return Proxy.newProxyInstance(PooledConnectionFactoryUnitTestCase.class.getClassLoader(), types, handler);
+    }
+
+    abstract static class MockHandler implements InvocationHandler {
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                if ("equals".equals(name)) {
+                    return Boolean.valueOf(proxy == args[0]);
+                } else if ("hashCode".equals(name)) {
+                    return Integer.valueOf(System.identityHashCode(proxy));
+                }
+                return getClass().getSimpleName();
+            }
+            final Object result = handle(proxy, name, args);
+            if (result == null && method.getReturnType() == Boolean.TYPE) {
+                return Boolean.FALSE;
+            } else if (result == null && method.getReturnType() == Integer.TYPE) {
+                return Integer.valueOf(0);
+            }
+            return result;
+        }
+
+        abstract Object handle(Object proxy, String name, Object[] args) throws Exception;
+    }
+
+    static class MockConnectionFactory extends MockHandler {
+        final List<MockConnection> connections = new ArrayList<MockConnection>();
+        final ConnectionFactory proxy = (ConnectionFactory) proxy(new Class<?>[] { QueueConnectionFactory.class,
+                TopicConnectionFactory.class, XAConnectionFactory.class }, this);
+
+        Object handle(final Object proxy, final String name, final Object[] args) {
+            final MockConnection connection = new MockConnection("createXAConnection".equals(name));
+            connections.add(connection);
+            return connection.proxy;
+        }
+    }
+
+    static class MockConnection extends MockHandler {
+        final boolean xa;
+        final List<MockSession> sessions = new ArrayList<MockSession>();
+        final Object proxy;
+        ExceptionListener listener;
+        boolean stopped;
+        boolean closed;
+
+        MockConnection(final boolean xa) {
+            this.xa = xa;
+            this.proxy = proxy(new Class<?>[] { QueueConnection.class, TopicConnection.class, XAConnection.class }, this);
+        }
+
+        void fail() {
+            listener.onException(new JMSException("connection failure"));
+        }
+
+        Object handle(final Object proxy, final String name, final Object[] args) {
+            if ("setExceptionListener".equals(name)) {
+                listener = (ExceptionListener) args[0];
+            } else if ("stop".equals(name)) {
+                stopped = true;
+            } else if ("close".equals(name)) {
+                closed = true;
+            } else if (name.startsWith("create") && name.endsWith("Session")) {
+                final MockSession session = new MockSession();
+                sessions.add(session);
+                return session.proxy;
+            }
+            return null;
+        }
+    }
+
+    static class MockSession extends MockHandler {
+        final List<Object> deleted = new ArrayList<Object>();
+        final Object proxy = proxy(new Class<?>[] { QueueSession.class, TopicSession.class, XASession.class }, this);
+        boolean failDelete;
+        boolean closed;
+
+        Object handle(final Object proxy, final String name, final Object[] args) {
+            if ("close".equals(name)) {
+                closed = true;
+            } else if ("getSession".equals(name)) {
+                return proxy;
+            } else if ("getXAResource".equals(name)) {
+                return PooledConnectionFactoryUnitTestCase.proxy(XAResource.class, new MockHandler() {
+                    Object handle(final Object proxy, final String name, final Object[] args) {
+                        return null;
+                    }
+                });
+            } else if ("createTemporaryQueue".equals(name) || "createTemporaryTopic".equals(name)) {
+                final Class<?> type = "createTemporaryQueue".equals(name) ? TemporaryQueue.class : TemporaryTopic.class;
+                return PooledConnectionFactoryUnitTestCase.proxy(type, new MockHandler() {
+                    Object handle(final Object destination, final String name, final Object[] args) throws JMSException {
+                        if ("delete".equals(name)) {
+                            if (failDelete) {
+                                throw new JMSException("destination in use");
+                            }
+                            deleted.add(destination);
+                        }
+                        return null;
+                    }
+                });
+            }
+            return null;
+        }
+    }
+
+    static class MockTransaction extends MockHandler {
+        final List<Synchronization> synchronizations = new ArrayList<Synchronization>();
+        final List<XAResource> resources = new ArrayList<XAResource>();
+        final Transaction proxy = proxy(Transaction.class, this);
+
+        Object handle(final Object proxy, final String name, final Object[] args) {
+            if ("getStatus".equals(name)) {
+                return Integer.valueOf(Status.STATUS_ACTIVE);
+            } else if ("registerSynchronization".equals(name)) {
+                synchronizations.add((Synchronization) args[0]);
+            } else if ("enlistResource".equals(name)) {
+                resources.add((XAResource) args[0]);
+                return Boolean.TRUE;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hornetq.api.core.management.QueueControl;
+import org.jboss.as.messaging.DestinationControlHandler;
+import org.jboss.as.messaging.QueueControlHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests the conversion of HornetQ control values into model nodes.
+ */
+public class DestinationControlHandlerUnitTestCase {
+
+    @Test
+    public void testValueConversion() {
+        assertEquals(ModelType.LONG, DestinationControlHandler.toModelNode(Long.valueOf(5)).getType());
+        assertEquals(ModelType.INT, DestinationControlHandler.toModelNode(Byte.valueOf((byte) 4)).getType());
+        assertEquals(ModelType.DOUBLE, DestinationControlHandler.toModelNode(Float.valueOf(1.5f)).getType());
+        assertEquals(ModelType.BOOLEAN, DestinationControlHandler.toModelNode(Boolean.TRUE).getType());
+        assertEquals(ModelType.BYTES, DestinationControlHandler.toModelNode(new byte[] { 1 }).getType());
+        assertEquals(ModelType.STRING, DestinationControlHandler.toModelNode(new StringBuilder("text")).getType());
+        assertFalse(DestinationControlHandler.toModelNode(null).isDefined());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMessages() {
+        final Map<String, Object> message = new HashMap<String, Object>();
+        message.put("messageID", Long.valueOf(42));
+        message.put("durable", Boolean.TRUE);
+        message.put("priority", Byte.valueOf((byte) 4));
+
+        final ModelNode messages = DestinationControlHandler.messagesToModelNode(new Map[] { message });
+        assertEquals(ModelType.LIST, messages.getType());
+        assertEquals(1, messages.asList().size());
+        final ModelNode converted = messages.get(0);
+        assertEquals(42, converted.get("messageID").asLong());
+        assertTrue(converted.get("durable").asBoolean());
+        assertEquals(4, converted.get("priority").asInt());
+
+        assertEquals(0, DestinationControlHandler.messagesToModelNode(null).asList().size());
+    }
+
+    @Test
+    public void testQueueStatistics() throws Exception {
+        final QueueControl control = (QueueControl) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { QueueControl.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        final Class<?> type = method.getReturnType();
+                        if (type == Boolean.TYPE) {
+                            return Boolean.TRUE;
+                        } else if (type == Integer.TYPE) {
+                            return Integer.valueOf(3);
+                        } else if (type == Long.TYPE) {
+                            return Long.valueOf(7);
+                        }
+                        return null;
+                    }
+                });
+
+        final ModelNode statistics = QueueControlHandler.INSTANCE.readStatistics(control);
+        for (String metric : QueueControlHandler.INSTANCE.getMetrics()) {
+            assertTrue(metric, statistics.hasDefined(metric));
+        }
+        assertEquals(7, statistics.get(DestinationControlHandler.MESSAGE_COUNT).asLong());
+        assertEquals(3, statistics.get(DestinationControlHandler.CONSUMER_COUNT).asInt());
+        assertTrue(statistics.get(DestinationControlHandler.PAUSED).asBoolean());
+    }
+}
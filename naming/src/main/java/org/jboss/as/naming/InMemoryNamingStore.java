@@ -61,6 +61,9 @@ import static org.jboss.as.naming.util.NamingUtils.notAContextException;
  */
 public class InMemoryNamingStore implements NamingStore {
 
+    /* Cache of resolved lookups, dropped whenever the tree changes.  Must be created before the root context. */
+    private final LookupCache lookupCache = new LookupCache();
+
     /* The root node of the tree.  Represents a JNDI name of "" */
     private final ContextNode root = new ContextNode(null, null, new CompositeName(), new NamingContext(this, null));
 
@@ -101,6 +104,7 @@ public class InMemoryNamingStore implements NamingStore {
         try {
             root.accept(new BindVisitor(true, name, object, bindType.getName()));
         } finally {
+            lookupCache.invalidate();
             writeLock.unlock();
         }
     }
@@ -121,6 +125,7 @@ public class InMemoryNamingStore implements NamingStore {
         try {
             root.accept(new RebindVisitor(name, object, bindType.getName()));
         } finally {
+            lookupCache.invalidate();
             writeLock.unlock();
         }
     }
@@ -141,6 +146,7 @@ public class InMemoryNamingStore implements NamingStore {
         try {
             root.accept(new UnbindVisitor(name));
         } finally {
+            lookupCache.invalidate();
             writeLock.unlock();
         }
     }
@@ -198,10 +204,20 @@ public class InMemoryNamingStore implements NamingStore {
         try {
             root.clear();
         } finally {
+            lookupCache.invalidate();
             writeLock.unlock();
         }
     }
 
+    /**
+     * Get the cache used by {@link NamingContext#lookup(String)} for contexts backed by this store.
+     *
+     * @return the lookup cache
+     */
+    public LookupCache getLookupCache() {
+        return lookupCache;
+    }
+
     /**
      * Add a {@code NamingListener} to the naming event coordinator.
      *
@@ -0,0 +1,248 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming;
+
+import java.util.Hashtable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.naming.Name;
+import javax.naming.NamingException;
+import javax.naming.spi.ObjectFactory;
+
+import org.jboss.as.naming.context.ModularReference;
+import org.jboss.as.naming.context.ObjectFactoryBuilder;
+
+/**
+ * Cache of resolved lookups for an {@link InMemoryNamingStore}.
+ * <p>
+ * Entries are keyed by the name string passed to {@link NamingContext#lookup(String)}, grouped by the prefix of the
+ * context the lookup was made against, and hold the outcome of the store lookup together with the absolute name it
+ * was made with. References additionally remember the {@link ObjectFactory} they resolve through. The owning store
+ * calls {@link #invalidate()} after every change to the tree, which drops all entries; entries created from a lookup
+ * which raced with a change are detected by their version and discarded.
+ * </p>
+ * <p>
+ * Only the location of a binding is cached. References are still dereferenced on every lookup, so factories which
+ * return a different instance per call keep doing so.
+ * </p>
+ */
+public final class LookupCache {
+
+    /** The maximum number of entries held before new lookups stop being cached. */
+    static final int MAX_ENTRIES = 4096;
+
+    private static final int STRIPES = 16;
+    // Counters are spread over separate cache lines to keep concurrent hits from contending
+    private static final int STRIDE = 16;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Entry>> regions = new ConcurrentHashMap<String, ConcurrentMap<String, Entry>>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLongArray counters = new AtomicLongArray(STRIPES * STRIDE * 2);
+    private volatile int version;
+
+    /**
+     * Get the cached entry for a name.
+     *
+     * @param prefix the prefix of the context the lookup is made against
+     * @param name the name being looked up
+     * @return the entry, or {@code null} if the name is not cached
+     */
+    Entry get(final String prefix, final String name) {
+        final ConcurrentMap<String, Entry> region = regions.get(prefix);
+        if (region != null) {
+            final Entry entry = region.get(name);
+            if (entry != null) {
+                if (entry.version == version) {
+                    increment(0);
+                    return entry;
+                }
+                if (region.remove(name, entry)) {
+                    size.decrementAndGet();
+                }
+            }
+        }
+        increment(STRIDE);
+        return null;
+    }
+
+    /**
+     * Get the version to pass to {@link #put(String, String, int, Name, Object, Name)}. This must be read before
+     * the store is consulted.
+     *
+     * @return the current version
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Cache the outcome of a store lookup.
+     *
+     * @param prefix the prefix of the context the lookup was made against
+     * @param name the name which was looked up
+     * @param version the version read before the store lookup
+     * @param absoluteName the absolute name passed to the store
+     * @param object the bound object, or the object which resolution has to continue from
+     * @param remainingName the part of the name still to be resolved against {@code object}, or {@code null}
+     * @return the entry to resolve the lookup from
+     */
+    Entry put(final String prefix, final String name, final int version, final Name absoluteName, final Object object, final Name remainingName) {
+        final Entry entry = new Entry(version, absoluteName, object, remainingName);
+        if (version != this.version || size.get() >= MAX_ENTRIES) {
+            return entry;
+        }
+        ConcurrentMap<String, Entry> region = regions.get(prefix);
+        if (region == null) {
+            final ConcurrentMap<String, Entry> appearing = regions.putIfAbsent(prefix, region = new ConcurrentHashMap<String, Entry>());
+            if (appearing != null) {
+                region = appearing;
+            }
+        }
+        if (region.put(name, entry) == null) {
+            size.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Check that the caller may look up the given entry, as the store would on an uncached lookup.
+     *
+     * @param entry the entry
+     */
+    void checkPermission(final Entry entry) {
+        final SecurityManager sm = System.getSecurityManager();
+        if (sm != null) {
+            sm.checkPermission(new JndiPermission(entry.absoluteName, JndiPermission.Action.LOOKUP));
+        }
+    }
+
+    /**
+     * Discard all entries. Called by the store, with its write lock held, after the tree has been changed.
+     */
+    void invalidate() {
+        version++;
+        regions.clear();
+        size.set(0);
+    }
+
+    /**
+     * Get the number of lookups served from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return sum(0);
+    }
+
+    /**
+     * Get the number of lookups which had to go to the store.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return sum(STRIDE);
+    }
+
+    /**
+     * Get the approximate number of cached names.
+     *
+     * @return the entry count
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * Reset the hit and miss counters.
+     */
+    public void resetStatistics() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private void increment(final int offset) {
+        final int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counters.incrementAndGet(stripe * STRIDE * 2 + offset);
+    }
+
+    private long sum(final int offset) {
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            total += counters.get(stripe * STRIDE * 2 + offset);
+        }
+        return total;
+    }
+
+    /**
+     * The cached outcome of a lookup.
+     */
+    static final class Entry {
+        private final int version;
+        final Name absoluteName;
+        final Object object;
+        final Name remainingName;
+        final String remainingString;
+        private volatile Factory factory;
+
+        private Entry(final int version, final Name absoluteName, final Object object, final Name remainingName) {
+            this.version = version;
+            this.absoluteName = absoluteName;
+            this.object = object;
+            this.remainingName = remainingName;
+            this.remainingString = remainingName == null ? null : remainingName.toString();
+        }
+
+        /**
+         * Get the factory the cached reference resolves through. Factories for modular references only depend on
+         * the reference, all others are loaded from the thread context class loader and are only reused while it
+         * stays the same.
+         *
+         * @param environment the naming environment
+         * @return the object factory
+         * @throws NamingException if the factory cannot be created
+         */
+        ObjectFactory getObjectFactory(final Hashtable<?, ?> environment) throws NamingException {
+            final ClassLoader classLoader = object instanceof ModularReference ? null : SecurityActions.getContextClassLoader();
+            Factory factory = this.factory;
+            if (factory == null || factory.classLoader != classLoader) {
+                factory = new Factory(classLoader, ObjectFactoryBuilder.INSTANCE.createObjectFactory(object, environment));
+                this.factory = factory;
+            }
+            return factory.objectFactory;
+        }
+    }
+
+    private static final class Factory {
+        private final ClassLoader classLoader;
+        private final ObjectFactory objectFactory;
+
+        private Factory(final ClassLoader classLoader, final ObjectFactory objectFactory) {
+            this.classLoader = classLoader;
+            this.objectFactory = objectFactory;
+        }
+    }
+}
@@ -107,6 +107,12 @@ public class NamingContext implements EventContext {
     /* The environment configuration */
     private final Hashtable<String, Object> environment;
 
+    /* The lookup cache of the naming store, or null if the store does not provide one */
+    private final LookupCache lookupCache;
+
+    /* The prefix as a string, used to key the lookup cache.  Computed on first use. */
+    private String prefixKey;
+
     /**
      * Create a new naming context with no prefix or naming store.  This will default to a prefix of "" and
      * the active naming store.
@@ -144,6 +150,7 @@ public class NamingContext implements EventContext {
             throw new IllegalArgumentException("NamingStore can not be null");
         }
         this.namingStore = namingStore;
+        this.lookupCache = namingStore instanceof InMemoryNamingStore ? ((InMemoryNamingStore) namingStore).getLookupCache() : null;
         if(environment != null) {
             this.environment = new Hashtable<String, Object>(environment);
         } else {
@@ -202,9 +209,71 @@ public class NamingContext implements EventContext {
         return result;
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the naming store provides a {@link LookupCache}, the outcome of the store lookup is cached under the
+     * given string until the store changes.
+     * </p>
+     */
     public Object lookup(final String name) throws NamingException {
-        return lookup(parseName(name));
+        final LookupCache cache = lookupCache;
+        if (cache == null || name.length() == 0) {
+            return lookup(parseName(name));
+        }
+        String prefixKey = this.prefixKey;
+        if (prefixKey == null) {
+            this.prefixKey = prefixKey = prefix.toString();
+        }
+        LookupCache.Entry entry = cache.get(prefixKey, name);
+        if (entry != null) {
+            cache.checkPermission(entry);
+        } else {
+            final int version = cache.getVersion();
+            final Name parsedName = parseName(name);
+            final Name absoluteName = getAbsoluteName(parsedName);
+            if (isEmpty(absoluteName)) {
+                return lookup(parsedName);
+            }
+            try {
+                final Object result = namingStore.lookup(absoluteName);
+                if (result instanceof ResolveResult) {
+                    final ResolveResult resolveResult = (ResolveResult) result;
+                    entry = cache.put(prefixKey, name, version, absoluteName, resolveResult.getResolvedObj(), resolveResult.getRemainingName());
+                } else {
+                    entry = cache.put(prefixKey, name, version, absoluteName, result, null);
+                }
+            } catch (CannotProceedException cpe) {
+                entry = cache.put(prefixKey, name, version, absoluteName, cpe.getResolvedObj(), cpe.getRemainingName());
+            }
+        }
+        return lookup(entry);
+    }
+
+    private Object lookup(final LookupCache.Entry entry) throws NamingException {
+        final Object object = entry.object;
+        final Name absoluteName = entry.absoluteName;
+        if (entry.remainingName != null) {
+            final Object context;
+            if (object instanceof LinkRef) {
+                context = resolveLink(object);
+            } else {
+                context = getObjectInstance(entry, absoluteName);
+            }
+            if (!(context instanceof Context)) {
+                throw notAContextException(absoluteName.getPrefix(absoluteName.size() - entry.remainingName.size()));
+            }
+            return ((Context) context).lookup(entry.remainingString);
+        } else if (object instanceof LinkRef) {
+            return resolveLink(object);
+        } else if (object instanceof Reference) {
+            final Object result = getObjectInstance(entry, absoluteName);
+            if (result instanceof LinkRef) {
+                return resolveLink(result);
+            }
+            return result;
+        }
+        return object;
     }
 
     /** {@inheritDoc} */
@@ -424,6 +493,17 @@ public class NamingContext implements EventContext {
         }
     }
 
+    private Object getObjectInstance(final LookupCache.Entry entry, final Name name) throws NamingException {
+        try {
+            final ObjectFactory objectFactory = entry.getObjectFactory(environment);
+            return objectFactory.getObjectInstance(entry.object, name, this, environment);
+        } catch(NamingException e) {
+            throw e;
+        } catch(Throwable t) {
+            throw namingException("Could not dereference object", t);
+        }
+    }
+
     private Object resolveLink(Object result) throws NamingException {
         final Object linkResult;
         try {
@@ -0,0 +1,270 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Hashtable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.CompositeName;
+import javax.naming.Context;
+import javax.naming.LinkRef;
+import javax.naming.Name;
+import javax.naming.NameNotFoundException;
+import javax.naming.Reference;
+import javax.naming.StringRefAddr;
+import javax.naming.spi.ObjectFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link LookupCache} used by {@link NamingContext#lookup(String)}.
+ */
+public class LookupCacheTestCase {
+
+    private InMemoryNamingStore namingStore;
+    private NamingContext namingContext;
+    private LookupCache cache;
+
+    @BeforeClass
+    public static void setupObjectFactoryBuilder() throws Exception {
+        NamingContext.initializeNamingManager();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        namingStore = new InMemoryNamingStore();
+        NamingContext.setActiveNamingStore(namingStore);
+        namingContext = new NamingContext(namingStore, null);
+        cache = namingStore.getLookupCache();
+        CountingObjectFactory.created.set(0);
+        CountingObjectFactory.resolved.set(0);
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        namingStore.close();
+        NamingContext.setActiveNamingStore(new InMemoryNamingStore());
+    }
+
+    @Test
+    public void testRepeatedLookupHits() throws Exception {
+        final Object object = new Object();
+        namingStore.bind(new CompositeName("test/value"), object);
+
+        assertSame(object, namingContext.lookup("test/value"));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getSize());
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(object, namingContext.lookup("test/value"));
+        }
+        assertEquals(10, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // Another context over the same store shares the entries
+        assertSame(object, new NamingContext(namingStore, null).lookup("test/value"));
+        assertEquals(11, cache.getHitCount());
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testJavaPrefixedNames() throws Exception {
+        final Object object = new Object();
+        namingStore.bind(new CompositeName("test"), object);
+
+        assertSame(object, namingContext.lookup("java:test"));
+        assertSame(object, namingContext.lookup("java:/test"));
+        assertSame(object, namingContext.lookup("test"));
+        assertSame(object, namingContext.lookup("java:test"));
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testRelativeNamesAreKeyedByPrefix() throws Exception {
+        namingStore.bind(new CompositeName("a/value"), "a");
+        namingStore.bind(new CompositeName("b/value"), "b");
+
+        final NamingContext contextA = new NamingContext(new CompositeName("a"), namingStore, null);
+        final NamingContext contextB = new NamingContext(new CompositeName("b"), namingStore, null);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("a", contextA.lookup("value"));
+            assertEquals("b", contextB.lookup("value"));
+        }
+        assertEquals(2, cache.getMissCount());
+        assertEquals(4, cache.getHitCount());
+    }
+
+    @Test
+    public void testRebindInvalidates() throws Exception {
+        final Name name = new CompositeName("test");
+        namingStore.bind(name, "one");
+        assertEquals("one", namingContext.lookup("test"));
+        assertEquals("one", namingContext.lookup("test"));
+
+        namingStore.rebind(name, "two");
+        assertEquals(0, cache.getSize());
+        assertEquals("two", namingContext.lookup("test"));
+        assertEquals("two", namingContext.lookup("test"));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testUnbindInvalidates() throws Exception {
+        final Name name = new CompositeName("test/value");
+        namingStore.bind(name, "one");
+        assertEquals("one", namingContext.lookup("test/value"));
+
+        namingStore.unbind(name);
+        try {
+            namingContext.lookup("test/value");
+            fail("Should have thrown NameNotFoundException");
+        } catch (NameNotFoundException expected) {
+        }
+    }
+
+    @Test
+    public void testBindInvalidates() throws Exception {
+        namingStore.bind(new CompositeName("test/value"), "one");
+        final Context context = (Context) namingContext.lookup("test");
+        assertEquals("one", context.lookup("value"));
+
+        namingStore.unbind(new CompositeName("test/value"));
+        namingStore.bind(new CompositeName("test"), "two");
+        assertEquals("two", namingContext.lookup("test"));
+    }
+
+    @Test
+    public void testReferenceFactoryIsReused() throws Exception {
+        final Reference reference = new Reference(String.class.getName(), new StringRefAddr("blah", "test"), CountingObjectFactory.class.getName(), null);
+        namingStore.bind(new CompositeName("test"), reference);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("test", namingContext.lookup("test"));
+        }
+        assertEquals(1, CountingObjectFactory.created.get());
+        // The reference itself is still dereferenced on every lookup
+        assertEquals(5, CountingObjectFactory.resolved.get());
+
+        namingStore.rebind(new CompositeName("test"), reference);
+        assertEquals("test", namingContext.lookup("test"));
+        assertEquals(2, CountingObjectFactory.created.get());
+    }
+
+    @Test
+    public void testReferenceFactoryFollowsContextClassLoader() throws Exception {
+        final Reference reference = new Reference(String.class.getName(), new StringRefAddr("blah", "test"), CountingObjectFactory.class.getName(), null);
+        namingStore.bind(new CompositeName("test"), reference);
+        assertEquals("test", namingContext.lookup("test"));
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(new ClassLoader(original) {});
+        try {
+            assertEquals("test", namingContext.lookup("test"));
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+        assertEquals(2, CountingObjectFactory.created.get());
+    }
+
+    @Test
+    public void testLookupWithContinuation() throws Exception {
+        namingStore.bind(new CompositeName("comp/nested"), "test");
+        final Reference reference = new Reference(String.class.getName(), new StringRefAddr("nns", "comp"), NamingContextTestCase.TestObjectFactoryWithNameResolution.class.getName(), null);
+        namingStore.bind(new CompositeName("test"), reference);
+
+        assertEquals("test", namingContext.lookup("test/nested"));
+        assertEquals("test", namingContext.lookup("test/nested"));
+
+        namingStore.rebind(new CompositeName("comp/nested"), "changed");
+        assertEquals("changed", namingContext.lookup("test/nested"));
+    }
+
+    @Test
+    public void testLookupWithResolveResult() throws Exception {
+        namingStore.bind(new CompositeName("test/nested"), "test");
+        final Reference reference = new Reference(String.class.getName(), new StringRefAddr("blahh", "test"), NamingContextTestCase.TestObjectFactoryWithNameResolution.class.getName(), null);
+        namingStore.bind(new CompositeName("comp"), reference);
+
+        assertEquals("test", namingContext.lookup("comp/nested"));
+        assertEquals("test", namingContext.lookup("comp/nested"));
+    }
+
+    @Test
+    public void testLookupLink() throws Exception {
+        namingStore.bind(new CompositeName("test"), "testValue");
+        namingStore.bind(new CompositeName("link"), new LinkRef("./test"));
+
+        assertEquals("testValue", namingContext.lookup("link"));
+        assertEquals("testValue", namingContext.lookup("link"));
+
+        namingStore.rebind(new CompositeName("test"), "changed");
+        assertEquals("changed", namingContext.lookup("link"));
+    }
+
+    @Test
+    public void testEmptyNamesAreNotCached() throws Exception {
+        assertTrue(namingContext.lookup("") instanceof Context);
+        namingContext.lookup("java:");
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testEntriesAreBounded() throws Exception {
+        for (int i = 0; i < LookupCache.MAX_ENTRIES + 10; i++) {
+            namingStore.bind(new CompositeName("test" + i), i);
+        }
+        for (int i = 0; i < LookupCache.MAX_ENTRIES + 10; i++) {
+            assertEquals(i, namingContext.lookup("test" + i));
+        }
+        assertEquals(LookupCache.MAX_ENTRIES, cache.getSize());
+    }
+
+    public static class CountingObjectFactory implements ObjectFactory {
+        static final AtomicInteger created = new AtomicInteger();
+        static final AtomicInteger resolved = new AtomicInteger();
+
+        public CountingObjectFactory() {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public Object getObjectInstance(Object obj, Name name, Context nameCtx, Hashtable<?, ?> environment) throws Exception {
+            resolved.incrementAndGet();
+            return ((Reference) obj).get(0).getContent();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.CompositeName;
+import javax.naming.Name;
+import javax.naming.NamingException;
+import javax.naming.Reference;
+import javax.naming.StringRefAddr;
+
+/**
+ * Measures {@link NamingContext#lookup(String)} throughput with and without the {@link LookupCache}. The names
+ * looked up mirror {@code java:comp/env} entries: a continuation reference in front of a nested binding, plus a
+ * reference bound directly. Not a unit test; run it directly:
+ *
+ * <pre>
+ * java org.jboss.as.naming.LookupThroughputBenchmark [threads] [seconds] [names]
+ * </pre>
+ */
+public class LookupThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        final int names = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        NamingContext.initializeNamingManager();
+        final InMemoryNamingStore store = new InMemoryNamingStore();
+        NamingContext.setActiveNamingStore(store);
+        final Reference comp = new Reference(String.class.getName(), new StringRefAddr("nns", "app/comp"), NamingContextTestCase.TestObjectFactoryWithNameResolution.class.getName(), null);
+        store.bind(new CompositeName("comp"), comp);
+        final String[] lookupNames = new String[names * 2];
+        final Name[] parsedNames = new Name[names * 2];
+        for (int i = 0; i < names; i++) {
+            store.bind(new CompositeName("app/comp/env/entry" + i), "value" + i);
+            store.bind(new CompositeName("global/ref" + i), new Reference(String.class.getName(), new StringRefAddr("value", "ref" + i), NamingContextTestCase.TestObjectFactory.class.getName(), null));
+            lookupNames[i * 2] = "java:comp/env/entry" + i;
+            lookupNames[i * 2 + 1] = "java:global/ref" + i;
+        }
+        for (int i = 0; i < lookupNames.length; i++) {
+            parsedNames[i] = new CompositeName(lookupNames[i]);
+        }
+        final NamingContext context = new NamingContext(store, null);
+
+        System.out.printf("%d threads, %d names, %d s per run%n", threads, lookupNames.length, seconds);
+        final long uncached = run(threads, seconds, new Lookup() {
+            public void lookup(final int i) throws NamingException {
+                context.lookup(parsedNames[i]);
+            }
+        }, lookupNames.length);
+        System.out.printf("uncached: %.1f lookups/s%n", uncached / (double) seconds);
+        final long cached = run(threads, seconds, new Lookup() {
+            public void lookup(final int i) throws NamingException {
+                context.lookup(lookupNames[i]);
+            }
+        }, lookupNames.length);
+        System.out.printf("cached:   %.1f lookups/s%n", cached / (double) seconds);
+        final LookupCache cache = store.getLookupCache();
+        System.out.printf("cache hits %d, misses %d, entries %d%n", cache.getHitCount(), cache.getMissCount(), cache.getSize());
+    }
+
+    private static long run(final int threads, final int seconds, final Lookup lookup, final int names) throws Exception {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong lookups = new AtomicLong();
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            new Thread(new Runnable() {
+                public void run() {
+                    long count = 0;
+                    try {
+                        while (running.get()) {
+                            for (int i = 0; i < names; i++) {
+                                lookup.lookup((i + offset) % names);
+                            }
+                            count += names;
+                        }
+                    } catch (NamingException e) {
+                        e.printStackTrace();
+                    } finally {
+                        lookups.addAndGet(count);
+                        done.countDown();
+                    }
+                }
+            }, "lookup-" + t).start();
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        done.await();
+        return lookups.get();
+    }
+
+    private interface Lookup {
+        void lookup(int i) throws NamingException;
+    }
+}
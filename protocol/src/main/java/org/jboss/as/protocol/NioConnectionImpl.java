@@ -0,0 +1,846 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import static org.jboss.as.protocol.ProtocolConstants.CHUNK_END;
+import static org.jboss.as.protocol.ProtocolConstants.CHUNK_START;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link Connection} over a non-blocking {@link SocketChannel} served by a {@link NioTransport} selector thread.
+ * <p>
+ * A message is handed to the message handler as soon as its first chunk starts, and the received data is passed to
+ * the handler's stream in arrays of at most 8 KiB as it arrives, whatever chunk size the peer
+ * announces, so no thread is parked per connection and a large message is not collected in heap.  Reading is
+ * suspended while too many messages, or too many received bytes, wait for their handlers.  Messages are still
+ * handled one at a time and in order, since handlers rely on that to pass the connection on to the handler for the
+ * next message.
+ * Outgoing chunks are written from the sender's buffer when the socket can take them, and only copied when
+ * they have to wait for the selector.
+ * </p>
+ */
+final class NioConnectionImpl implements Connection, NioTransport.Handler {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.protocol.connection");
+
+    /** Reading is suspended while this many messages wait for their handler */
+    private static final int MAX_QUEUED_MESSAGES = 16;
+    /** Reading is suspended while this many received bytes wait to be read by the handlers */
+    private static final int MAX_BUFFERED_BYTES = 256 * 1024;
+    /** The largest array received data is read into, chunks announced as larger are split */
+    private static final int SEGMENT_SIZE = 8192;
+    /** Senders block while more than this many bytes wait for the socket */
+    private static final int MAX_QUEUED_BYTES = 256 * 1024;
+
+    private static final int READ_COMMAND = 0;
+    private static final int READ_LENGTH = 1;
+    private static final int READ_DATA = 2;
+
+    private final SocketChannel channel;
+    private final NioTransport.SelectorThread selectorThread;
+    private final Executor readExecutor;
+    private final ClosedCallback callback;
+
+    private final Object lock = new Object();
+
+    // protected by {@link #lock}
+    private OutputStream sender;
+    // protected by {@link #lock}
+    private boolean readDone;
+    // protected by {@link #lock}
+    private boolean writeDone;
+    // protected by {@link #lock}
+    private boolean shutdownPending;
+    // protected by {@link #lock}
+    private final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<ByteBuffer>();
+    // protected by {@link #lock}
+    private int queuedBytes;
+
+    // protected by {@link #dispatchQueue}
+    private final ArrayDeque<Runnable> dispatchQueue = new ArrayDeque<Runnable>();
+    // protected by {@link #dispatchQueue}
+    private boolean dispatching;
+    // protected by {@link #dispatchQueue}
+    private boolean readSuspended;
+    // protected by {@link #dispatchQueue}
+    private int bufferedBytes;
+
+    // only accessed by the selector thread
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(SEGMENT_SIZE);
+    private int readState = READ_COMMAND;
+    private int lengthRemaining;
+    private int chunkLength;
+    private int chunkRemaining;
+    // only set by the selector thread, read by close() to fail a message which will not be completed
+    private volatile MessageInputStream message;
+    private volatile boolean eof;
+
+    private volatile MessageHandler messageHandler;
+
+    private volatile MessageHandler backupHandler;
+
+    private volatile Object attachment;
+
+    NioConnectionImpl(final SocketChannel channel, final NioTransport.SelectorThread selectorThread, final MessageHandler handler, final Executor readExecutor, final ClosedCallback callback) {
+        this.channel = channel;
+        this.selectorThread = selectorThread;
+        messageHandler = handler;
+        this.readExecutor = readExecutor;
+        this.callback = callback;
+        readBuffer.flip();
+    }
+
+    /**
+     * Start reading from the channel.
+     */
+    void start() throws IOException {
+        // Chunk headers are already written together with their data, so there is nothing for Nagle to coalesce
+        channel.socket().setTcpNoDelay(true);
+        selectorThread.register(channel, SelectionKey.OP_READ, this);
+    }
+
+    @Override
+    public OutputStream writeMessage() throws IOException {
+        final OutputStream os;
+        synchronized (lock) {
+            if (writeDone) {
+                throw new IOException("Writes are already shut down");
+            }
+            while (sender != null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            boolean ok = false;
+            try {
+                sender = new MessageOutputStream();
+                os = new BufferedOutputStream(sender);
+                ok = true;
+            } finally {
+                if (! ok) {
+                    // let someone else try
+                    lock.notify();
+                }
+            }
+        }
+        return os;
+    }
+
+    @Override
+    public void shutdownWrites() throws IOException {
+        synchronized (lock) {
+            if (writeDone) return;
+            while (sender != null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            writeDone = true;
+            if (writeQueue.isEmpty()) {
+                shutdownOutput();
+            } else {
+                // Finish once the selector has written everything
+                shutdownPending = true;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            sender = null;
+            readDone = true;
+            writeDone = true;
+            writeQueue.clear();
+            queuedBytes = 0;
+            channel.close();
+            lock.notifyAll();
+        }
+        final MessageInputStream stream = message;
+        if (stream != null) {
+            // The selector will not read the rest of it
+            stream.fail(new EOFException("Connection closed"));
+        }
+    }
+
+    @Override
+    public void setMessageHandler(final MessageHandler messageHandler) {
+        if (messageHandler == null) {
+            throw new IllegalArgumentException("messageHandler is null");
+        }
+        this.messageHandler = messageHandler;
+    }
+
+    @Override
+    public InetAddress getPeerAddress() {
+        return channel.socket().getInetAddress();
+    }
+
+    @Override
+    public void attach(final Object attachment) {
+        this.attachment = attachment;
+    }
+
+    @Override
+    public Object getAttachment() {
+        return attachment;
+    }
+
+    @Override
+    public void backupMessageHandler() {
+        backupHandler = messageHandler;
+    }
+
+    @Override
+    public void restoreMessageHandler() {
+        MessageHandler handler = backupHandler;
+        setMessageHandler(handler == null ? MessageHandler.NULL : handler);
+    }
+
+    @Override
+    public void handleReady(final SelectionKey key) {
+        if (key.isReadable()) {
+            readReady(key);
+        }
+        if (key.isValid() && key.isWritable()) {
+            handleWrite(key);
+        }
+    }
+
+    private void readReady(final SelectionKey key) {
+        try {
+            handleRead();
+        } catch (IOException e) {
+            stopReading(key);
+            final MessageInputStream stream = message;
+            if (stream != null) {
+                message = null;
+                stream.fail(e);
+            }
+            final IOException failure = e;
+            dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    safeHandlerFailure(failure);
+                    closed();
+                }
+            });
+        }
+    }
+
+    private void handleRead() throws IOException {
+        for (;;) {
+            if (readState == READ_DATA && ! readBuffer.hasRemaining() && chunkRemaining >= SEGMENT_SIZE) {
+                // Nothing buffered; read straight into a segment of the message
+                final byte[] segment = new byte[SEGMENT_SIZE];
+                final int cnt = channel.read(ByteBuffer.wrap(segment));
+                if (cnt == -1) {
+                    throw new EOFException("Unexpected end of stream");
+                }
+                if (cnt == 0) {
+                    return;
+                }
+                if (! received(cnt == SEGMENT_SIZE ? segment : Arrays.copyOf(segment, cnt))) {
+                    return;
+                }
+                continue;
+            }
+            if (! readBuffer.hasRemaining()) {
+                readBuffer.clear();
+                final int cnt = channel.read(readBuffer);
+                readBuffer.flip();
+                if (cnt == -1) {
+                    if (readState != READ_COMMAND || message != null) {
+                        throw new EOFException("Unexpected end of stream");
+                    }
+                    endOfStream();
+                    return;
+                }
+                if (cnt == 0) {
+                    return;
+                }
+            }
+            switch (readState) {
+                case READ_COMMAND: {
+                    final int cmd = readBuffer.get() & 0xff;
+                    if (cmd == CHUNK_START) {
+                        readState = READ_LENGTH;
+                        lengthRemaining = 4;
+                        chunkLength = 0;
+                        if (message == null) {
+                            // The handler can start on the message while the rest of it arrives
+                            final MessageInputStream stream = new MessageInputStream();
+                            message = stream;
+                            if (! dispatchMessage(stream)) {
+                                // Too many messages waiting for their handler; wait until they are worked off
+                                return;
+                            }
+                        }
+                    } else if (cmd == CHUNK_END) {
+                        log.trace("Received end data marker");
+                        final MessageInputStream stream = message;
+                        if (stream != null) {
+                            message = null;
+                            stream.complete();
+                        }
+                    } else {
+                        throw new IOException("Invalid command byte read: " + cmd);
+                    }
+                    break;
+                }
+                case READ_LENGTH: {
+                    while (lengthRemaining > 0 && readBuffer.hasRemaining()) {
+                        chunkLength = (chunkLength << 8) | (readBuffer.get() & 0xff);
+                        lengthRemaining--;
+                    }
+                    if (lengthRemaining == 0) {
+                        log.tracef("Received data chunk of size %d", Integer.valueOf(chunkLength));
+                        if (chunkLength < 0) {
+                            throw new IOException("Invalid chunk size " + chunkLength);
+                        }
+                        chunkRemaining = chunkLength;
+                        readState = chunkLength == 0 ? READ_COMMAND : READ_DATA;
+                    }
+                    break;
+                }
+                case READ_DATA: {
+                    final byte[] segment = new byte[Math.min(readBuffer.remaining(), chunkRemaining)];
+                    readBuffer.get(segment);
+                    if (! received(segment)) {
+                        return;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pass data of the current chunk on to its message.
+     *
+     * @return {@code false} if reading has been suspended because too many received bytes are waiting
+     */
+    private boolean received(final byte[] segment) {
+        chunkRemaining -= segment.length;
+        if (chunkRemaining == 0) {
+            readState = READ_COMMAND;
+        }
+        final boolean suspend;
+        synchronized (dispatchQueue) {
+            bufferedBytes += segment.length;
+            if (bufferedBytes >= MAX_BUFFERED_BYTES) {
+                readSuspended = true;
+            }
+            suspend = readSuspended;
+        }
+        if (! message.add(segment)) {
+            // The handler is done with the message, so the rest of it is discarded
+            consumed(segment.length);
+            return true;
+        }
+        if (suspend) {
+            final SelectionKey key = channel.keyFor(selectorThread.getSelector());
+            if (key != null) {
+                stopReading(key);
+            }
+        }
+        return ! suspend;
+    }
+
+    /**
+     * Account for received bytes which have been read or discarded by a handler.
+     */
+    private void consumed(final int cnt) {
+        final boolean resume;
+        synchronized (dispatchQueue) {
+            bufferedBytes -= cnt;
+            resume = checkResume();
+        }
+        if (resume) {
+            resumeReading();
+        }
+    }
+
+    // protected by {@link #dispatchQueue}
+    private boolean checkResume() {
+        if (readSuspended && dispatchQueue.size() < MAX_QUEUED_MESSAGES / 2 && bufferedBytes < MAX_BUFFERED_BYTES / 2) {
+            readSuspended = false;
+            return true;
+        }
+        return false;
+    }
+
+    private void resumeReading() {
+        if (eof) {
+            return;
+        }
+        // Pick up where the selector left off, including anything already buffered
+        selectorThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                final SelectionKey key = channel.keyFor(selectorThread.getSelector());
+                if (key != null && key.isValid()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+                    readReady(key);
+                }
+            }
+        });
+    }
+
+    private void endOfStream() {
+        log.trace("Received end of stream");
+        eof = true;
+        final SelectionKey key = channel.keyFor(selectorThread.getSelector());
+        if (key != null) {
+            stopReading(key);
+        }
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                safeHandleShutdown();
+                boolean done;
+                synchronized (lock) {
+                    readDone = true;
+                    done = writeDone;
+                }
+                if (done) {
+                    StreamUtils.safeClose(channel);
+                    safeHandleFinished();
+                }
+                closed();
+            }
+        });
+    }
+
+    private void stopReading(final SelectionKey key) {
+        if (key.isValid()) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Queue a received message for its handler.
+     *
+     * @return {@code false} if reading has been suspended because too many messages are waiting
+     */
+    private boolean dispatchMessage(final MessageInputStream stream) {
+        final boolean suspend = dispatch(new Runnable() {
+            @Override
+            public void run() {
+                safeHandleMessage(stream);
+            }
+        });
+        if (suspend) {
+            final SelectionKey key = channel.keyFor(selectorThread.getSelector());
+            if (key != null) {
+                stopReading(key);
+            }
+        }
+        return ! suspend;
+    }
+
+    /**
+     * Run a task after all previously received messages have been handled.
+     *
+     * @return {@code true} if reading should be suspended
+     */
+    private boolean dispatch(final Runnable task) {
+        synchronized (dispatchQueue) {
+            dispatchQueue.add(task);
+            if (! dispatching) {
+                dispatching = true;
+                readExecutor.execute(dispatcher);
+            }
+            if (dispatchQueue.size() >= MAX_QUEUED_MESSAGES) {
+                readSuspended = true;
+            }
+            return readSuspended;
+        }
+    }
+
+    private final Runnable dispatcher = new Runnable() {
+        @Override
+        public void run() {
+            for (;;) {
+                final Runnable task;
+                boolean resume = false;
+                synchronized (dispatchQueue) {
+                    task = dispatchQueue.poll();
+                    if (task == null) {
+                        dispatching = false;
+                        return;
+                    }
+                    resume = checkResume();
+                }
+                if (resume) {
+                    resumeReading();
+                }
+                task.run();
+            }
+        }
+    };
+
+    private void handleWrite(final SelectionKey key) {
+        synchronized (lock) {
+            try {
+                while (! writeQueue.isEmpty()) {
+                    final ByteBuffer buffer = writeQueue.peek();
+                    final int cnt = channel.write(buffer);
+                    queuedBytes -= cnt;
+                    if (buffer.hasRemaining()) {
+                        break;
+                    }
+                    writeQueue.poll();
+                }
+                if (writeQueue.isEmpty()) {
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                    if (shutdownPending) {
+                        shutdownPending = false;
+                        shutdownOutput();
+                    }
+                }
+            } catch (IOException e) {
+                log.errorf(e, "Failed to write to channel");
+                writeQueue.clear();
+                queuedBytes = 0;
+                writeDone = true;
+                StreamUtils.safeClose(channel);
+            } finally {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // protected by {@link #lock}
+    private void send(final ByteBuffer... buffers) throws IOException {
+        final boolean idle = writeQueue.isEmpty();
+        if (idle) {
+            channel.write(buffers);
+        }
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                // The caller may reuse its buffer, so keep a copy
+                final ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+                copy.put(buffer);
+                copy.flip();
+                writeQueue.add(copy);
+                queuedBytes += copy.remaining();
+            }
+        }
+        if (idle && ! writeQueue.isEmpty()) {
+            selectorThread.setInterest(channel, SelectionKey.OP_WRITE, true);
+        }
+        while (queuedBytes > MAX_QUEUED_BYTES && channel.isOpen()) {
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+
+    // protected by {@link #lock}
+    private void shutdownOutput() throws IOException {
+        if (readDone) {
+            channel.close();
+        } else {
+            channel.socket().shutdownOutput();
+        }
+    }
+
+    void safeHandleMessage(final InputStream pis) {
+        try {
+            messageHandler.handleMessage(this, pis);
+        } catch (RuntimeException e) {
+            log.errorf(e, "Failed to read a message");
+        } catch (IOException e) {
+            log.errorf(e, "Failed to read a message");
+        } catch (NoClassDefFoundError e) {
+            log.errorf(e, "Failed to read a message");
+        } catch (Error e) {
+            log.errorf(e, "Failed to read a message");
+            throw e;
+        } finally {
+            StreamUtils.safeClose(pis);
+        }
+    }
+
+    void safeHandleShutdown() {
+        try {
+            messageHandler.handleShutdown(this);
+        } catch (IOException e) {
+            log.errorf(e, "Failed to handle socket shut down condition");
+        }
+    }
+
+    void safeHandleFinished() {
+        try {
+            messageHandler.handleFinished(this);
+        } catch (IOException e) {
+            log.errorf(e, "Failed to handle socket finished condition");
+        }
+    }
+
+    void safeHandlerFailure(IOException e) {
+        try {
+            messageHandler.handleFailure(this, e);
+        } catch (IOException e1) {
+            log.errorf(e1, "Failed to handle socket failure condition");
+        }
+    }
+
+    /**
+     * The stream of a received message.  The selector thread adds the data as it arrives, and the bytes waiting to be
+     * read count towards the limit at which reading from the connection is suspended until they are read, or
+     * discarded when the stream is closed.
+     */
+    final class MessageInputStream extends InputStream {
+        // protected by this
+        private final ArrayDeque<byte[]> segments = new ArrayDeque<byte[]>();
+        // protected by this
+        private int position;
+        // protected by this
+        private boolean complete;
+        // protected by this
+        private boolean closed;
+        // protected by this
+        private IOException failure;
+
+        /**
+         * Add received data.
+         *
+         * @return {@code false} if the stream has been closed, so the data is not needed
+         */
+        synchronized boolean add(final byte[] segment) {
+            if (closed) {
+                return false;
+            }
+            segments.add(segment);
+            notifyAll();
+            return true;
+        }
+
+        synchronized void complete() {
+            complete = true;
+            notifyAll();
+        }
+
+        synchronized void fail(final IOException e) {
+            if (! complete) {
+                failure = e;
+                notifyAll();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b;
+            int released = 0;
+            synchronized (this) {
+                final byte[] current = current();
+                if (current == null) {
+                    return -1;
+                }
+                b = current[position++] & 0xff;
+                if (position == current.length) {
+                    released = next();
+                }
+            }
+            if (released > 0) {
+                consumed(released);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final int cnt;
+            int released = 0;
+            synchronized (this) {
+                final byte[] current = current();
+                if (current == null) {
+                    return -1;
+                }
+                cnt = Math.min(len, current.length - position);
+                System.arraycopy(current, position, b, off, cnt);
+                position += cnt;
+                if (position == current.length) {
+                    released = next();
+                }
+            }
+            if (released > 0) {
+                consumed(released);
+            }
+            return cnt;
+        }
+
+        @Override
+        public synchronized int available() throws IOException {
+            final byte[] current = segments.peek();
+            return current == null ? 0 : current.length - position;
+        }
+
+        @Override
+        public void close() {
+            int released = 0;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                for (byte[] segment : segments) {
+                    released += segment.length;
+                }
+                segments.clear();
+                position = 0;
+                notifyAll();
+            }
+            if (released > 0) {
+                consumed(released);
+            }
+        }
+
+        /**
+         * Wait for data to read.
+         *
+         * @return the segment to read from, or {@code null} at the end of the message
+         */
+        // protected by this
+        private byte[] current() throws IOException {
+            while (segments.isEmpty()) {
+                if (complete || closed) {
+                    return null;
+                }
+                if (failure != null) {
+                    throw new IOException("Failed to receive the message", failure);
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            return segments.peek();
+        }
+
+        /**
+         * Move on to the next segment.
+         *
+         * @return the size of the segment which has been read
+         */
+        // protected by this
+        private int next() {
+            position = 0;
+            return segments.poll().length;
+        }
+    }
+
+    final class MessageOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) throws IOException {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            final ByteBuffer hdr = ByteBuffer.allocate(5);
+            hdr.put((byte) CHUNK_START);
+            hdr.putInt(len);
+            hdr.flip();
+            synchronized (lock) {
+                if (sender != this || writeDone) {
+                    if (sender == this) sender = null;
+                    lock.notifyAll();
+                    throw new IOException("Write channel closed");
+                }
+                log.tracef("Sending data chunk of size %d", Integer.valueOf(len));
+                send(hdr, ByteBuffer.wrap(b, off, len));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (lock) {
+                if (sender != this) {
+                    return;
+                }
+                try {
+                    if (writeDone) throw new IOException("Write channel closed");
+                    if (readDone) {
+                        readExecutor.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                safeHandleFinished();
+                            }
+                        });
+                    }
+                    log.tracef("Sending end of message");
+                    // Still the sender while this waits for room, so no other message can slip in before the end marker
+                    send(ByteBuffer.wrap(new byte[] { (byte) CHUNK_END }));
+                } finally {
+                    sender = null;
+                    // wake up waiters
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void closed() {
+        ClosedCallback callback = this.callback;
+        if (callback != null) {
+            callback.connectionClosed();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import java.io.IOException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A small pool of selector threads used by the non-blocking protocol transport.  When a {@link ProtocolServer} or
+ * {@link ProtocolClient} is configured with a transport, its sockets are served by these threads instead of a
+ * blocking read thread per connection; message handlers still run on the configured read executor.
+ * <p>
+ * The transport must be started before it is handed to a server or client, and should be stopped once they are.
+ * </p>
+ */
+public final class NioTransport {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.protocol.nio");
+
+    private final ThreadFactory threadFactory;
+    private final int selectorCount;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile SelectorThread[] selectorThreads;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param threadFactory the factory for the selector threads
+     * @param selectorCount the number of selector threads
+     */
+    public NioTransport(final ThreadFactory threadFactory, final int selectorCount) {
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("threadFactory is null");
+        }
+        if (selectorCount < 1) {
+            throw new IllegalArgumentException("selectorCount must be at least 1");
+        }
+        this.threadFactory = threadFactory;
+        this.selectorCount = selectorCount;
+    }
+
+    /**
+     * Open the selectors and start their threads.
+     *
+     * @throws IOException if a selector cannot be opened
+     */
+    public synchronized void start() throws IOException {
+        if (selectorThreads != null) {
+            return;
+        }
+        final SelectorThread[] threads = new SelectorThread[selectorCount];
+        boolean ok = false;
+        try {
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new SelectorThread(Selector.open());
+                final Thread thread = threadFactory.newThread(threads[i]);
+                if (thread == null) {
+                    throw new IllegalStateException("Thread creation was refused");
+                }
+                thread.setName("Management selector thread " + (i + 1));
+                thread.start();
+            }
+            ok = true;
+        } finally {
+            if (!ok) {
+                for (SelectorThread thread : threads) {
+                    if (thread != null) {
+                        thread.stop();
+                    }
+                }
+            }
+        }
+        selectorThreads = threads;
+    }
+
+    /**
+     * Stop the selector threads, closing every channel still registered with them.
+     */
+    public synchronized void stop() {
+        final SelectorThread[] threads = selectorThreads;
+        selectorThreads = null;
+        if (threads != null) {
+            for (SelectorThread thread : threads) {
+                thread.stop();
+            }
+        }
+    }
+
+    /**
+     * Get the number of selector threads.
+     *
+     * @return the selector count
+     */
+    public int getSelectorCount() {
+        return selectorCount;
+    }
+
+    /**
+     * Get the number of channels currently registered with the selectors.
+     *
+     * @return the channel count
+     */
+    public int getChannelCount() {
+        final SelectorThread[] threads = selectorThreads;
+        int count = 0;
+        if (threads != null) {
+            for (SelectorThread thread : threads) {
+                count += thread.selector.keys().size();
+            }
+        }
+        return count;
+    }
+
+    SelectorThread nextSelectorThread() {
+        final SelectorThread[] threads = selectorThreads;
+        if (threads == null) {
+            throw new IllegalStateException("Transport is not started");
+        }
+        return threads[(next.getAndIncrement() & Integer.MAX_VALUE) % threads.length];
+    }
+
+    /**
+     * Callback for a channel which has become ready.  Always invoked on the selector thread.
+     */
+    interface Handler {
+
+        void handleReady(SelectionKey key);
+    }
+
+    static final class SelectorThread implements Runnable {
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+        private volatile boolean stop;
+
+        SelectorThread(final Selector selector) {
+            this.selector = selector;
+        }
+
+        Selector getSelector() {
+            return selector;
+        }
+
+        /**
+         * Run a task on the selector thread.
+         *
+         * @param task the task
+         */
+        void execute(final Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        void register(final SelectableChannel channel, final int ops, final Handler handler) {
+            execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        channel.register(selector, ops, handler);
+                    } catch (IOException e) {
+                        log.errorf(e, "Failed to register channel");
+                        StreamUtils.safeClose(channel);
+                    }
+                }
+            });
+        }
+
+        void setInterest(final SelectableChannel channel, final int op, final boolean enabled) {
+            execute(new Runnable() {
+                @Override
+                public void run() {
+                    final SelectionKey key = channel.keyFor(selector);
+                    if (key != null && key.isValid()) {
+                        final int ops = key.interestOps();
+                        key.interestOps(enabled ? ops | op : ops & ~op);
+                    }
+                }
+            });
+        }
+
+        void stop() {
+            stop = true;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!stop) {
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        try {
+                            task.run();
+                        } catch (Throwable t) {
+                            log.errorf(t, "Failed to run selector task");
+                        }
+                    }
+                    selector.select();
+                    if (stop) {
+                        break;
+                    }
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        if (key.isValid()) {
+                            try {
+                                ((Handler) key.attachment()).handleReady(key);
+                            } catch (Throwable t) {
+                                log.errorf(t, "Failed to handle ready channel");
+                            }
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException e) {
+                log.errorf(e, "Selector failed");
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    StreamUtils.safeClose(key.channel());
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    log.errorf(e, "Failed to close selector");
+                }
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@ package org.jboss.as.protocol;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 
@@ -50,6 +51,7 @@ public final class ProtocolClient {
     private final int readTimeout;
     private final Executor readExecutor;
     private final ClosedCallback callback;
+    private final NioTransport transport;
 
     public ProtocolClient(final Configuration configuration) {
         threadFactory = configuration.getThreadFactory();
@@ -61,10 +63,11 @@ public final class ProtocolClient {
         readTimeout = configuration.getReadTimeout();
         readExecutor = configuration.getReadExecutor();
         callback = configuration.getClosedCallback();
+        transport = configuration.getTransport();
         if (threadFactory == null) {
             throw new IllegalArgumentException("threadFactory is null");
         }
-        if (socketFactory == null) {
+        if (socketFactory == null && transport == null) {
             throw new IllegalArgumentException("factory is null");
         }
         if (serverAddress == null) {
@@ -80,6 +83,9 @@ public final class ProtocolClient {
 
     public Connection connect() throws IOException {
         log.tracef("Creating connection to %s", serverAddress);
+        if (transport != null) {
+            return connectNio();
+        }
         final Socket socket = socketFactory.createSocket();
         final ConnectionImpl connection = new ConnectionImpl(socket, messageHandler, readExecutor, callback);
         final Thread thread = threadFactory.newThread(connection.getReadTask());
@@ -95,6 +101,26 @@ public final class ProtocolClient {
         return connection;
     }
 
+    private Connection connectNio() throws IOException {
+        final SocketChannel channel = SocketChannel.open();
+        boolean ok = false;
+        try {
+            if (bindAddress != null) channel.socket().bind(bindAddress);
+            // Connect in blocking mode so the connect timeout applies
+            channel.socket().connect(serverAddress, connectTimeout);
+            channel.configureBlocking(false);
+            final NioConnectionImpl connection = new NioConnectionImpl(channel, transport.nextSelectorThread(), messageHandler, readExecutor, callback);
+            connection.start();
+            ok = true;
+            log.tracef("Connected to %s", serverAddress);
+            return connection;
+        } finally {
+            if (! ok) {
+                StreamUtils.safeClose(channel);
+            }
+        }
+    }
+
     public static final class Configuration {
         private ThreadFactory threadFactory;
         private SocketFactory socketFactory;
@@ -105,6 +131,7 @@ public final class ProtocolClient {
         private int connectTimeout = 0;
         private int readTimeout = 0;
         private ClosedCallback closedCallback;
+        private NioTransport transport;
 
         public Configuration() {
         }
@@ -180,5 +207,19 @@ public final class ProtocolClient {
         public void setClosedCallback(ClosedCallback closedCallback) {
             this.closedCallback = closedCallback;
         }
+
+        public NioTransport getTransport() {
+            return transport;
+        }
+
+        /**
+         * Connect using a non-blocking transport instead of a dedicated read thread.  The socket factory and
+         * read timeout are not used in that case.
+         *
+         * @param transport the started transport, or {@code null} to use a blocking socket
+         */
+        public void setTransport(final NioTransport transport) {
+            this.transport = transport;
+        }
     }
 }
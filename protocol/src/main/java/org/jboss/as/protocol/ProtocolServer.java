@@ -27,6 +27,9 @@ import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 
@@ -54,6 +57,8 @@ public final class ProtocolServer {
     private volatile ServerSocket serverSocket;
     private volatile InetSocketAddress boundAddress;
     private final ClosedCallback callback;
+    private final NioTransport transport;
+    private volatile ServerSocketChannel serverChannel;
 
     public ProtocolServer(final Configuration configuration) throws IOException {
         threadFactory = configuration.getThreadFactory();
@@ -64,16 +69,30 @@ public final class ProtocolServer {
         readTimeout = configuration.getReadTimeout();
         readExecutor = configuration.getReadExecutor();
         callback = configuration.getClosedCallback();
+        transport = configuration.getTransport();
         if (bindAddress == null) {
             throw new IllegalArgumentException("bindAddress is null");
         }
         if (connectionHandler == null) {
             throw new IllegalArgumentException("connectionHandler is null");
         }
+        if (transport != null) {
+            // Channels of the transport are plain sockets without a read timeout
+            if (socketFactory != null && socketFactory != ServerSocketFactory.getDefault()) {
+                throw new IllegalArgumentException("socketFactory is not supported by the non-blocking transport");
+            }
+            if (readTimeout != 0) {
+                throw new IllegalArgumentException("readTimeout is not supported by the non-blocking transport");
+            }
+        }
     }
 
     public void start() throws IOException {
         stop = false;
+        if (transport != null) {
+            startNio();
+            return;
+        }
 
         final ServerSocket serverSocket = socketFactory.createServerSocket();
         this.serverSocket = serverSocket;
@@ -123,6 +142,47 @@ public final class ProtocolServer {
         thread.start();
     }
 
+    /**
+     * Listen using a non-blocking server channel registered with one of the transport's selectors.  Accepted
+     * connections are spread over the selectors as well, so no thread is started per connection.
+     */
+    private void startNio() throws IOException {
+        final ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        boolean ok = false;
+        try {
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.socket().bind(bindAddress, backlog);
+            serverChannel.configureBlocking(false);
+            boundAddress = (InetSocketAddress) serverChannel.socket().getLocalSocketAddress();
+            this.serverChannel = serverChannel;
+            transport.nextSelectorThread().register(serverChannel, SelectionKey.OP_ACCEPT, new NioTransport.Handler() {
+                @Override
+                public void handleReady(final SelectionKey key) {
+                    for (;;) {
+                        final SocketChannel channel;
+                        try {
+                            channel = serverChannel.accept();
+                        } catch (IOException e) {
+                            if (!stop) {
+                                log.errorf(e, "Failed to accept a connection");
+                            }
+                            return;
+                        }
+                        if (channel == null) {
+                            return;
+                        }
+                        safeHandleConnection(channel);
+                    }
+                }
+            });
+            ok = true;
+        } finally {
+            if (!ok) {
+                StreamUtils.safeClose(serverChannel);
+            }
+        }
+    }
+
     public void stop() {
         stop = true;
         final Thread thread = this.thread;
@@ -132,6 +192,24 @@ public final class ProtocolServer {
             thread.interrupt();
         }
         StreamUtils.safeClose(serverSocket);
+        StreamUtils.safeClose(serverChannel);
+    }
+
+    private void safeHandleConnection(final SocketChannel channel) {
+        boolean ok = false;
+        try {
+            channel.configureBlocking(false);
+            final NioConnectionImpl connection = new NioConnectionImpl(channel, transport.nextSelectorThread(), MessageHandler.NULL, readExecutor, callback);
+            connection.setMessageHandler(connectionHandler.handleConnected(connection));
+            connection.start();
+            ok = true;
+        } catch (IOException e) {
+            log.errorf(e, "Failed to handle incoming connection");
+        } finally {
+            if (! ok) {
+                StreamUtils.safeClose(channel);
+            }
+        }
     }
 
     private void safeHandleConnection(final Socket socket) {
@@ -173,6 +251,7 @@ public final class ProtocolServer {
         private int readTimeout;
         private Executor readExecutor;
         private ClosedCallback closedCallback;
+        private NioTransport transport;
 
         public ThreadFactory getThreadFactory() {
             return threadFactory;
@@ -246,5 +325,20 @@ public final class ProtocolServer {
         public void setCallback(ClosedCallback closedCallback) {
             this.closedCallback = closedCallback;
         }
+
+        public NioTransport getTransport() {
+            return transport;
+        }
+
+        /**
+         * Serve connections using a non-blocking transport instead of a thread per connection.  The transport only
+         * uses plain sockets without a read timeout, so a socket factory other than the default one, such as an SSL
+         * factory, or a read timeout is rejected.
+         *
+         * @param transport the started transport, or {@code null} to use blocking sockets
+         */
+        public void setTransport(final NioTransport transport) {
+            this.transport = transport;
+        }
     }
 }
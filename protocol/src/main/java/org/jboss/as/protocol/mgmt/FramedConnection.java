@@ -0,0 +1,320 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import static org.jboss.as.protocol.StreamUtils.safeClose;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.protocol.ByteDataOutput;
+import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.MessageHandler;
+import org.jboss.as.protocol.SimpleByteDataOutput;
+
+/**
+ * A view of a {@link Connection} used while one multiplexed request or response is processed.  Message handler changes
+ * only select the handler for the next message of the same exchange instead of replacing the handler of the whole
+ * connection.
+ * <p>
+ * A view created for a request collects the messages written through it and sends them to the remote side as a single
+ * frame.  A view created for a response instead sends every message as its own response frame as soon as the message
+ * is written, so the remote side receives streamed content while it is produced, and finally marks the end of the
+ * response with {@link #writeEnd()}.
+ * </p>
+ */
+final class FramedConnection implements Connection {
+
+    private final Connection connection;
+    private final ManagementResponseHeader responseHeader;
+    private final List<byte[]> messages = new ArrayList<byte[]>();
+    // protected by this
+    private MessageHandler next;
+    // protected by this
+    private boolean done;
+    // protected by this
+    private boolean written;
+
+    /**
+     * Create a view which collects the messages of a request into one frame.
+     *
+     * @param connection the connection
+     */
+    FramedConnection(final Connection connection) {
+        this(connection, null);
+    }
+
+    /**
+     * Create a view which sends each message of a response as its own frame.
+     *
+     * @param connection the connection
+     * @param responseHeader the header identifying the response, or {@code null} to collect the messages instead
+     */
+    FramedConnection(final Connection connection, final ManagementResponseHeader responseHeader) {
+        this.connection = connection;
+        this.responseHeader = responseHeader;
+    }
+
+    /**
+     * Read the messages contained in a frame.
+     *
+     * @param input the frame input, positioned after the frame header
+     * @return the messages
+     * @throws IOException if any problems occur reading the frame
+     */
+    static List<byte[]> readMessages(final DataInput input) throws IOException {
+        final int count = input.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid message count " + count);
+        }
+        final List<byte[]> messages = new ArrayList<byte[]>(count);
+        for (int i = 0; i < count; i++) {
+            final byte[] message = new byte[input.readInt()];
+            input.readFully(message);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    /**
+     * Pass the messages of a received frame to a chain of handlers.  The first message goes to {@code handler}, every following
+     * message goes to the handler the previous one selected using {@link #setMessageHandler(MessageHandler)}.
+     *
+     * @param handler the handler for the first message
+     * @param received the messages
+     * @throws IOException if a handler fails, or if there is no handler left for a message
+     */
+    void process(final MessageHandler handler, final List<byte[]> received) throws IOException {
+        setMessageHandler(handler);
+        for (byte[] message : received) {
+            processMessage(new ByteArrayInputStream(message));
+        }
+    }
+
+    /**
+     * Pass one message of the exchange to the handler selected by the previous message, or by the initial call
+     * to {@link #setMessageHandler(MessageHandler)}.
+     *
+     * @param message the message
+     * @throws IOException if the handler fails, or if there is no handler left for the message
+     */
+    void processMessage(final InputStream message) throws IOException {
+        final MessageHandler handler;
+        synchronized (this) {
+            handler = next;
+            next = null;
+        }
+        if (handler == null) {
+            throw new IOException("No handler for remaining messages of the exchange");
+        }
+        handler.handleMessage(this, message);
+    }
+
+    /**
+     * Report a failure to the remote side if nothing has been written for the exchange yet.
+     *
+     * @throws IOException if any problems occur writing the failure
+     */
+    void writeExceptionIfEmpty() throws IOException {
+        synchronized (this) {
+            if (written) {
+                return;
+            }
+        }
+        final OutputStream output = writeMessage();
+        try {
+            output.write(ManagementProtocol.REMOTE_EXCEPTION);
+            output.close();
+        } finally {
+            safeClose(output);
+        }
+    }
+
+    /**
+     * Send the collected messages as a single frame.
+     *
+     * @param frameType the frame type
+     * @param header the header identifying the exchange
+     * @throws IOException if any problems occur writing the frame
+     */
+    void writeFrame(final int frameType, final ManagementProtocolHeader header) throws IOException {
+        final List<byte[]> frame;
+        synchronized (this) {
+            done = true;
+            frame = new ArrayList<byte[]>(messages);
+            messages.clear();
+        }
+        OutputStream dataOutput = null;
+        ByteDataOutput output = null;
+        try {
+            dataOutput = connection.writeMessage();
+            output = new SimpleByteDataOutput(dataOutput);
+            output.writeByte(frameType);
+            header.write(output);
+            output.writeInt(frame.size());
+            for (byte[] message : frame) {
+                output.writeInt(message.length);
+                output.write(message);
+            }
+            output.close();
+            dataOutput.close();
+        } finally {
+            safeClose(output);
+            safeClose(dataOutput);
+        }
+    }
+
+    /**
+     * Mark the end of a response, telling the remote side that no more messages will follow.
+     *
+     * @throws IOException if any problems occur writing the end marker
+     */
+    void writeEnd() throws IOException {
+        synchronized (this) {
+            done = true;
+        }
+        final OutputStream output = writeResponseFrame(ManagementProtocol.RESPONSE_FRAME_END);
+        try {
+            output.close();
+        } finally {
+            safeClose(output);
+        }
+    }
+
+    private OutputStream writeResponseFrame(final int content) throws IOException {
+        final OutputStream dataOutput = connection.writeMessage();
+        boolean ok = false;
+        try {
+            // Not buffered, the rest of the message is written straight through to the connection
+            final DataOutputStream output = new DataOutputStream(dataOutput);
+            output.writeByte(ManagementProtocol.RESPONSE_FRAME);
+            responseHeader.write(output);
+            output.writeByte(content);
+            ok = true;
+            return output;
+        } finally {
+            if (!ok) {
+                safeClose(dataOutput);
+            }
+        }
+    }
+
+    @Override
+    public OutputStream writeMessage() throws IOException {
+        synchronized (this) {
+            if (responseHeader != null) {
+                if (done) {
+                    throw new IOException("Response has already been completed");
+                }
+                written = true;
+            } else if (!done) {
+                written = true;
+                return new MessageBuffer();
+            }
+        }
+        if (responseHeader != null) {
+            return writeResponseFrame(ManagementProtocol.RESPONSE_FRAME_MESSAGE);
+        }
+        return connection.writeMessage();
+    }
+
+    @Override
+    public void shutdownWrites() throws IOException {
+        connection.shutdownWrites();
+    }
+
+    @Override
+    public void close() throws IOException {
+        connection.close();
+    }
+
+    @Override
+    public void setMessageHandler(final MessageHandler messageHandler) {
+        synchronized (this) {
+            if (!done) {
+                next = messageHandler;
+                return;
+            }
+        }
+        connection.setMessageHandler(messageHandler);
+    }
+
+    @Override
+    public InetAddress getPeerAddress() {
+        return connection.getPeerAddress();
+    }
+
+    @Override
+    public void attach(final Object attachment) {
+        connection.attach(attachment);
+    }
+
+    @Override
+    public Object getAttachment() {
+        return connection.getAttachment();
+    }
+
+    @Override
+    public void backupMessageHandler() {
+        synchronized (this) {
+            if (!done) {
+                return;
+            }
+        }
+        connection.backupMessageHandler();
+    }
+
+    @Override
+    public void restoreMessageHandler() {
+        synchronized (this) {
+            if (!done) {
+                // The exchange is over
+                next = null;
+                return;
+            }
+        }
+        connection.restoreMessageHandler();
+    }
+
+    private final class MessageBuffer extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            synchronized (FramedConnection.this) {
+                if (!closed) {
+                    closed = true;
+                    messages.add(toByteArray());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import static org.jboss.as.protocol.StreamUtils.safeClose;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.MessageHandler;
+import org.jboss.as.protocol.SimpleByteDataInput;
+
+/**
+ * A management connection which can carry several {@link ManagementRequest}s at the same time.  Each request is sent
+ * as a single frame tagged with its own request id, and the response frames are routed back to the request they
+ * belong to, so a request does not have to wait for the previous exchange on the connection to finish.  Anything
+ * received which is not a multiplexed response, such as requests initiated by the remote side, is passed on to the
+ * inbound message handler.
+ * <p>
+ * Every message of a response arrives in its own frame as soon as the remote side has written it, followed by a frame
+ * marking the end of the response, so streamed responses reach the request while they are produced.  As with
+ * non-multiplexed exchanges, a message which is still being streamed holds the connection until it is complete.
+ * </p>
+ * <p>
+ * A channel is also a {@link ManagementRequestConnectionStrategy}, so it can be passed to
+ * {@link ManagementRequest#execute(ManagementRequestConnectionStrategy)} wherever a strategy is expected.
+ * </p>
+ */
+public final class ManagementChannel extends AbstractMessageHandler implements ManagementRequestConnectionStrategy {
+
+    private final Connection connection;
+    private final MessageHandler inboundHandler;
+    private final AtomicInteger lastRequestId = new AtomicInteger();
+    private final ConcurrentMap<Integer, ManagementRequest<?>> pendingRequests = new ConcurrentHashMap<Integer, ManagementRequest<?>>();
+
+    private ManagementChannel(final Connection connection, final MessageHandler inboundHandler) {
+        this.connection = connection;
+        this.inboundHandler = inboundHandler;
+    }
+
+    /**
+     * Create a channel for the given connection and install it as the connection's message handler.
+     *
+     * @param connection the connection
+     * @param inboundHandler the handler for messages which are not responses to requests sent through the channel
+     * @return the channel
+     */
+    public static ManagementChannel create(final Connection connection, final MessageHandler inboundHandler) {
+        if (connection == null) {
+            throw new IllegalArgumentException("connection is null");
+        }
+        if (inboundHandler == null) {
+            throw new IllegalArgumentException("inboundHandler is null");
+        }
+        final ManagementChannel channel = new ManagementChannel(connection, inboundHandler);
+        connection.setMessageHandler(channel);
+        return channel;
+    }
+
+    /**
+     * Create a channel for a connection which only carries requests initiated on this side.
+     *
+     * @param connection the connection
+     * @return the channel
+     */
+    public static ManagementChannel create(final Connection connection) {
+        return create(connection, MessageHandler.NULL);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void complete() {
+        // The connection is shared by all requests
+    }
+
+    /**
+     * Get the number of requests which have been sent but not answered yet.
+     *
+     * @return the number of in-flight requests
+     */
+    public int getPendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    int register(final ManagementRequest<?> request) {
+        for (;;) {
+            // Request id 0 is used by non-multiplexed requests, negative ids are reserved
+            final int id = lastRequestId.incrementAndGet() & Integer.MAX_VALUE;
+            if (id != 0 && pendingRequests.putIfAbsent(Integer.valueOf(id), request) == null) {
+                return id;
+            }
+        }
+    }
+
+    void unregister(final int requestId) {
+        pendingRequests.remove(Integer.valueOf(requestId));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handle(final Connection connection, final InputStream inputStream) throws IOException {
+        final PushbackInputStream pushback = new PushbackInputStream(inputStream, 1);
+        final int type = pushback.read();
+        if (type != ManagementProtocol.RESPONSE_FRAME) {
+            if (type != -1) {
+                pushback.unread(type);
+            }
+            inboundHandler.handleMessage(connection, pushback);
+            return;
+        }
+
+        final SimpleByteDataInput input = new SimpleByteDataInput(pushback);
+        try {
+            final ManagementResponseHeader responseHeader = new ManagementResponseHeader(input);
+            final Integer requestId = Integer.valueOf(responseHeader.getResponseId());
+            final int content = input.readByte();
+            if (content == ManagementProtocol.RESPONSE_FRAME_END) {
+                final ManagementRequest<?> request = pendingRequests.remove(requestId);
+                if (request != null) {
+                    request.handleResponseEnd();
+                }
+                return;
+            }
+            if (content != ManagementProtocol.RESPONSE_FRAME_MESSAGE) {
+                throw new IOException("Invalid response frame content " + content);
+            }
+            final ManagementRequest<?> request = pendingRequests.get(requestId);
+            if (request == null) {
+                log.warnf("Discarding response for unknown management request %d", requestId);
+                return;
+            }
+            // The header has been buffered by the data input, so the rest of the message has to be read through it as well
+            request.handleResponseMessage(input);
+        } finally {
+            safeClose(input);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handleShutdown(final Connection connection) throws IOException {
+        failPendingRequests(new EOFException("Connection closed"));
+        inboundHandler.handleShutdown(connection);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handleFailure(final Connection connection, final IOException e) throws IOException {
+        failPendingRequests(e);
+        inboundHandler.handleFailure(connection, e);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handleFinished(final Connection connection) throws IOException {
+        failPendingRequests(new EOFException("Connection closed"));
+        inboundHandler.handleFinished(connection);
+    }
+
+    private void failPendingRequests(final Exception e) {
+        for (Integer requestId : pendingRequests.keySet()) {
+            final ManagementRequest<?> request = pendingRequests.remove(requestId);
+            if (request != null) {
+                request.handleResponseFailure(e);
+            }
+        }
+    }
+}
@@ -26,6 +26,9 @@ import static org.jboss.as.protocol.StreamUtils.safeClose;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.jboss.as.protocol.ByteDataInput;
 import org.jboss.as.protocol.ByteDataOutput;
@@ -42,7 +45,17 @@ import org.jboss.as.protocol.SimpleByteDataOutput;
 public abstract class ManagementHeaderMessageHandler extends AbstractMessageHandler {
 
     @Override
-    public void handle(Connection connection, InputStream dataStream) throws IOException {
+    public void handle(Connection connection, InputStream inputStream) throws IOException {
+        final PushbackInputStream dataStream = new PushbackInputStream(inputStream, 1);
+        final int type = dataStream.read();
+        if (type == ManagementProtocol.REQUEST_FRAME) {
+            handleRequestFrame(connection, dataStream);
+            return;
+        }
+        if (type != -1) {
+            dataStream.unread(type);
+        }
+
         final ManagementRequestHeader requestHeader;
         final MessageHandler handler;
         ByteDataInput input = null;
@@ -79,6 +92,62 @@ public abstract class ManagementHeaderMessageHandler extends AbstractMessageHand
         }
     }
 
+    /**
+     * Read a multiplexed request frame and hand it off for processing.  The whole frame is read up front so the
+     * connection can move on to the next frame while this one is being processed.
+     */
+    private void handleRequestFrame(final Connection connection, final InputStream dataStream) throws IOException {
+        final ManagementRequestHeader requestHeader;
+        final List<byte[]> messages;
+        ByteDataInput input = null;
+        try {
+            input = new SimpleByteDataInput(dataStream);
+            requestHeader = new ManagementRequestHeader(input);
+            messages = FramedConnection.readMessages(input);
+        } finally {
+            safeClose(input);
+        }
+
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                processRequestFrame(connection, requestHeader, messages);
+            }
+        };
+        final Executor executor = getRequestExecutor();
+        if (executor == null) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    private void processRequestFrame(final Connection connection, final ManagementRequestHeader requestHeader, final List<byte[]> messages) {
+        final int requestId = requestHeader.getRequestId();
+        final int workingVersion = Math.min(ManagementProtocol.VERSION, requestHeader.getVersion());
+        final FramedConnection frame = new FramedConnection(connection, new ManagementResponseHeader(workingVersion, requestId));
+        boolean failed = false;
+        try {
+            final byte handlerId = requestHeader.getOperationHandlerId();
+            final MessageHandler handler = getHandlerForId(handlerId);
+            if (handler == null) {
+                throw new IOException("Management request failed.  No handler found for id " + handlerId);
+            }
+            frame.process(handler, messages);
+        } catch (Throwable t) {
+            log.errorf(t, "Failed to process management request %d", Integer.valueOf(requestId));
+            failed = true;
+        }
+        try {
+            if (failed) {
+                frame.writeExceptionIfEmpty();
+            }
+            frame.writeEnd();
+        } catch (IOException e) {
+            log.errorf(e, "Failed to send response to management request %d", Integer.valueOf(requestId));
+        }
+    }
+
     private void writeResponseHeader(Connection connection, int version, int responseId) throws IOException {
         OutputStream dataOutput = null;
         ByteDataOutput output = null;
@@ -104,4 +173,14 @@ public abstract class ManagementHeaderMessageHandler extends AbstractMessageHand
 
     protected abstract MessageHandler getHandlerForId(byte handlerId);
 
+    /**
+     * Get the executor used to process multiplexed requests.  Processing them on a separate executor allows several
+     * requests received on the same connection to be worked on concurrently.
+     *
+     * @return the executor, or {@code null} to process requests on the thread reading the connection
+     */
+    protected Executor getRequestExecutor() {
+        return null;
+    }
+
 }
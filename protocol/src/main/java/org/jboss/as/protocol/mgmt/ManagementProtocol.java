@@ -29,7 +29,8 @@ public interface ManagementProtocol {
     // Headers
     byte[] SIGNATURE = {Byte.MAX_VALUE, Byte.MIN_VALUE, Byte.MAX_VALUE, Byte.MIN_VALUE};
     int VERSION_FIELD = 0x00; // The version field header
-    int VERSION = 1; // The current protocol version
+    int VERSION = 2; // The current protocol version
+    int MULTIPLEXED_VERSION = 2; // The first protocol version supporting multiplexed request and response frames
     int REMOTE_EXCEPTION = -1;
     int REQUEST_START = 0x01;
     int REQUEST_OPERATION = 0x02;
@@ -38,6 +39,11 @@ public interface ManagementProtocol {
     int RESPONSE_START = 0x05;
     int RESPONSE_BODY = 0x06;
     int RESPONSE_END = 0x07;
+    // Multiplexed frames
+    int REQUEST_FRAME = 0x08;
+    int RESPONSE_FRAME = 0x09;
+    int RESPONSE_FRAME_MESSAGE = 0x0A; // A response frame carrying one message of the response
+    int RESPONSE_FRAME_END = 0x0B; // A response frame marking the end of the response
 
 
 }
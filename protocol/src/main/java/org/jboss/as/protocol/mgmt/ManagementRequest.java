@@ -50,9 +50,10 @@ import org.jboss.as.protocol.StreamUtils;
  * @author John Bailey
  */
 public abstract class ManagementRequest<T> extends AbstractMessageHandler {
-    private int requestId = 0;
+    private volatile int requestId = 0;
     private final ResponseFuture<T> future = new ResponseFuture<T>();
     private ManagementRequestConnectionStrategy connectionStrategy;
+    private volatile FramedConnection responseFrame;
     // @GuardedBy(resultLock)
     private T result;
     /**
@@ -77,6 +78,9 @@ public abstract class ManagementRequest<T> extends AbstractMessageHandler {
      * @throws IOException if any problems occur
      */
     public Future<T> execute(final ManagementRequestConnectionStrategy connectionStrategy) throws IOException {
+        if (connectionStrategy instanceof ManagementChannel) {
+            return executeMultiplexed((ManagementChannel) connectionStrategy);
+        }
         this.connectionStrategy = connectionStrategy;
         OutputStream dataOutput = null;
         ByteDataOutput output = null;
@@ -100,6 +104,65 @@ public abstract class ManagementRequest<T> extends AbstractMessageHandler {
         return future;
     }
 
+    /**
+     * Send the request as a single frame over a channel shared with other requests.  The response is correlated
+     * using the request id, so no message handlers are swapped on the underlying connection.
+     *
+     * @param channel The channel
+     * @return A future to retrieve the result when the request is complete
+     * @throws IOException if any problems occur sending the request
+     */
+    private Future<T> executeMultiplexed(final ManagementChannel channel) throws IOException {
+        this.connectionStrategy = channel;
+        final FramedConnection response = new FramedConnection(channel.getConnection());
+        response.setMessageHandler(this);
+        responseFrame = response;
+        requestId = channel.register(this);
+        boolean ok = false;
+        try {
+            final FramedConnection frame = new FramedConnection(channel.getConnection());
+            sendRequest(ManagementProtocol.MULTIPLEXED_VERSION, frame);
+            frame.writeFrame(ManagementProtocol.REQUEST_FRAME, new ManagementRequestHeader(ManagementProtocol.MULTIPLEXED_VERSION, requestId, getHandlerId()));
+            ok = true;
+        } finally {
+            if (!ok) {
+                channel.unregister(requestId);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Handle one message of the response to a multiplexed request.  The first message is handled by this request,
+     * every following one by the handler the previous message selected.
+     *
+     * @param message The message
+     */
+    void handleResponseMessage(final InputStream message) {
+        try {
+            responseFrame.processMessage(message);
+        } catch (Exception e) {
+            future.setException(e);
+        }
+    }
+
+    /**
+     * Handle the end of the response to a multiplexed request.
+     */
+    void handleResponseEnd() {
+        // Does nothing if the response was complete
+        future.setException(new IOException("Incomplete response received for request " + requestId));
+    }
+
+    /**
+     * Fail a multiplexed request for which no response will arrive.
+     *
+     * @param e The cause
+     */
+    void handleResponseFailure(final Exception e) {
+        future.setException(e);
+    }
+
     /**
      * Execute the request and wait for the result.
      *
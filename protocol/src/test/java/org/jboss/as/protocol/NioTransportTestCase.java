@@ -0,0 +1,277 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ServerSocketFactory;
+import javax.net.SocketFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Exchanges messages over the non-blocking transport, and between it and the blocking one.
+ */
+public class NioTransportTestCase {
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private ExecutorService executor;
+    private NioTransport transport;
+    private ProtocolServer server;
+    private Connection connection;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newCachedThreadPool(THREAD_FACTORY);
+        transport = new NioTransport(THREAD_FACTORY, 2);
+        transport.start();
+    }
+
+    @After
+    public void tearDown() {
+        StreamUtils.safeClose(connection);
+        if (server != null) {
+            server.stop();
+        }
+        transport.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNioToNio() throws Exception {
+        exchange(true, true);
+    }
+
+    @Test
+    public void testBlockingClientToNioServer() throws Exception {
+        exchange(true, false);
+    }
+
+    @Test
+    public void testNioClientToBlockingServer() throws Exception {
+        exchange(false, true);
+    }
+
+    @Test
+    public void testMessageIsStreamedToHandler() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final BlockingQueue<byte[]> received = new LinkedBlockingQueue<byte[]>();
+        server = startServer(transport, executor, new NoopHandler() {
+            @Override
+            public void handleMessage(final Connection connection, final InputStream dataStream) throws IOException {
+                final int first = dataStream.read();
+                started.countDown();
+                final byte[] rest = readFully(dataStream);
+                final byte[] message = new byte[rest.length + 1];
+                message[0] = (byte) first;
+                System.arraycopy(rest, 0, message, 1, rest.length);
+                received.add(message);
+            }
+        });
+        connection = connect(server, transport, executor, new LinkedBlockingQueue<byte[]>());
+
+        final byte[] message = new byte[100000];
+        new Random(123L).nextBytes(message);
+        final OutputStream os = connection.writeMessage();
+        os.write(message, 0, 1000);
+        os.flush();
+        // The handler gets the message before it is complete
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+        os.write(message, 1000, message.length - 1000);
+        os.close();
+        assertArrayEquals(message, received.poll(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOversizedChunkIsNotAllocated() throws Exception {
+        server = startEchoServer(transport, executor);
+        // Announce a chunk of almost 2 GB and hang up; the server must not reserve heap for it
+        final Socket socket = new Socket();
+        try {
+            socket.connect(server.getBoundAddress(), 10000);
+            final DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+            output.writeByte(ProtocolConstants.CHUNK_START);
+            output.writeInt(Integer.MAX_VALUE);
+            output.write(new byte[100]);
+            output.flush();
+        } finally {
+            socket.close();
+        }
+
+        // The server still serves other connections
+        final BlockingQueue<byte[]> received = new LinkedBlockingQueue<byte[]>();
+        connection = connect(server, transport, executor, received);
+        final OutputStream os = connection.writeMessage();
+        os.write(new byte[] { 1, 2, 3 });
+        os.close();
+        assertArrayEquals(new byte[] { 1, 2, 3 }, received.poll(30, TimeUnit.SECONDS));
+    }
+
+    private void exchange(final boolean nioServer, final boolean nioClient) throws Exception {
+        server = startEchoServer(nioServer ? transport : null, executor);
+        final BlockingQueue<byte[]> received = new LinkedBlockingQueue<byte[]>();
+        connection = connect(server, nioClient ? transport : null, executor, received);
+
+        final Random random = new Random(123L);
+        // Small messages, then ones large enough to need several chunks and to fill the socket buffers
+        for (int size : new int[] {1, 100, 8192, 100000, 2000000}) {
+            final byte[] message = new byte[size];
+            random.nextBytes(message);
+            final OutputStream os = connection.writeMessage();
+            os.write(message);
+            os.close();
+            final byte[] echoed = received.poll(30, TimeUnit.SECONDS);
+            assertNotNull("No echo for message of size " + size, echoed);
+            assertArrayEquals(message, echoed);
+        }
+
+        // Several messages before reading any echo; they must come back in order
+        final byte[][] messages = new byte[50][];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = new byte[random.nextInt(20000) + 1];
+            random.nextBytes(messages[i]);
+            final OutputStream os = connection.writeMessage();
+            os.write(messages[i]);
+            os.close();
+        }
+        for (byte[] message : messages) {
+            assertArrayEquals(message, received.poll(30, TimeUnit.SECONDS));
+        }
+    }
+
+    static ProtocolServer startEchoServer(final NioTransport transport, final ExecutorService executor) throws IOException {
+        return startServer(transport, executor, new EchoHandler());
+    }
+
+    static ProtocolServer startServer(final NioTransport transport, final ExecutorService executor, final MessageHandler handler) throws IOException {
+        final ProtocolServer.Configuration config = new ProtocolServer.Configuration();
+        config.setBindAddress(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0));
+        config.setThreadFactory(THREAD_FACTORY);
+        config.setReadExecutor(executor);
+        config.setSocketFactory(ServerSocketFactory.getDefault());
+        config.setBacklog(50);
+        config.setTransport(transport);
+        config.setConnectionHandler(new ConnectionHandler() {
+            @Override
+            public MessageHandler handleConnected(final Connection connection) throws IOException {
+                return handler;
+            }
+        });
+        final ProtocolServer server = new ProtocolServer(config);
+        server.start();
+        return server;
+    }
+
+    static Connection connect(final ProtocolServer server, final NioTransport transport, final ExecutorService executor, final BlockingQueue<byte[]> received) throws IOException {
+        final ProtocolClient.Configuration config = new ProtocolClient.Configuration();
+        config.setServerAddress(server.getBoundAddress());
+        config.setThreadFactory(THREAD_FACTORY);
+        config.setReadExecutor(executor);
+        config.setSocketFactory(SocketFactory.getDefault());
+        config.setConnectTimeout(10000);
+        config.setTransport(transport);
+        config.setMessageHandler(new CollectingHandler(received));
+        return new ProtocolClient(config).connect();
+    }
+
+    static byte[] readFully(final InputStream input) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int cnt;
+        while ((cnt = input.read(buffer)) != -1) {
+            bytes.write(buffer, 0, cnt);
+        }
+        return bytes.toByteArray();
+    }
+
+    abstract static class NoopHandler implements MessageHandler {
+        @Override
+        public void handleShutdown(final Connection connection) throws IOException {
+            connection.shutdownWrites();
+        }
+
+        @Override
+        public void handleFailure(final Connection connection, final IOException e) throws IOException {
+            connection.close();
+        }
+
+        @Override
+        public void handleFinished(final Connection connection) throws IOException {
+        }
+    }
+
+    static final class EchoHandler extends NoopHandler {
+        @Override
+        public void handleMessage(final Connection connection, final InputStream dataStream) throws IOException {
+            final byte[] message = readFully(dataStream);
+            final OutputStream os = connection.writeMessage();
+            try {
+                os.write(message);
+            } finally {
+                os.close();
+            }
+        }
+    }
+
+    static final class CollectingHandler extends NoopHandler {
+        private final BlockingQueue<byte[]> received;
+
+        CollectingHandler(final BlockingQueue<byte[]> received) {
+            this.received = received;
+        }
+
+        @Override
+        public void handleMessage(final Connection connection, final InputStream dataStream) throws IOException {
+            received.add(readFully(dataStream));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compares the blocking transport with the non-blocking one.  Not a unit test; run it with
+ * {@code java org.jboss.as.protocol.TransportBenchmark [connections] [messages per connection] [message size] [selectors]}.
+ * <p>
+ * For each transport a server and {@code connections} clients using the same transport are started, and the number of
+ * threads this takes is reported.  Every client then sends its messages to an echo server one after the other, all
+ * clients at once, and the message rate and echoed data rate are reported.
+ * </p>
+ * <p>
+ * Per received chunk the blocking transport copies the data from its socket buffer into a {@link Pipe} and the handler
+ * copies it out again, with the read thread and the handler thread handing off every 8 KB.  The non-blocking
+ * transport reads large chunks straight into the array the handler reads from, and copies smaller ones once from
+ * its read buffer.
+ * </p>
+ */
+public class TransportBenchmark {
+
+    public static void main(final String[] args) throws Exception {
+        final int connections = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        final int messages = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        final int size = args.length > 2 ? Integer.parseInt(args[2]) : 4096;
+        final int selectors = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+        System.out.printf("%d connections, %d messages of %d bytes each, %d selectors%n", Integer.valueOf(connections),
+                Integer.valueOf(messages), Integer.valueOf(size), Integer.valueOf(selectors));
+        // Warm up both, then measure
+        run(false, Math.min(connections, 5), messages / 10, size, selectors, false);
+        run(true, Math.min(connections, 5), messages / 10, size, selectors, false);
+        run(false, connections, messages, size, selectors, true);
+        run(true, connections, messages, size, selectors, true);
+    }
+
+    private static void run(final boolean nio, final int connections, final int messages, final int size, final int selectors,
+            final boolean report) throws Exception {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final NioTransport transport = nio ? new NioTransport(Executors.defaultThreadFactory(), selectors) : null;
+        final int baseline = threads.getThreadCount();
+        if (transport != null) {
+            transport.start();
+        }
+        final ProtocolServer server = NioTransportTestCase.startEchoServer(transport, executor);
+        final List<Connection> clients = new ArrayList<Connection>();
+        final List<BlockingQueue<byte[]>> queues = new ArrayList<BlockingQueue<byte[]>>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                final BlockingQueue<byte[]> received = new LinkedBlockingQueue<byte[]>();
+                clients.add(NioTransportTestCase.connect(server, transport, executor, received));
+                queues.add(received);
+            }
+            // Let the accept side settle before counting
+            Thread.sleep(500);
+            final int connectedThreads = threads.getThreadCount() - baseline;
+
+            final byte[] message = new byte[size];
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(connections);
+            final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+            for (int i = 0; i < connections; i++) {
+                final Connection connection = clients.get(i);
+                final BlockingQueue<byte[]> received = queues.get(i);
+                final Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            for (int j = 0; j < messages; j++) {
+                                final OutputStream os = connection.writeMessage();
+                                os.write(message);
+                                os.close();
+                                if (received.poll(30, TimeUnit.SECONDS) == null) {
+                                    throw new IOException("No echo received");
+                                }
+                            }
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                });
+                thread.start();
+            }
+            threads.resetPeakThreadCount();
+            final long begin = System.nanoTime();
+            start.countDown();
+            done.await();
+            final long elapsed = System.nanoTime() - begin;
+            if (failure.get() != null) {
+                throw new IllegalStateException("Benchmark failed", failure.get());
+            }
+            if (report) {
+                final double seconds = elapsed / 1e9;
+                final long total = (long) connections * messages;
+                System.out.printf("%-9s threads for %d connections: %d (peak during run %d, %d of them client senders)%n",
+                        nio ? "nio" : "blocking", Integer.valueOf(connections), Integer.valueOf(connectedThreads),
+                        Integer.valueOf(threads.getPeakThreadCount() - baseline), Integer.valueOf(connections));
+                System.out.printf("%-9s %.0f round trips/s, %.1f MB/s echoed, %.3f ms per round trip%n", nio ? "nio" : "blocking",
+                        Double.valueOf(total / seconds), Double.valueOf(2.0 * total * size / seconds / (1024 * 1024)),
+                        Double.valueOf(elapsed / 1e6 / messages));
+            }
+        } finally {
+            if (transport != null) {
+                // Closes the channels of both sides without notifying their handlers
+                transport.stop();
+            }
+            for (Connection connection : clients) {
+                StreamUtils.safeClose(connection);
+            }
+            server.stop();
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+            // Give the read threads of the closed connections a moment to exit before the next run counts threads
+            Thread.sleep(1000);
+        }
+    }
+}
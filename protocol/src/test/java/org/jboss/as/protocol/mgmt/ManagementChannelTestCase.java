@@ -0,0 +1,423 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import static org.jboss.as.protocol.ProtocolUtils.expectHeader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.MessageHandler;
+import org.jboss.as.protocol.StreamUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of multiplexed requests sent through a {@link ManagementChannel}.
+ */
+public class ManagementChannelTestCase {
+
+    private static final byte HANDLER_ID = 0x10;
+    private static final byte ECHO_REQUEST = 0x01;
+    private static final byte ECHO_RESPONSE = 0x02;
+    private static final byte STREAM_HANDLER_ID = 0x12;
+    private static final byte STREAM_REQUEST = 0x03;
+    private static final byte STREAM_RESPONSE = 0x04;
+
+    private final CountDownLatch releaseFirst = new CountDownLatch(1);
+    private final CountDownLatch firstPartReceived = new CountDownLatch(1);
+    private final List<Integer> completed = new CopyOnWriteArrayList<Integer>();
+
+    private ExecutorService executor;
+    private LoopbackConnection clientConnection;
+    private ManagementChannel channel;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        clientConnection = new LoopbackConnection();
+        final LoopbackConnection serverConnection = new LoopbackConnection();
+        clientConnection.peer = serverConnection;
+        serverConnection.peer = clientConnection;
+        serverConnection.setMessageHandler(new ManagementHeaderMessageHandler() {
+            @Override
+            protected MessageHandler getHandlerForId(final byte handlerId) {
+                if (handlerId == HANDLER_ID) {
+                    return new EchoHandler();
+                }
+                return handlerId == STREAM_HANDLER_ID ? new StreamHandler() : null;
+            }
+
+            @Override
+            protected Executor getRequestExecutor() {
+                return executor;
+            }
+        });
+        channel = ManagementChannel.create(clientConnection);
+    }
+
+    @After
+    public void tearDown() {
+        releaseFirst.countDown();
+        clientConnection.shutdown();
+        clientConnection.peer.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testResponsesAreCorrelated() throws Exception {
+        // The first request is held on the server until the second one has been answered
+        final Future<Integer> first = new EchoRequest(1, HANDLER_ID).execute(channel);
+        final Future<Integer> second = new EchoRequest(2, HANDLER_ID).execute(channel);
+
+        assertEquals(Integer.valueOf(2), second.get());
+        assertEquals(Integer.valueOf(1), first.get());
+        assertEquals(Arrays.asList(Integer.valueOf(2), Integer.valueOf(1)), completed);
+        awaitNoPendingRequests();
+    }
+
+    @Test
+    public void testManyRequestsInFlight() throws Exception {
+        releaseFirst.countDown();
+        final Future<?>[] futures = new Future<?>[50];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = new EchoRequest(i + 100, HANDLER_ID).execute(channel);
+        }
+        for (int i = 0; i < futures.length; i++) {
+            assertEquals(Integer.valueOf(i + 100), futures[i].get());
+        }
+        awaitNoPendingRequests();
+    }
+
+    @Test
+    public void testUnknownHandler() throws Exception {
+        final Future<Integer> future = new EchoRequest(3, (byte) 0x11).execute(channel);
+        try {
+            future.get();
+            fail("Expected failure");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IOException);
+        }
+        awaitNoPendingRequests();
+    }
+
+    @Test
+    public void testResponseIsStreamed() throws Exception {
+        // The server only finishes the response once the client has received the first part of it
+        final Future<Integer> future = new StreamRequest().execute(channel);
+        assertEquals(Integer.valueOf(2), future.get());
+        awaitNoPendingRequests();
+    }
+
+    @Test
+    public void testConnectionClosedFailsPendingRequests() throws Exception {
+        final Future<Integer> future = new EchoRequest(1, HANDLER_ID).execute(channel);
+        assertEquals(1, channel.getPendingRequestCount());
+        channel.handleFinished(clientConnection);
+        try {
+            future.get();
+            fail("Expected failure");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof EOFException);
+        }
+        assertEquals(0, channel.getPendingRequestCount());
+    }
+
+    private void awaitNoPendingRequests() throws InterruptedException {
+        // Requests are only released once the end of the response has been received
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (channel.getPendingRequestCount() != 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, channel.getPendingRequestCount());
+    }
+
+    private class EchoHandler extends AbstractMessageHandler {
+        @Override
+        public void handle(final Connection connection, final InputStream input) throws IOException {
+            expectHeader(input, ManagementProtocol.REQUEST_OPERATION);
+            expectHeader(input, ECHO_REQUEST);
+            new EchoResponse().handle(connection, input);
+        }
+    }
+
+    private class EchoResponse extends ManagementResponse {
+        private int value;
+
+        @Override
+        protected byte getResponseCode() {
+            return ECHO_RESPONSE;
+        }
+
+        @Override
+        protected void readRequest(final InputStream input) throws IOException {
+            value = StreamUtils.readInt(input);
+            if (value == 1) {
+                // Hold the request before its response is started, a response being written holds the connection
+                try {
+                    releaseFirst.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted");
+                }
+            }
+        }
+
+        @Override
+        protected void sendResponse(final OutputStream output) throws IOException {
+            StreamUtils.writeInt(output, value);
+            completed.add(Integer.valueOf(value));
+            if (value == 2) {
+                releaseFirst.countDown();
+            }
+        }
+    }
+
+    private class StreamHandler extends AbstractMessageHandler {
+        @Override
+        public void handle(final Connection connection, final InputStream input) throws IOException {
+            expectHeader(input, ManagementProtocol.REQUEST_OPERATION);
+            expectHeader(input, STREAM_REQUEST);
+            new StreamResponse().handle(connection, input);
+        }
+    }
+
+    private class StreamResponse extends ManagementResponse {
+        @Override
+        protected byte getResponseCode() {
+            return STREAM_RESPONSE;
+        }
+
+        @Override
+        protected void sendResponse(final OutputStream output) throws IOException {
+            StreamUtils.writeInt(output, 1);
+            output.flush();
+            final boolean received;
+            try {
+                received = firstPartReceived.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted");
+            }
+            StreamUtils.writeInt(output, received ? 2 : -1);
+        }
+    }
+
+    private class StreamRequest extends ManagementRequest<Integer> {
+        @Override
+        protected byte getHandlerId() {
+            return STREAM_HANDLER_ID;
+        }
+
+        @Override
+        protected byte getRequestCode() {
+            return STREAM_REQUEST;
+        }
+
+        @Override
+        protected byte getResponseCode() {
+            return STREAM_RESPONSE;
+        }
+
+        @Override
+        protected Integer receiveResponse(final InputStream input) throws IOException {
+            assertEquals(1, StreamUtils.readInt(input));
+            firstPartReceived.countDown();
+            return Integer.valueOf(StreamUtils.readInt(input));
+        }
+    }
+
+    private static class EchoRequest extends ManagementRequest<Integer> {
+        private final int value;
+        private final byte handlerId;
+
+        EchoRequest(final int value, final byte handlerId) {
+            this.value = value;
+            this.handlerId = handlerId;
+        }
+
+        @Override
+        protected byte getHandlerId() {
+            return handlerId;
+        }
+
+        @Override
+        protected byte getRequestCode() {
+            return ECHO_REQUEST;
+        }
+
+        @Override
+        protected byte getResponseCode() {
+            return ECHO_RESPONSE;
+        }
+
+        @Override
+        protected void sendRequest(final int protocolVersion, final OutputStream output) throws IOException {
+            StreamUtils.writeInt(output, value);
+        }
+
+        @Override
+        protected Integer receiveResponse(final InputStream input) throws IOException {
+            return Integer.valueOf(StreamUtils.readInt(input));
+        }
+    }
+
+    /**
+     * An in-memory connection streaming each message to its peer while it is written.  Like a real connection only
+     * one message can be written at a time, and messages are handled one after the other.
+     */
+    private static class LoopbackConnection implements Connection {
+        private final ExecutorService reader = Executors.newSingleThreadExecutor();
+        private final Object writeLock = new Object();
+        private boolean writing;
+        private volatile MessageHandler messageHandler = MessageHandler.NULL;
+        private volatile MessageHandler backupHandler;
+        private volatile Object attachment;
+        LoopbackConnection peer;
+
+        @Override
+        public OutputStream writeMessage() throws IOException {
+            synchronized (writeLock) {
+                while (writing) {
+                    try {
+                        writeLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+                writing = true;
+            }
+            final PipedInputStream input = new PipedInputStream(8192);
+            final PipedOutputStream output = new PipedOutputStream(input);
+            peer.deliver(input);
+            return new FilterOutputStream(output) {
+                private boolean closed;
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (!closed) {
+                        closed = true;
+                        super.close();
+                        synchronized (writeLock) {
+                            writing = false;
+                            writeLock.notifyAll();
+                        }
+                    }
+                }
+            };
+        }
+
+        void deliver(final InputStream message) {
+            reader.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        messageHandler.handleMessage(LoopbackConnection.this, new FilterInputStream(message) {
+                            @Override
+                            public void close() throws IOException {
+                                // Discard whatever the handler did not read, so the writer is not blocked
+                                while (read() != -1) {
+                                }
+                                super.close();
+                            }
+                        });
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+        }
+
+        void shutdown() {
+            reader.shutdownNow();
+        }
+
+        @Override
+        public void shutdownWrites() throws IOException {
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+
+        @Override
+        public void setMessageHandler(final MessageHandler messageHandler) {
+            this.messageHandler = messageHandler;
+        }
+
+        @Override
+        public InetAddress getPeerAddress() {
+            return null;
+        }
+
+        @Override
+        public void attach(final Object attachment) {
+            this.attachment = attachment;
+        }
+
+        @Override
+        public Object getAttachment() {
+            return attachment;
+        }
+
+        @Override
+        public void backupMessageHandler() {
+            backupHandler = messageHandler;
+        }
+
+        @Override
+        public void restoreMessageHandler() {
+            final MessageHandler handler = backupHandler;
+            setMessageHandler(handler == null ? MessageHandler.NULL : handler);
+        }
+    }
+}
@@ -115,6 +115,10 @@ final class ApplicationServerService implements Service<AsyncFuture<ServiceConta
         } else {
             this.startTime = -1;
         }
+        final ServerProfiler profiler = configuration.getServerProfiler();
+        if (profiler != null) {
+            profiler.startProfile(ServerProfiler.BOOT, serverEnvironment.getServerName(), startTime);
+        }
         final BootstrapListener bootstrapListener = new BootstrapListener(container, startTime, serviceTarget, futureContainer, configuration);
         serviceTarget.addListener(bootstrapListener);
         myController.addListener(bootstrapListener);
@@ -189,6 +193,13 @@ final class ApplicationServerService implements Service<AsyncFuture<ServiceConta
         @Override
         protected void done(ServiceContainer container, long elapsedTime, int started, int failed, EnumMap<Mode, AtomicInteger> map, Set<ServiceName> missingDepsSet) {
             futureContainer.done(container);
+            final ServerProfiler profiler = configuration.getServerProfiler();
+            if (profiler != null) {
+                final ServerProfiler.Profile profile = profiler.getActiveProfile(ServerProfiler.BOOT, configuration.getServerEnvironment().getServerName());
+                if (profile != null) {
+                    profile.finish(elapsedTime);
+                }
+            }
             final Logger log = Logger.getLogger("org.jboss.as");
             final int active = map.get(ServiceController.Mode.ACTIVE).get();
             final int passive = map.get(ServiceController.Mode.PASSIVE).get();
@@ -0,0 +1,241 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs the runtime stage of boot operations, grouped by subsystem.
+ * <p>
+ * The model stage of every boot operation still runs in document order under the controller lock; only the
+ * runtime tasks are handed to this scheduler. Tasks of operations addressed to a subsystem are queued per
+ * subsystem, and the queued subsystems run concurrently, each on a single thread in document order, when an
+ * operation outside any subsystem is reached or when {@link #complete()} is called. Tasks of operations outside
+ * any subsystem run immediately on the calling thread once everything queued before them has finished. Services
+ * depending on each other across subsystems are ordered by the service container as usual.
+ * </p>
+ * <p>
+ * With a single thread the queued subsystems simply run one after another in document order.
+ * </p>
+ */
+final class BootTaskScheduler {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.server");
+
+    /** Subsystems which run on their own before any other, so everything after them sees their effects */
+    private static final Set<String> LEADING_SUBSYSTEMS = Collections.singleton("logging");
+
+    private final int maxThreads;
+    private final ThreadFactory threadFactory;
+    private final ServerProfiler.Profile profile;
+    private final Map<String, SubsystemTasks> pending = new LinkedHashMap<String, SubsystemTasks>();
+    private final List<SubsystemTasks> completed = new ArrayList<SubsystemTasks>();
+    private long wallTime;
+    private int threadsUsed = 1;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param maxThreads the maximum number of subsystems to run at once
+     * @param threadFactory the factory for the boot threads
+     * @param profile the boot profile to record the time of each subsystem in, or {@code null}
+     */
+    BootTaskScheduler(final int maxThreads, final ThreadFactory threadFactory, final ServerProfiler.Profile profile) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads must be at least 1");
+        }
+        this.maxThreads = maxThreads;
+        this.threadFactory = threadFactory;
+        this.profile = profile;
+    }
+
+    /**
+     * Schedule the runtime task of a boot operation.
+     *
+     * @param address the address of the operation
+     * @param task the task
+     */
+    void execute(final PathAddress address, final Runnable task) {
+        final String subsystem = address.size() > 0 && SUBSYSTEM.equals(address.getElement(0).getKey()) ? address.getElement(0).getValue() : null;
+        if (subsystem == null) {
+            flush();
+            task.run();
+            return;
+        }
+        SubsystemTasks tasks = pending.get(subsystem);
+        if (tasks == null) {
+            tasks = new SubsystemTasks(subsystem, profile);
+            pending.put(subsystem, tasks);
+        }
+        tasks.add(task);
+    }
+
+    /**
+     * Run everything still queued, wait for it to finish and log the boot report.
+     */
+    void complete() {
+        flush();
+        if (completed.isEmpty()) {
+            return;
+        }
+        long serialTime = 0;
+        final List<SubsystemTasks> sorted = new ArrayList<SubsystemTasks>(completed);
+        for (SubsystemTasks tasks : sorted) {
+            serialTime += tasks.elapsed;
+        }
+        Collections.sort(sorted, new Comparator<SubsystemTasks>() {
+            @Override
+            public int compare(final SubsystemTasks o1, final SubsystemTasks o2) {
+                return o1.elapsed < o2.elapsed ? 1 : o1.elapsed > o2.elapsed ? -1 : 0;
+            }
+        });
+        final StringBuilder breakdown = new StringBuilder();
+        for (SubsystemTasks tasks : sorted) {
+            if (breakdown.length() > 0) {
+                breakdown.append(", ");
+            }
+            breakdown.append(tasks.name).append(' ').append(TimeUnit.NANOSECONDS.toMillis(tasks.elapsed)).append(" ms");
+        }
+        log.infof("Installed services of %d subsystems in %d ms using %d threads (%d ms in total); critical path %s; by subsystem: %s",
+                Integer.valueOf(completed.size()), Long.valueOf(TimeUnit.NANOSECONDS.toMillis(wallTime)), Integer.valueOf(threadsUsed),
+                Long.valueOf(TimeUnit.NANOSECONDS.toMillis(serialTime)), sorted.get(0).name, breakdown);
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final List<SubsystemTasks> batch = new ArrayList<SubsystemTasks>(pending.values());
+        pending.clear();
+        for (Iterator<SubsystemTasks> i = batch.iterator(); i.hasNext();) {
+            final SubsystemTasks tasks = i.next();
+            if (LEADING_SUBSYSTEMS.contains(tasks.name)) {
+                tasks.run();
+                completed.add(tasks);
+                i.remove();
+            }
+        }
+        final int threads = Math.min(maxThreads, batch.size());
+        if (threads <= 1) {
+            for (SubsystemTasks tasks : batch) {
+                tasks.run();
+            }
+        } else {
+            threadsUsed = Math.max(threadsUsed, threads);
+            final ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+            try {
+                final List<Future<?>> futures = new ArrayList<Future<?>>(batch.size());
+                for (SubsystemTasks tasks : batch) {
+                    try {
+                        futures.add(executor.submit(tasks));
+                    } catch (RejectedExecutionException e) {
+                        tasks.run();
+                    }
+                }
+                awaitUninterruptibly(futures);
+            } finally {
+                executor.shutdown();
+            }
+        }
+        completed.addAll(batch);
+        wallTime += System.nanoTime() - start;
+    }
+
+    private static void awaitUninterruptibly(final List<Future<?>> futures) {
+        boolean intr = false;
+        try {
+            for (Future<?> future : futures) {
+                for (;;) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        intr = true;
+                    } catch (ExecutionException e) {
+                        log.errorf(e.getCause(), "Boot task failed");
+                        break;
+                    }
+                }
+            }
+        } finally {
+            if (intr) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class SubsystemTasks implements Runnable {
+        private final String name;
+        private final ServerProfiler.Profile profile;
+        private final List<Runnable> tasks = new ArrayList<Runnable>();
+        private volatile long elapsed;
+
+        private SubsystemTasks(final String name, final ServerProfiler.Profile profile) {
+            this.name = name;
+            this.profile = profile;
+        }
+
+        private void add(final Runnable task) {
+            tasks.add(task);
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            try {
+                for (Runnable task : tasks) {
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        log.errorf(t, "Boot task for subsystem %s failed", name);
+                    }
+                }
+            } finally {
+                elapsed = System.nanoTime() - start;
+                if (profile != null) {
+                    profile.record(elapsed, SUBSYSTEM + "=" + name, "runtime");
+                }
+            }
+        }
+    }
+}
@@ -29,7 +29,9 @@ import javax.xml.namespace.QName;
 
 import org.jboss.as.controller.parsing.Namespace;
 import org.jboss.as.controller.parsing.StandaloneXml;
+import org.jboss.as.controller.persistence.AsyncConfigurationPersister;
 import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
+import org.jboss.as.controller.persistence.BootModelCache;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.persistence.NullConfigurationPersister;
 import org.jboss.modules.Module;
@@ -76,6 +78,8 @@ public interface Bootstrap {
         private ServerEnvironment serverEnvironment;
         private ModuleLoader moduleLoader = Module.getBootModuleLoader();
         private ExtensibleConfigurationPersister configurationPersister;
+        private BootModelCache bootModelCache;
+        private ServerProfiler serverProfiler;
         private long startTime = Module.getStartTime();
 
         /**
@@ -138,12 +142,39 @@ public interface Bootstrap {
                 else {
                     QName rootElement = new QName(Namespace.CURRENT.getUriString(), "server");
                     StandaloneXml parser = new StandaloneXml(Module.getBootModuleLoader());
-                    configurationPersister = new BackupXmlConfigurationPersister(serverEnvironment.getServerConfigurationFile(), rootElement, parser, parser);
+                    if (serverEnvironment.isBootModelCache()) {
+                        bootModelCache = new BootModelCache(new File(serverEnvironment.getServerDataDir(), "boot-model.dmr"), Module.getBootModuleLoader());
+                    }
+                    configurationPersister = new BackupXmlConfigurationPersister(serverEnvironment.getServerConfigurationFile(), rootElement, parser, parser, bootModelCache);
+                    if (serverEnvironment.isAsyncConfigurationPersistence()) {
+                        configurationPersister = new AsyncConfigurationPersister(configurationPersister);
+                    }
                 }
             }
             return configurationPersister;
         }
 
+        /**
+         * Get the cache of boot operations used by the default configuration persister.
+         *
+         * @return the cache, or {@code null} if boot operations are not cached
+         */
+        public synchronized BootModelCache getBootModelCache() {
+            return bootModelCache;
+        }
+
+        /**
+         * Get the profiler recording boot and deployment times.
+         *
+         * @return the profiler, or {@code null} if profiling is not enabled
+         */
+        public synchronized ServerProfiler getServerProfiler() {
+            if (serverProfiler == null && serverEnvironment != null && serverEnvironment.isProfiler()) {
+                serverProfiler = new ServerProfiler(serverEnvironment.getProfilerHistory());
+            }
+            return serverProfiler;
+        }
+
         /**
          * Set the configuration persister to use.
          *
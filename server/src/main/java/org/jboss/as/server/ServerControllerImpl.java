@@ -31,6 +31,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROL
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLED_BACK;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 
+import java.io.File;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.EnumMap;
@@ -64,13 +65,18 @@ import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationAttachments;
 import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.persistence.BootModelCache;
 import org.jboss.as.controller.persistence.ConfigurationPersisterProvider;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.registry.ModelNodeRegistration;
 import org.jboss.as.server.controller.descriptions.ServerDescriptionProviders;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.Phase;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexCache;
 import org.jboss.as.server.deployment.api.DeploymentRepository;
+import org.jboss.as.server.operations.AnnotationIndexCacheMetricHandler;
+import org.jboss.as.server.operations.BootModelCacheMetricHandler;
+import org.jboss.as.server.operations.ReadProfilesHandler;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
 import org.jboss.logging.Logger;
@@ -101,10 +107,14 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
     private final DeploymentRepository deploymentRepository;
     private final EnumMap<Phase, SortedSet<RegisteredProcessor>> deployers = new EnumMap<Phase, SortedSet<RegisteredProcessor>>(Phase.class);
     private final ServerStateMonitorListener serverStateMonitorListener;
+    private final AnnotationIndexCache annotationIndexCache;
+    private final BootModelCache bootModelCache;
+    private final ServerProfiler profiler;
+    private volatile BootTaskScheduler bootTaskScheduler;
 
     ServerControllerImpl(final ServiceContainer container, final ServiceTarget serviceTarget, final ServerEnvironment serverEnvironment,
             final ExtensibleConfigurationPersister configurationPersister, final DeploymentRepository deploymentRepository,
-            final ExecutorService executorService) {
+            final ExecutorService executorService, final BootModelCache bootModelCache, final ServerProfiler profiler) {
         super(ServerControllerModelUtil.createCoreModel(), configurationPersister, ServerDescriptionProviders.ROOT_PROVIDER);
         this.serviceTarget = serviceTarget;
         extensibleConfigurationPersister = configurationPersister;
@@ -112,7 +122,14 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
         this.deploymentRepository = deploymentRepository;
         serviceRegistry = new DelegatingServiceRegistry(container);
         this.executorService = executorService;
+        this.bootModelCache = bootModelCache;
+        this.profiler = profiler;
         serverStateMonitorListener = new ServerStateMonitorListener(container);
+        if (serverEnvironment.isAnnotationIndexCache()) {
+            annotationIndexCache = new AnnotationIndexCache(new File(serverEnvironment.getServerDataDir(), "annotation-index"));
+        } else {
+            annotationIndexCache = null;
+        }
     }
 
     void init() {
@@ -122,6 +139,22 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
 
         // Build up the core model registry
         ServerControllerModelUtil.initOperations(getRegistry(), deploymentRepository, extensibleConfigurationPersister, serverEnvironment);
+        if (annotationIndexCache != null) {
+            final AnnotationIndexCacheMetricHandler indexCacheMetrics = new AnnotationIndexCacheMetricHandler(annotationIndexCache);
+            for (String metric : AnnotationIndexCacheMetricHandler.ATTRIBUTES) {
+                getRegistry().registerMetric(metric, indexCacheMetrics);
+            }
+        }
+        if (bootModelCache != null) {
+            final BootModelCacheMetricHandler bootModelMetrics = new BootModelCacheMetricHandler(bootModelCache);
+            for (String metric : BootModelCacheMetricHandler.ATTRIBUTES) {
+                getRegistry().registerMetric(metric, bootModelMetrics);
+            }
+        }
+        if (profiler != null) {
+            final ReadProfilesHandler readProfiles = new ReadProfilesHandler(profiler);
+            getRegistry().registerOperationHandler(ReadProfilesHandler.OPERATION_NAME, readProfiles, readProfiles, false);
+        }
 
         deployers.clear();
         for (Phase phase : Phase.values()) {
@@ -138,6 +171,25 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
         return copy;
     }
 
+    /**
+     * Set the scheduler for the runtime tasks of boot operations.  While it is set, runtime tasks of operations
+     * executed before {@link #finishBoot()} are handed to the scheduler instead of being run straight away.
+     *
+     * @param bootTaskScheduler the scheduler, or {@code null} to run runtime tasks straight away
+     */
+    void setBootTaskScheduler(final BootTaskScheduler bootTaskScheduler) {
+        this.bootTaskScheduler = bootTaskScheduler;
+    }
+
+    /**
+     * Get the cache for deployment annotation indexes.
+     *
+     * @return the cache, or {@code null} if annotation indexes are not cached
+     */
+    AnnotationIndexCache getAnnotationIndexCache() {
+        return annotationIndexCache;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ServerEnvironment getServerEnvironment() {
@@ -189,7 +241,7 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
     protected OperationResult doExecute(OperationContext context, Operation operation, OperationHandler operationHandler, ResultHandler resultHandler, PathAddress address,
             final OperationControllerContext operationControllerContext) throws OperationFailedException {
         boolean rollback = isRollbackOnRuntimeFailure(context, operation.getOperation());
-        RollbackAwareResultHandler rollbackAwareHandler = new RollbackAwareResultHandler(resultHandler);
+        final RollbackAwareResultHandler rollbackAwareHandler = new RollbackAwareResultHandler(resultHandler);
         final OperationResult result = super.doExecute(context, operation, operationHandler, rollbackAwareHandler, address, operationControllerContext);
         if(context instanceof ServerOperationContextImpl) {
             if (rollback) {
@@ -197,47 +249,61 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
                 // TODO deal with Cancellable as well
             }
             final ServerOperationContextImpl serverOperationContext = ServerOperationContextImpl.class.cast(context);
-            if(serverOperationContext.getRuntimeTask() != null) {
+            final BootTaskScheduler bootTaskScheduler = this.bootTaskScheduler;
+            if (bootTaskScheduler != null && serverOperationContext.getRuntimeTask() != null && state.getReference() == State.STARTING) {
+                bootTaskScheduler.execute(address, new Runnable() {
+                    @Override
+                    public void run() {
+                        executeRuntimeTask(serverOperationContext, rollbackAwareHandler);
+                    }
+                });
+            } else {
+                executeRuntimeTask(serverOperationContext, rollbackAwareHandler);
+            }
+        }
+        // else this is a step in a composite op and the ServerMultiStepOperationController will handle it
 
-                // Make sure we've settled and generated a report post-boot so boot issues don't show up as op issues
-                if (!serverStateMonitorListener.isFirstReportComplete() && state.getReference() != State.STARTING) {
-                    serverStateMonitorListener.awaitUninterruptibly();
-                }
+        return result;
+    }
 
-                try {
-                    serverOperationContext.getRuntimeTask().execute(new RuntimeTaskContext() {
-                        @Override
-                        public ServiceTarget getServiceTarget() {
-                            return serviceTarget;
-                        }
+    private void executeRuntimeTask(final ServerOperationContextImpl serverOperationContext, final RollbackAwareResultHandler rollbackAwareHandler) {
+        if(serverOperationContext.getRuntimeTask() != null) {
 
-                        @Override
-                        public ServiceRegistry getServiceRegistry() {
-                            return serviceRegistry;
-                        }
-                    });
-                } catch (OperationFailedException e) {
-                    rollbackAwareHandler.handleFailed(e.getFailureDescription());
-                } catch (Exception e) {
-                    rollbackAwareHandler.handleFailed(new ModelNode().set(e.toString()));
-                }
+            // Make sure we've settled and generated a report post-boot so boot issues don't show up as op issues
+            if (!serverStateMonitorListener.isFirstReportComplete() && state.getReference() != State.STARTING) {
+                serverStateMonitorListener.awaitUninterruptibly();
+            }
 
-                ModelNode serverStateChangeReport = null;
-                if (state.getReference() != State.STARTING) {
-                    serverStateChangeReport = serverStateMonitorListener.awaitUninterruptibly();
-                }
-                if (serverStateChangeReport != null && !rollbackAwareHandler.isTerminalState()) {
-                    rollbackAwareHandler.handleFailed(serverStateChangeReport);
-                }
+            try {
+                serverOperationContext.getRuntimeTask().execute(new RuntimeTaskContext() {
+                    @Override
+                    public ServiceTarget getServiceTarget() {
+                        return serviceTarget;
+                    }
+
+                    @Override
+                    public ServiceRegistry getServiceRegistry() {
+                        return serviceRegistry;
+                    }
+                });
+            } catch (OperationFailedException e) {
+                rollbackAwareHandler.handleFailed(e.getFailureDescription());
+            } catch (Exception e) {
+                rollbackAwareHandler.handleFailed(new ModelNode().set(e.toString()));
             }
 
-            if (!rollbackAwareHandler.isTerminalState()) {
-                rollbackAwareHandler.notifySuccess();
+            ModelNode serverStateChangeReport = null;
+            if (state.getReference() != State.STARTING) {
+                serverStateChangeReport = serverStateMonitorListener.awaitUninterruptibly();
+            }
+            if (serverStateChangeReport != null && !rollbackAwareHandler.isTerminalState()) {
+                rollbackAwareHandler.handleFailed(serverStateChangeReport);
             }
         }
-        // else this is a step in a composite op and the ServerMultiStepOperationController will handle it
 
-        return result;
+        if (!rollbackAwareHandler.isTerminalState()) {
+            rollbackAwareHandler.notifySuccess();
+        }
     }
 
     /** {@inheritDoc} */
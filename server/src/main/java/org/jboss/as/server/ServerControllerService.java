@@ -24,6 +24,7 @@ package org.jboss.as.server;
 
 import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.persistence.AsyncConfigurationPersister;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.server.ServerControllerImpl.RegisteredProcessor;
 import org.jboss.as.server.deployment.Attachments;
@@ -35,6 +36,7 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.as.server.deployment.ServiceLoaderProcessor;
 import org.jboss.as.server.deployment.SubDeploymentProcessor;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexCache;
 import org.jboss.as.server.deployment.annotation.AnnotationIndexProcessor;
 import org.jboss.as.server.deployment.annotation.CompositeIndexProcessor;
 import org.jboss.as.server.deployment.api.ServerDeploymentRepository;
@@ -59,6 +61,7 @@ import org.jboss.as.server.moduleservice.ExtensionIndexService;
 import org.jboss.as.server.moduleservice.ExternalModuleService;
 import org.jboss.as.server.moduleservice.ServiceModuleLoader;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
 import org.jboss.logging.Logger;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceBuilder;
@@ -82,9 +85,12 @@ import java.util.SortedSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
 
 /**
@@ -99,6 +105,9 @@ final class ServerControllerService implements Service<ServerController> {
 
     private static final int DEFAULT_POOL_SIZE = 5;
 
+    // cached annotation indexes of content which has not been deployed for this long are discarded
+    private static final int ANNOTATION_INDEX_MAX_AGE_DAYS = 30;
+
     private final Bootstrap.Configuration configuration;
 
     private final InjectedValue<ServerDeploymentRepository> injectedDeploymentRepository = new InjectedValue<ServerDeploymentRepository>();
@@ -132,21 +141,36 @@ final class ServerControllerService implements Service<ServerController> {
         final ServerEnvironment serverEnvironment = configuration.getServerEnvironment();
 
         final ExtensibleConfigurationPersister persister = configuration.getConfigurationPersister();
+        final ServerProfiler profiler = configuration.getServerProfiler();
 
         // TODO consider injecting the executor service
         final ThreadGroup threadGroup = new ThreadGroup("ServerController-threads");
         final ThreadFactory threadFactory = new JBossThreadFactory(threadGroup, Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext());
         final ExecutorService executorService = Executors.newScheduledThreadPool(DEFAULT_POOL_SIZE, threadFactory);
-        final ServerControllerImpl serverController = new ServerControllerImpl(container, serviceTarget, serverEnvironment, persister, injectedDeploymentRepository.getValue(), executorService);
+        final ServerControllerImpl serverController = new ServerControllerImpl(container, serviceTarget, serverEnvironment, persister, injectedDeploymentRepository.getValue(), executorService, configuration.getBootModelCache(), profiler);
         serverController.init();
+        final AnnotationIndexCache annotationIndexCache = serverController.getAnnotationIndexCache();
+        if (annotationIndexCache != null) {
+            executorService.execute(new Runnable() {
+                public void run() {
+                    annotationIndexCache.prune(ANNOTATION_INDEX_MAX_AGE_DAYS, TimeUnit.DAYS);
+                }
+            });
+        }
         serviceTarget.addListener(serverController.getServerStateMonitorListener());
 
+        final ServerProfiler.Profile bootProfile = profiler == null ? null : profiler.getActiveProfile(ServerProfiler.BOOT, serverEnvironment.getServerName());
+
         final List<ModelNode> updates;
+        final long loadStart = System.nanoTime();
         try {
             updates = persister.load();
         } catch (Exception e) {
             throw new StartException(e);
         }
+        if (bootProfile != null) {
+            bootProfile.record(System.nanoTime() - loadStart, "load-configuration");
+        }
 
         log.info("Activating core services");
 
@@ -178,10 +202,24 @@ final class ServerControllerService implements Service<ServerController> {
                 }
             }
         };
-        for (ModelNode update : updates) {
-            count.incrementAndGet();
-            update.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
-            serverController.execute(OperationBuilder.Factory.create(update).build(), resultHandler);
+        // With more than one boot thread the runtime tasks of independent subsystems run concurrently
+        final BootTaskScheduler bootTaskScheduler = serverEnvironment.getBootThreads() > 1 ? new BootTaskScheduler(serverEnvironment.getBootThreads(), threadFactory, bootProfile) : null;
+        serverController.setBootTaskScheduler(bootTaskScheduler);
+        try {
+            for (ModelNode update : updates) {
+                count.incrementAndGet();
+                update.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+                final long operationStart = System.nanoTime();
+                serverController.execute(OperationBuilder.Factory.create(update).build(), resultHandler);
+                if (bootProfile != null) {
+                    bootProfile.record(System.nanoTime() - operationStart, getProfilePath(update));
+                }
+            }
+            if (bootTaskScheduler != null) {
+                bootTaskScheduler.complete();
+            }
+        } finally {
+            serverController.setBootTaskScheduler(null);
         }
         if (count.decrementAndGet() == 0) {
             // some action?
@@ -215,7 +253,7 @@ final class ServerControllerService implements Service<ServerController> {
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ADDITIONAL_MANIFEST, new ManifestAttachmentProcessor()));
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_SUB_DEPLOYMENT, new SubDeploymentProcessor()));
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_MODULE_IDENTIFIERS, new ModuleIdentifierProcessor()));
-        deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ANNOTATION_INDEX, new AnnotationIndexProcessor()));
+        deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ANNOTATION_INDEX, new AnnotationIndexProcessor(annotationIndexCache, executorService)));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_STRUCTURE_DESCRIPTOR, new DeploymentStructureDescriptorParser()));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_COMPOSITE_ANNOTATION_INDEX, new CompositeIndexProcessor()));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_ADDITIONAL_MODULES, new AdditionalModuleProcessor()));
@@ -245,7 +283,7 @@ final class ServerControllerService implements Service<ServerController> {
             finalDeployers.put(entry.getKey(), list);
         }
 
-        DeployerChainsService.addService(serviceTarget, finalDeployers);
+        DeployerChainsService.addService(serviceTarget, finalDeployers, profiler);
 
         this.serverController = serverController;
     }
@@ -253,9 +291,25 @@ final class ServerControllerService implements Service<ServerController> {
     /** {@inheritDoc} */
     @Override
     public synchronized void stop(final StopContext context) {
+        final ExtensibleConfigurationPersister persister = configuration.getConfigurationPersister();
+        if (persister instanceof AsyncConfigurationPersister) {
+            // Write queued configuration changes and stop the writer thread
+            ((AsyncConfigurationPersister) persister).shutdown();
+        }
         serverController = null;
     }
 
+    private static String[] getProfilePath(final ModelNode operation) {
+        final List<String> path = new ArrayList<String>();
+        if (operation.hasDefined(OP_ADDR)) {
+            for (Property element : operation.get(OP_ADDR).asPropertyList()) {
+                path.add(element.getName() + "=" + element.getValue().asString());
+            }
+        }
+        path.add(operation.get(OP).asString());
+        return path.toArray(new String[path.size()]);
+    }
+
     /** {@inheritDoc} */
     @Override
     public synchronized ServerController getValue() throws IllegalStateException, IllegalArgumentException {
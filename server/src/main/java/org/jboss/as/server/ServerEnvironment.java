@@ -159,6 +159,42 @@ public class ServerEnvironment implements Serializable {
      */
     public static final String QUALIFIED_HOST_NAME = "jboss.qualified.host.name";
 
+    /**
+     * Constant that holds the name of the system property for specifying whether
+     * configuration changes are written to disk by a background writer.
+     */
+    public static final String SERVER_CONFIG_ASYNC_PERSISTENCE = "jboss.server.config.async.persistence";
+
+    /**
+     * Constant that holds the name of the system property for specifying whether
+     * the annotation indexes of deployments are cached in the server data directory.
+     */
+    public static final String SERVER_ANNOTATION_INDEX_CACHE = "jboss.server.annotation.index.cache";
+
+    /**
+     * Constant that holds the name of the system property for specifying whether
+     * the boot operations parsed from the server configuration are cached in the server data directory.
+     */
+    public static final String SERVER_BOOT_MODEL_CACHE = "jboss.server.boot.model.cache";
+
+    /**
+     * Constant that holds the name of the system property for specifying how many
+     * subsystems may install their services concurrently during boot.
+     */
+    public static final String SERVER_BOOT_THREADS = "jboss.server.boot.threads";
+
+    /**
+     * Constant that holds the name of the system property for specifying whether
+     * the time spent booting the server and processing deployments is recorded.
+     */
+    public static final String SERVER_PROFILER = "jboss.server.profiler";
+
+    /**
+     * Constant that holds the name of the system property for specifying how many
+     * boot and deployment profiles are retained.
+     */
+    public static final String SERVER_PROFILER_HISTORY = "jboss.server.profiler.history";
+
     private final String qualifiedHostName;
     private final String hostName;
     private final String serverName;
@@ -177,6 +213,12 @@ public class ServerEnvironment implements Serializable {
     private final File serverTempDir;
     private final boolean standalone;
     private final File serverSystemDeployDir;
+    private final boolean asyncConfigurationPersistence;
+    private final boolean annotationIndexCache;
+    private final boolean bootModelCache;
+    private final int bootThreads;
+    private final boolean profiler;
+    private final int profilerHistory;
 
     public ServerEnvironment(Properties props, Map<String, String> env, String serverConfig, boolean standalone) {
         this.standalone = standalone;
@@ -295,6 +337,29 @@ public class ServerEnvironment implements Serializable {
             tmp = new File(serverBaseDir, "tmp");
         }
         serverTempDir = tmp;
+
+        asyncConfigurationPersistence = Boolean.parseBoolean(props.getProperty(SERVER_CONFIG_ASYNC_PERSISTENCE, "false"));
+        annotationIndexCache = Boolean.parseBoolean(props.getProperty(SERVER_ANNOTATION_INDEX_CACHE, "true"));
+        bootModelCache = Boolean.parseBoolean(props.getProperty(SERVER_BOOT_MODEL_CACHE, "true"));
+        final String bootThreadsValue = props.getProperty(SERVER_BOOT_THREADS, "1");
+        try {
+            bootThreads = Integer.parseInt(bootThreadsValue);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + SERVER_BOOT_THREADS + ": " + bootThreadsValue);
+        }
+        if (bootThreads < 1) {
+            throw new IllegalArgumentException("Invalid value for " + SERVER_BOOT_THREADS + ": " + bootThreadsValue);
+        }
+        profiler = Boolean.parseBoolean(props.getProperty(SERVER_PROFILER, "false"));
+        final String profilerHistoryValue = props.getProperty(SERVER_PROFILER_HISTORY, "10");
+        try {
+            profilerHistory = Integer.parseInt(profilerHistoryValue);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + SERVER_PROFILER_HISTORY + ": " + profilerHistoryValue);
+        }
+        if (profilerHistory < 1) {
+            throw new IllegalArgumentException("Invalid value for " + SERVER_PROFILER_HISTORY + ": " + profilerHistoryValue);
+        }
     }
 
     void install() {
@@ -406,6 +471,66 @@ public class ServerEnvironment implements Serializable {
         return standalone;
     }
 
+    /**
+     * Whether configuration changes should be handed off to a background writer instead of
+     * being written by the thread executing the management operation.
+     *
+     * @return {@code true} if configuration changes are persisted asynchronously
+     */
+    public boolean isAsyncConfigurationPersistence() {
+        return asyncConfigurationPersistence;
+    }
+
+    /**
+     * Whether the annotation indexes computed for deployment content should be kept in the
+     * server data directory and reused when the same content is deployed again.
+     *
+     * @return {@code true} if annotation indexes are cached
+     */
+    public boolean isAnnotationIndexCache() {
+        return annotationIndexCache;
+    }
+
+    /**
+     * Whether the boot operations parsed from the server configuration should be kept in the
+     * server data directory and reused, instead of parsing the configuration again, while neither
+     * the configuration nor the extensions it uses have changed.
+     *
+     * @return {@code true} if boot operations are cached
+     */
+    public boolean isBootModelCache() {
+        return bootModelCache;
+    }
+
+    /**
+     * Get the number of subsystems which may install their services concurrently during boot.
+     * With the default of {@code 1} subsystems are installed one after another in document order.
+     *
+     * @return the number of boot threads
+     */
+    public int getBootThreads() {
+        return bootThreads;
+    }
+
+    /**
+     * Whether the time spent on each boot operation and on each deployment phase and processor
+     * should be recorded and made available through the {@code read-profiles} operation.
+     *
+     * @return {@code true} if the profiler is enabled
+     */
+    public boolean isProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Get the number of boot and deployment profiles the profiler retains.
+     *
+     * @return the number of retained profiles
+     */
+    public int getProfilerHistory() {
+        return profilerHistory;
+    }
+
     /**
      * Get a File from configuration.
      *
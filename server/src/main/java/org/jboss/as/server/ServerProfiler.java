@@ -0,0 +1,315 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Records where the time of server boots and deployments goes.
+ * <p>
+ * Each boot and each deployment gets a {@link Profile}, a tree of timed entries such as the boot operations of a
+ * subsystem or the processors of a deployment phase. The most recent profiles are retained in memory and can be
+ * read as a model or exported as collapsed stacks, the input format of the usual flame graph tools.
+ * </p>
+ */
+public final class ServerProfiler {
+
+    /** The type of boot profiles. */
+    public static final String BOOT = "boot";
+    /** The type of deployment profiles. */
+    public static final String DEPLOYMENT = "deployment";
+
+    private final int history;
+    // guarded by "this"
+    private final LinkedList<Profile> profiles = new LinkedList<Profile>();
+
+    /**
+     * Construct a new instance.
+     *
+     * @param history the number of profiles to retain
+     */
+    public ServerProfiler(final int history) {
+        if (history < 1) {
+            throw new IllegalArgumentException("history must be at least 1");
+        }
+        this.history = history;
+    }
+
+    /**
+     * Start a new profile, discarding the oldest retained one if necessary. An unfinished profile of the same
+     * type and name is finished first.
+     *
+     * @param type the profile type
+     * @param name the name of the profiled boot or deployment
+     * @return the new profile
+     */
+    public Profile startProfile(final String type, final String name) {
+        return startProfile(type, name, System.currentTimeMillis());
+    }
+
+    /**
+     * Start a new profile which began at the given time.
+     *
+     * @param type the profile type
+     * @param name the name of the profiled boot or deployment
+     * @param startTime the time the profiled activity began, in milliseconds since the epoch
+     * @return the new profile
+     */
+    public synchronized Profile startProfile(final String type, final String name, final long startTime) {
+        final Profile previous = getActiveProfile(type, name);
+        if (previous != null) {
+            previous.finish();
+        }
+        final Profile profile = new Profile(type, name, startTime);
+        profiles.addLast(profile);
+        while (profiles.size() > history) {
+            profiles.removeFirst();
+        }
+        return profile;
+    }
+
+    /**
+     * Get the most recent unfinished profile of the given type and name.
+     *
+     * @param type the profile type
+     * @param name the name of the profiled boot or deployment
+     * @return the profile, or {@code null} if there is none
+     */
+    public synchronized Profile getActiveProfile(final String type, final String name) {
+        for (int i = profiles.size() - 1; i >= 0; i--) {
+            final Profile profile = profiles.get(i);
+            if (profile.type.equals(type) && profile.name.equals(name)) {
+                return profile.isFinished() ? null : profile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the retained profiles, oldest first.
+     *
+     * @return a copy of the retained profiles
+     */
+    public synchronized List<Profile> getProfiles() {
+        return new ArrayList<Profile>(profiles);
+    }
+
+    /**
+     * Get the retained profiles as a model. Times are in microseconds.
+     *
+     * @return a list node with one entry per profile, oldest first
+     */
+    public ModelNode toModelNode() {
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (Profile profile : getProfiles()) {
+            result.add(profile.toModelNode());
+        }
+        return result;
+    }
+
+    /**
+     * Get the retained profiles as collapsed stacks: one line per entry, holding the {@code ;} separated names of the
+     * entry and its parents followed by the time spent in the entry itself, in microseconds.
+     *
+     * @return the collapsed stacks
+     */
+    public String toCollapsedStacks() {
+        final StringBuilder builder = new StringBuilder();
+        for (Profile profile : getProfiles()) {
+            profile.appendCollapsedStacks(builder);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The timings of a single boot or deployment.
+     */
+    public static final class Profile {
+        private final String type;
+        private final String name;
+        private final long startTime;
+        private final long startNanos = System.nanoTime();
+        // guarded by "this"
+        private final Entry root;
+        private long duration = -1L;
+        private long lastNanos = startNanos;
+
+        private Profile(final String type, final String name, final long startTime) {
+            this.type = type;
+            this.name = name;
+            this.startTime = startTime;
+            root = new Entry(type + " " + name);
+        }
+
+        /**
+         * Add time to an entry of this profile. The entry is identified by its name and the names of its parents;
+         * missing entries are created. The time of an entry includes the time of its children, unless nothing but
+         * its children was recorded.
+         *
+         * @param nanos the time to add, in nanoseconds
+         * @param path the names of the entry and its parents, outermost first
+         */
+        public synchronized void record(final long nanos, final String... path) {
+            Entry entry = root;
+            for (String element : path) {
+                entry = entry.getChild(element);
+            }
+            entry.time += nanos;
+            lastNanos = System.nanoTime();
+        }
+
+        /**
+         * Mark this profile as finished now.
+         */
+        public synchronized void finish() {
+            if (duration < 0) {
+                duration = System.nanoTime() - startNanos;
+            }
+        }
+
+        /**
+         * Mark this profile as finished with the given total time, for activities which started before the profile.
+         *
+         * @param durationMillis the total time, in milliseconds
+         */
+        public synchronized void finish(final long durationMillis) {
+            if (duration < 0) {
+                duration = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+            }
+        }
+
+        /**
+         * Determine whether this profile is finished.
+         *
+         * @return {@code true} if it is finished
+         */
+        public synchronized boolean isFinished() {
+            return duration >= 0;
+        }
+
+        /**
+         * Get the profile type, {@link #BOOT} or {@link #DEPLOYMENT}.
+         *
+         * @return the type
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Get the name of the profiled boot or deployment.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        synchronized ModelNode toModelNode() {
+            final ModelNode node = new ModelNode();
+            node.get("type").set(type);
+            node.get("name").set(name);
+            node.get("start-time").set(startTime);
+            node.get("finished").set(duration >= 0);
+            node.get("time").set(toMicros(duration >= 0 ? duration : lastNanos - startNanos));
+            node.get("entries").set(root.childrenToModelNode());
+            return node;
+        }
+
+        synchronized void appendCollapsedStacks(final StringBuilder builder) {
+            root.time = duration >= 0 ? duration : lastNanos - startNanos;
+            root.appendCollapsedStacks(builder, null);
+        }
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final Map<String, Entry> children = new LinkedHashMap<String, Entry>();
+        private long time;
+
+        private Entry(final String name) {
+            this.name = name;
+        }
+
+        private Entry getChild(final String name) {
+            Entry child = children.get(name);
+            if (child == null) {
+                child = new Entry(name);
+                children.put(name, child);
+            }
+            return child;
+        }
+
+        private long getTotal() {
+            return Math.max(time, getChildrenTotal());
+        }
+
+        private long getChildrenTotal() {
+            long total = 0;
+            for (Entry child : children.values()) {
+                total += child.getTotal();
+            }
+            return total;
+        }
+
+        private ModelNode childrenToModelNode() {
+            final ModelNode result = new ModelNode().setEmptyList();
+            for (Entry child : children.values()) {
+                final ModelNode node = new ModelNode();
+                node.get("name").set(child.name);
+                node.get("time").set(toMicros(child.getTotal()));
+                if (!child.children.isEmpty()) {
+                    node.get("entries").set(child.childrenToModelNode());
+                }
+                result.add(node);
+            }
+            return result;
+        }
+
+        private void appendCollapsedStacks(final StringBuilder builder, final String parentStack) {
+            final String stack = parentStack == null ? frame(name) : parentStack + ';' + frame(name);
+            final long self = toMicros(getTotal() - getChildrenTotal());
+            if (self > 0 || children.isEmpty()) {
+                builder.append(stack).append(' ').append(self).append('\n');
+            }
+            for (Entry child : children.values()) {
+                child.appendCollapsedStacks(builder, stack);
+            }
+        }
+
+        private static String frame(final String name) {
+            return name.replace(';', ',').replace('\n', ' ');
+        }
+    }
+
+    private static long toMicros(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -74,4 +74,12 @@ public final class ServerDescriptionProviders {
             return ServerDescriptions.getServerReloadOperation(locale);
         }
     };
+
+    public static final DescriptionProvider READ_PROFILES_PROVIDER = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            return ServerDescriptions.getReadProfilesOperation(locale);
+        }
+    };
 }
@@ -21,12 +21,18 @@ package org.jboss.as.server.controller.descriptions;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.jboss.as.server.deployment.DeploymentRemoveHandler;
+import org.jboss.as.server.operations.ReadProfilesHandler;
 import org.jboss.as.server.operations.ServerReloadHandler;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * Model descriptions for deployment resources.
@@ -58,6 +64,20 @@ public class ServerDescriptions {
         return root;
     }
 
+    public static final ModelNode getReadProfilesOperation(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+        final ModelNode root = new ModelNode();
+        root.get(OPERATION_NAME).set(ReadProfilesHandler.OPERATION_NAME);
+        root.get(DESCRIPTION).set(bundle.getString("read-profiles"));
+        root.get(REQUEST_PROPERTIES, ReadProfilesHandler.FLAME_GRAPH, TYPE).set(ModelType.BOOLEAN);
+        root.get(REQUEST_PROPERTIES, ReadProfilesHandler.FLAME_GRAPH, DESCRIPTION).set(bundle.getString("read-profiles.flame-graph"));
+        root.get(REQUEST_PROPERTIES, ReadProfilesHandler.FLAME_GRAPH, REQUIRED).set(false);
+        root.get(REPLY_PROPERTIES, TYPE).set(ModelType.LIST);
+        root.get(REPLY_PROPERTIES, VALUE_TYPE).set(ModelType.OBJECT);
+        root.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("read-profiles.reply"));
+        return root;
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
@@ -25,6 +25,8 @@ package org.jboss.as.server.deployment;
 import java.util.EnumMap;
 import java.util.List;
 
+import org.jboss.as.server.ServerProfiler;
+
 /**
  * The deployer chains service value object.
  *
@@ -32,12 +34,18 @@ import java.util.List;
  */
 final class DeployerChains {
     private final EnumMap<Phase, List<DeploymentUnitProcessor>> phases;
+    private final ServerProfiler profiler;
 
-    DeployerChains(final EnumMap<Phase, List<DeploymentUnitProcessor>> phases) {
+    DeployerChains(final EnumMap<Phase, List<DeploymentUnitProcessor>> phases, final ServerProfiler profiler) {
         this.phases = phases;
+        this.profiler = profiler;
     }
 
     List<DeploymentUnitProcessor> getChain(Phase phase) {
         return phases.get(phase);
     }
+
+    ServerProfiler getProfiler() {
+        return profiler;
+    }
 }
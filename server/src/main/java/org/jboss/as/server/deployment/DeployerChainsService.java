@@ -24,6 +24,7 @@ package org.jboss.as.server.deployment;
 
 import java.util.EnumMap;
 import java.util.List;
+import org.jboss.as.server.ServerProfiler;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceTarget;
 import org.jboss.msc.service.StartContext;
@@ -39,7 +40,11 @@ public class DeployerChainsService implements Service<DeployerChains> {
     private final DeployerChains deployerChains;
 
     public static void addService(final ServiceTarget serviceTarget, final EnumMap<Phase, List<DeploymentUnitProcessor>> phases) {
-        final DeployerChains deployerChains = new DeployerChains(phases);
+        addService(serviceTarget, phases, null);
+    }
+
+    public static void addService(final ServiceTarget serviceTarget, final EnumMap<Phase, List<DeploymentUnitProcessor>> phases, final ServerProfiler profiler) {
+        final DeployerChains deployerChains = new DeployerChains(phases, profiler);
         serviceTarget.addService(Services.JBOSS_DEPLOYMENT_CHAINS, new DeployerChainsService(deployerChains))
             .install();
     }
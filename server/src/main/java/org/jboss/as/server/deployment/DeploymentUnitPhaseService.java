@@ -22,6 +22,7 @@
 
 package org.jboss.as.server.deployment;
 
+import org.jboss.as.server.ServerProfiler;
 import org.jboss.logging.Logger;
 import org.jboss.msc.service.DelegatingServiceRegistry;
 import org.jboss.msc.service.Service;
@@ -37,6 +38,7 @@ import org.jboss.msc.value.InjectedValue;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A service which executes a particular phase of deployment.
@@ -55,6 +57,9 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
 
     private static final Logger log = Logger.getLogger("org.jboss.as.server.deployment");
 
+    // The number of units of a top-level deployment which have yet to complete their last phase for the profile
+    private static final AttachmentKey<AtomicInteger> PROFILE_PENDING_UNITS = AttachmentKey.create(AtomicInteger.class);
+
     private DeploymentUnitPhaseService(final DeploymentUnit deploymentUnit, final Phase phase, final AttachmentKey<T> valueKey) {
         this.deploymentUnit = deploymentUnit;
         this.phase = phase;
@@ -96,10 +101,21 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        final ServerProfiler.Profile profile = getProfile(chains.getProfiler());
+        final long phaseStart = System.nanoTime();
         while (iterator.hasNext()) {
             final DeploymentUnitProcessor processor = iterator.next();
             try {
-                processor.deploy(processorContext);
+                if (profile == null) {
+                    processor.deploy(processorContext);
+                } else {
+                    final long start = System.nanoTime();
+                    try {
+                        processor.deploy(processorContext);
+                    } finally {
+                        profile.record(System.nanoTime() - start, getProfilePath(processor.getClass().getName()));
+                    }
+                }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
                     final DeploymentUnitProcessor prev = iterator.previous();
@@ -109,6 +125,12 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
         final Phase nextPhase = phase.next();
+        if (profile != null) {
+            profile.record(System.nanoTime() - phaseStart, getProfilePath(null));
+            if (nextPhase == null) {
+                finishProfile(profile);
+            }
+        }
         if (nextPhase != null) {
             final String name = deploymentUnit.getName();
             final DeploymentUnit parent = deploymentUnit.getParent();
@@ -157,6 +179,52 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         }
     }
 
+    /**
+     * Get the profile of the top-level deployment this unit belongs to, starting a new one when the
+     * top-level deployment enters its first phase.
+     */
+    private ServerProfiler.Profile getProfile(final ServerProfiler profiler) {
+        if (profiler == null) {
+            return null;
+        }
+        final DeploymentUnit parent = deploymentUnit.getParent();
+        if (parent == null && phase.ordinal() == 0) {
+            return profiler.startProfile(ServerProfiler.DEPLOYMENT, deploymentUnit.getName());
+        }
+        return profiler.getActiveProfile(ServerProfiler.DEPLOYMENT, parent == null ? deploymentUnit.getName() : parent.getName());
+    }
+
+    /**
+     * Finish the profile once the top-level deployment and all of its subdeployments have completed their last
+     * phase.  Subdeployments complete it after the top-level deployment, so the top-level deployment sets up the count.
+     */
+    private void finishProfile(final ServerProfiler.Profile profile) {
+        final DeploymentUnit parent = deploymentUnit.getParent();
+        final AtomicInteger remaining;
+        if (parent == null) {
+            final List<DeploymentUnit> subDeployments = deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS);
+            remaining = new AtomicInteger(subDeployments.size() + 1);
+            deploymentUnit.putAttachment(PROFILE_PENDING_UNITS, remaining);
+        } else {
+            remaining = parent.getAttachment(PROFILE_PENDING_UNITS);
+        }
+        if (remaining != null && remaining.decrementAndGet() == 0) {
+            profile.finish();
+        }
+    }
+
+    private String[] getProfilePath(final String processorName) {
+        final List<String> path = new ArrayList<String>(3);
+        if (deploymentUnit.getParent() != null) {
+            path.add(deploymentUnit.getName());
+        }
+        path.add(phase.name());
+        if (processorName != null) {
+            path.add(processorName);
+        }
+        return path.toArray(new String[path.size()]);
+    }
+
     private static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final DeploymentUnitProcessor prev) {
         try {
             prev.undeploy(deploymentUnit);
@@ -0,0 +1,330 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.logging.Logger;
+import org.jboss.vfs.VFSUtils;
+
+/**
+ * A persistent store for the annotation indexes of deployment resource roots.
+ * <p>
+ * Deployment content is addressed by its SHA-1 hash, so an index computed for a resource root stays valid for as
+ * long as the content it was computed from. Entries are grouped in one directory per deployment hash and keyed by
+ * the path of the resource root inside the deployment (plus any paths excluded from indexing), which allows a
+ * redeploy or restart to read the index back instead of scanning every class file again.
+ * </p>
+ * <p>
+ * Each entry records how long the original indexing took, so the cache can report how much indexing time
+ * has been saved by the entries it served.
+ * </p>
+ */
+public class AnnotationIndexCache {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.server.deployment");
+
+    private static final int MAGIC = 0x4A494458; // JIDX
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".idx";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File cacheDir;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong indexTime = new AtomicLong();
+    private final AtomicLong loadTime = new AtomicLong();
+    private final AtomicLong timeSaved = new AtomicLong();
+
+    /**
+     * Construct a new instance.
+     *
+     * @param cacheDir the directory holding the cached indexes
+     */
+    public AnnotationIndexCache(final File cacheDir) {
+        if (cacheDir == null) {
+            throw new IllegalArgumentException("cacheDir is null");
+        }
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Create the key for a resource root.
+     *
+     * @param deploymentHash the content hash of the top level deployment
+     * @param rootPath the path of the resource root relative to the deployment root
+     * @param ignorePaths the paths excluded from indexing, or {@code null} if there are none
+     * @return the key, or {@code null} if no deployment hash is available
+     */
+    public static Key createKey(final byte[] deploymentHash, final String rootPath, final Collection<String> ignorePaths) {
+        if (deploymentHash == null || deploymentHash.length == 0) {
+            return null;
+        }
+        final StringBuilder builder = new StringBuilder(rootPath == null ? "" : rootPath);
+        if (ignorePaths != null) {
+            // order must not matter
+            for (String ignorePath : new TreeSet<String>(ignorePaths)) {
+                builder.append('\0').append(ignorePath);
+            }
+        }
+        final byte[] rootHash;
+        try {
+            rootHash = MessageDigest.getInstance("SHA-1").digest(builder.toString().getBytes("UTF-8"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return new Key(toHex(deploymentHash), toHex(rootHash));
+    }
+
+    /**
+     * Read the index stored for the given key.
+     *
+     * @param key the key
+     * @return the index, or {@code null} if nothing usable is stored
+     */
+    public Index load(final Key key) {
+        final File file = getFile(key);
+        if (!file.isFile()) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        final long start = System.nanoTime();
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("Unrecognized index format");
+                }
+                final long originalTime = in.readLong();
+                final Index index = new IndexReader(in).read();
+                final long elapsed = System.nanoTime() - start;
+                hitCount.incrementAndGet();
+                loadTime.addAndGet(elapsed);
+                if (originalTime > elapsed) {
+                    timeSaved.addAndGet(originalTime - elapsed);
+                }
+                // mark the deployment as in use so it survives pruning
+                file.getParentFile().setLastModified(System.currentTimeMillis());
+                return index;
+            } finally {
+                VFSUtils.safeClose(in);
+            }
+        } catch (Exception e) {
+            log.debugf(e, "Discarding unreadable annotation index %s", file);
+            failureCount.incrementAndGet();
+            missCount.incrementAndGet();
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Store an index for the given key.  Failures are logged and otherwise ignored; the cache is only an
+     * optimization.
+     *
+     * @param key the key
+     * @param index the index
+     * @param indexNanos the time it took to compute the index, in nanoseconds
+     */
+    public void store(final Key key, final Index index, final long indexNanos) {
+        indexTime.addAndGet(indexNanos);
+        final File file = getFile(key);
+        final File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+            log.debugf("Could not create annotation index cache directory %s", dir);
+            failureCount.incrementAndGet();
+            return;
+        }
+        final File tmp = new File(dir, file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(indexNanos);
+                new IndexWriter(out).write(index);
+                out.flush();
+            } finally {
+                VFSUtils.safeClose(out);
+            }
+            if (!tmp.renameTo(file)) {
+                // another thread may have stored the same entry
+                file.delete();
+                if (!tmp.renameTo(file)) {
+                    throw new IOException("Could not rename " + tmp + " to " + file);
+                }
+            }
+        } catch (Exception e) {
+            log.debugf(e, "Failed to store annotation index %s", file);
+            failureCount.incrementAndGet();
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Remove cached indexes of deployments which have not been used for the given amount of time.
+     *
+     * @param maxAge the maximum age
+     * @param unit the unit of {@code maxAge}
+     * @return the number of deployments removed
+     */
+    public int prune(final long maxAge, final TimeUnit unit) {
+        final File[] dirs = cacheDir.listFiles();
+        if (dirs == null) {
+            return 0;
+        }
+        final long cutoff = System.currentTimeMillis() - unit.toMillis(maxAge);
+        int removed = 0;
+        for (File dir : dirs) {
+            if (dir.isDirectory() && dir.lastModified() < cutoff) {
+                final File[] files = dir.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        file.delete();
+                    }
+                }
+                if (dir.delete()) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Get the number of indexes read from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of lookups which had to fall back to indexing the resource root.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get the number of entries which could not be read or written.
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Get the total time spent indexing resource roots which were not cached.
+     *
+     * @return the time in milliseconds
+     */
+    public long getIndexTime() {
+        return TimeUnit.NANOSECONDS.toMillis(indexTime.get());
+    }
+
+    /**
+     * Get the total time spent reading cached indexes.
+     *
+     * @return the time in milliseconds
+     */
+    public long getLoadTime() {
+        return TimeUnit.NANOSECONDS.toMillis(loadTime.get());
+    }
+
+    /**
+     * Get the indexing time saved by cache hits, i.e. the original indexing time of every entry served
+     * less the time it took to read it.
+     *
+     * @return the time in milliseconds
+     */
+    public long getTimeSaved() {
+        return TimeUnit.NANOSECONDS.toMillis(timeSaved.get());
+    }
+
+    private File getFile(final Key key) {
+        return new File(new File(cacheDir, key.deployment), key.root + SUFFIX);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * The cache key of a resource root.
+     */
+    public static final class Key {
+        private final String deployment;
+        private final String root;
+
+        Key(final String deployment, final String root) {
+            this.deployment = deployment;
+            this.root = root;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key && deployment.equals(((Key) other).deployment) && root.equals(((Key) other).root);
+        }
+
+        @Override
+        public int hashCode() {
+            return deployment.hashCode() * 31 + root.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return deployment + "/" + root;
+        }
+    }
+}
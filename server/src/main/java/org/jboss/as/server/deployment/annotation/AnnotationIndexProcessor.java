@@ -26,8 +26,14 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
@@ -36,6 +42,7 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
+import org.jboss.logging.Logger;
 import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
@@ -43,13 +50,39 @@ import org.jboss.vfs.VisitorAttributes;
 import org.jboss.vfs.util.SuffixMatchFilter;
 
 /**
- * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
+ * Deployment unit processor responsible for creating and attaching an annotation index for a resource root.
+ * <p>
+ * If an {@link AnnotationIndexCache} is configured, indexes are read from and written to it, keyed by the content
+ * hash of the deployment. Resource roots which are not cached are indexed concurrently on the given executor; the
+ * deploying thread takes part in the work, so a busy executor never stalls the deployment.
+ * </p>
  *
  * @author John E. Bailey
  * @author Stuart Douglas
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    private static final Logger log = Logger.getLogger("org.jboss.as.server.deployment");
+
+    private final AnnotationIndexCache cache;
+    private final Executor executor;
+
+    public AnnotationIndexProcessor() {
+        this(null, null);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param cache the index cache, or {@code null} to always index resource roots
+     * @param executor the executor used to index resource roots in parallel, or {@code null} to index them
+     *                 on the deploying thread
+     */
+    public AnnotationIndexProcessor(final AnnotationIndexCache cache, final Executor executor) {
+        this.cache = cache;
+        this.executor = executor;
+    }
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -59,12 +92,16 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      *
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+        final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         final List<ResourceRoot> allResourceRoots = new ArrayList<ResourceRoot>();
-        final List<ResourceRoot> resourceRoots = phaseContext.getDeploymentUnit().getAttachment(Attachments.RESOURCE_ROOTS);
+        final List<ResourceRoot> resourceRoots = deploymentUnit.getAttachment(Attachments.RESOURCE_ROOTS);
         if (resourceRoots != null) {
             allResourceRoots.addAll(resourceRoots);
         }
-        allResourceRoots.add(phaseContext.getDeploymentUnit().getAttachment(Attachments.DEPLOYMENT_ROOT));
+        allResourceRoots.add(deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT));
+
+        final List<IndexTask> tasks = new ArrayList<IndexTask>();
+        int cached = 0;
         for (ResourceRoot resourceRoot : allResourceRoots) {
             if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
                 continue;
@@ -83,35 +120,124 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
                 indexIgnorePaths = null;
             }
 
-            final VirtualFile virtualFile = resourceRoot.getRoot();
-            final Indexer indexer = new Indexer();
+            final AnnotationIndexCache.Key key = cache == null ? null : createKey(deploymentUnit, resourceRoot, indexIgnorePaths);
+            if (key != null) {
+                final Index index = cache.load(key);
+                if (index != null) {
+                    resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+                    cached++;
+                    continue;
+                }
+            }
+            tasks.add(new IndexTask(resourceRoot, indexIgnorePaths, key));
+        }
+
+        // hand all but the first root to the executor, then work through the list ourselves
+        if (executor != null && tasks.size() > 1) {
             try {
-                final VisitorAttributes visitorAttributes = new VisitorAttributes();
-                visitorAttributes.setLeavesOnly(true);
-                visitorAttributes.setRecurseFilter(new VirtualFileFilter() {
-                    public boolean accepts(VirtualFile file) {
-                        return indexIgnorePaths == null || !indexIgnorePaths.contains(file.getPathNameRelativeTo(virtualFile));
-                    }
-                });
-
-                final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-                for (VirtualFile classFile : classChildren) {
-                    InputStream inputStream = null;
-                    try {
-                        inputStream = classFile.openStream();
-                        indexer.index(inputStream);
-                    } finally {
-                        VFSUtils.safeClose(inputStream);
-                    }
+                for (IndexTask task : tasks.subList(1, tasks.size())) {
+                    executor.execute(task.future);
                 }
-                final Index index = indexer.complete();
-                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
-            } catch (Throwable t) {
-                throw new DeploymentUnitProcessingException("Failed to index deployment root for annotations", t);
+            } catch (RejectedExecutionException e) {
+                // the remaining roots are indexed below
             }
         }
+        for (IndexTask task : tasks) {
+            task.future.run();
+        }
+        long indexTime = 0;
+        for (IndexTask task : tasks) {
+            final Index index;
+            try {
+                index = task.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DeploymentUnitProcessingException("Interrupted while indexing deployment root for annotations", e);
+            } catch (ExecutionException e) {
+                throw new DeploymentUnitProcessingException("Failed to index deployment root for annotations", e.getCause());
+            }
+            task.resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+            indexTime += task.elapsed;
+            if (task.key != null) {
+                cache.store(task.key, index, task.elapsed);
+            }
+        }
+        if (cache != null && log.isDebugEnabled()) {
+            log.debugf("Annotation index of %s: %d resource roots read from cache, %d indexed in %d ms", deploymentUnit.getName(),
+                    Integer.valueOf(cached), Integer.valueOf(tasks.size()), Long.valueOf(TimeUnit.NANOSECONDS.toMillis(indexTime)));
+        }
     }
 
     public void undeploy(final DeploymentUnit context) {
     }
+
+    private static AnnotationIndexCache.Key createKey(final DeploymentUnit deploymentUnit, final ResourceRoot resourceRoot, final Set<String> indexIgnorePaths) {
+        // sub deployments are part of the content of the top level deployment
+        final DeploymentUnit topLevel = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        final ResourceRoot deploymentRoot = topLevel.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        if (deploymentRoot == null) {
+            return null;
+        }
+        final VirtualFile root = resourceRoot.getRoot();
+        final VirtualFile topLevelRoot = deploymentRoot.getRoot();
+        final String path;
+        if (root.equals(topLevelRoot)) {
+            path = "";
+        } else {
+            try {
+                path = root.getPathNameRelativeTo(topLevelRoot);
+            } catch (IllegalArgumentException e) {
+                // not part of the deployment content, so the deployment hash does not cover it
+                return null;
+            }
+        }
+        return AnnotationIndexCache.createKey(topLevel.getAttachment(Attachments.DEPLOYMENT_HASH), path, indexIgnorePaths);
+    }
+
+    private static Index index(final VirtualFile virtualFile, final Set<String> indexIgnorePaths) throws Exception {
+        final Indexer indexer = new Indexer();
+        final VisitorAttributes visitorAttributes = new VisitorAttributes();
+        visitorAttributes.setLeavesOnly(true);
+        visitorAttributes.setRecurseFilter(new VirtualFileFilter() {
+            public boolean accepts(VirtualFile file) {
+                return indexIgnorePaths == null || !indexIgnorePaths.contains(file.getPathNameRelativeTo(virtualFile));
+            }
+        });
+
+        final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
+        for (VirtualFile classFile : classChildren) {
+            InputStream inputStream = null;
+            try {
+                inputStream = classFile.openStream();
+                indexer.index(inputStream);
+            } finally {
+                VFSUtils.safeClose(inputStream);
+            }
+        }
+        return indexer.complete();
+    }
+
+    private static final class IndexTask implements Callable<Index> {
+        private final ResourceRoot resourceRoot;
+        private final Set<String> indexIgnorePaths;
+        private final AnnotationIndexCache.Key key;
+        private final FutureTask<Index> future = new FutureTask<Index>(this);
+        // published by the completion of future
+        private long elapsed;
+
+        IndexTask(final ResourceRoot resourceRoot, final Set<String> indexIgnorePaths, final AnnotationIndexCache.Key key) {
+            this.resourceRoot = resourceRoot;
+            this.indexIgnorePaths = indexIgnorePaths;
+            this.key = key;
+        }
+
+        public Index call() throws Exception {
+            final long start = System.nanoTime();
+            try {
+                return index(resourceRoot.getRoot(), indexIgnorePaths);
+            } finally {
+                elapsed = System.nanoTime() - start;
+            }
+        }
+    }
 }
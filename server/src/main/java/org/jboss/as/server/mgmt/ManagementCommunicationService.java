@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 
@@ -162,5 +163,10 @@ public class ManagementCommunicationService implements Service<ManagementCommuni
         protected MessageHandler getHandlerForId(byte handlerId) {
             return handlers.get(handlerId);
         }
+
+        @Override
+        protected Executor getRequestExecutor() {
+            return executorServiceValue.getOptionalValue();
+        }
     };
 }
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.persistence.BootModelCache;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Metric handler exposing the statistics of the {@link BootModelCache}.
+ */
+public class BootModelCacheMetricHandler implements ModelQueryOperationHandler {
+
+    public static final String HIT_COUNT = "boot-model-cache-hit-count";
+    public static final String MISS_COUNT = "boot-model-cache-miss-count";
+    public static final String FAILURE_COUNT = "boot-model-cache-failure-count";
+    public static final String PARSE_TIME = "boot-model-parse-time";
+    public static final String LOAD_TIME = "boot-model-cache-load-time";
+    public static final String TIME_SAVED = "boot-model-cache-time-saved";
+    public static final String[] ATTRIBUTES = new String[] {HIT_COUNT, MISS_COUNT, FAILURE_COUNT, PARSE_TIME, LOAD_TIME, TIME_SAVED};
+
+    private final BootModelCache cache;
+
+    public BootModelCacheMetricHandler(final BootModelCache cache) {
+        this.cache = cache;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        final String attributeName = operation.require(NAME).asString();
+        final ModelNode result = new ModelNode();
+        if (HIT_COUNT.equals(attributeName)) {
+            result.set(cache.getHitCount());
+        } else if (MISS_COUNT.equals(attributeName)) {
+            result.set(cache.getMissCount());
+        } else if (FAILURE_COUNT.equals(attributeName)) {
+            result.set(cache.getFailureCount());
+        } else if (PARSE_TIME.equals(attributeName)) {
+            result.set(cache.getParseTime());
+        } else if (LOAD_TIME.equals(attributeName)) {
+            result.set(cache.getLoadTime());
+        } else if (TIME_SAVED.equals(attributeName)) {
+            result.set(cache.getTimeSaved());
+        }
+        resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, result);
+        resultHandler.handleResultComplete();
+        return new BasicOperationResult();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.operations;
+
+import java.util.Locale;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.server.ServerProfiler;
+import org.jboss.as.server.controller.descriptions.ServerDescriptionProviders;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Returns the boot and deployment profiles retained by the {@link ServerProfiler}.
+ */
+public class ReadProfilesHandler implements ModelQueryOperationHandler, DescriptionProvider {
+
+    /**
+     * The operation name.
+     */
+    public static final String OPERATION_NAME = "read-profiles";
+
+    /**
+     * The parameter selecting the collapsed stack format.
+     */
+    public static final String FLAME_GRAPH = "flame-graph";
+
+    private final ServerProfiler profiler;
+
+    public ReadProfilesHandler(final ServerProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        final boolean flameGraph = operation.hasDefined(FLAME_GRAPH) && operation.get(FLAME_GRAPH).asBoolean();
+        final ModelNode result = flameGraph ? new ModelNode().set(profiler.toCollapsedStacks()) : profiler.toModelNode();
+        resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, result);
+        resultHandler.handleResultComplete();
+        return new BasicOperationResult();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ModelNode getModelDescription(final Locale locale) {
+        return ServerDescriptionProviders.READ_PROFILES_PROVIDER.getModelDescription(locale);
+    }
+}
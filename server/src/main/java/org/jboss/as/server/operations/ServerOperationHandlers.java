@@ -22,8 +22,12 @@
 
 package org.jboss.as.server.operations;
 
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationHandler;
 import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.server.ServerController;
+import org.jboss.as.server.ServerOperationContext;
+import org.jboss.dmr.ModelNode;
 
 /**
  * Server specific {@link OperationHanlder}s which get registered at the {@link ServerController} to
@@ -40,7 +44,39 @@ public class ServerOperationHandlers {
     static final String[] NO_LOCATION = new String[0];
 
     static class ReadResourceHandler extends GlobalOperationHandlers.ReadResourceHandler {
-        //
+
+        @Override
+        protected OperationContext getAttributeReadContext(final OperationContext context, final ModelNode subModel) {
+            if (context instanceof ServerOperationContext) {
+                return new ServerAttributeReadContext((ServerOperationContext) context, subModel);
+            }
+            return super.getAttributeReadContext(context, subModel);
+        }
+
+        private static class ServerAttributeReadContext extends AttributeReadContext implements ServerOperationContext {
+
+            private final ServerOperationContext delegate;
+
+            private ServerAttributeReadContext(final ServerOperationContext delegate, final ModelNode subModel) {
+                super(delegate, subModel);
+                this.delegate = delegate;
+            }
+
+            @Override
+            public ServerController getController() {
+                return delegate.getController();
+            }
+
+            @Override
+            public void restartRequired() {
+                delegate.restartRequired();
+            }
+
+            @Override
+            public void revertRestartRequired() {
+                delegate.revertRestartRequired();
+            }
+        }
     }
 
     static class ReadAttributeHandler extends GlobalOperationHandlers.ReadAttributeHandler {
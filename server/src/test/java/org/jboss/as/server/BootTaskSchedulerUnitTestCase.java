@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BootTaskScheduler}
+ */
+public class BootTaskSchedulerUnitTestCase {
+
+    @Test
+    public void testSubsystemsRunConcurrently() throws Exception {
+        final BootTaskScheduler scheduler = new BootTaskScheduler(2, Executors.defaultThreadFactory(), null);
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final AtomicBoolean concurrent = new AtomicBoolean(true);
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                bothStarted.countDown();
+                try {
+                    if (!bothStarted.await(10, TimeUnit.SECONDS)) {
+                        concurrent.set(false);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    concurrent.set(false);
+                }
+            }
+        };
+        scheduler.execute(subsystem("threads"), task);
+        scheduler.execute(subsystem("naming"), task);
+        scheduler.complete();
+
+        assertEquals(0, bothStarted.getCount());
+        assertTrue(concurrent.get());
+    }
+
+    @Test
+    public void testOrdering() throws Exception {
+        final BootTaskScheduler scheduler = new BootTaskScheduler(4, Executors.defaultThreadFactory(), null);
+        final List<String> order = new CopyOnWriteArrayList<String>();
+
+        scheduler.execute(PathAddress.pathAddress(PathElement.pathElement("path", "data")), new Recorder(order, "path"));
+        scheduler.execute(subsystem("web"), new Recorder(order, "web-1"));
+        scheduler.execute(subsystem("logging"), new Recorder(order, "logging"));
+        scheduler.execute(PathAddress.pathAddress(PathElement.pathElement("subsystem", "web"), PathElement.pathElement("connector", "http")), new Recorder(order, "web-2"));
+        // Nothing queued runs until an operation outside the subsystems arrives
+        assertEquals(Arrays.asList("path"), order);
+
+        scheduler.execute(PathAddress.pathAddress(PathElement.pathElement("deployment", "test.war")), new Recorder(order, "deployment"));
+        assertEquals(Arrays.asList("path", "logging", "web-1", "web-2", "deployment"), order);
+
+        scheduler.complete();
+        assertEquals(5, order.size());
+    }
+
+    @Test
+    public void testFailureDoesNotStopOtherTasks() throws Exception {
+        final BootTaskScheduler scheduler = new BootTaskScheduler(2, Executors.defaultThreadFactory(), null);
+        final List<String> order = new CopyOnWriteArrayList<String>();
+
+        scheduler.execute(subsystem("naming"), new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("expected");
+            }
+        });
+        scheduler.execute(subsystem("naming"), new Recorder(order, "naming"));
+        scheduler.execute(subsystem("threads"), new Recorder(order, "threads"));
+        scheduler.complete();
+
+        assertEquals(2, order.size());
+        assertTrue(order.contains("naming"));
+        assertTrue(order.contains("threads"));
+    }
+
+    private static PathAddress subsystem(final String name) {
+        return PathAddress.pathAddress(PathElement.pathElement("subsystem", name));
+    }
+
+    private static class Recorder implements Runnable {
+        private final List<String> order;
+        private final String name;
+
+        Recorder(final List<String> order, final String name) {
+            this.order = order;
+            this.name = name;
+        }
+
+        @Override
+        public void run() {
+            order.add(name);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ServerProfiler}
+ */
+public class ServerProfilerUnitTestCase {
+
+    @Test
+    public void testHistory() {
+        final ServerProfiler profiler = new ServerProfiler(2);
+        final ServerProfiler.Profile first = profiler.startProfile(ServerProfiler.DEPLOYMENT, "a.war");
+        profiler.startProfile(ServerProfiler.DEPLOYMENT, "b.war");
+        profiler.startProfile(ServerProfiler.DEPLOYMENT, "c.war");
+
+        final List<ServerProfiler.Profile> profiles = profiler.getProfiles();
+        assertEquals(2, profiles.size());
+        assertEquals("b.war", profiles.get(0).getName());
+        assertEquals("c.war", profiles.get(1).getName());
+        assertFalse(first.isFinished());
+    }
+
+    @Test
+    public void testActiveProfile() {
+        final ServerProfiler profiler = new ServerProfiler(10);
+        final ServerProfiler.Profile first = profiler.startProfile(ServerProfiler.DEPLOYMENT, "a.war");
+        assertSame(first, profiler.getActiveProfile(ServerProfiler.DEPLOYMENT, "a.war"));
+        assertNull(profiler.getActiveProfile(ServerProfiler.BOOT, "a.war"));
+
+        // Redeploying finishes the previous profile
+        final ServerProfiler.Profile second = profiler.startProfile(ServerProfiler.DEPLOYMENT, "a.war");
+        assertTrue(first.isFinished());
+        assertSame(second, profiler.getActiveProfile(ServerProfiler.DEPLOYMENT, "a.war"));
+
+        second.finish();
+        assertNull(profiler.getActiveProfile(ServerProfiler.DEPLOYMENT, "a.war"));
+    }
+
+    @Test
+    public void testCollapsedStacks() {
+        final ServerProfiler profiler = new ServerProfiler(10);
+        final ServerProfiler.Profile profile = profiler.startProfile(ServerProfiler.DEPLOYMENT, "a.war");
+        profile.record(TimeUnit.MICROSECONDS.toNanos(30), "PARSE", "org.example.FirstProcessor");
+        profile.record(TimeUnit.MICROSECONDS.toNanos(50), "PARSE", "org.example.Second;Processor");
+        profile.record(TimeUnit.MICROSECONDS.toNanos(100), "PARSE");
+        profile.record(TimeUnit.MICROSECONDS.toNanos(40), "sub.jar", "INSTALL");
+        profile.finish(1);
+
+        final List<String> lines = Arrays.asList(profiler.toCollapsedStacks().split("\n"));
+        assertEquals(Arrays.asList(
+                "deployment a.war 860",
+                "deployment a.war;PARSE 20",
+                "deployment a.war;PARSE;org.example.FirstProcessor 30",
+                "deployment a.war;PARSE;org.example.Second,Processor 50",
+                "deployment a.war;sub.jar;INSTALL 40"), lines);
+    }
+}
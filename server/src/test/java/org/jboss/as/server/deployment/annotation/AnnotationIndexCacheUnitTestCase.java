@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link AnnotationIndexCache}.
+ */
+public class AnnotationIndexCacheUnitTestCase {
+
+    private static final byte[] HASH = new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20};
+    private static final byte[] OTHER_HASH = new byte[] {20, 19, 18, 17, 16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1};
+
+    private File dir;
+    private AnnotationIndexCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("annotation-index", "");
+        dir.delete();
+        cache = new AnnotationIndexCache(dir);
+    }
+
+    @After
+    public void tearDown() {
+        delete(dir);
+    }
+
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        final AnnotationIndexCache.Key key = AnnotationIndexCache.createKey(HASH, "lib/a.jar", null);
+        assertNull(cache.load(key));
+        assertEquals(1, cache.getMissCount());
+
+        cache.store(key, createIndex(), TimeUnit.SECONDS.toNanos(1));
+        final Index index = cache.load(key);
+        assertNotNull(index);
+        assertNotNull(index.getClassByName(DotName.createSimple(getClass().getName())));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1000, cache.getIndexTime());
+    }
+
+    @Test
+    public void testKeys() {
+        final AnnotationIndexCache.Key key = AnnotationIndexCache.createKey(HASH, "lib/a.jar", Arrays.asList("x", "y"));
+        assertEquals(key, AnnotationIndexCache.createKey(HASH, "lib/a.jar", Arrays.asList("y", "x")));
+        assertFalse(key.equals(AnnotationIndexCache.createKey(HASH, "lib/a.jar", null)));
+        assertFalse(key.equals(AnnotationIndexCache.createKey(HASH, "lib/b.jar", Arrays.asList("x", "y"))));
+        assertFalse(key.equals(AnnotationIndexCache.createKey(OTHER_HASH, "lib/a.jar", Arrays.asList("x", "y"))));
+        assertNull(AnnotationIndexCache.createKey(null, "lib/a.jar", null));
+    }
+
+    @Test
+    public void testCorruptEntryIsDiscarded() throws Exception {
+        final AnnotationIndexCache.Key key = AnnotationIndexCache.createKey(HASH, "", null);
+        cache.store(key, createIndex(), 0);
+        final File file = dir.listFiles()[0].listFiles()[0];
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[] {1, 2, 3});
+        } finally {
+            out.close();
+        }
+        assertNull(cache.load(key));
+        assertEquals(1, cache.getFailureCount());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testPrune() throws Exception {
+        cache.store(AnnotationIndexCache.createKey(HASH, "", null), createIndex(), 0);
+        cache.store(AnnotationIndexCache.createKey(OTHER_HASH, "", null), createIndex(), 0);
+        final File[] deployments = dir.listFiles();
+        assertEquals(2, deployments.length);
+        deployments[0].setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+
+        assertEquals(1, cache.prune(1, TimeUnit.DAYS));
+        assertEquals(1, dir.list().length);
+    }
+
+    private Index createIndex() throws Exception {
+        final Indexer indexer = new Indexer();
+        final InputStream in = getClass().getResourceAsStream(getClass().getSimpleName() + ".class");
+        try {
+            indexer.index(in);
+        } finally {
+            in.close();
+        }
+        return indexer.complete();
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -32,6 +32,7 @@ public enum Attribute {
     UNKNOWN(null),
     /* Threads 1.0 attributes, in alpha order */
     ALLOW_CORE_TIMEOUT(CommonAttributes.ALLOW_CORE_TIMEOUT),
+    ASYNC_MODE(CommonAttributes.ASYNC_MODE),
     BLOCKING(CommonAttributes.BLOCKING),
     COUNT(CommonAttributes.COUNT),
     GROUP_NAME(CommonAttributes.GROUP_NAME),
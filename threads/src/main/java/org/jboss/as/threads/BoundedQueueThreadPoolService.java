@@ -40,9 +40,10 @@ import java.util.concurrent.ThreadFactory;
  *
  * @author John E. Bailey
  */
-public class BoundedQueueThreadPoolService implements Service<Executor> {
+public class BoundedQueueThreadPoolService implements Service<Executor>, ThreadPoolMetrics {
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
     private final InjectedValue<Executor> handoffExecutorValue = new InjectedValue<Executor>();
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
 
     private QueueExecutor executor;
     private Executor value;
@@ -64,9 +65,9 @@ public class BoundedQueueThreadPoolService implements Service<Executor> {
     }
 
     public synchronized void start(final StartContext context) throws StartException {
-        executor = new QueueExecutor(coreThreads, maxThreads, keepAlive.getDuration(), keepAlive.getUnit(), queueLength, threadFactoryValue.getValue(), blocking, handoffExecutorValue.getOptionalValue());
+        executor = new QueueExecutor(coreThreads, maxThreads, keepAlive.getDuration(), keepAlive.getUnit(), queueLength, statistics.wrapThreadFactory(threadFactoryValue.getValue()), blocking, handoffExecutorValue.getOptionalValue());
         executor.setAllowCoreThreadTimeout(allowCoreTimeout);
-        value = JBossExecutors.protectedBlockingExecutor(executor);
+        value = JBossExecutors.protectedBlockingExecutor(statistics.wrapBlockingExecutor(executor));
     }
 
     public synchronized void stop(final StopContext context) {
@@ -118,8 +119,8 @@ public class BoundedQueueThreadPoolService implements Service<Executor> {
     }
 
     public synchronized void setQueueLength(int queueLength) {
+        // The queue of a running executor has a fixed capacity, so the new length applies from the next start
         this.queueLength = queueLength;
-        // TODO:  update the executor queue
     }
 
     public synchronized void setBlocking(boolean blocking) {
@@ -133,7 +134,7 @@ public class BoundedQueueThreadPoolService implements Service<Executor> {
     public synchronized void setKeepAlive(TimeSpec keepAlive) {
         this.keepAlive = keepAlive;
         final QueueExecutor executor = this.executor;
-        if(executor != null) {
+        if(executor != null && keepAlive != null) {
             executor.setKeepAliveTime(keepAlive.getDuration(), keepAlive.getUnit());
         }
     }
@@ -145,4 +146,32 @@ public class BoundedQueueThreadPoolService implements Service<Executor> {
             executor.setAllowCoreThreadTimeout(allowCoreTimeout);
         }
     }
+
+    public int getCurrentThreadCount() {
+        return statistics.getCurrentThreadCount();
+    }
+
+    public int getLargestThreadCount() {
+        return statistics.getLargestThreadCount();
+    }
+
+    public int getActiveCount() {
+        return statistics.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return statistics.getQueueSize();
+    }
+
+    public long getCompletedTaskCount() {
+        return statistics.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return statistics.getRejectedCount();
+    }
+
+    public long getAverageWaitTime() {
+        return statistics.getAverageWaitTime();
+    }
 }
@@ -28,22 +28,32 @@ package org.jboss.as.threads;
  * @version $Revision: 1.1 $
  */
 class CommonAttributes {
+    static final String ACTIVE_COUNT = "active-count";
     static final String ALLOW_CORE_TIMEOUT = "allow-core-timeout";
+    static final String ASYNC_MODE = "async-mode";
+    static final String AVERAGE_WAIT_TIME = "average-wait-time";
     static final String BLOCKING = "blocking";
     static final String BOUNDED_QUEUE_THREAD_POOL = "bounded-queue-thread-pool";
     static final String CORE_THREADS = "core-threads";
+    static final String COMPLETED_TASK_COUNT = "completed-task-count";
     static final String COUNT = "count";
+    static final String CURRENT_THREAD_COUNT = "current-thread-count";
+    static final String FORK_JOIN_THREAD_POOL = "fork-join-thread-pool";
     static final String PER_CPU = "per-cpu";
     static final String HANDOFF_EXECUTOR = "handoff-executor";
     static final String NAME = "name";
     static final String GROUP_NAME = "group-name";
     static final String KEEPALIVE_TIME = "keepalive-time";
+    static final String LARGEST_THREAD_COUNT = "largest-thread-count";
     static final String MAX_THREADS = "max-threads";
+    static final String PARALLELISM = "parallelism";
     static final String PRIORITY = "priority";
     static final String PROPERTIES = "properties";
     static final String PROPERTY = "property";
     static final String QUEUELESS_THREAD_POOL = "queueless-thread-pool";
     static final String QUEUE_LENGTH = "queue-length";
+    static final String QUEUE_SIZE = "queue-size";
+    static final String REJECTED_COUNT = "rejected-count";
     static final String SCHEDULED_THREAD_POOL = "scheduled-thread-pool";
     static final String THREADS = "threads";
     static final String TIME = "time";
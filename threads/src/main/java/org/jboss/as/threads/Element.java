@@ -35,9 +35,11 @@ public enum Element {
     // Threads 1.0 elements in alpha order
     BOUNDED_QUEUE_THREAD_POOL(CommonAttributes.BOUNDED_QUEUE_THREAD_POOL),
     CORE_THREADS(CommonAttributes.CORE_THREADS),
+    FORK_JOIN_THREAD_POOL(CommonAttributes.FORK_JOIN_THREAD_POOL),
     HANDOFF_EXECUTOR(CommonAttributes.HANDOFF_EXECUTOR),
     KEEPALIVE_TIME(CommonAttributes.KEEPALIVE_TIME),
     MAX_THREADS(CommonAttributes.MAX_THREADS),
+    PARALLELISM(CommonAttributes.PARALLELISM),
     PROPERTIES(CommonAttributes.PROPERTIES),
     PROPERTY(CommonAttributes.PROPERTY),
     QUEUE_LENGTH(CommonAttributes.QUEUE_LENGTH),
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossExecutors;
+
+/**
+ * Service responsible for creating, starting and stopping a work-stealing fork-join thread pool.
+ */
+public final class ForkJoinThreadPoolService implements Service<ExecutorService>, ThreadPoolMetrics {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+
+    private final int parallelism;
+    private final boolean asyncMode;
+
+    private WorkStealingExecutor executor;
+    private ExecutorService value;
+    private StopContext context;
+
+    public ForkJoinThreadPoolService(final int parallelism, final boolean asyncMode) {
+        this.parallelism = parallelism;
+        this.asyncMode = asyncMode;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        try {
+            executor = new ExecutorImpl(parallelism, statistics.wrapThreadFactory(threadFactoryValue.getValue()), asyncMode);
+        } catch (RuntimeException e) {
+            throw new StartException("Failed to start fork-join thread pool", e);
+        }
+        value = JBossExecutors.protectedExecutorService(statistics.wrapExecutorService(executor));
+    }
+
+    public synchronized void stop(final StopContext context) {
+        final WorkStealingExecutor executor = this.executor;
+        if (executor == null) {
+            throw new IllegalStateException();
+        }
+        this.context = context;
+        context.asynchronous();
+        executor.shutdown();
+        this.executor = null;
+        value = null;
+    }
+
+    public synchronized ExecutorService getValue() throws IllegalStateException {
+        final ExecutorService value = this.value;
+        if (value == null) {
+            throw new IllegalStateException();
+        }
+        return value;
+    }
+
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public int getCurrentThreadCount() {
+        return statistics.getCurrentThreadCount();
+    }
+
+    public int getLargestThreadCount() {
+        return statistics.getLargestThreadCount();
+    }
+
+    public int getActiveCount() {
+        return statistics.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return statistics.getQueueSize();
+    }
+
+    public long getCompletedTaskCount() {
+        return statistics.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return statistics.getRejectedCount();
+    }
+
+    public long getAverageWaitTime() {
+        return statistics.getAverageWaitTime();
+    }
+
+    private class ExecutorImpl extends WorkStealingExecutor {
+
+        ExecutorImpl(final int parallelism, final ThreadFactory threadFactory, final boolean asyncMode) {
+            super(parallelism, threadFactory, asyncMode);
+        }
+
+        protected void terminated() {
+            synchronized (ForkJoinThreadPoolService.this) {
+                context.complete();
+                context = null;
+            }
+        }
+    }
+}
@@ -41,9 +41,10 @@ import java.util.concurrent.ThreadFactory;
  *
  * @author John E. Bailey
  */
-public class QueuelessThreadPoolService implements Service<ExecutorService> {
+public class QueuelessThreadPoolService implements Service<ExecutorService>, ThreadPoolMetrics {
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
     private final InjectedValue<Executor> handoffExecutorValue = new InjectedValue<Executor>();
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
 
     private QueuelessExecutor executor;
     private ExecutorService value;
@@ -60,11 +61,11 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
 
     public synchronized void start(final StartContext context) throws StartException {
         final TimeSpec keepAliveSpec = keepAlive;
-        long keepAlive = keepAliveSpec == null ? Long.MAX_VALUE : keepAliveSpec.getDuration();
-        executor = new QueuelessExecutor(threadFactoryValue.getValue(), JBossExecutors.directExecutor(), handoffExecutorValue.getOptionalValue(), keepAlive);
+        long keepAlive = keepAliveSpec == null ? Long.MAX_VALUE : keepAliveSpec.getUnit().toMillis(keepAliveSpec.getDuration());
+        executor = new QueuelessExecutor(statistics.wrapThreadFactory(threadFactoryValue.getValue()), JBossExecutors.directExecutor(), handoffExecutorValue.getOptionalValue(), keepAlive);
         executor.setMaxThreads(maxThreads);
         executor.setBlocking(blocking);
-        value = JBossExecutors.protectedExecutorService(executor);
+        value = JBossExecutors.protectedExecutorService(statistics.wrapExecutorService(executor));
     }
 
     public synchronized void stop(final StopContext context) {
@@ -119,8 +120,36 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
         keepAlive = keepAliveSpec;
         final QueuelessExecutor executor = this.executor;
         if(executor != null) {
-            long keepAlive = keepAliveSpec == null ? Long.MAX_VALUE : keepAliveSpec.getDuration();
+            long keepAlive = keepAliveSpec == null ? Long.MAX_VALUE : keepAliveSpec.getUnit().toMillis(keepAliveSpec.getDuration());
             executor.setKeepAliveTime(keepAlive);
         }
     }
+
+    public int getCurrentThreadCount() {
+        return statistics.getCurrentThreadCount();
+    }
+
+    public int getLargestThreadCount() {
+        return statistics.getLargestThreadCount();
+    }
+
+    public int getActiveCount() {
+        return statistics.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return statistics.getQueueSize();
+    }
+
+    public long getCompletedTaskCount() {
+        return statistics.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return statistics.getRejectedCount();
+    }
+
+    public long getAverageWaitTime() {
+        return statistics.getAverageWaitTime();
+    }
 }
@@ -39,7 +39,7 @@ import java.util.concurrent.ThreadFactory;
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
-public final class ScheduledThreadPoolService implements Service<ScheduledExecutorService> {
+public final class ScheduledThreadPoolService implements Service<ScheduledExecutorService>, ThreadPoolMetrics {
 
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
 
@@ -47,8 +47,8 @@ public final class ScheduledThreadPoolService implements Service<ScheduledExecut
     private ScheduledExecutorService value;
     private StopContext context;
 
-    private final int maxThreads;
-    private final TimeSpec keepAlive;
+    private int maxThreads;
+    private TimeSpec keepAlive;
 
     public ScheduledThreadPoolService(final int maxThreads, final TimeSpec keepAlive) {
         this.maxThreads = maxThreads;
@@ -87,6 +87,57 @@ public final class ScheduledThreadPoolService implements Service<ScheduledExecut
         return threadFactoryValue;
     }
 
+    public synchronized void setMaxThreads(final int maxThreads) {
+        this.maxThreads = maxThreads;
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        if(executor != null) {
+            executor.setCorePoolSize(maxThreads);
+        }
+    }
+
+    public synchronized void setKeepAlive(final TimeSpec keepAlive) {
+        this.keepAlive = keepAlive;
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        if(executor != null && keepAlive != null) {
+            executor.setKeepAliveTime(keepAlive.getDuration(), keepAlive.getUnit());
+        }
+    }
+
+    public synchronized int getCurrentThreadCount() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getPoolSize();
+    }
+
+    public synchronized int getLargestThreadCount() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getLargestPoolSize();
+    }
+
+    public synchronized int getActiveCount() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public synchronized int getQueueSize() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    public synchronized long getCompletedTaskCount() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        // A scheduled executor only rejects tasks once it has been shut down
+        return 0;
+    }
+
+    public long getAverageWaitTime() {
+        // Scheduled tasks wait for their trigger time by design, so a wait time is not meaningful
+        return 0;
+    }
+
     private class ExecutorImpl extends ScheduledThreadPoolExecutor {
 
         ExecutorImpl(final int corePoolSize, final ThreadFactory threadFactory) {
@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
+import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
+import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelUpdateOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Handles writes of the sizing attributes of a thread pool, applying the new value to the running executor.
+ *
+ * @param <T> the type of the parsed attribute value
+ */
+public abstract class ThreadPoolAttributeUpdate<T> implements ModelUpdateOperationHandler {
+
+    private static final long serialVersionUID = -3426108370284418946L;
+
+    public static final ThreadPoolAttributeUpdate<ScaledCount> CORE_THREADS_UPDATE = new ThreadPoolAttributeUpdate<ScaledCount>(CORE_THREADS, false) {
+        private static final long serialVersionUID = 5330279916405428587L;
+
+        @Override
+        ScaledCount parseValue(final ModelNode operation) {
+            return ThreadsSubsystemThreadPoolOperationUtils.getScaledCount(operation, VALUE);
+        }
+
+        @Override
+        void applyUpdate(final Service<?> service, final ScaledCount value) {
+            // A bounded pool cannot be started without core threads, so there is no running default to restore
+            if (value != null) {
+                ((BoundedQueueThreadPoolService) service).setCoreThreads(value.getScaledCount());
+            }
+        }
+    };
+
+    public static final ThreadPoolAttributeUpdate<ScaledCount> MAX_THREADS_UPDATE = new ThreadPoolAttributeUpdate<ScaledCount>(MAX_THREADS, true) {
+        private static final long serialVersionUID = -1964627640432470385L;
+
+        @Override
+        ScaledCount parseValue(final ModelNode operation) {
+            return ThreadsSubsystemThreadPoolOperationUtils.getScaledCount(operation, VALUE);
+        }
+
+        @Override
+        void applyUpdate(final Service<?> service, final ScaledCount value) {
+            final int maxThreads = value.getScaledCount();
+            if (service instanceof BoundedQueueThreadPoolService) {
+                ((BoundedQueueThreadPoolService) service).setMaxThreads(maxThreads);
+            } else if (service instanceof UnboundedQueueThreadPoolService) {
+                ((UnboundedQueueThreadPoolService) service).setMaxThreads(maxThreads);
+            } else if (service instanceof QueuelessThreadPoolService) {
+                ((QueuelessThreadPoolService) service).setMaxThreads(maxThreads);
+            } else {
+                ((ScheduledThreadPoolService) service).setMaxThreads(maxThreads);
+            }
+        }
+    };
+
+    public static final ThreadPoolAttributeUpdate<TimeSpec> KEEPALIVE_TIME_UPDATE = new ThreadPoolAttributeUpdate<TimeSpec>(KEEPALIVE_TIME, false) {
+        private static final long serialVersionUID = 7514335476578652931L;
+
+        @Override
+        TimeSpec parseValue(final ModelNode operation) {
+            return ThreadsSubsystemThreadPoolOperationUtils.getTimeSpec(operation, VALUE);
+        }
+
+        @Override
+        void applyUpdate(final Service<?> service, final TimeSpec value) {
+            if (service instanceof BoundedQueueThreadPoolService) {
+                ((BoundedQueueThreadPoolService) service).setKeepAlive(value);
+            } else if (service instanceof UnboundedQueueThreadPoolService) {
+                ((UnboundedQueueThreadPoolService) service).setKeepAlive(value);
+            } else if (service instanceof QueuelessThreadPoolService) {
+                ((QueuelessThreadPoolService) service).setKeepAlive(value);
+            } else {
+                ((ScheduledThreadPoolService) service).setKeepAlive(value);
+            }
+        }
+    };
+
+    /** The queue of a running bounded pool cannot be resized, so the new length takes effect when the pool is next started */
+    public static final ThreadPoolAttributeUpdate<ScaledCount> QUEUE_LENGTH_UPDATE = new ThreadPoolAttributeUpdate<ScaledCount>(QUEUE_LENGTH, false) {
+        private static final long serialVersionUID = 2871633424393307934L;
+
+        @Override
+        ScaledCount parseValue(final ModelNode operation) {
+            return ThreadsSubsystemThreadPoolOperationUtils.getScaledCount(operation, VALUE);
+        }
+
+        @Override
+        void applyUpdate(final Service<?> service, final ScaledCount value) {
+            // A bounded pool cannot be started without a queue length, so there is no running default to restore
+            if (value != null) {
+                ((BoundedQueueThreadPoolService) service).setQueueLength(value.getScaledCount());
+            }
+        }
+    };
+
+    private final String attributeName;
+    private final boolean required;
+
+    private ThreadPoolAttributeUpdate(final String attributeName, final boolean required) {
+        this.attributeName = attributeName;
+        this.required = required;
+    }
+
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+
+        ModelNode model = context.getSubModel();
+        if (!model.isDefined()) {
+            throw new OperationFailedException(notConfigured(name));
+        }
+        if (required && !operation.hasDefined(VALUE)) {
+            throw new OperationFailedException(new ModelNode().set(String.format("A value is required for %s", attributeName)));
+        }
+
+        // An undefined value unsets the attribute, which is also how a compensating operation restores an unset attribute
+        final T newValue;
+        try {
+            newValue = parseValue(operation);
+        } catch (IllegalArgumentException e) {
+            throw new OperationFailedException(new ModelNode().set(e.getMessage()));
+        }
+
+        final ModelNode oldValue = model.get(attributeName).clone();
+        model.get(attributeName).set(operation.get(VALUE).clone());
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                @Override
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final ServiceController<?> service = context.getServiceRegistry()
+                            .getService(ThreadsServices.executorName(name));
+                    if (service == null) {
+                        throw new OperationFailedException(notConfigured(name));
+                    }
+                    try {
+                        applyUpdate(service.getService(), newValue);
+                    } catch (IllegalArgumentException e) {
+                        throw new OperationFailedException(new ModelNode().set(String.format("Failed to set %s of thread pool %s: %s", attributeName, name, e.getMessage())));
+                    }
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultComplete();
+        }
+
+        final ModelNode compensatingOp = operation.clone();
+        compensatingOp.get(VALUE).set(oldValue);
+        return new BasicOperationResult(compensatingOp);
+    }
+
+    /**
+     * Parse and validate the new value of the attribute.
+     *
+     * @param operation the write operation
+     * @return the parsed value, or {@code null} if the value is undefined
+     * @throws IllegalArgumentException if the value is not valid
+     */
+    abstract T parseValue(ModelNode operation);
+
+    /**
+     * Apply the new value to a thread pool service.
+     *
+     * @param service the thread pool service
+     * @param value the new value, or {@code null} to restore the setting used when the attribute is not configured
+     */
+    abstract void applyUpdate(Service<?> service, T value);
+
+    private ModelNode notConfigured(String name) {
+        return new ModelNode().set(String.format("No thread pool named %s is configured", name));
+    }
+}
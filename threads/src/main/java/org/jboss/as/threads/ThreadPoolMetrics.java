@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+/**
+ * Runtime metrics of a thread pool service.
+ */
+interface ThreadPoolMetrics {
+
+    /**
+     * Get the number of threads currently in the pool.
+     *
+     * @return the current thread count
+     */
+    int getCurrentThreadCount();
+
+    /**
+     * Get the largest number of threads the pool has held at one time.
+     *
+     * @return the largest thread count
+     */
+    int getLargestThreadCount();
+
+    /**
+     * Get the number of threads currently running a task.
+     *
+     * @return the active count
+     */
+    int getActiveCount();
+
+    /**
+     * Get the number of accepted tasks which have not yet started.
+     *
+     * @return the queue size
+     */
+    int getQueueSize();
+
+    /**
+     * Get the number of tasks which have completed.
+     *
+     * @return the completed task count
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * Get the number of tasks which were rejected.
+     *
+     * @return the rejected task count
+     */
+    long getRejectedCount();
+
+    /**
+     * Get the average time a task waited between submission and the start of its execution.
+     *
+     * @return the average wait time in milliseconds
+     */
+    long getAverageWaitTime();
+}
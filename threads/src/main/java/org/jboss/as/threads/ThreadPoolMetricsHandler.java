@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.threads.CommonAttributes.ACTIVE_COUNT;
+import static org.jboss.as.threads.CommonAttributes.AVERAGE_WAIT_TIME;
+import static org.jboss.as.threads.CommonAttributes.COMPLETED_TASK_COUNT;
+import static org.jboss.as.threads.CommonAttributes.CURRENT_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.LARGEST_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_SIZE;
+import static org.jboss.as.threads.CommonAttributes.REJECTED_COUNT;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ModelNodeRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the runtime metrics of a thread pool.
+ */
+public final class ThreadPoolMetricsHandler implements ModelQueryOperationHandler {
+
+    public static final ThreadPoolMetricsHandler INSTANCE = new ThreadPoolMetricsHandler();
+
+    static final String[] METRICS = { CURRENT_THREAD_COUNT, LARGEST_THREAD_COUNT, ACTIVE_COUNT, QUEUE_SIZE,
+            COMPLETED_TASK_COUNT, REJECTED_COUNT, AVERAGE_WAIT_TIME };
+
+    /** Scheduled pools neither reject tasks nor have a meaningful wait time */
+    static final String[] SCHEDULED_METRICS = { CURRENT_THREAD_COUNT, LARGEST_THREAD_COUNT, ACTIVE_COUNT, QUEUE_SIZE,
+            COMPLETED_TASK_COUNT };
+
+    private static final String[] NO_LOCATION = new String[0];
+
+    private ThreadPoolMetricsHandler() {
+    }
+
+    static void registerMetrics(final ModelNodeRegistration registration, final String[] metrics) {
+        for (String metric : metrics) {
+            registration.registerMetric(metric, INSTANCE);
+        }
+    }
+
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                @Override
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+                    final String metric = operation.require(NAME).asString();
+                    final ServiceController<?> service = context.getServiceRegistry().getService(ThreadsServices.executorName(name));
+                    if (service == null) {
+                        throw new OperationFailedException(new ModelNode().set(String.format("No thread pool named %s is configured", name)));
+                    }
+                    final ThreadPoolMetrics metrics = (ThreadPoolMetrics) service.getService();
+                    final ModelNode result = new ModelNode();
+                    if (CURRENT_THREAD_COUNT.equals(metric)) {
+                        result.set(metrics.getCurrentThreadCount());
+                    } else if (LARGEST_THREAD_COUNT.equals(metric)) {
+                        result.set(metrics.getLargestThreadCount());
+                    } else if (ACTIVE_COUNT.equals(metric)) {
+                        result.set(metrics.getActiveCount());
+                    } else if (QUEUE_SIZE.equals(metric)) {
+                        result.set(metrics.getQueueSize());
+                    } else if (COMPLETED_TASK_COUNT.equals(metric)) {
+                        result.set(metrics.getCompletedTaskCount());
+                    } else if (REJECTED_COUNT.equals(metric)) {
+                        result.set(metrics.getRejectedCount());
+                    } else if (AVERAGE_WAIT_TIME.equals(metric)) {
+                        result.set(metrics.getAverageWaitTime());
+                    } else {
+                        throw new OperationFailedException(new ModelNode().set(String.format("Unknown metric %s", metric)));
+                    }
+                    resultHandler.handleResultFragment(NO_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+}
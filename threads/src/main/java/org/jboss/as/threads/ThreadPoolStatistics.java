@@ -0,0 +1,234 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.threads.BlockingExecutor;
+
+/**
+ * Collects the metrics of a thread pool by wrapping its thread factory and the tasks submitted to it.
+ * This keeps the metrics independent of the statistics each executor implementation happens to offer.
+ */
+final class ThreadPoolStatistics implements ThreadPoolMetrics {
+
+    private final AtomicInteger currentThreadCount = new AtomicInteger();
+    private final AtomicInteger largestThreadCount = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicLong startedTaskCount = new AtomicLong();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+
+    /**
+     * Wrap a thread factory so that the threads it creates are counted while they run.
+     *
+     * @param factory the thread factory
+     * @return the counting thread factory
+     */
+    ThreadFactory wrapThreadFactory(final ThreadFactory factory) {
+        return new ThreadFactory() {
+            public Thread newThread(final Runnable r) {
+                return factory.newThread(new Runnable() {
+                    public void run() {
+                        threadStarted();
+                        try {
+                            r.run();
+                        } finally {
+                            currentThreadCount.decrementAndGet();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Wrap a blocking executor so that the tasks submitted to it are counted.
+     *
+     * @param executor the executor
+     * @return the counting executor
+     */
+    BlockingExecutor wrapBlockingExecutor(final BlockingExecutor executor) {
+        return new BlockingExecutor() {
+            public void execute(final Runnable task) throws RejectedExecutionException {
+                final Runnable wrapped = wrapTask(task);
+                try {
+                    executor.execute(wrapped);
+                } catch (RejectedExecutionException e) {
+                    rejected();
+                    throw e;
+                }
+            }
+
+            public void executeBlocking(final Runnable task) throws RejectedExecutionException, InterruptedException {
+                final Runnable wrapped = wrapTask(task);
+                try {
+                    executor.executeBlocking(wrapped);
+                } catch (RejectedExecutionException e) {
+                    rejected();
+                    throw e;
+                } catch (InterruptedException e) {
+                    queueSize.decrementAndGet();
+                    throw e;
+                }
+            }
+
+            public void executeBlocking(final Runnable task, final long timeout, final TimeUnit unit) throws RejectedExecutionException, InterruptedException {
+                final Runnable wrapped = wrapTask(task);
+                try {
+                    executor.executeBlocking(wrapped, timeout, unit);
+                } catch (RejectedExecutionException e) {
+                    rejected();
+                    throw e;
+                } catch (InterruptedException e) {
+                    queueSize.decrementAndGet();
+                    throw e;
+                }
+            }
+
+            public void executeNonBlocking(final Runnable task) throws RejectedExecutionException {
+                final Runnable wrapped = wrapTask(task);
+                try {
+                    executor.executeNonBlocking(wrapped);
+                } catch (RejectedExecutionException e) {
+                    rejected();
+                    throw e;
+                }
+            }
+        };
+    }
+
+    /**
+     * Wrap an executor service so that the tasks submitted to it are counted. The lifecycle methods
+     * are passed through to the given executor service.
+     *
+     * @param executor the executor service
+     * @return the counting executor service
+     */
+    ExecutorService wrapExecutorService(final ExecutorService executor) {
+        return new AbstractExecutorService() {
+            public void execute(final Runnable task) {
+                final Runnable wrapped = wrapTask(task);
+                try {
+                    executor.execute(wrapped);
+                } catch (RejectedExecutionException e) {
+                    rejected();
+                    throw e;
+                }
+            }
+
+            public void shutdown() {
+                executor.shutdown();
+            }
+
+            public List<Runnable> shutdownNow() {
+                return executor.shutdownNow();
+            }
+
+            public boolean isShutdown() {
+                return executor.isShutdown();
+            }
+
+            public boolean isTerminated() {
+                return executor.isTerminated();
+            }
+
+            public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+                return executor.awaitTermination(timeout, unit);
+            }
+        };
+    }
+
+    private Runnable wrapTask(final Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("task is null");
+        }
+        queueSize.incrementAndGet();
+        final long submitted = System.nanoTime();
+        return new Runnable() {
+            public void run() {
+                queueSize.decrementAndGet();
+                totalWaitTime.addAndGet(System.nanoTime() - submitted);
+                startedTaskCount.incrementAndGet();
+                activeCount.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    activeCount.decrementAndGet();
+                    completedTaskCount.incrementAndGet();
+                }
+            }
+        };
+    }
+
+    private void rejected() {
+        queueSize.decrementAndGet();
+        rejectedCount.incrementAndGet();
+    }
+
+    private void threadStarted() {
+        final int current = currentThreadCount.incrementAndGet();
+        int largest;
+        do {
+            largest = largestThreadCount.get();
+        } while (current > largest && !largestThreadCount.compareAndSet(largest, current));
+    }
+
+    public int getCurrentThreadCount() {
+        return currentThreadCount.get();
+    }
+
+    public int getLargestThreadCount() {
+        return largestThreadCount.get();
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getAverageWaitTime() {
+        final long started = startedTaskCount.get();
+        return started == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitTime.get() / started);
+    }
+}
@@ -34,15 +34,18 @@ import static org.jboss.as.controller.parsing.ParseUtils.requireNoNamespaceAttri
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedAttribute;
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
 import static org.jboss.as.threads.CommonAttributes.ALLOW_CORE_TIMEOUT;
+import static org.jboss.as.threads.CommonAttributes.ASYNC_MODE;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING;
 import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.COUNT;
+import static org.jboss.as.threads.CommonAttributes.FORK_JOIN_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.NAME;
+import static org.jboss.as.threads.CommonAttributes.PARALLELISM;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
@@ -56,6 +59,7 @@ import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
 import static org.jboss.as.threads.ThreadsSubsystemProviders.BOUNDED_QUEUE_THREAD_POOL_DESC;
+import static org.jboss.as.threads.ThreadsSubsystemProviders.FORK_JOIN_THREAD_POOL_DESC;
 import static org.jboss.as.threads.ThreadsSubsystemProviders.QUEUELESS_THREAD_POOL_DESC;
 import static org.jboss.as.threads.ThreadsSubsystemProviders.SCHEDULED_THREAD_POOL_DESC;
 import static org.jboss.as.threads.ThreadsSubsystemProviders.SUBSYSTEM_PROVIDER;
@@ -134,18 +138,37 @@ public class ThreadsExtension implements Extension {
         final ModelNodeRegistration boundedQueueThreadPools = subsystem.registerSubModel(PathElement.pathElement(BOUNDED_QUEUE_THREAD_POOL), BOUNDED_QUEUE_THREAD_POOL_DESC);
         boundedQueueThreadPools.registerOperationHandler(ADD, BoundedQueueThreadPoolAdd.INSTANCE, BoundedQueueThreadPoolAdd.INSTANCE, false);
         boundedQueueThreadPools.registerOperationHandler(REMOVE, BoundedQueueThreadPoolRemove.INSTANCE, BoundedQueueThreadPoolRemove.INSTANCE, false);
+        boundedQueueThreadPools.registerReadWriteAttribute(CORE_THREADS, null, ThreadPoolAttributeUpdate.CORE_THREADS_UPDATE, Storage.CONFIGURATION);
+        boundedQueueThreadPools.registerReadWriteAttribute(MAX_THREADS, null, ThreadPoolAttributeUpdate.MAX_THREADS_UPDATE, Storage.CONFIGURATION);
+        boundedQueueThreadPools.registerReadWriteAttribute(KEEPALIVE_TIME, null, ThreadPoolAttributeUpdate.KEEPALIVE_TIME_UPDATE, Storage.CONFIGURATION);
+        boundedQueueThreadPools.registerReadWriteAttribute(QUEUE_LENGTH, null, ThreadPoolAttributeUpdate.QUEUE_LENGTH_UPDATE, Storage.CONFIGURATION);
+        ThreadPoolMetricsHandler.registerMetrics(boundedQueueThreadPools, ThreadPoolMetricsHandler.METRICS);
 
         final ModelNodeRegistration unboundedQueueThreadPools = subsystem.registerSubModel(PathElement.pathElement(UNBOUNDED_QUEUE_THREAD_POOL), UNBOUNDED_QUEUE_THREAD_POOL_DESC);
         unboundedQueueThreadPools.registerOperationHandler(ADD, UnboundedQueueThreadPoolAdd.INSTANCE, UnboundedQueueThreadPoolAdd.INSTANCE, false);
         unboundedQueueThreadPools.registerOperationHandler(REMOVE, UnboundedQueueThreadPoolRemove.INSTANCE, UnboundedQueueThreadPoolRemove.INSTANCE, false);
+        unboundedQueueThreadPools.registerReadWriteAttribute(MAX_THREADS, null, ThreadPoolAttributeUpdate.MAX_THREADS_UPDATE, Storage.CONFIGURATION);
+        unboundedQueueThreadPools.registerReadWriteAttribute(KEEPALIVE_TIME, null, ThreadPoolAttributeUpdate.KEEPALIVE_TIME_UPDATE, Storage.CONFIGURATION);
+        ThreadPoolMetricsHandler.registerMetrics(unboundedQueueThreadPools, ThreadPoolMetricsHandler.METRICS);
 
         final ModelNodeRegistration queuelessThreadPools = subsystem.registerSubModel(PathElement.pathElement(QUEUELESS_THREAD_POOL), QUEUELESS_THREAD_POOL_DESC);
         queuelessThreadPools.registerOperationHandler(ADD, QueuelessThreadPoolAdd.INSTANCE, QueuelessThreadPoolAdd.INSTANCE, false);
         queuelessThreadPools.registerOperationHandler(REMOVE, QueuelessThreadPoolRemove.INSTANCE, QueuelessThreadPoolRemove.INSTANCE, false);
+        queuelessThreadPools.registerReadWriteAttribute(MAX_THREADS, null, ThreadPoolAttributeUpdate.MAX_THREADS_UPDATE, Storage.CONFIGURATION);
+        queuelessThreadPools.registerReadWriteAttribute(KEEPALIVE_TIME, null, ThreadPoolAttributeUpdate.KEEPALIVE_TIME_UPDATE, Storage.CONFIGURATION);
+        ThreadPoolMetricsHandler.registerMetrics(queuelessThreadPools, ThreadPoolMetricsHandler.METRICS);
 
         final ModelNodeRegistration scheduledThreadPools = subsystem.registerSubModel(PathElement.pathElement(SCHEDULED_THREAD_POOL), SCHEDULED_THREAD_POOL_DESC);
         scheduledThreadPools.registerOperationHandler(ADD, ScheduledThreadPoolAdd.INSTANCE, ScheduledThreadPoolAdd.INSTANCE, false);
         scheduledThreadPools.registerOperationHandler(REMOVE, ScheduledThreadPoolRemove.INSTANCE, ScheduledThreadPoolRemove.INSTANCE, false);
+        scheduledThreadPools.registerReadWriteAttribute(MAX_THREADS, null, ThreadPoolAttributeUpdate.MAX_THREADS_UPDATE, Storage.CONFIGURATION);
+        scheduledThreadPools.registerReadWriteAttribute(KEEPALIVE_TIME, null, ThreadPoolAttributeUpdate.KEEPALIVE_TIME_UPDATE, Storage.CONFIGURATION);
+        ThreadPoolMetricsHandler.registerMetrics(scheduledThreadPools, ThreadPoolMetricsHandler.SCHEDULED_METRICS);
+
+        final ModelNodeRegistration forkJoinThreadPools = subsystem.registerSubModel(PathElement.pathElement(FORK_JOIN_THREAD_POOL), FORK_JOIN_THREAD_POOL_DESC);
+        forkJoinThreadPools.registerOperationHandler(ADD, ForkJoinThreadPoolAdd.INSTANCE, ForkJoinThreadPoolAdd.INSTANCE, false);
+        forkJoinThreadPools.registerOperationHandler(REMOVE, ForkJoinThreadPoolRemove.INSTANCE, ForkJoinThreadPoolRemove.INSTANCE, false);
+        ThreadPoolMetricsHandler.registerMetrics(forkJoinThreadPools, ThreadPoolMetricsHandler.METRICS);
     }
 
     @Override
@@ -197,6 +220,10 @@ public class ThreadsExtension implements Extension {
                             parseUnboundedQueueThreadPool(reader, address, list);
                             break;
                         }
+                        case FORK_JOIN_THREAD_POOL: {
+                            parseForkJoinThreadPool(reader, address, list);
+                            break;
+                        }
                         default: {
                             throw unexpectedElement(reader);
                         }
@@ -499,6 +526,63 @@ public class ThreadsExtension implements Extension {
             }
         }
 
+        void parseForkJoinThreadPool(final XMLExtendedStreamReader reader, final ModelNode parentAddress, final List<ModelNode> list) throws XMLStreamException {
+            final ModelNode op = new ModelNode();
+            list.add(op);
+            op.get(OP).set(ADD);
+
+            String name = null;
+            int count = reader.getAttributeCount();
+            for (int i = 0; i < count; i++) {
+                requireNoNamespaceAttribute(reader, i);
+                final String value = reader.getAttributeValue(i);
+                final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+                switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                } case ASYNC_MODE : {
+                    op.get(ASYNC_MODE).set(Boolean.valueOf(value));
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+                }
+            }
+
+            if (name == null) {
+                throw missingRequired(reader, Collections.singleton(Attribute.NAME));
+            }
+
+            final ModelNode address = parentAddress.clone();
+            address.add(FORK_JOIN_THREAD_POOL, name);
+            address.protect();
+            op.get(OP_ADDR).set(address);
+
+            while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+                switch (Element.forName(reader.getLocalName())) {
+                    case PARALLELISM: {
+                        op.get(PARALLELISM).set(parseScaledCount(reader));
+                        break;
+                    }
+                    case THREAD_FACTORY: {
+                        op.get(CommonAttributes.THREAD_FACTORY).set(parseRef(reader));
+                        break;
+                    }
+                    case PROPERTIES: {
+                        ModelNode props = parseProperties(reader);
+                        if (props.isDefined()) {
+                            op.get(PROPERTIES).set(props);
+                        }
+                        break;
+                    }
+                    default: {
+                        throw unexpectedElement(reader);
+                    }
+                }
+            }
+        }
+
         void parseQueuelessThreadPool(final XMLExtendedStreamReader reader, final ModelNode parentAddress, final List<ModelNode> list) throws XMLStreamException {
             final ModelNode op = new ModelNode();
             list.add(op);
@@ -787,6 +871,14 @@ public class ThreadsExtension implements Extension {
                     }
                 }
             }
+            if (node.hasDefined(FORK_JOIN_THREAD_POOL)) {
+                for (String name : node.get(FORK_JOIN_THREAD_POOL).keys()) {
+                    final ModelNode child = node.get(FORK_JOIN_THREAD_POOL, name);
+                    if (child.isDefined()) {
+                        writeForkJoinThreadPool(writer, child);
+                    }
+                }
+            }
 
             writer.writeEndElement();
         }
@@ -897,6 +989,25 @@ public class ThreadsExtension implements Extension {
             writer.writeEndElement();
         }
 
+        private void writeForkJoinThreadPool(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
+            writer.writeStartElement(Element.FORK_JOIN_THREAD_POOL.getLocalName());
+
+            if (node.hasDefined(NAME)) {
+                writeAttribute(writer, Attribute.NAME, node.get(NAME));
+            }
+            if (node.hasDefined(ASYNC_MODE)) {
+                writeAttribute(writer, Attribute.ASYNC_MODE, node.get(ASYNC_MODE));
+            }
+            writeRef(writer, node, Element.THREAD_FACTORY, THREAD_FACTORY);
+            writeThreads(writer, node, Element.PARALLELISM);
+
+            if (node.hasDefined(PROPERTIES)) {
+                writeProperties(writer, node.get(PROPERTIES));
+            }
+
+            writer.writeEndElement();
+        }
+
         private void writeRef(final XMLExtendedStreamWriter writer, final ModelNode node, Element element, String name) throws XMLStreamException {
             if (node.hasDefined(name)) {
                 writer.writeStartElement(element.getLocalName());
@@ -971,6 +1082,7 @@ public class ThreadsExtension implements Extension {
             addScheduledThreadPools(result, model);
             addThreadFactories(result, model);
             addUnboundedQueueThreadPools(result, model);
+            addForkJoinThreadPools(result, model);
 
             resultHandler.handleResultFragment(Util.NO_LOCATION, result);
             resultHandler.handleResultComplete();
@@ -1128,6 +1240,31 @@ public class ThreadsExtension implements Extension {
             }
         }
 
+        private void addForkJoinThreadPools(final ModelNode result, final ModelNode model) {
+            if (model.hasDefined(FORK_JOIN_THREAD_POOL)) {
+                ModelNode pools = model.get(FORK_JOIN_THREAD_POOL);
+                for (Property poolProp : pools.asPropertyList()) {
+                    final ModelNode operation = Util.getEmptyOperation(ADD, pathAddress(PathElement.pathElement(SUBSYSTEM, SUBSYSTEM_NAME), PathElement.pathElement(FORK_JOIN_THREAD_POOL, poolProp.getName())));
+                    final ModelNode pool = poolProp.getValue();
+
+                    operation.get(NAME).set(pool.require(NAME));
+                    if (pool.hasDefined(THREAD_FACTORY)) {
+                        operation.get(THREAD_FACTORY).set(pool.get(THREAD_FACTORY));
+                    }
+                    if (pool.hasDefined(PROPERTIES)) {
+                        operation.get(PROPERTIES).set(pool.get(PROPERTIES));
+                    }
+                    if (pool.hasDefined(PARALLELISM)) {
+                        operation.get(PARALLELISM).set(pool.get(PARALLELISM));
+                    }
+                    if (pool.hasDefined(ASYNC_MODE)) {
+                        operation.get(ASYNC_MODE).set(pool.get(ASYNC_MODE));
+                    }
+                    result.add(operation);
+                }
+            }
+        }
+
         private ModelNode pathAddress(PathElement...elements) {
             return PathAddress.pathAddress(elements).toModelNode();
         }
@@ -37,14 +37,17 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAI
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 import static org.jboss.as.threads.CommonAttributes.ALLOW_CORE_TIMEOUT;
+import static org.jboss.as.threads.CommonAttributes.ASYNC_MODE;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING;
 import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.COUNT;
+import static org.jboss.as.threads.CommonAttributes.FORK_JOIN_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
+import static org.jboss.as.threads.CommonAttributes.PARALLELISM;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
@@ -101,6 +104,9 @@ class ThreadsSubsystemProviders {
             subsystem.get(CHILDREN, SCHEDULED_THREAD_POOL, DESCRIPTION).set(bundle.getString("threadpool.scheduled"));
             subsystem.get(CHILDREN, SCHEDULED_THREAD_POOL, REQUIRED).set(false);
 
+            subsystem.get(CHILDREN, FORK_JOIN_THREAD_POOL, DESCRIPTION).set(bundle.getString("threadpool.forkjoin"));
+            subsystem.get(CHILDREN, FORK_JOIN_THREAD_POOL, REQUIRED).set(false);
+
             return subsystem;
         }
     };
@@ -221,6 +227,50 @@ class ThreadsSubsystemProviders {
         }
     };
 
+    static final DescriptionProvider FORK_JOIN_THREAD_POOL_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode node = new ModelNode();
+            node.get(DESCRIPTION).set(bundle.getString("threadpool.forkjoin.description"));
+            node.get(HEAD_COMMENT_ALLOWED).set(true);
+            node.get(TAIL_COMMENT_ALLOWED).set(true);
+
+            node.get(ATTRIBUTES, NAME, DESCRIPTION).set(bundle.getString("threadpool.common.name"));
+            node.get(ATTRIBUTES, NAME, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, NAME, REQUIRED).set(true);
+
+            node.get(ATTRIBUTES, THREAD_FACTORY, DESCRIPTION).set(bundle.getString("threadpool.common.threadfactory"));
+            node.get(ATTRIBUTES, THREAD_FACTORY, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, THREAD_FACTORY, REQUIRED).set(false);
+
+            node.get(ATTRIBUTES, PROPERTIES, DESCRIPTION).set(bundle.getString("threadpool.common.properties"));
+            node.get(ATTRIBUTES, PROPERTIES, TYPE).set(ModelType.OBJECT);
+            node.get(ATTRIBUTES, PROPERTIES, VALUE_TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, PROPERTIES, REQUIRED).set(false);
+
+            addForkJoinThreadPoolProperties(bundle, node.get(ATTRIBUTES));
+            return node;
+        }
+    };
+
+    private static void addForkJoinThreadPoolProperties(final ResourceBundle bundle, final ModelNode node) {
+        node.get(PARALLELISM, DESCRIPTION).set(bundle.getString("threadpool.forkjoin.parallelism"));
+        node.get(PARALLELISM, TYPE).set(ModelType.OBJECT);
+        node.get(PARALLELISM, REQUIRED).set(false);
+        node.get(PARALLELISM, VALUE_TYPE, COUNT, DESCRIPTION).set(bundle.getString("threadpool.forkjoin.parallelism.count"));
+        node.get(PARALLELISM, VALUE_TYPE, COUNT, TYPE).set(ModelType.BIG_DECIMAL);
+        node.get(PARALLELISM, VALUE_TYPE, COUNT, REQUIRED).set(true);
+        node.get(PARALLELISM, VALUE_TYPE, PER_CPU, DESCRIPTION).set(bundle.getString("threadpool.forkjoin.parallelism.percpu"));
+        node.get(PARALLELISM, VALUE_TYPE, PER_CPU, TYPE).set(ModelType.BIG_DECIMAL);
+        node.get(PARALLELISM, VALUE_TYPE, PER_CPU, REQUIRED).set(true);
+
+        node.get(ASYNC_MODE, DESCRIPTION).set(bundle.getString("threadpool.forkjoin.asyncmode"));
+        node.get(ASYNC_MODE, TYPE).set(ModelType.BOOLEAN);
+        node.get(ASYNC_MODE, REQUIRED).set(false);
+    }
+
     private static ModelNode getCommonThreadPool(final ResourceBundle bundle, final String description) {
         final ModelNode node = new ModelNode();
         node.get(DESCRIPTION).set(description);
@@ -400,6 +450,29 @@ class ThreadsSubsystemProviders {
         }
     };
 
+    static DescriptionProvider ADD_FORK_JOIN_THREAD_POOL_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(ADD);
+            operation.get(DESCRIPTION).set(bundle.getString("threadpool.forkjoin.add"));
+            operation.get(REQUEST_PROPERTIES, THREAD_FACTORY, DESCRIPTION).set(bundle.getString("threadpool.common.threadfactory"));
+            operation.get(REQUEST_PROPERTIES, THREAD_FACTORY, TYPE).set(ModelType.STRING);
+            operation.get(REQUEST_PROPERTIES, THREAD_FACTORY, REQUIRED).set(false);
+            operation.get(REQUEST_PROPERTIES, PROPERTIES, DESCRIPTION).set(bundle.getString("threadpool.common.properties"));
+            operation.get(REQUEST_PROPERTIES, PROPERTIES, TYPE).set(ModelType.OBJECT);
+            operation.get(REQUEST_PROPERTIES, PROPERTIES, VALUE_TYPE).set(ModelType.STRING);
+            operation.get(REQUEST_PROPERTIES, PROPERTIES, REQUIRED).set(false);
+
+            addForkJoinThreadPoolProperties(bundle, operation.get(REQUEST_PROPERTIES));
+
+            operation.get(REPLY_PROPERTIES).setEmptyObject();
+            return operation;
+        }
+    };
+
     static ModelNode getCommonAddThreadPool(final ResourceBundle bundle, final String operationName, final String description) {
         final ModelNode operation = new ModelNode();
         operation.get(OPERATION_NAME).set(operationName);
@@ -472,6 +545,15 @@ class ThreadsSubsystemProviders {
         }
     };
 
+    static DescriptionProvider REMOVE_FORK_JOIN_THREAD_POOL_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            return getCommonRemoveThreadPool(bundle, REMOVE, bundle.getString("threadpool.forkjoin.remove"));
+        }
+    };
+
     private static ModelNode getCommonRemoveThreadPool(final ResourceBundle bundle, String operationName, String description) {
         ModelNode operation = new ModelNode();
         operation.get(OPERATION_NAME).set(operationName);
@@ -23,12 +23,14 @@ package org.jboss.as.threads;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.threads.CommonAttributes.ALLOW_CORE_TIMEOUT;
+import static org.jboss.as.threads.CommonAttributes.ASYNC_MODE;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING;
 import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.COUNT;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
+import static org.jboss.as.threads.CommonAttributes.PARALLELISM;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
@@ -102,8 +104,30 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         return params;
     }
 
+    static ForkJoinOperationParameters parseForkJoinThreadPoolOperationParameters(ModelNode operation) {
+        OperationParametersImpl params = new OperationParametersImpl();
+        parseCommonThreadPoolOperationParameters(operation, params);
+
+        params.parallelism = getScaledCount(operation, PARALLELISM);
+        params.asyncMode = operation.hasDefined(ASYNC_MODE) ? operation.get(ASYNC_MODE).asBoolean() : false;
+
+        return params;
+    }
 
     private static OperationParametersImpl parseBaseThreadPoolOperationParameters(ModelNode operation, OperationParametersImpl params) {
+        parseCommonThreadPoolOperationParameters(operation, params);
+
+        params.maxThreads = getScaledCount(operation, MAX_THREADS);
+        if (params.maxThreads == null) {
+            throw new IllegalArgumentException(MAX_THREADS + " was not defined");
+        }
+
+        params.keepAliveTime = getTimeSpec(operation, KEEPALIVE_TIME);
+
+        return params;
+    }
+
+    private static OperationParametersImpl parseCommonThreadPoolOperationParameters(ModelNode operation, OperationParametersImpl params) {
         params.address = operation.require(OP_ADDR);
         PathAddress pathAddress = PathAddress.pathAddress(params.address);
         params.name = pathAddress.getLastElement().getValue();
@@ -121,26 +145,24 @@ class ThreadsSubsystemThreadPoolOperationUtils {
                 }
             }
         }
-        params.maxThreads = getScaledCount(operation, MAX_THREADS);
-        if (params.maxThreads == null) {
-            throw new IllegalArgumentException(MAX_THREADS + " was not defined");
-        }
+        return params;
+    }
 
-        if (operation.hasDefined(KEEPALIVE_TIME)) {
-            ModelNode keepaliveTime = operation.get(KEEPALIVE_TIME);
-            if (!keepaliveTime.hasDefined(TIME)) {
-                throw new IllegalArgumentException("Missing '" + TIME + "' for '" + KEEPALIVE_TIME + "'");
+    static TimeSpec getTimeSpec(ModelNode operation, String paramName) {
+        if (operation.hasDefined(paramName)) {
+            ModelNode timeSpec = operation.get(paramName);
+            if (!timeSpec.hasDefined(TIME)) {
+                throw new IllegalArgumentException("Missing '" + TIME + "' for '" + paramName + "'");
             }
-            if (!keepaliveTime.hasDefined(UNIT)) {
-                throw new IllegalArgumentException("Missing '" + UNIT + "' for '" + KEEPALIVE_TIME + "'");
+            if (!timeSpec.hasDefined(UNIT)) {
+                throw new IllegalArgumentException("Missing '" + UNIT + "' for '" + paramName + "'");
             }
-            params.keepAliveTime = new TimeSpec(Enum.valueOf(TimeUnit.class, keepaliveTime.get(UNIT).asString()), keepaliveTime.get(TIME).asLong());
+            return new TimeSpec(Enum.valueOf(TimeUnit.class, timeSpec.get(UNIT).asString()), timeSpec.get(TIME).asLong());
         }
-
-        return params;
+        return null;
     }
 
-    private static ScaledCount getScaledCount(ModelNode operation, String paramName) {
+    static ScaledCount getScaledCount(ModelNode operation, String paramName) {
         if (operation.hasDefined(paramName)) {
             ModelNode scaledCount = operation.get(paramName);
             if (!scaledCount.hasDefined(COUNT)) {
@@ -154,7 +176,7 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         return null;
     }
 
-    interface BaseOperationParameters {
+    interface CommonOperationParameters {
         ModelNode getAddress();
 
         String getName();
@@ -162,7 +184,9 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         String getThreadFactory();
 
         ModelNode getProperties();
+    }
 
+    interface BaseOperationParameters extends CommonOperationParameters {
         ScaledCount getMaxThreads();
 
         TimeSpec getKeepAliveTime();
@@ -180,7 +204,13 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         ScaledCount getQueueLength();
     }
 
-    private static class OperationParametersImpl implements QueuelessOperationParameters, BoundedOperationParameters {
+    interface ForkJoinOperationParameters extends CommonOperationParameters {
+        ScaledCount getParallelism();
+
+        boolean isAsyncMode();
+    }
+
+    private static class OperationParametersImpl implements QueuelessOperationParameters, BoundedOperationParameters, ForkJoinOperationParameters {
         ModelNode address;
         String name;
         String threadFactory;
@@ -192,6 +222,8 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         boolean allowCoreTimeout;
         ScaledCount coreThreads;
         ScaledCount queueLength;
+        ScaledCount parallelism;
+        boolean asyncMode;
 
         @Override
         public ModelNode getAddress() {
@@ -247,6 +279,16 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         public ScaledCount getQueueLength() {
             return queueLength;
         }
+
+        @Override
+        public ScaledCount getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public boolean isAsyncMode() {
+            return asyncMode;
+        }
     }
 
 }
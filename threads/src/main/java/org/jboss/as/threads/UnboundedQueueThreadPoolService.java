@@ -41,8 +41,9 @@ import java.util.concurrent.ThreadFactory;
  *
  * @author John E. Bailey
  */
-public class UnboundedQueueThreadPoolService implements Service<ExecutorService> {
+public class UnboundedQueueThreadPoolService implements Service<ExecutorService>, ThreadPoolMetrics {
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
 
     private JBossThreadPoolExecutor executor;
     private ExecutorService value;
@@ -56,8 +57,8 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
     }
 
     public synchronized void start(final StartContext context) throws StartException {
-        executor = new JBossThreadPoolExecutor(maxThreads, maxThreads, keepAlive.getDuration(), keepAlive.getUnit(), new LinkedBlockingQueue<Runnable>(), threadFactoryValue.getValue());
-        value = JBossExecutors.protectedExecutorService(executor);
+        executor = new JBossThreadPoolExecutor(maxThreads, maxThreads, keepAlive.getDuration(), keepAlive.getUnit(), new LinkedBlockingQueue<Runnable>(), statistics.wrapThreadFactory(threadFactoryValue.getValue()));
+        value = JBossExecutors.protectedExecutorService(statistics.wrapExecutorService(executor));
     }
 
     public synchronized void stop(final StopContext context) {
@@ -99,8 +100,36 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
     public synchronized void setKeepAlive(final TimeSpec keepAlive) {
         this.keepAlive = keepAlive;
         final JBossThreadPoolExecutor executor = this.executor;
-        if(executor != null) {
+        if(executor != null && keepAlive != null) {
             executor.setKeepAliveTime(keepAlive.getDuration(), keepAlive.getUnit());
         }
     }
+
+    public int getCurrentThreadCount() {
+        return statistics.getCurrentThreadCount();
+    }
+
+    public int getLargestThreadCount() {
+        return statistics.getLargestThreadCount();
+    }
+
+    public int getActiveCount() {
+        return statistics.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return statistics.getQueueSize();
+    }
+
+    public long getCompletedTaskCount() {
+        return statistics.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return statistics.getRejectedCount();
+    }
+
+    public long getAverageWaitTime() {
+        return statistics.getAverageWaitTime();
+    }
 }
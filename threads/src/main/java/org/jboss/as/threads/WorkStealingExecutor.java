@@ -0,0 +1,252 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed size executor in which every worker thread owns a task deque.
+ * <p>
+ * Tasks submitted from outside the pool are spread over the worker deques; tasks submitted by a worker go to
+ * its own deque. A worker takes tasks from the head of its own deque and, once that is empty, steals from the
+ * tail of the other workers' deques. By default tasks submitted by a worker are pushed onto the head of its deque
+ * so that the most recently forked task runs first; in async mode they are appended to the tail instead, which
+ * gives FIFO ordering for event-style tasks which are never joined.
+ * </p>
+ */
+class WorkStealingExecutor extends AbstractExecutorService {
+
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private final Worker[] workers;
+    private final boolean asyncMode;
+    private final CountDownLatch termination;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+
+    private final Object lock = new Object();
+    // written under lock
+    private volatile int idle;
+    private volatile int state;
+
+    /**
+     * Construct and start a new instance.
+     *
+     * @param parallelism the number of worker threads
+     * @param threadFactory the factory for the worker threads
+     * @param asyncMode {@code true} to run tasks submitted by a worker in FIFO order
+     */
+    WorkStealingExecutor(final int parallelism, final ThreadFactory threadFactory, final boolean asyncMode) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("threadFactory is null");
+        }
+        this.asyncMode = asyncMode;
+        termination = new CountDownLatch(parallelism);
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+            final Thread thread = threadFactory.newThread(workers[i]);
+            if (thread == null) {
+                throw new IllegalStateException("Thread factory did not create a thread");
+            }
+            workers[i].thread = thread;
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    public void execute(final Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("task is null");
+        }
+        if (state != RUNNING) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        final Worker current = currentWorker();
+        final LinkedBlockingDeque<Runnable> deque;
+        if (current != null) {
+            deque = current.deque;
+            if (asyncMode) {
+                deque.addLast(task);
+            } else {
+                deque.addFirst(task);
+            }
+        } else {
+            deque = workers[(nextWorker.getAndIncrement() & Integer.MAX_VALUE) % workers.length].deque;
+            deque.addLast(task);
+        }
+        queued.incrementAndGet();
+        if (state != RUNNING && deque.removeFirstOccurrence(task)) {
+            // Lost a race with shutdown; the workers may already be gone
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        if (idle > 0) {
+            synchronized (lock) {
+                lock.notify();
+            }
+        }
+    }
+
+    public void shutdown() {
+        synchronized (lock) {
+            if (state == RUNNING) {
+                state = SHUTDOWN;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        synchronized (lock) {
+            state = STOP;
+            lock.notifyAll();
+        }
+        for (Worker worker : workers) {
+            queued.addAndGet(-worker.deque.drainTo(tasks));
+            worker.thread.interrupt();
+        }
+        return tasks;
+    }
+
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    public boolean isTerminated() {
+        return termination.getCount() == 0;
+    }
+
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return termination.await(timeout, unit);
+    }
+
+    /**
+     * Get the number of worker threads.
+     *
+     * @return the parallelism
+     */
+    int getParallelism() {
+        return workers.length;
+    }
+
+    /**
+     * Called once the last worker thread has exited.
+     */
+    protected void terminated() {
+    }
+
+    private Worker currentWorker() {
+        final Thread current = Thread.currentThread();
+        for (Worker worker : workers) {
+            if (worker.thread == current) {
+                return worker;
+            }
+        }
+        return null;
+    }
+
+    private Runnable take(final Worker worker) {
+        Runnable task = worker.deque.pollFirst();
+        if (task == null) {
+            final int count = workers.length;
+            for (int i = 1; task == null && i < count; i++) {
+                task = workers[(worker.index + i) % count].deque.pollLast();
+            }
+        }
+        if (task != null) {
+            queued.decrementAndGet();
+        }
+        return task;
+    }
+
+    private void workerExited() {
+        termination.countDown();
+        if (termination.getCount() == 0) {
+            terminated();
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final int index;
+        private final LinkedBlockingDeque<Runnable> deque = new LinkedBlockingDeque<Runnable>();
+        private volatile Thread thread;
+
+        Worker(final int index) {
+            this.index = index;
+        }
+
+        public void run() {
+            try {
+                for (;;) {
+                    final Runnable task = take(this);
+                    if (task != null) {
+                        if (state != STOP) {
+                            // Don't let an interrupt aimed at a previous task leak into this one
+                            Thread.interrupted();
+                        }
+                        try {
+                            task.run();
+                        } catch (Throwable t) {
+                            final Thread current = Thread.currentThread();
+                            current.getUncaughtExceptionHandler().uncaughtException(current, t);
+                        }
+                        continue;
+                    }
+                    if (state == STOP || (state == SHUTDOWN && queued.get() <= 0)) {
+                        return;
+                    }
+                    synchronized (lock) {
+                        idle++;
+                        try {
+                            if (state == RUNNING && queued.get() <= 0) {
+                                lock.wait();
+                            }
+                        } catch (InterruptedException e) {
+                            // re-check the state
+                        } finally {
+                            idle--;
+                        }
+                    }
+                }
+            } finally {
+                workerExited();
+            }
+        }
+    }
+}
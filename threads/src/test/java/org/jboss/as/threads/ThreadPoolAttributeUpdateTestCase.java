@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
+import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
+import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.THREADS;
+import static org.jboss.as.threads.CommonAttributes.TIME;
+import static org.jboss.as.threads.CommonAttributes.UNIT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests the model handling of {@link ThreadPoolAttributeUpdate}.
+ */
+public class ThreadPoolAttributeUpdateTestCase {
+
+    @Test
+    public void testCompensatingOperationRestoresUnsetAttribute() throws Exception {
+        final ModelNode model = new ModelNode();
+        model.get(MAX_THREADS).set(createCount(10));
+        final OperationContext context = createContext(model);
+
+        final ModelNode write = createWrite(KEEPALIVE_TIME);
+        write.get(VALUE, TIME).set(10L);
+        write.get(VALUE, UNIT).set("SECONDS");
+        final ModelNode compensating = ThreadPoolAttributeUpdate.KEEPALIVE_TIME_UPDATE.execute(context, write, NoopResultHandler.INSTANCE).getCompensatingOperation();
+        assertEquals(10L, model.get(KEEPALIVE_TIME, TIME).asLong());
+        assertFalse(compensating.hasDefined(VALUE));
+
+        ThreadPoolAttributeUpdate.KEEPALIVE_TIME_UPDATE.execute(context, compensating, NoopResultHandler.INSTANCE);
+        assertFalse(model.hasDefined(KEEPALIVE_TIME));
+    }
+
+    @Test
+    public void testCompensatingOperationRestoresPreviousValue() throws Exception {
+        final ModelNode model = new ModelNode();
+        model.get(MAX_THREADS).set(createCount(10));
+        final OperationContext context = createContext(model);
+
+        final ModelNode write = createWrite(MAX_THREADS);
+        write.get(VALUE).set(createCount(20));
+        final ModelNode compensating = ThreadPoolAttributeUpdate.MAX_THREADS_UPDATE.execute(context, write, NoopResultHandler.INSTANCE).getCompensatingOperation();
+        assertEquals(20, model.get(MAX_THREADS, CommonAttributes.COUNT).asInt());
+
+        ThreadPoolAttributeUpdate.MAX_THREADS_UPDATE.execute(context, compensating, NoopResultHandler.INSTANCE);
+        assertEquals(10, model.get(MAX_THREADS, CommonAttributes.COUNT).asInt());
+    }
+
+    @Test
+    public void testRequiredAttributeCannotBeUnset() throws Exception {
+        final ModelNode model = new ModelNode();
+        model.get(MAX_THREADS).set(createCount(10));
+        try {
+            ThreadPoolAttributeUpdate.MAX_THREADS_UPDATE.execute(createContext(model), createWrite(MAX_THREADS), NoopResultHandler.INSTANCE);
+            fail("Expected failure");
+        } catch (OperationFailedException expected) {
+        }
+        assertEquals(10, model.get(MAX_THREADS, CommonAttributes.COUNT).asInt());
+    }
+
+    private static ModelNode createCount(final int count) {
+        final ModelNode node = new ModelNode();
+        node.get(CommonAttributes.COUNT).set(count);
+        node.get(CommonAttributes.PER_CPU).set(0);
+        return node;
+    }
+
+    private static ModelNode createWrite(final String attributeName) {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(WRITE_ATTRIBUTE_OPERATION);
+        operation.get(OP_ADDR).add(SUBSYSTEM, THREADS);
+        operation.get(OP_ADDR).add(QUEUELESS_THREAD_POOL, "test");
+        operation.get(CommonAttributes.NAME).set(attributeName);
+        return operation;
+    }
+
+    /**
+     * A context for a model-only operation, without runtime.
+     */
+    private static OperationContext createContext(final ModelNode model) {
+        return (OperationContext) Proxy.newProxyInstance(OperationContext.class.getClassLoader(), new Class<?>[] { OperationContext.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if ("getSubModel".equals(method.getName()) && (args == null || args.length == 0)) {
+                    return model;
+                }
+                return null;
+            }
+        });
+    }
+
+    private static final class NoopResultHandler implements ResultHandler {
+        static final NoopResultHandler INSTANCE = new NoopResultHandler();
+
+        @Override
+        public void handleResultFragment(final String[] location, final ModelNode result) {
+        }
+
+        @Override
+        public void handleResultComplete() {
+        }
+
+        @Override
+        public void handleFailed(final ModelNode failureDescription) {
+        }
+
+        @Override
+        public void handleCancellation() {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of the counters collected by {@link ThreadPoolStatistics}.
+ */
+public class ThreadPoolStatisticsTestCase {
+
+    @Test
+    public void testCompletedTasks() throws Exception {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final ThreadPoolExecutor delegate = new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                statistics.wrapThreadFactory(Executors.defaultThreadFactory()));
+        final ExecutorService executor = statistics.wrapExecutorService(delegate);
+        try {
+            for (int i = 0; i < 10; i++) {
+                executor.submit(new Runnable() {
+                    public void run() {
+                    }
+                }).get();
+            }
+            // The completed counter is updated after the task itself has finished
+            waitFor(statistics, 10);
+            assertEquals(0, statistics.getActiveCount());
+            assertEquals(0, statistics.getQueueSize());
+            assertEquals(0, statistics.getRejectedCount());
+            assertEquals(2, statistics.getCurrentThreadCount());
+            assertEquals(2, statistics.getLargestThreadCount());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testActiveAndRejectedTasks() throws Exception {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final ThreadPoolExecutor delegate = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                statistics.wrapThreadFactory(Executors.defaultThreadFactory()));
+        final ExecutorService executor = statistics.wrapExecutorService(delegate);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertEquals(1, statistics.getActiveCount());
+            try {
+                executor.execute(new Runnable() {
+                    public void run() {
+                    }
+                });
+                fail("Task should have been rejected");
+            } catch (RejectedExecutionException expected) {
+            }
+            assertEquals(1, statistics.getRejectedCount());
+            assertEquals(0, statistics.getQueueSize());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        waitFor(statistics, 1);
+        assertEquals(0, statistics.getActiveCount());
+    }
+
+    private static void waitFor(final ThreadPoolStatistics statistics, final long completed) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (statistics.getCompletedTaskCount() < completed && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(completed, statistics.getCompletedTaskCount());
+    }
+}
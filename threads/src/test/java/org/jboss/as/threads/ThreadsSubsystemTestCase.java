@@ -22,6 +22,7 @@
 package org.jboss.as.threads;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertTrue;
 import static junit.framework.Assert.fail;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
@@ -46,14 +47,17 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUB
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 import static org.jboss.as.threads.CommonAttributes.ALLOW_CORE_TIMEOUT;
+import static org.jboss.as.threads.CommonAttributes.ASYNC_MODE;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING;
 import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.COUNT;
+import static org.jboss.as.threads.CommonAttributes.FORK_JOIN_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
+import static org.jboss.as.threads.CommonAttributes.PARALLELISM;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
@@ -226,6 +230,14 @@ public class ThreadsSubsystemTestCase {
         assertEquals(ModelType.LONG, boundedQueueThreadPoolDesc.require(ATTRIBUTES).require(KEEPALIVE_TIME).require(VALUE_TYPE).require(TIME).require(TYPE).asType());
         assertEquals(ModelType.STRING, boundedQueueThreadPoolDesc.require(ATTRIBUTES).require(KEEPALIVE_TIME).require(VALUE_TYPE).require(UNIT).require(TYPE).asType());
 
+        ModelNode forkJoinThreadPoolDesc = threadsDescription.get(CHILDREN, FORK_JOIN_THREAD_POOL, MODEL_DESCRIPTION, "*");
+        assertEquals(ModelType.STRING, forkJoinThreadPoolDesc.require(ATTRIBUTES).require(NAME).require(TYPE).asType());
+        assertEquals(ModelType.STRING, forkJoinThreadPoolDesc.require(ATTRIBUTES).require(THREAD_FACTORY).require(TYPE).asType());
+        assertEquals(ModelType.OBJECT, forkJoinThreadPoolDesc.require(ATTRIBUTES).require(PROPERTIES).require(TYPE).asType());
+        assertEquals(ModelType.OBJECT, forkJoinThreadPoolDesc.require(ATTRIBUTES).require(PARALLELISM).require(TYPE).asType());
+        assertEquals(ModelType.BIG_DECIMAL, forkJoinThreadPoolDesc.require(ATTRIBUTES).require(PARALLELISM).require(VALUE_TYPE).require(COUNT).require(TYPE).asType());
+        assertEquals(ModelType.BIG_DECIMAL, forkJoinThreadPoolDesc.require(ATTRIBUTES).require(PARALLELISM).require(VALUE_TYPE).require(PER_CPU).require(TYPE).asType());
+        assertEquals(ModelType.BOOLEAN, forkJoinThreadPoolDesc.require(ATTRIBUTES).require(ASYNC_MODE).require(TYPE).asType());
     }
 
     @Test
@@ -554,6 +566,57 @@ public class ThreadsSubsystemTestCase {
         assertEquals("test-poolB", threadFactory.require("test-poolB").require("name").asString());
     }
 
+    @Test
+    public void testSimpleForkJoinThreadPool() throws Exception {
+        List<ModelNode> updates = createSubSystem(
+                "<fork-join-thread-pool name=\"test-pool\"/>");
+        assertEquals(2, updates.size());
+        for (ModelNode update : updates) {
+            try {
+                controller.executeForResult(update);
+            } catch (OperationFailedException e) {
+                throw new RuntimeException(e.getFailureDescription().toString());
+            }
+        }
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("fork-join-thread-pool");
+        assertEquals(1, threadPool.keys().size());
+        assertEquals("test-pool", threadPool.require("test-pool").require("name").asString());
+        assertFalse(threadPool.require("test-pool").hasDefined(PARALLELISM));
+    }
+
+    @Test
+    public void testFullForkJoinThreadPool() throws Exception {
+        List<ModelNode> updates = createSubSystem(
+                "<fork-join-thread-pool name=\"test-pool\" async-mode=\"true\">" +
+                "   <parallelism count=\"2\" per-cpu=\"1\"/>" +
+                "   <thread-factory name=\"test-factory\"/>" +
+                "   <properties>" +
+                "      <property name=\"propA\" value=\"valueA\"/>" +
+                "   </properties>" +
+                "</fork-join-thread-pool>");
+        assertEquals(2, updates.size());
+        for (ModelNode update : updates) {
+            try {
+                controller.executeForResult(update);
+            } catch (OperationFailedException e) {
+                throw new RuntimeException(e.getFailureDescription().toString());
+            }
+        }
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("fork-join-thread-pool").require("test-pool");
+        assertEquals("test-pool", threadPool.require("name").asString());
+        assertEquals(new BigDecimal(2), threadPool.require(PARALLELISM).require(COUNT).asBigDecimal());
+        assertEquals(new BigDecimal(1), threadPool.require(PARALLELISM).require(PER_CPU).asBigDecimal());
+        assertTrue(threadPool.require(ASYNC_MODE).asBoolean());
+        assertEquals("test-factory", threadPool.require(THREAD_FACTORY).asString());
+        ModelNode props = threadPool.require("properties");
+        assertEquals(1, props.asList().size());
+        assertEquals("valueA", props.asList().get(0).asProperty().getValue().asString());
+    }
+
     @Test
     public void testSimpleQueuelessThreadPool() throws Exception {
         List<ModelNode> updates = createSubSystem(
@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests of the {@link WorkStealingExecutor} used by fork-join thread pools.
+ */
+public class WorkStealingExecutorTestCase {
+
+    @Test
+    public void testRunsSubmittedTasks() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(4, Executors.defaultThreadFactory(), false);
+        try {
+            final List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 1000; i++) {
+                final int value = i;
+                futures.add(executor.submit(new Callable<Integer>() {
+                    public Integer call() {
+                        return Integer.valueOf(value);
+                    }
+                }));
+            }
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, futures.get(i).get(10, TimeUnit.SECONDS).intValue());
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testTasksSubmittedByWorkers() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(2, Executors.defaultThreadFactory(), false);
+        final AtomicInteger leaves = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1 << 10);
+        try {
+            executor.execute(new Splitter(executor, 10, leaves, done));
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(1 << 10, leaves.get());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testAsyncModeRunsLocalTasksInOrder() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(1, Executors.defaultThreadFactory(), true);
+        final List<Integer> order = new ArrayList<Integer>();
+        final CountDownLatch done = new CountDownLatch(5);
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 5; i++) {
+                        final int value = i;
+                        executor.execute(new Runnable() {
+                            public void run() {
+                                order.add(Integer.valueOf(value));
+                                done.countDown();
+                            }
+                        });
+                    }
+                }
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                assertEquals(i, order.get(i).intValue());
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        final CountDownLatch terminated = new CountDownLatch(1);
+        final WorkStealingExecutor executor = new WorkStealingExecutor(2, Executors.defaultThreadFactory(), false) {
+            protected void terminated() {
+                terminated.countDown();
+            }
+        };
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    completed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                }
+            });
+            fail("Task should have been rejected");
+        } catch (RejectedExecutionException expected) {
+        }
+        assertFalse(executor.isTerminated());
+        release.countDown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(terminated.await(10, TimeUnit.SECONDS));
+        // Tasks accepted before the shutdown still run
+        assertEquals(10, completed.get());
+    }
+
+    @Test
+    public void testShutdownNow() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(1, Executors.defaultThreadFactory(), false);
+        final CountDownLatch started = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            public void run() {
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    // expected
+                }
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                }
+            });
+        }
+        assertEquals(5, executor.shutdownNow().size());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static final class Splitter implements Runnable {
+        private final WorkStealingExecutor executor;
+        private final int depth;
+        private final AtomicInteger leaves;
+        private final CountDownLatch done;
+
+        Splitter(final WorkStealingExecutor executor, final int depth, final AtomicInteger leaves, final CountDownLatch done) {
+            this.executor = executor;
+            this.depth = depth;
+            this.leaves = leaves;
+            this.done = done;
+        }
+
+        public void run() {
+            if (depth == 0) {
+                leaves.incrementAndGet();
+                done.countDown();
+            } else {
+                executor.execute(new Splitter(executor, depth - 1, leaves, done));
+                executor.execute(new Splitter(executor, depth - 1, leaves, done));
+            }
+        }
+    }
+}
@@ -21,6 +21,11 @@ public class ArjunaObjectStoreEnvironmentService implements Service<Void> {
 
 
     private final InjectedValue<String> pathInjector = new InjectedValue<String>();
+    private final ObjectStoreType storeType;
+
+    ArjunaObjectStoreEnvironmentService(final ObjectStoreType storeType) {
+        this.storeType = storeType;
+    }
 
     @Override
     public Void getValue() throws IllegalStateException, IllegalArgumentException {
@@ -37,6 +42,8 @@ public class ArjunaObjectStoreEnvironmentService implements Service<Void> {
          final ObjectStoreEnvironmentBean defaultActionStoreObjectStoreEnvironmentBean =
            BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, "default");
         defaultActionStoreObjectStoreEnvironmentBean.setObjectStoreDir(objectStoreDir);
+        // Only the action store holds the transaction log; the state and communication stores keep the default
+        defaultActionStoreObjectStoreEnvironmentBean.setObjectStoreType(storeType.getClassName());
         final ObjectStoreEnvironmentBean stateStoreObjectStoreEnvironmentBean =
             BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, "stateStore");
         stateStoreObjectStoreEnvironmentBean.setObjectStoreDir(objectStoreDir);
@@ -40,6 +40,7 @@ enum Attribute {
     DEFAULT_TIMEOUT("default-timeout"),
     RELATIVE_TO("relative-to"),
     PATH("path"),
+    TYPE("type"),
     ;
     private final String name;
 
@@ -38,6 +38,7 @@ interface CommonAttributes {
     String RECOVERY_ENVIRONMENT = "recovery-environment";
     String RELATIVE_TO = "relative-to";
     String SOCKET_PROCESS_ID_MAX_PORTS = "socket-process-id-max-ports";
+    String STORE_TYPE = "type";
     String STATUS_BINDING = "status-socket-binding";
 
 }
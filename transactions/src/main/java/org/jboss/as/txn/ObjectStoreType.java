@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The object store implementations which can be selected for the transaction log.
+ */
+enum ObjectStoreType {
+
+    /**
+     * One file per transaction, written through a shadow copy. The transaction manager default.
+     */
+    DEFAULT("default", "com.arjuna.ats.internal.arjuna.objectstore.ShadowNoFileLockStore"),
+    /**
+     * Like {@link #DEFAULT}, but spreads the files over hashed subdirectories, which keeps directories small when
+     * many transactions are in flight.
+     */
+    HASHED("hashed", "com.arjuna.ats.internal.arjuna.objectstore.HashedStore"),
+    /**
+     * Appends transaction records to a shared log file instead of creating a file per transaction, so a commit
+     * costs one sequential write and sync rather than several file creations.
+     */
+    LOG("log", "com.arjuna.ats.internal.arjuna.objectstore.LogStore"),
+    ;
+
+    private final String name;
+    private final String className;
+
+    ObjectStoreType(final String name, final String className) {
+        this.name = name;
+        this.className = className;
+    }
+
+    /**
+     * Get the configuration name of this store type.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the name of the object store implementation class.
+     *
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    private static final Map<String, ObjectStoreType> MAP;
+
+    static {
+        final Map<String, ObjectStoreType> map = new HashMap<String, ObjectStoreType>();
+        for (ObjectStoreType type : values()) {
+            map.put(type.getName(), type);
+        }
+        MAP = map;
+    }
+
+    /**
+     * Get the store type with the given name.
+     *
+     * @param name the name
+     * @return the store type, or {@code null} if there is none with that name
+     */
+    public static ObjectStoreType forName(final String name) {
+        return MAP.get(name);
+    }
+
+    public String toString() {
+        return getName();
+    }
+}
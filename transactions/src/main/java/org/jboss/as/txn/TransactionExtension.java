@@ -29,6 +29,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DES
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.parsing.ParseUtils.invalidAttributeValue;
 import static org.jboss.as.controller.parsing.ParseUtils.missingRequired;
 import static org.jboss.as.controller.parsing.ParseUtils.missingRequiredElement;
 import static org.jboss.as.controller.parsing.ParseUtils.requireNoContent;
@@ -45,6 +46,7 @@ import static org.jboss.as.txn.CommonAttributes.OBJECT_STORE;
 import static org.jboss.as.txn.CommonAttributes.PATH;
 import static org.jboss.as.txn.CommonAttributes.RECOVERY_ENVIRONMENT;
 import static org.jboss.as.txn.CommonAttributes.RELATIVE_TO;
+import static org.jboss.as.txn.CommonAttributes.STORE_TYPE;
 import static org.jboss.as.txn.CommonAttributes.SOCKET_PROCESS_ID_MAX_PORTS;
 import static org.jboss.as.txn.CommonAttributes.STATUS_BINDING;
 
@@ -97,6 +99,9 @@ public class TransactionExtension implements Extension {
         final ModelNodeRegistration registration = subsystem.registerSubsystemModel(TransactionSubsystemProviders.SUBSYSTEM);
         registration.registerOperationHandler(ADD, TransactionSubsystemAdd.INSTANCE, TransactionSubsystemProviders.SUBSYSTEM_ADD, false);
         registration.registerOperationHandler(DESCRIBE, TransactionDescribeHandler.INSTANCE, TransactionDescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
+        for (final String attributeName : TxStatsHandler.ATTRIBUTES) {
+            registration.registerMetric(attributeName, TxStatsHandler.INSTANCE);
+        }
         subsystem.registerXMLElementWriter(parser);
     }
 
@@ -189,6 +194,12 @@ public class TransactionExtension implements Extension {
                     case PATH:
                         store.get(PATH).set(value);
                         break;
+                    case TYPE:
+                        if (ObjectStoreType.forName(value) == null) {
+                            throw invalidAttributeValue(reader, i);
+                        }
+                        store.get(STORE_TYPE).set(value);
+                        break;
                     default:
                         unexpectedAttribute(reader, i);
                 }
@@ -332,6 +343,9 @@ public class TransactionExtension implements Extension {
                 if (has(env, PATH)) {
                     writeAttribute(writer, Attribute.PATH, env.get(PATH));
                 }
+                if (has(env, STORE_TYPE)) {
+                    writeAttribute(writer, Attribute.TYPE, env.get(STORE_TYPE));
+                }
                 writer.writeEndElement();
             }
             writer.writeEndElement();
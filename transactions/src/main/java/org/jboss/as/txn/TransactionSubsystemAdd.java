@@ -68,7 +68,7 @@ class TransactionSubsystemAdd implements ModelAddOperationHandler, BootOperation
 
     /** {@inheritDoc} */
     @Override
-    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) {
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
         if(context instanceof BootOperationContext) {
             ((BootOperationContext) context).addDeploymentProcessor(Phase.INSTALL, Phase.INSTALL_TRANSACTION_BINDINGS, new TransactionJndiBindingProcessor());
@@ -84,6 +84,10 @@ class TransactionSubsystemAdd implements ModelAddOperationHandler, BootOperation
         final ModelNode objectStore = operation.get(OBJECT_STORE);
         final String objectStorePathRef = objectStore.hasDefined(RELATIVE_TO) ? objectStore.get(RELATIVE_TO).asString() : "jboss.server.data.dir";
         final String objectStorePath = objectStore.hasDefined(PATH) ? objectStore.get(PATH).asString() : "tx-object-store";
+        final ObjectStoreType objectStoreType = objectStore.hasDefined(STORE_TYPE) ? ObjectStoreType.forName(objectStore.get(STORE_TYPE).asString()) : ObjectStoreType.DEFAULT;
+        if (objectStoreType == null) {
+            throw new OperationFailedException(new ModelNode().set("Invalid object store type " + objectStore.get(STORE_TYPE).asString()));
+        }
         final int maxPorts = 10;
         final int coordinatorDefaultTimeout = 300;
 
@@ -95,6 +99,7 @@ class TransactionSubsystemAdd implements ModelAddOperationHandler, BootOperation
         subModel.get(COORDINATOR_ENVIRONMENT, ENABLE_STATISTICS).set(operation.get(COORDINATOR_ENVIRONMENT, ENABLE_STATISTICS));
         subModel.get(OBJECT_STORE, RELATIVE_TO).set(operation.get(OBJECT_STORE, RELATIVE_TO));
         subModel.get(OBJECT_STORE, PATH).set(operation.get(OBJECT_STORE, PATH));
+        subModel.get(OBJECT_STORE, STORE_TYPE).set(operation.get(OBJECT_STORE, STORE_TYPE));
 
         if (context.getRuntimeContext() != null) {
             context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
@@ -107,7 +112,7 @@ class TransactionSubsystemAdd implements ModelAddOperationHandler, BootOperation
                     target.addService(TxnServices.JBOSS_TXN_XA_TERMINATOR, xaTerminatorService).setInitialMode(Mode.ACTIVE).install();
 
                     // Configure the ObjectStoreEnvironmentBeans
-                    final ArjunaObjectStoreEnvironmentService objStoreEnvironmentService = new ArjunaObjectStoreEnvironmentService();
+                    final ArjunaObjectStoreEnvironmentService objStoreEnvironmentService = new ArjunaObjectStoreEnvironmentService(objectStoreType);
                     target.addService(TxnServices.JBOSS_TXN_ARJUNA_OBJECTSTORE_ENVIRONMENT, objStoreEnvironmentService)
                         .addDependency(AbstractPathService.pathNameOf(INTERNAL_OBJECTSTORE_PATH), String.class, objStoreEnvironmentService.getPathInjector())
                         .setInitialMode(Mode.ACTIVE).install();
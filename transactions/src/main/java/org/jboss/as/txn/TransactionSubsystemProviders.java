@@ -44,6 +44,7 @@ import static org.jboss.as.txn.CommonAttributes.PATH;
 import static org.jboss.as.txn.CommonAttributes.RECOVERY_ENVIRONMENT;
 import static org.jboss.as.txn.CommonAttributes.RELATIVE_TO;
 import static org.jboss.as.txn.CommonAttributes.STATUS_BINDING;
+import static org.jboss.as.txn.CommonAttributes.STORE_TYPE;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -147,6 +148,10 @@ class TransactionSubsystemProviders {
             subsystem.get(ATTRIBUTES, OBJECT_STORE, VALUE_TYPE, PATH, DESCRIPTION).set(bundle.getString("object-store.path"));
             subsystem.get(ATTRIBUTES, OBJECT_STORE, VALUE_TYPE, PATH, TYPE).set(ModelType.STRING);
             subsystem.get(ATTRIBUTES, OBJECT_STORE, VALUE_TYPE, PATH, REQUIRED).set(false);
+            subsystem.get(ATTRIBUTES, OBJECT_STORE, VALUE_TYPE, STORE_TYPE, DESCRIPTION).set(bundle.getString("object-store.type"));
+            subsystem.get(ATTRIBUTES, OBJECT_STORE, VALUE_TYPE, STORE_TYPE, TYPE).set(ModelType.STRING);
+            subsystem.get(ATTRIBUTES, OBJECT_STORE, VALUE_TYPE, STORE_TYPE, REQUIRED).set(false);
+            subsystem.get(ATTRIBUTES, OBJECT_STORE, VALUE_TYPE, STORE_TYPE, DEFAULT).set(ObjectStoreType.DEFAULT.getName());
 
             return subsystem;
         }
@@ -216,6 +221,10 @@ class TransactionSubsystemProviders {
             op.get(REQUEST_PROPERTIES, OBJECT_STORE, VALUE_TYPE, PATH, DESCRIPTION).set(bundle.getString("object-store.path"));
             op.get(REQUEST_PROPERTIES, OBJECT_STORE, VALUE_TYPE, PATH, TYPE).set(ModelType.STRING);
             op.get(REQUEST_PROPERTIES, OBJECT_STORE, VALUE_TYPE, PATH, REQUIRED).set(false);
+            op.get(REQUEST_PROPERTIES, OBJECT_STORE, VALUE_TYPE, STORE_TYPE, DESCRIPTION).set(bundle.getString("object-store.type"));
+            op.get(REQUEST_PROPERTIES, OBJECT_STORE, VALUE_TYPE, STORE_TYPE, TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, OBJECT_STORE, VALUE_TYPE, STORE_TYPE, REQUIRED).set(false);
+            op.get(REQUEST_PROPERTIES, OBJECT_STORE, VALUE_TYPE, STORE_TYPE, DEFAULT).set(ObjectStoreType.DEFAULT.getName());
 
             op.get(REPLY_PROPERTIES).setEmptyObject();
 
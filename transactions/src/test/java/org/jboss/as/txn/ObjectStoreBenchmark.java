@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.transaction.TransactionManager;
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+import com.arjuna.ats.arjuna.common.ObjectStoreEnvironmentBean;
+import com.arjuna.common.internal.util.propertyservice.BeanPopulator;
+
+/**
+ * Measures two phase commit throughput against one of the {@link ObjectStoreType object store types}. Every
+ * transaction enlists two XA resources, so each commit writes and removes a transaction log record. The store
+ * implementation is fixed once the transaction manager has started, so compare store types by running the
+ * benchmark once per type, against the same disk. Not a unit test; run it directly:
+ *
+ * <pre>
+ * java org.jboss.as.txn.ObjectStoreBenchmark [default|hashed|log] [threads] [seconds] [directory]
+ * </pre>
+ */
+public class ObjectStoreBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final ObjectStoreType type = ObjectStoreType.forName(args.length > 0 ? args[0] : "default");
+        if (type == null) {
+            System.err.println("Unknown object store type " + args[0]);
+            System.exit(1);
+        }
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        final File directory = new File(args.length > 3 ? args[3] : System.getProperty("java.io.tmpdir"), "tx-benchmark-" + type.getName());
+
+        for (String name : new String[] { null, "default", "stateStore", "communicationStore" }) {
+            BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, name).setObjectStoreDir(directory.getAbsolutePath());
+        }
+        BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, "default").setObjectStoreType(type.getClassName());
+        final TransactionManager transactionManager = com.arjuna.ats.jta.TransactionManager.transactionManager();
+
+        System.out.printf("%s store in %s, %d threads, %d s%n", type, directory, threads, seconds);
+        // Warm up the store and the JIT before measuring
+        run(transactionManager, threads, Math.max(1, seconds / 5));
+        final long commits = run(transactionManager, threads, seconds);
+        System.out.printf("%.1f commits/s%n", commits / (double) seconds);
+    }
+
+    private static long run(final TransactionManager transactionManager, final int threads, final int seconds) throws Exception {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong commits = new AtomicLong();
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+                public void run() {
+                    long count = 0;
+                    try {
+                        while (running.get()) {
+                            transactionManager.begin();
+                            transactionManager.getTransaction().enlistResource(new NoopXAResource());
+                            transactionManager.getTransaction().enlistResource(new NoopXAResource());
+                            transactionManager.commit();
+                            count++;
+                        }
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    } finally {
+                        commits.addAndGet(count);
+                        done.countDown();
+                    }
+                }
+            }, "commit-" + t).start();
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        done.await();
+        return commits.get();
+    }
+
+    private static final class NoopXAResource implements XAResource {
+
+        public void commit(final Xid xid, final boolean onePhase) throws XAException {
+        }
+
+        public void end(final Xid xid, final int flags) throws XAException {
+        }
+
+        public void forget(final Xid xid) throws XAException {
+        }
+
+        public int getTransactionTimeout() throws XAException {
+            return 0;
+        }
+
+        public boolean isSameRM(final XAResource xaResource) throws XAException {
+            return false;
+        }
+
+        public int prepare(final Xid xid) throws XAException {
+            return XA_OK;
+        }
+
+        public Xid[] recover(final int flag) throws XAException {
+            return new Xid[0];
+        }
+
+        public void rollback(final Xid xid) throws XAException {
+        }
+
+        public boolean setTransactionTimeout(final int seconds) throws XAException {
+            return true;
+        }
+
+        public void start(final Xid xid, final int flags) throws XAException {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.txn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.arjuna.ats.arjuna.AtomicAction;
+import com.arjuna.ats.arjuna.common.arjPropertyManager;
+import com.arjuna.ats.arjuna.coordinator.TxStats;
+
+/**
+ * Tests reading the transaction statistics metrics through {@link TxStatsHandler}.
+ */
+public class TxStatsHandlerUnitTestCase {
+
+    @BeforeClass
+    public static void enableStatistics() {
+        arjPropertyManager.getCoordinatorEnvironmentBean().setEnableStatistics(true);
+    }
+
+    @Test
+    public void testCountersFollowTransactions() throws Exception {
+        final TxStats stats = TxStats.getInstance();
+        final long transactions = read(stats, TxStatsHandler.NUMBER_OF_TRANSACTIONS);
+        final long committed = read(stats, TxStatsHandler.NUMBER_OF_COMMITTED_TRANSACTIONS);
+        final long aborted = read(stats, TxStatsHandler.NUMBER_OF_ABORTED_TRANSACTIONS);
+
+        final AtomicAction commit = new AtomicAction();
+        commit.begin();
+        commit.commit();
+        final AtomicAction abort = new AtomicAction();
+        abort.begin();
+        abort.abort();
+
+        assertEquals(transactions + 2, read(stats, TxStatsHandler.NUMBER_OF_TRANSACTIONS));
+        assertEquals(committed + 1, read(stats, TxStatsHandler.NUMBER_OF_COMMITTED_TRANSACTIONS));
+        assertEquals(aborted + 1, read(stats, TxStatsHandler.NUMBER_OF_ABORTED_TRANSACTIONS));
+        assertEquals(0, read(stats, TxStatsHandler.NUMBER_OF_INFLIGHT_TRANSACTIONS));
+    }
+
+    @Test
+    public void testAllMetricsReadable() throws Exception {
+        for (String attributeName : TxStatsHandler.ATTRIBUTES) {
+            final ModelNode result = new ModelNode();
+            TxStatsHandler.readStatistic(TxStats.getInstance(), attributeName, result);
+            assertTrue(attributeName, result.isDefined());
+        }
+    }
+
+    @Test
+    public void testUnknownMetric() throws Exception {
+        try {
+            TxStatsHandler.readStatistic(TxStats.getInstance(), "average-commit-time", new ModelNode());
+            fail("Expected failure");
+        } catch (OperationFailedException expected) {
+        }
+    }
+
+    private static long read(final TxStats stats, final String attributeName) throws OperationFailedException {
+        final ModelNode result = new ModelNode();
+        TxStatsHandler.readStatistic(stats, attributeName, result);
+        return result.asLong();
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.Pipeline;
+import org.apache.catalina.Valve;
+import org.jboss.logging.Logger;
+
+/**
+ * Hands formatted access log entries from the request threads to a single writer thread.
+ * <p>
+ * Entries are queued in a bounded, lock free ring buffer. The writer thread drains the buffer in batches and passes
+ * each batch to its {@link Target} as one string, so the log file is written and its lock taken once per batch
+ * rather than once per request. When the buffer is full new entries are dropped and counted rather than blocking
+ * the request thread.
+ * </p>
+ */
+final class AsyncAccessLog {
+
+    /**
+     * The destination of the batched entries.
+     */
+    interface Target {
+
+        /**
+         * Write a batch of entries, separated by line separators and without a trailing one.
+         *
+         * @param batch the entries
+         */
+        void write(String batch);
+
+        /**
+         * Get the queue feeding this target.
+         *
+         * @return the queue
+         */
+        AsyncAccessLog getAccessLog();
+    }
+
+    static final int DEFAULT_QUEUE_SIZE = 8192;
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.web");
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Target target;
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Only written by the writer thread
+    private volatile long head;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    private volatile Thread writer;
+    private volatile boolean running;
+    private volatile boolean idle;
+
+    AsyncAccessLog(final Target target, final int queueSize) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queueSize must be positive");
+        }
+        int capacity = Integer.highestOneBit(queueSize);
+        if (capacity < queueSize) {
+            capacity <<= 1;
+        }
+        this.target = target;
+        this.slots = new AtomicReferenceArray<String>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Queue an entry.
+     *
+     * @param entry the formatted entry
+     * @return {@code true} if the entry was queued, {@code false} if it was dropped because the queue is full or
+     *         the writer is not running
+     */
+    boolean offer(final String entry) {
+        if (!running) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        final int capacity = mask + 1;
+        for (;;) {
+            final long t = tail.get();
+            final long depth = t - head;
+            if (depth >= capacity) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.set((int) (t & mask), entry);
+                if (idle && depth >= capacity >> 1) {
+                    LockSupport.unpark(writer);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Start the writer thread.
+     *
+     * @param name the name of the thread
+     */
+    synchronized void start(final String name) {
+        if (running) {
+            return;
+        }
+        running = true;
+        final Thread thread = new Thread(new Runnable() {
+            public void run() {
+                drainLoop();
+            }
+        }, name);
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop the writer thread after it has written the entries still queued.
+     */
+    synchronized void stop() {
+        final Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        boolean intr = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            intr = true;
+        } finally {
+            writer = null;
+            if (intr) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    int getQueueSize() {
+        return mask + 1;
+    }
+
+    long getQueuedCount() {
+        return tail.get() - head;
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    long getBatchCount() {
+        return batchCount.get();
+    }
+
+    private void drainLoop() {
+        final StringBuilder batch = new StringBuilder(MAX_BATCH * 128);
+        for (;;) {
+            final int drained = drain(batch);
+            if (drained > 0) {
+                try {
+                    target.write(batch.toString());
+                } catch (Throwable t) {
+                    log.errorf(t, "Failed to write %d access log entries", drained);
+                }
+                writtenCount.addAndGet(drained);
+                batchCount.incrementAndGet();
+                batch.setLength(0);
+            } else if (!running && tail.get() == head) {
+                return;
+            } else {
+                idle = true;
+                if (tail.get() == head) {
+                    LockSupport.parkNanos(this, IDLE_WAIT);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    private int drain(final StringBuilder batch) {
+        long h = head;
+        int count = 0;
+        while (count < MAX_BATCH) {
+            final int index = (int) (h & mask);
+            final String entry = slots.get(index);
+            if (entry == null) {
+                // Empty, or claimed by a producer which has not stored its entry yet
+                break;
+            }
+            slots.lazySet(index, null);
+            if (count > 0) {
+                batch.append(LINE_SEPARATOR);
+            }
+            batch.append(entry);
+            h++;
+            count++;
+        }
+        head = h;
+        return count;
+    }
+
+    /**
+     * Find the asynchronous access log of a container.
+     *
+     * @param container the container
+     * @return the access log, or {@code null} if the container does not log asynchronously
+     */
+    static AsyncAccessLog find(final Container container) {
+        final Pipeline pipeline = container.getPipeline();
+        if (pipeline != null) {
+            for (Valve valve : pipeline.getValves()) {
+                if (valve instanceof Target) {
+                    return ((Target) valve).getAccessLog();
+                }
+            }
+        }
+        return null;
+    }
+}
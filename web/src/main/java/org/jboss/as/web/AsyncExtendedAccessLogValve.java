@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.valves.ExtendedAccessLogValve;
+
+/**
+ * An {@code ExtendedAccessLogValve} which formats entries on the request thread and leaves writing them to an
+ * {@link AsyncAccessLog}.
+ */
+public class AsyncExtendedAccessLogValve extends ExtendedAccessLogValve implements AsyncAccessLog.Target {
+
+    private final AsyncAccessLog accessLog;
+
+    public AsyncExtendedAccessLogValve(final int queueSize) {
+        accessLog = new AsyncAccessLog(this, queueSize);
+    }
+
+    @Override
+    public void log(final String message) {
+        accessLog.offer(message);
+    }
+
+    /** {@inheritDoc} */
+    public void write(final String batch) {
+        super.log(batch);
+    }
+
+    /** {@inheritDoc} */
+    public AsyncAccessLog getAccessLog() {
+        return accessLog;
+    }
+
+    @Override
+    public void start() throws LifecycleException {
+        super.start();
+        accessLog.start("Access log writer for " + getContainer().getName());
+    }
+
+    @Override
+    public void stop() throws LifecycleException {
+        accessLog.stop();
+        super.stop();
+    }
+}
@@ -31,12 +31,16 @@ import java.util.Map;
 enum Attribute {
     UNKNOWN(null),
 
+    ASYNC(Constants.ASYNC),
     CA_CERTIFICATE_FILE(Constants.CA_CERTIFICATE_FILE),
     CA_REVOCATION_URL(Constants.CA_REVOCATION_URL),
+    CACHE_MAX_FILE_SIZE(Constants.CACHE_MAX_FILE_SIZE),
+    CACHE_MAX_SIZE(Constants.CACHE_MAX_SIZE),
     CERTIFICATE_FILE(Constants.CERTIFICATE_FILE),
     CERTIFICATE_KEY_FILE(Constants.CERTIFICATE_KEY_FILE),
     CHECK_INTERVAL(Constants.CHECK_INTERVAL),
     CIPHER_SUITE(Constants.CIPHER_SUITE),
+    COMPRESSION(Constants.COMPRESSION),
     DEFAULT_VIRTUAL_SERVER(Constants.DEFAULT_VIRTUAL_SERVER),
     DEFAULT_WEB_MODULE(Constants.DEFAULT_WEB_MODULE),
     DEVELOPMENT(Constants.DEVELOPMENT),
@@ -70,6 +74,7 @@ enum Attribute {
     PROTOCOL(Constants.PROTOCOL),
     PROXY_NAME(Constants.PROXY_NAME),
     PROXY_PORT(Constants.PROXY_PORT),
+    QUEUE_SIZE(Constants.QUEUE_SIZE),
     READ_ONLY(Constants.READ_ONLY),
     REDIRECT_PORT(Constants.REDIRECT_PORT),
     RECOMPILE_ON_FAIL(Constants.RECOMPILE_ON_FAIL),
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.servlets.DefaultServlet;
+import org.jboss.logging.Logger;
+
+/**
+ * A {@code DefaultServlet} serving small static files from a {@link StaticResourceCache}.
+ * <p>
+ * Only plain {@code GET} and {@code HEAD} requests are answered from the cache; includes, range requests and
+ * requests carrying {@code If-Match} or {@code If-Unmodified-Since} are passed to the default servlet unchanged, as
+ * are directories and files too large to be cached. Since this is the servlet itself, security constraints and
+ * filters apply as usual.
+ * </p>
+ */
+public class CachingDefaultServlet extends DefaultServlet {
+
+    private static final long serialVersionUID = -4204546727839346707L;
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.web");
+
+    static final String CACHE_MAX_SIZE = "cache-max-size";
+    static final String CACHE_MAX_FILE_SIZE = "cache-max-file-size";
+    static final String COMPRESSION = "compression";
+
+    /** The servlet context attribute under which the cache is published for the management metrics. */
+    static final String CACHE_ATTRIBUTE = StaticResourceCache.class.getName();
+
+    private static final String INCLUDE_REQUEST_URI = "javax.servlet.include.request_uri";
+
+    private transient StaticResourceCache cache;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        final long maxSize = getLongParameter(CACHE_MAX_SIZE, 0);
+        final String docBase = getServletContext().getRealPath("/");
+        if (maxSize <= 0 || docBase == null) {
+            return;
+        }
+        final long maxFileSize = getLongParameter(CACHE_MAX_FILE_SIZE, StaticResourceCache.DEFAULT_MAX_FILE_SIZE);
+        final boolean compression = Boolean.parseBoolean(getServletConfig().getInitParameter(COMPRESSION));
+        try {
+            cache = new StaticResourceCache(new File(docBase), maxSize, maxFileSize, compression);
+        } catch (IOException e) {
+            log.warnf(e, "Static resource cache disabled for %s", getServletContext().getContextPath());
+            return;
+        }
+        getServletContext().setAttribute(CACHE_ATTRIBUTE, cache);
+    }
+
+    @Override
+    public void destroy() {
+        final StaticResourceCache cache = this.cache;
+        if (cache != null) {
+            this.cache = null;
+            getServletContext().removeAttribute(CACHE_ATTRIBUTE);
+            cache.clear();
+        }
+        super.destroy();
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws IOException, ServletException {
+        if (!serveCached(request, response, true)) {
+            super.doGet(request, response);
+        }
+    }
+
+    @Override
+    protected void doHead(final HttpServletRequest request, final HttpServletResponse response) throws IOException, ServletException {
+        if (!serveCached(request, response, false)) {
+            super.doHead(request, response);
+        }
+    }
+
+    private boolean serveCached(final HttpServletRequest request, final HttpServletResponse response, final boolean content) throws IOException {
+        final StaticResourceCache cache = this.cache;
+        if (cache == null
+                || request.getAttribute(INCLUDE_REQUEST_URI) != null
+                || request.getHeader("Range") != null
+                || request.getHeader("If-Match") != null
+                || request.getHeader("If-Unmodified-Since") != null) {
+            return false;
+        }
+        final String path = getPath(request);
+        final String contentType = getServletContext().getMimeType(path);
+        final StaticResourceCache.Entry entry = cache.get(path, contentType);
+        if (entry == null) {
+            return false;
+        }
+        final byte[] compressed = entry.getCompressed();
+        final boolean gzip = compressed != null && acceptsGzip(request);
+        final byte[] body = gzip ? compressed : entry.getContent();
+
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("ETag", gzip ? entry.getCompressedETag() : entry.getETag());
+        response.setDateHeader("Last-Modified", entry.getLastModified());
+        if (compressed != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        if (isNotModified(request, entry)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            cache.recordNotModified(body.length);
+            return true;
+        }
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        response.setContentLength(body.length);
+        if (content) {
+            response.getOutputStream().write(body);
+            cache.recordServed(body.length, gzip ? entry.getContent().length - body.length : 0);
+        }
+        return true;
+    }
+
+    private static String getPath(final HttpServletRequest request) {
+        final String pathInfo = request.getPathInfo();
+        final String servletPath = request.getServletPath();
+        if (pathInfo == null) {
+            return servletPath;
+        }
+        return servletPath == null ? pathInfo : servletPath + pathInfo;
+    }
+
+    private static boolean isNotModified(final HttpServletRequest request, final StaticResourceCache.Entry entry) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            if ("*".equals(ifNoneMatch.trim())) {
+                return true;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.equals(entry.getETag()) || tag.equals(entry.getCompressedETag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // HTTP dates have a resolution of one second
+        return ifModifiedSince != -1 && entry.getLastModified() < ifModifiedSince + 1000;
+    }
+
+    static boolean acceptsGzip(final HttpServletRequest request) {
+        final Enumeration<?> headers = request.getHeaders("Accept-Encoding");
+        while (headers.hasMoreElements()) {
+            for (String coding : ((String) headers.nextElement()).split(",")) {
+                coding = coding.trim();
+                final int semicolon = coding.indexOf(';');
+                final String name = semicolon == -1 ? coding : coding.substring(0, semicolon).trim();
+                if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                    return semicolon == -1 || !isZeroQuality(coding.substring(semicolon + 1));
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(final String parameters) {
+        for (String parameter : parameters.split(";")) {
+            parameter = parameter.trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim()) == 0.0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long getLongParameter(final String name, final long defaultValue) throws ServletException {
+        final String value = getServletConfig().getInitParameter(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServletException("Invalid value for " + name + ": " + value);
+        }
+    }
+}
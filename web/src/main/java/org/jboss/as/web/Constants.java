@@ -29,12 +29,16 @@ interface Constants {
 
     String ACCESS_LOG = "access-log";
     String ALIAS = "alias";
+    String ASYNC = "async";
     String CA_CERTIFICATE_FILE = "ca-certificate-file";
     String CA_REVOCATION_URL = "ca-revocation-url";
+    String CACHE_MAX_FILE_SIZE = "cache-max-file-size";
+    String CACHE_MAX_SIZE = "cache-max-size";
     String CERTIFICATE_FILE = "certificate-file";
     String CERTIFICATE_KEY_FILE = "certificate-key-file";
     String CHECK_INTERVAL = "check-interval";
     String CIPHER_SUITE = "cipher-suite";
+    String COMPRESSION = "compression";
     String CONDITION = "condition";
     String CONNECTOR = "connector";
     String CONTAINER_CONFIG = "configuration";
@@ -74,6 +78,7 @@ interface Constants {
     String PROTOCOL = "protocol";
     String PROXY_NAME = "proxy-name";
     String PROXY_PORT = "proxy-port";
+    String QUEUE_SIZE = "queue-size";
     String READ_ONLY = "read-only";
     String RECOMPILE_ON_FAIL = "recompile-on-fail";
     String REDIRECT_PORT = "redirect-por";
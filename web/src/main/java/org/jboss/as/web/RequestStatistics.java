@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Request timing statistics for a web context or a single servlet.
+ */
+public final class RequestStatistics {
+
+    static final String REQUEST_COUNT = "request-count";
+    static final String ERROR_COUNT = "error-count";
+    static final String IN_FLIGHT = "in-flight";
+    static final String THROUGHPUT = "throughput";
+    static final String AVERAGE_TIME = "average-time";
+    static final String MAX_TIME = "max-time";
+    static final String P50_TIME = "p50-time";
+    static final String P99_TIME = "p99-time";
+    static final String P999_TIME = "p999-time";
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong errorCount = new AtomicLong();
+    private volatile long since = System.currentTimeMillis();
+
+    /**
+     * Record the start of a request.
+     */
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Record the end of a request.
+     *
+     * @param nanos the time the request took in nanoseconds
+     * @param error {@code true} if the request failed
+     */
+    public void requestCompleted(final long nanos, final boolean error) {
+        inFlight.decrementAndGet();
+        histogram.record(nanos, TimeUnit.NANOSECONDS);
+        if (error) {
+            errorCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of requests currently being processed.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the number of failed requests.
+     *
+     * @return the error count
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * Get the latency histogram.
+     *
+     * @return the histogram
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Get the average number of requests completed per second since the statistics were last reset.
+     *
+     * @return the throughput
+     */
+    public double getThroughput() {
+        final long elapsed = System.currentTimeMillis() - since;
+        return elapsed <= 0 ? 0.0 : histogram.getCount() * 1000.0 / elapsed;
+    }
+
+    /**
+     * Discard the collected statistics. Requests in flight are still tracked.
+     */
+    public void reset() {
+        histogram.reset();
+        errorCount.set(0);
+        since = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the statistics as a model node. Times are in microseconds.
+     *
+     * @return the model node
+     */
+    public ModelNode toModelNode() {
+        final ModelNode node = new ModelNode();
+        node.get(REQUEST_COUNT).set(histogram.getCount());
+        node.get(ERROR_COUNT).set(errorCount.get());
+        node.get(IN_FLIGHT).set(inFlight.get());
+        node.get(THROUGHPUT).set(getThroughput());
+        node.get(AVERAGE_TIME).set(histogram.getMean());
+        node.get(MAX_TIME).set(histogram.getMax());
+        node.get(P50_TIME).set(histogram.getValueAtPercentile(50.0));
+        node.get(P99_TIME).set(histogram.getValueAtPercentile(99.0));
+        node.get(P999_TIME).set(histogram.getValueAtPercentile(99.9));
+        return node;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.Pipeline;
+import org.apache.catalina.Valve;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+/**
+ * Web valve recording the latency of the requests processed by a context, both for the context as a whole and for
+ * each servlet. The valve is installed first in the context pipeline, so the time spent in the host pipeline (access
+ * logging, rewriting) is not included. For asynchronous requests only the initial dispatch is timed.
+ */
+public class RequestTimingValve extends ValveBase {
+
+    private final RequestStatistics statistics = new RequestStatistics();
+    private final ConcurrentMap<String, RequestStatistics> servletStatistics = new ConcurrentHashMap<String, RequestStatistics>();
+
+    @Override
+    public void invoke(final Request request, final Response response) throws IOException, ServletException {
+        final Wrapper wrapper = request.getWrapper();
+        final RequestStatistics servlet = wrapper == null ? null : getServletStatistics(wrapper.getName());
+        statistics.requestStarted();
+        if (servlet != null) {
+            servlet.requestStarted();
+        }
+        final long start = System.nanoTime();
+        boolean error = true;
+        try {
+            getNext().invoke(request, response);
+            error = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            statistics.requestCompleted(elapsed, error);
+            if (servlet != null) {
+                servlet.requestCompleted(elapsed, error);
+            }
+        }
+    }
+
+    /**
+     * Get the statistics for the whole context.
+     *
+     * @return the context statistics
+     */
+    public RequestStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Get the statistics of the servlets which have processed requests, keyed by servlet name.
+     *
+     * @return the servlet statistics
+     */
+    public Map<String, RequestStatistics> getServletStatistics() {
+        return servletStatistics;
+    }
+
+    /**
+     * Discard the statistics collected for the context and its servlets.
+     */
+    public void reset() {
+        statistics.reset();
+        for (RequestStatistics servlet : servletStatistics.values()) {
+            servlet.reset();
+        }
+    }
+
+    private RequestStatistics getServletStatistics(final String name) {
+        RequestStatistics servlet = servletStatistics.get(name);
+        if (servlet == null) {
+            final RequestStatistics created = new RequestStatistics();
+            servlet = servletStatistics.putIfAbsent(name, created);
+            if (servlet == null) {
+                servlet = created;
+            }
+        }
+        return servlet;
+    }
+
+    /**
+     * Find the timing valve installed in a container.
+     *
+     * @param container the container
+     * @return the valve, or {@code null} if the container is not timed
+     */
+    public static RequestTimingValve find(final Container container) {
+        final Pipeline pipeline = container.getPipeline();
+        if (pipeline != null) {
+            for (Valve valve : pipeline.getValves()) {
+                if (valve instanceof RequestTimingValve) {
+                    return (RequestTimingValve) valve;
+                }
+            }
+        }
+        return null;
+    }
+}
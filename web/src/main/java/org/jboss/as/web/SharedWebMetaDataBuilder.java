@@ -115,8 +115,11 @@ class SharedWebMetaDataBuilder {
         final ServletMetaData servlet = new ServletMetaData();
         servlet.setName("DefaultServlet");
         servlet.setLoadOnStartup("" + 1);
+        final boolean cached = resourcesConfig.has(CACHE_MAX_SIZE) && resourcesConfig.get(CACHE_MAX_SIZE).asLong() > 0;
         if (resourcesConfig.has(WEBDAV) && resourcesConfig.get(WEBDAV).asBoolean()) {
             servlet.setServletClass("org.apache.catalina.servlets.WebdavServlet");
+        } else if (cached) {
+            servlet.setServletClass(CachingDefaultServlet.class.getName());
         } else {
             servlet.setServletClass("org.apache.catalina.servlets.DefaultServlet");
         }
@@ -148,6 +151,15 @@ class SharedWebMetaDataBuilder {
         } else {
             initParams.add(createParameter("max-depth", "3"));
         }
+        if (cached) {
+            initParams.add(createParameter(CachingDefaultServlet.CACHE_MAX_SIZE, resourcesConfig.get(CACHE_MAX_SIZE).asString()));
+            if (resourcesConfig.has(CACHE_MAX_FILE_SIZE)) {
+                initParams.add(createParameter(CachingDefaultServlet.CACHE_MAX_FILE_SIZE, resourcesConfig.get(CACHE_MAX_FILE_SIZE).asString()));
+            }
+            if (resourcesConfig.has(COMPRESSION)) {
+                initParams.add(createParameter(CachingDefaultServlet.COMPRESSION, resourcesConfig.get(COMPRESSION).asString()));
+            }
+        }
         servlet.setInitParam(initParams);
         metadata.getServlets().add(servlet);
         addServletMapping("DefaultServlet", metadata, "/");
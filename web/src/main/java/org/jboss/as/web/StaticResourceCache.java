@@ -0,0 +1,356 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A bounded, size aware cache of the static files of a web application.
+ * <p>
+ * Files up to the configured maximum file size are held in memory, optionally together with a gzip compressed copy
+ * for compressible content types. Cached files are checked against the file system at most every
+ * {@link #REVALIDATE_INTERVAL} milliseconds, the same period the web container uses for its own resource cache. When
+ * the cache grows beyond its maximum size the least recently used entries are evicted.
+ * </p>
+ * <p>
+ * Only regular files whose canonical path lies below the document root and matches the requested path are cached,
+ * so links and case-insensitive matches are left to the default servlet, which applies its own rules to them.
+ * </p>
+ */
+final class StaticResourceCache {
+
+    static final long REVALIDATE_INTERVAL = 5000;
+    static final long DEFAULT_MAX_FILE_SIZE = 49152;
+    /** Content smaller than this is not worth compressing. */
+    private static final int MIN_COMPRESS_SIZE = 256;
+
+    private final File root;
+    private final String rootPath;
+    private final long maxSize;
+    private final long maxFileSize;
+    private final boolean compression;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final AtomicLong size = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    StaticResourceCache(final File root, final long maxSize, final long maxFileSize, final boolean compression) throws IOException {
+        this.root = root.getCanonicalFile();
+        this.rootPath = this.root.getPath();
+        this.maxSize = maxSize;
+        this.maxFileSize = Math.min(maxFileSize, maxSize);
+        this.compression = compression;
+    }
+
+    /**
+     * Get the cache entry for a resource, loading it if needed.
+     *
+     * @param path the path of the resource, relative to the document root and starting with {@code /}
+     * @param contentType the content type of the resource, or {@code null} if unknown
+     * @return the entry, or {@code null} if the resource does not exist or cannot be cached
+     * @throws IOException if reading the resource fails
+     */
+    Entry get(final String path, final String contentType) throws IOException {
+        final long now = System.currentTimeMillis();
+        Entry entry = entries.get(path);
+        if (entry != null) {
+            if (now - entry.checked >= REVALIDATE_INTERVAL) {
+                final File file = entry.file;
+                if (file.lastModified() != entry.lastModified || file.length() != entry.length) {
+                    remove(path, entry);
+                    entry = null;
+                } else {
+                    entry.checked = now;
+                }
+            }
+            if (entry != null) {
+                entry.lastAccess = now;
+                hitCount.incrementAndGet();
+                return entry;
+            }
+        }
+        missCount.incrementAndGet();
+        final File file = resolve(path);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        if (length > maxFileSize) {
+            return null;
+        }
+        final byte[] content = read(file, length);
+        if (content == null) {
+            return null;
+        }
+        byte[] compressed = null;
+        if (compression && content.length >= MIN_COMPRESS_SIZE && isCompressible(contentType)) {
+            compressed = compress(content);
+            if (compressed.length >= content.length) {
+                compressed = null;
+            }
+        }
+        entry = new Entry(file, lastModified, content, compressed, now);
+        final Entry existing = entries.putIfAbsent(path, entry);
+        if (existing != null) {
+            return existing;
+        }
+        if (size.addAndGet(entry.size) > maxSize) {
+            evict();
+        }
+        return entry;
+    }
+
+    /**
+     * Record a response served from the cache.
+     *
+     * @param sent the number of bytes sent
+     * @param saved the number of bytes not sent thanks to compression
+     */
+    void recordServed(final long sent, final long saved) {
+        bytesServed.addAndGet(sent);
+        if (saved > 0) {
+            bytesSaved.addAndGet(saved);
+        }
+    }
+
+    /**
+     * Record a conditional request answered with {@code 304 Not Modified}.
+     *
+     * @param saved the number of bytes which did not need to be sent
+     */
+    void recordNotModified(final long saved) {
+        notModifiedCount.incrementAndGet();
+        bytesSaved.addAndGet(saved);
+    }
+
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    long getBytesServed() {
+        return bytesServed.get();
+    }
+
+    long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    int getEntryCount() {
+        return entries.size();
+    }
+
+    long getSize() {
+        return size.get();
+    }
+
+    long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Drop all cached entries.
+     */
+    void clear() {
+        final Iterator<Map.Entry<String, Entry>> i = entries.entrySet().iterator();
+        while (i.hasNext()) {
+            final Map.Entry<String, Entry> mapEntry = i.next();
+            remove(mapEntry.getKey(), mapEntry.getValue());
+        }
+    }
+
+    static boolean isCompressible(final String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        return contentType.startsWith("text/")
+                || contentType.startsWith("application/javascript")
+                || contentType.startsWith("application/x-javascript")
+                || contentType.startsWith("application/json")
+                || contentType.startsWith("application/xml")
+                || contentType.startsWith("application/xhtml+xml")
+                || contentType.startsWith("image/svg+xml");
+    }
+
+    private File resolve(final String path) throws IOException {
+        if (path == null || path.length() < 2 || path.charAt(0) != '/' || path.indexOf('\\') >= 0 || path.indexOf('\0') >= 0) {
+            return null;
+        }
+        final String upper = path.toUpperCase();
+        if (upper.startsWith("/WEB-INF") || upper.startsWith("/META-INF")) {
+            return null;
+        }
+        final File file = new File(root, path.substring(1));
+        // Rejects "..", links and case-insensitive matches
+        final String canonical = file.getCanonicalPath();
+        if (!canonical.equals(file.getAbsolutePath()) || !canonical.startsWith(rootPath + File.separator)) {
+            return null;
+        }
+        return file;
+    }
+
+    private boolean remove(final String path, final Entry entry) {
+        if (entries.remove(path, entry)) {
+            size.addAndGet(-entry.size);
+            return true;
+        }
+        return false;
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            while (size.get() > maxSize) {
+                String oldestPath = null;
+                Entry oldest = null;
+                for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                    final Entry candidate = mapEntry.getValue();
+                    if (oldest == null || candidate.lastAccess < oldest.lastAccess) {
+                        oldestPath = mapEntry.getKey();
+                        oldest = candidate;
+                    }
+                }
+                if (oldest == null) {
+                    return;
+                }
+                if (remove(oldestPath, oldest)) {
+                    evictionCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static byte[] read(final File file, final long length) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream((int) length);
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                if (out.size() > length) {
+                    // Changed while reading; let the default servlet handle it this time
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            safeClose(in);
+        }
+    }
+
+    private static byte[] compress(final byte[] content) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        final GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(content);
+        gzip.close();
+        return out.toByteArray();
+    }
+
+    private static void safeClose(final InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            //
+        }
+    }
+
+    /**
+     * A cached file.
+     */
+    static final class Entry {
+
+        private final File file;
+        private final long lastModified;
+        private final long length;
+        private final byte[] content;
+        private final byte[] compressed;
+        private final String etag;
+        private final String compressedETag;
+        private final long size;
+        private volatile long checked;
+        private volatile long lastAccess;
+
+        Entry(final File file, final long lastModified, final byte[] content, final byte[] compressed, final long now) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = content.length;
+            this.content = content;
+            this.compressed = compressed;
+            // Same format as the default servlet, so that validators survive the cache being enabled or disabled
+            this.etag = "W/\"" + length + "-" + lastModified + "\"";
+            this.compressedETag = "W/\"" + length + "-" + lastModified + "-gzip\"";
+            this.size = content.length + (compressed == null ? 0 : compressed.length);
+            this.checked = now;
+            this.lastAccess = now;
+        }
+
+        long getLastModified() {
+            return lastModified;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+
+        byte[] getCompressed() {
+            return compressed;
+        }
+
+        String getETag() {
+            return etag;
+        }
+
+        String getCompressedETag() {
+            return compressedETag;
+        }
+    }
+}
@@ -53,11 +53,13 @@ import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.server.services.net.SocketBinding;
+import org.jboss.as.threads.ThreadsServices;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceController.Mode;
 
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 /**
  * {@code OperationHandler} responsible for adding a web connector.
@@ -150,6 +152,9 @@ class WebConnectorAdd implements ModelAddOperationHandler, DescriptionProvider {
                             .addDependency(WebSubsystemServices.JBOSS_WEB, WebServer.class, service.getServer())
                             .addDependency(SocketBinding.JBOSS_BINDING_NAME.append(bindingRef), SocketBinding.class, service.getBinding())
                             .setInitialMode(enabled ? Mode.ACTIVE : Mode.NEVER);
+                    if (operation.hasDefined(EXECUTOR)) {
+                        serviceBuilder.addDependency(ThreadsServices.executorName(operation.get(EXECUTOR).asString()), Executor.class, service.getExecutor());
+                    }
                     serviceBuilder.install();
                     resultHandler.handleResultComplete();
                 }
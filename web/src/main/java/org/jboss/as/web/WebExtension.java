@@ -69,6 +69,10 @@ public class WebExtension implements Extension {
         final ModelNodeRegistration hosts = registration.registerSubModel(hostPath, WebSubsystemDescriptionProviders.VIRTUAL_SERVER);
         hosts.registerOperationHandler(ADD, WebVirtualHostAdd.INSTANCE, WebVirtualHostAdd.INSTANCE, false);
         hosts.registerOperationHandler(REMOVE, WebVirtualHostRemove.INSTANCE, WebVirtualHostRemove.INSTANCE, false);
+        hosts.registerOperationHandler(WebVirtualHostResetStatistics.OPERATION_NAME, WebVirtualHostResetStatistics.INSTANCE, WebVirtualHostResetStatistics.INSTANCE, false);
+        for(final String attributeName : WebVirtualHostMetrics.ATTRIBUTES) {
+            hosts.registerMetric(attributeName, WebVirtualHostMetrics.INSTANCE);
+        }
     }
 
     /** {@inheritDoc} */
@@ -191,6 +191,18 @@ class WebSubsystemDescriptions {
         node.get(type, Constants.DISABLED, DESCRIPTION).set(bundle.getString("web.configuration.static.disabled"));
         node.get(type, Constants.DISABLED, REQUIRED).set(false);
 
+        node.get(type, Constants.CACHE_MAX_SIZE, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.CACHE_MAX_SIZE, DESCRIPTION).set(bundle.getString("web.configuration.static.cache-max-size"));
+        node.get(type, Constants.CACHE_MAX_SIZE, REQUIRED).set(false);
+
+        node.get(type, Constants.CACHE_MAX_FILE_SIZE, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.CACHE_MAX_FILE_SIZE, DESCRIPTION).set(bundle.getString("web.configuration.static.cache-max-file-size"));
+        node.get(type, Constants.CACHE_MAX_FILE_SIZE, REQUIRED).set(false);
+
+        node.get(type, Constants.COMPRESSION, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.COMPRESSION, DESCRIPTION).set(bundle.getString("web.configuration.static.compression"));
+        node.get(type, Constants.COMPRESSION, REQUIRED).set(false);
+
         return node;
     }
 
@@ -489,6 +501,14 @@ class WebSubsystemDescriptions {
         node.get(type, Constants.ROTATE, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.rotate"));
         node.get(type, Constants.ROTATE, REQUIRED).set(false);
 
+        node.get(type, Constants.ASYNC, TYPE).set(ModelType.BOOLEAN);
+        node.get(type, Constants.ASYNC, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.async"));
+        node.get(type, Constants.ASYNC, REQUIRED).set(false);
+
+        node.get(type, Constants.QUEUE_SIZE, TYPE).set(ModelType.INT);
+        node.get(type, Constants.QUEUE_SIZE, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.queue-size"));
+        node.get(type, Constants.QUEUE_SIZE, REQUIRED).set(false);
+
         node.get(type, Constants.DIRECTORY, TYPE).set(ModelType.OBJECT);
         node.get(type, Constants.DIRECTORY, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.directory"));
         node.get(type, Constants.DIRECTORY, REQUIRED).set(false);
@@ -562,6 +582,20 @@ class WebSubsystemDescriptions {
         return node;
     }
 
+    static ModelNode getVirtualServerResetStatistics(final Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode node = new ModelNode();
+        node.get(OPERATION_NAME).set(WebVirtualHostResetStatistics.OPERATION_NAME);
+        node.get(DESCRIPTION).set(bundle.getString("web.virtual-server.reset-statistics"));
+
+        node.get(REQUEST_PROPERTIES, WebVirtualHostResetStatistics.CONTEXT, TYPE).set(ModelType.STRING);
+        node.get(REQUEST_PROPERTIES, WebVirtualHostResetStatistics.CONTEXT, DESCRIPTION).set(bundle.getString("web.virtual-server.reset-statistics.context"));
+        node.get(REQUEST_PROPERTIES, WebVirtualHostResetStatistics.CONTEXT, REQUIRED).set(false);
+
+        return node;
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
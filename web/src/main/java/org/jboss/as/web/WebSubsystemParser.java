@@ -34,6 +34,7 @@ import static org.jboss.as.controller.parsing.ParseUtils.requireNoNamespaceAttri
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedAttribute;
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
 import static org.jboss.as.web.Constants.ACCESS_LOG;
+import static org.jboss.as.web.Constants.ASYNC;
 import static org.jboss.as.web.Constants.ALIAS;
 import static org.jboss.as.web.Constants.CA_CERTIFICATE_FILE;
 import static org.jboss.as.web.Constants.CA_REVOCATION_URL;
@@ -50,6 +51,9 @@ import static org.jboss.as.web.Constants.ENABLED;
 import static org.jboss.as.web.Constants.ENABLE_LOOKUPS;
 import static org.jboss.as.web.Constants.EXECUTOR;
 import static org.jboss.as.web.Constants.EXTENDED;
+import static org.jboss.as.web.Constants.CACHE_MAX_FILE_SIZE;
+import static org.jboss.as.web.Constants.CACHE_MAX_SIZE;
+import static org.jboss.as.web.Constants.COMPRESSION;
 import static org.jboss.as.web.Constants.FILE_ENCONDING;
 import static org.jboss.as.web.Constants.FLAGS;
 import static org.jboss.as.web.Constants.JSP_CONFIGURATION;
@@ -68,6 +72,7 @@ import static org.jboss.as.web.Constants.PREFIX;
 import static org.jboss.as.web.Constants.PROTOCOL;
 import static org.jboss.as.web.Constants.PROXY_NAME;
 import static org.jboss.as.web.Constants.PROXY_PORT;
+import static org.jboss.as.web.Constants.QUEUE_SIZE;
 import static org.jboss.as.web.Constants.READ_ONLY;
 import static org.jboss.as.web.Constants.REDIRECT_PORT;
 import static org.jboss.as.web.Constants.RELATIVE_TO;
@@ -195,11 +200,13 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
                         writeAttribute(writer, Attribute.PATH.getLocalName(), accessLog);
                         writeAttribute(writer, Attribute.RELATIVE_TO.getLocalName(), accessLog);
                     }
-                    writeAttribute(writer, Attribute.PATTERN.getLocalName(), config);
-                    writeAttribute(writer, Attribute.RESOLVE_HOSTS.getLocalName(), config);
-                    writeAttribute(writer, Attribute.EXTENDED.getLocalName(), config);
-                    writeAttribute(writer, Attribute.PREFIX.getLocalName(), config);
-                    writeAttribute(writer, Attribute.ROTATE.getLocalName(), config);
+                    writeAttribute(writer, Attribute.PATTERN.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.RESOLVE_HOSTS.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.EXTENDED.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.PREFIX.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.ROTATE.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.ASYNC.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.QUEUE_SIZE.getLocalName(), accessLog);
                     writer.writeEndElement();
                 }
                 if (config.hasDefined(REWRITE)) {
@@ -262,6 +269,9 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
         writeAttribute(writer, Attribute.SECRET.getLocalName(), config);
         writeAttribute(writer, Attribute.MAX_DEPTH.getLocalName(), config);
         writeAttribute(writer, Attribute.DISABLED.getLocalName(), config);
+        writeAttribute(writer, Attribute.CACHE_MAX_SIZE.getLocalName(), config);
+        writeAttribute(writer, Attribute.CACHE_MAX_FILE_SIZE.getLocalName(), config);
+        writeAttribute(writer, Attribute.COMPRESSION.getLocalName(), config);
 
         writer.writeEndElement();
     }
@@ -453,6 +463,15 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
             case DISABLED:
                 resources.get(DISABLED).set(value);
                 break;
+            case CACHE_MAX_SIZE:
+                resources.get(CACHE_MAX_SIZE).set(value);
+                break;
+            case CACHE_MAX_FILE_SIZE:
+                resources.get(CACHE_MAX_FILE_SIZE).set(value);
+                break;
+            case COMPRESSION:
+                resources.get(COMPRESSION).set(value);
+                break;
             default:
                 unexpectedAttribute(reader, i);
             }
@@ -606,6 +625,12 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
             case ROTATE:
                 log.get(ROTATE).set(value);
                 break;
+            case ASYNC:
+                log.get(ASYNC).set(value);
+                break;
+            case QUEUE_SIZE:
+                log.get(QUEUE_SIZE).set(value);
+                break;
             default:
                 unexpectedAttribute(reader, i);
             }
@@ -0,0 +1,162 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import java.util.Map;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.Context;
+import org.apache.catalina.Host;
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Metrics of a virtual server: access log queue statistics, and the request latency and static resource cache
+ * statistics of the web contexts deployed to it.
+ */
+class WebVirtualHostMetrics implements ModelQueryOperationHandler {
+
+    static final WebVirtualHostMetrics INSTANCE = new WebVirtualHostMetrics();
+
+    static final String CONTEXT_STATISTICS = "context-statistics";
+    static final String STATIC_RESOURCE_CACHE = "static-resource-cache";
+    static final String ACCESS_LOG_STATISTICS = "access-log-statistics";
+    static final String SERVLETS = "servlets";
+    static final String[] ATTRIBUTES = new String[] {CONTEXT_STATISTICS, STATIC_RESOURCE_CACHE, ACCESS_LOG_STATISTICS};
+
+    private static final String HIT_COUNT = "hit-count";
+    private static final String MISS_COUNT = "miss-count";
+    private static final String HIT_RATIO = "hit-ratio";
+    private static final String EVICTION_COUNT = "eviction-count";
+    private static final String NOT_MODIFIED_COUNT = "not-modified-count";
+    private static final String ENTRY_COUNT = "entry-count";
+    private static final String SIZE = "size";
+    private static final String MAX_SIZE = "max-size";
+    private static final String BYTES_SERVED = "bytes-served";
+    private static final String BYTES_SAVED = "bytes-saved";
+    private static final String QUEUE_SIZE = "queue-size";
+    private static final String QUEUED_COUNT = "queued-count";
+    private static final String WRITTEN_COUNT = "written-count";
+    private static final String DROPPED_COUNT = "dropped-count";
+    private static final String BATCH_COUNT = "batch-count";
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+                    final String name = address.getLastElement().getValue();
+                    final String attributeName = operation.require(NAME).asString();
+
+                    final ServiceController<?> controller = context.getServiceRegistry()
+                            .getService(WebSubsystemServices.JBOSS_WEB_HOST.append(name));
+                    final ModelNode result = new ModelNode();
+                    if (controller != null && controller.getState() == ServiceController.State.UP) {
+                        final Host host = (Host) controller.getValue();
+                        if (ACCESS_LOG_STATISTICS.equals(attributeName)) {
+                            final AsyncAccessLog accessLog = AsyncAccessLog.find(host);
+                            if (accessLog != null) {
+                                result.set(getStatistics(accessLog));
+                            }
+                        }
+                        for (Container child : host.findChildren()) {
+                            final Context webContext = (Context) child;
+                            if (CONTEXT_STATISTICS.equals(attributeName)) {
+                                final RequestTimingValve valve = RequestTimingValve.find(webContext);
+                                if (valve != null) {
+                                    result.get(getContextName(webContext)).set(getStatistics(valve));
+                                }
+                            } else if (STATIC_RESOURCE_CACHE.equals(attributeName)) {
+                                final Object cache = webContext.getServletContext().getAttribute(CachingDefaultServlet.CACHE_ATTRIBUTE);
+                                if (cache instanceof StaticResourceCache) {
+                                    result.get(getContextName(webContext)).set(getStatistics((StaticResourceCache) cache));
+                                }
+                            }
+                        }
+                    }
+                    resultHandler.handleResultFragment(WebConnectorMetrics.NO_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(WebConnectorMetrics.NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    static String getContextName(final Context context) {
+        final String path = context.getPath();
+        return path == null || path.length() == 0 ? "/" : path;
+    }
+
+    private static ModelNode getStatistics(final RequestTimingValve valve) {
+        final ModelNode node = valve.getStatistics().toModelNode();
+        final ModelNode servlets = node.get(SERVLETS).setEmptyObject();
+        for (Map.Entry<String, RequestStatistics> entry : valve.getServletStatistics().entrySet()) {
+            servlets.get(entry.getKey()).set(entry.getValue().toModelNode());
+        }
+        return node;
+    }
+
+    private static ModelNode getStatistics(final AsyncAccessLog accessLog) {
+        final ModelNode node = new ModelNode();
+        node.get(QUEUE_SIZE).set(accessLog.getQueueSize());
+        node.get(QUEUED_COUNT).set(accessLog.getQueuedCount());
+        node.get(WRITTEN_COUNT).set(accessLog.getWrittenCount());
+        node.get(DROPPED_COUNT).set(accessLog.getDroppedCount());
+        node.get(BATCH_COUNT).set(accessLog.getBatchCount());
+        return node;
+    }
+
+    private static ModelNode getStatistics(final StaticResourceCache cache) {
+        final ModelNode node = new ModelNode();
+        final long hits = cache.getHitCount();
+        final long misses = cache.getMissCount();
+        node.get(HIT_COUNT).set(hits);
+        node.get(MISS_COUNT).set(misses);
+        node.get(HIT_RATIO).set(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        node.get(EVICTION_COUNT).set(cache.getEvictionCount());
+        node.get(NOT_MODIFIED_COUNT).set(cache.getNotModifiedCount());
+        node.get(ENTRY_COUNT).set(cache.getEntryCount());
+        node.get(SIZE).set(cache.getSize());
+        node.get(MAX_SIZE).set(cache.getMaxSize());
+        node.get(BYTES_SERVED).set(cache.getBytesServed());
+        node.get(BYTES_SAVED).set(cache.getBytesSaved());
+        return node;
+    }
+}
@@ -135,8 +135,15 @@ class WebVirtualHostService implements Service<Host> {
         if (element.hasDefined(Constants.EXTENDED)) {
             extended = element.get(Constants.EXTENDED).asBoolean();
         }
+        boolean async = false;
+        if (element.hasDefined(Constants.ASYNC)) {
+            async = element.get(Constants.ASYNC).asBoolean();
+        }
         final AccessLogValve log;
-        if (extended) {
+        if (async) {
+            final int queueSize = element.hasDefined(Constants.QUEUE_SIZE) ? element.get(Constants.QUEUE_SIZE).asInt() : AsyncAccessLog.DEFAULT_QUEUE_SIZE;
+            log = extended ? new AsyncExtendedAccessLogValve(queueSize) : new AsyncAccessLogValve(queueSize);
+        } else if (extended) {
             log = new ExtendedAccessLogValve();
         } else {
             log = new AccessLogValve();
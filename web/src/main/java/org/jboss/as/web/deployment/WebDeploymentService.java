@@ -27,6 +27,7 @@ import org.apache.catalina.Realm;
 import org.apache.catalina.core.StandardContext;
 import org.jboss.as.naming.context.NamespaceContextSelector;
 import org.jboss.as.web.NamingListener;
+import org.jboss.as.web.RequestTimingValve;
 import org.jboss.logging.Logger;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -53,6 +54,9 @@ class WebDeploymentService implements Service<Context> {
     /** {@inheritDoc} */
     public synchronized void start(StartContext startContext) throws StartException {
         context.setRealm(realm.getValue());
+        if (RequestTimingValve.find(context) == null) {
+            context.addValve(new RequestTimingValve());
+        }
         try {
             NamingListener.beginComponentStart(namespaceSelector.getValue());
             try {
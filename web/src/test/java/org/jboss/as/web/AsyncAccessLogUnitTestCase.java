@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link AsyncAccessLog}.
+ */
+public class AsyncAccessLogUnitTestCase {
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    @Test
+    public void testEntriesWrittenInOrder() throws Exception {
+        final RecordingTarget target = new RecordingTarget();
+        final AsyncAccessLog accessLog = new AsyncAccessLog(target, 16);
+        accessLog.start("test");
+        for (int i = 0; i < 10; i++) {
+            assertTrue(accessLog.offer("entry " + i));
+        }
+        accessLog.stop();
+        final List<String> lines = target.getLines();
+        assertEquals(10, lines.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("entry " + i, lines.get(i));
+        }
+        assertEquals(10, accessLog.getWrittenCount());
+        assertEquals(0, accessLog.getDroppedCount());
+        assertEquals(0, accessLog.getQueuedCount());
+    }
+
+    @Test
+    public void testDropsWhenFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final RecordingTarget target = new RecordingTarget() {
+            @Override
+            public void write(final String batch) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.write(batch);
+            }
+        };
+        final AsyncAccessLog accessLog = new AsyncAccessLog(target, 4);
+        accessLog.start("test");
+        assertTrue(accessLog.offer("first"));
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        // The writer holds "first"; the queue has room for four more
+        for (int i = 0; i < 4; i++) {
+            assertTrue(accessLog.offer("queued " + i));
+        }
+        assertFalse(accessLog.offer("dropped"));
+        assertEquals(1, accessLog.getDroppedCount());
+        release.countDown();
+        accessLog.stop();
+        assertEquals(5, target.getLines().size());
+        assertEquals(5, accessLog.getWrittenCount());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        final RecordingTarget target = new RecordingTarget();
+        final AsyncAccessLog accessLog = new AsyncAccessLog(target, 1 << 16);
+        accessLog.start("test");
+        final int threads = 4;
+        final int perThread = 10000;
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < perThread; i++) {
+                        accessLog.offer(id + ":" + i);
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        accessLog.stop();
+        final List<String> lines = target.getLines();
+        assertEquals(threads * perThread - accessLog.getDroppedCount(), lines.size());
+        assertTrue(accessLog.getBatchCount() < lines.size());
+        // Entries of one producer keep their order
+        final int[] next = new int[threads];
+        for (String line : lines) {
+            final int colon = line.indexOf(':');
+            final int id = Integer.parseInt(line.substring(0, colon));
+            final int sequence = Integer.parseInt(line.substring(colon + 1));
+            assertTrue(sequence >= next[id]);
+            next[id] = sequence + 1;
+        }
+    }
+
+    @Test
+    public void testOfferBeforeStart() {
+        final AsyncAccessLog accessLog = new AsyncAccessLog(new RecordingTarget(), 4);
+        assertFalse(accessLog.offer("entry"));
+        assertEquals(1, accessLog.getDroppedCount());
+    }
+
+    private static class RecordingTarget implements AsyncAccessLog.Target {
+
+        private final List<String> lines = Collections.synchronizedList(new ArrayList<String>());
+
+        public void write(final String batch) {
+            for (String line : batch.split(LINE_SEPARATOR)) {
+                lines.add(line);
+            }
+        }
+
+        public AsyncAccessLog getAccessLog() {
+            return null;
+        }
+
+        List<String> getLines() {
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link StaticResourceCache}.
+ */
+public class StaticResourceCacheUnitTestCase {
+
+    private File root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = File.createTempFile("static", "root");
+        root.delete();
+        root.mkdirs();
+    }
+
+    @After
+    public void tearDown() {
+        delete(root);
+    }
+
+    @Test
+    public void testHit() throws Exception {
+        final byte[] data = write("index.html", 100);
+        final StaticResourceCache cache = new StaticResourceCache(root, 10000, 1000, false);
+        final StaticResourceCache.Entry entry = cache.get("/index.html", "text/html");
+        assertNotNull(entry);
+        assertArrayEquals(data, entry.getContent());
+        assertNull(entry.getCompressed());
+        assertSame(entry, cache.get("/index.html", "text/html"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(100, cache.getSize());
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        final byte[] data = write("app.js", 4000);
+        write("image.png", 4000);
+        final StaticResourceCache cache = new StaticResourceCache(root, 100000, 10000, true);
+        final StaticResourceCache.Entry entry = cache.get("/app.js", "application/javascript");
+        assertNotNull(entry.getCompressed());
+        assertTrue(entry.getCompressed().length < data.length);
+        assertArrayEquals(data, gunzip(entry.getCompressed()));
+        assertTrue(!entry.getETag().equals(entry.getCompressedETag()));
+        assertNull(cache.get("/image.png", "image/png").getCompressed());
+    }
+
+    @Test
+    public void testNotCacheable() throws Exception {
+        write("large.css", 2000);
+        write("WEB-INF/web.xml", 10);
+        new File(root, "dir").mkdirs();
+        final StaticResourceCache cache = new StaticResourceCache(root, 10000, 1000, false);
+        assertNull(cache.get("/large.css", "text/css"));
+        assertNull(cache.get("/WEB-INF/web.xml", "text/xml"));
+        assertNull(cache.get("/web-inf/web.xml", "text/xml"));
+        assertNull(cache.get("/dir", null));
+        assertNull(cache.get("/missing.txt", "text/plain"));
+        assertNull(cache.get("/dir/../large.css", "text/css"));
+        assertNull(cache.get("/../" + root.getName() + "/large.css", "text/css"));
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        write("a.txt", 400);
+        write("b.txt", 400);
+        write("c.txt", 400);
+        final StaticResourceCache cache = new StaticResourceCache(root, 1000, 1000, false);
+        assertNotNull(cache.get("/a.txt", "text/plain"));
+        Thread.sleep(10);
+        assertNotNull(cache.get("/b.txt", "text/plain"));
+        Thread.sleep(10);
+        // Touch a so that b is the least recently used
+        cache.get("/a.txt", "text/plain");
+        Thread.sleep(10);
+        assertNotNull(cache.get("/c.txt", "text/plain"));
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(800, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        final long hits = cache.getHitCount();
+        cache.get("/a.txt", "text/plain");
+        assertEquals(hits + 1, cache.getHitCount());
+    }
+
+    private byte[] write(final String path, final int size) throws IOException {
+        final byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) ('a' + i % 7);
+        }
+        final File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+        return data;
+    }
+
+    private static byte[] gunzip(final byte[] data) throws IOException {
+        final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}